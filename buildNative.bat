@@ -2,7 +2,7 @@
 setlocal enabledelayedexpansion
 
 :: === CONFIGURATION ===
-set JAR_PATH=build\libs\xwizard-1.0.0.jar
+set JAR_PATH=cli\build\libs\xwizard-1.0.0.jar
 set OUTPUT_NAME=javawizard
 set GRAALVM_BIN=C:\Users\amank\dev_mode\graalvm_21\bin
 set VS_DEV_CMD="C:\Program Files\Microsoft Visual Studio\2022\Professional\VC\Auxiliary\Build\vcvars64.bat"
@@ -0,0 +1,449 @@
+// The javawizard command line: picocli commands on top of :core.
+import com.sun.net.httpserver.HttpServer
+import org.graalvm.buildtools.gradle.tasks.BuildNativeImageTask
+import java.net.InetSocketAddress
+
+plugins {
+    id("application")
+    id("org.graalvm.buildtools.native")
+}
+
+base {
+    archivesName.set("xwizard")
+}
+
+dependencies {
+    implementation(project(":core"))
+    implementation("info.picocli:picocli:4.7.5")
+    annotationProcessor("info.picocli:picocli-codegen:4.7.5")
+}
+
+application {
+    mainClass.set("com.amankrmj.xwizard.Main")
+    applicationName = "javawizard"
+    // A CLI run is short: a small serial heap and C1 only start faster than the server defaults.
+    // Long jobs (extracting or hashing JDKs) can opt back into C2 with JAVAWIZARD_OPTS="-XX:TieredStopAtLevel=4".
+    applicationDefaultJvmArgs = listOf(
+        "-XX:+UseSerialGC",
+        "-Xms16m",
+        "-Xmx512m",
+        "-XX:TieredStopAtLevel=1",
+        "-XX:-UsePerfData",
+    )
+}
+
+val nativeImageArgs = listOf(
+    "--no-fallback",
+    "--report-unsupported-elements-at-runtime",
+    "-H:+ReportExceptionStackTraces",
+    "-H:-CheckToolchain",
+    // For PicoCLI
+    "-H:ReflectionConfigurationFiles=${project.layout.buildDirectory.get()}/resources/main/META-INF/native-image/reflect-config.json",
+)
+
+graalvmNative {
+    binaries {
+        named("main") {
+            imageName.set("javawizard")
+            mainClass.set("com.amankrmj.xwizard.Main")
+            useFatJar.set(true)
+            
+            buildArgs.addAll(nativeImageArgs)
+        }
+    }
+    
+    agent {
+        defaultMode.set("standard")
+        builtinCallerFilter.set(true)
+        builtinHeuristicFilter.set(true)
+        enableExperimentalPredefinedClasses.set(false)
+        trackReflectionMetadata.set(true)
+    }
+}
+
+// Training workload: representative commands run against a stub catalog and a throwaway
+// home, so the build never reads the network or touches the user's JDKs, PATH or toolchains.
+val workloadDir = layout.projectDirectory.dir("workload")
+
+val workloadCommands = listOf(
+    listOf("--help"),
+    listOf("java", "--help"),
+    listOf("java", "list"),
+    listOf("java", "current"),
+    listOf("java", "install", "list"),
+    listOf("java", "install", "search", "temurin", "21"),
+    listOf("java", "install", "21"),
+    listOf("--output", "json", "java", "list"),
+    listOf("java", "which"),
+    listOf("path", "list"),
+    listOf("completion", "bash"),
+    listOf("__complete", "installed", ""),
+)
+
+val workloadJdk = tasks.register<Zip>("workloadJdk") {
+    description = "Packages the stub JDK that the training workload installs"
+    from(workloadDir.dir("jdk")) {
+        into("jdk-21.0.5")
+    }
+    archiveFileName.set("jdk-21.0.5.zip")
+    destinationDirectory.set(layout.buildDirectory.dir("workload"))
+}
+
+/**
+ * Serve workload/catalog.json and the stub JDK on a free local port while [action] runs.
+ * /large-catalog.json repeats the stub entry [largeCatalogSize] times for throughput runs.
+ */
+fun <T> withCatalogStub(archive: File, largeCatalogSize: Int = 0, action: (baseUrl: String) -> T): T {
+    val server = HttpServer.create(InetSocketAddress("127.0.0.1", 0), 0)
+    val baseUrl = "http://127.0.0.1:${server.address.port}"
+    val template = workloadDir.file("catalog.json").asFile.readText().replace("@BASE_URL@", baseUrl)
+    val catalog = template.toByteArray()
+    val entry = template.trim().removePrefix("[").removeSuffix("]").trim()
+    val largeCatalog = (0 until largeCatalogSize).joinToString(",\n", "[\n", "\n]") { i ->
+        entry.replace("21.0.5", "${8 + i % 18}.0.${i / 18}")
+    }.toByteArray()
+    server.createContext("/") { exchange ->
+        val body = when (exchange.requestURI.path) {
+            "/catalog.json" -> catalog
+            "/large-catalog.json" -> largeCatalog
+            "/${archive.name}" -> archive.readBytes()
+            else -> null
+        }
+        if (body == null) {
+            exchange.sendResponseHeaders(404, -1)
+        } else {
+            exchange.sendResponseHeaders(200, body.size.toLong())
+            exchange.responseBody.use { it.write(body) }
+        }
+        exchange.close()
+    }
+    server.start()
+    try {
+        return action(baseUrl)
+    } finally {
+        server.stop(0)
+    }
+}
+
+/**
+ * Run one javawizard command with [home] as user.home and [catalogUrl] as the catalog.
+ * [launcher] is the executable plus its JVM or native-image runtime options; [entry]
+ * what follows them before the arguments (the classpath and main class for a JVM).
+ *
+ * @return the exit code
+ */
+fun runCommand(launcher: List<String>, entry: List<String>, command: List<String>, home: File, catalogUrl: String, log: File): Int {
+    val process = ProcessBuilder(launcher + listOf("-Duser.home=${home.path}") + entry + command)
+        .redirectErrorStream(true)
+        .redirectOutput(log)
+    process.environment().apply {
+        remove("JAVAWIZARD_HOME")
+        remove("GRADLE_USER_HOME")
+        put("JAVAWIZARD_CATALOG_URL", catalogUrl)
+    }
+    val started = process.start()
+    started.outputStream.close()
+    return started.waitFor()
+}
+
+/**
+ * Run every command of [commands] in a fresh process against an empty [home].
+ * [launcher] receives the command index.
+ */
+fun runWorkload(commands: List<List<String>>, entry: List<String>, home: File, catalogUrl: String, logs: File,
+                launcher: (Int) -> List<String>) {
+    home.deleteRecursively()
+    home.mkdirs()
+    logs.mkdirs()
+    commands.forEachIndexed { i, command ->
+        val exitCode = runCommand(launcher(i), entry, command, home, catalogUrl, logs.resolve("$i.log"))
+        if (exitCode != 0) {
+            logger.warn("Workload '${command.joinToString(" ")}' exited with $exitCode, see ${logs.resolve("$i.log")}")
+        }
+    }
+}
+
+// AppCDS for the JVM launcher. A static archive records the absolute classpath it was dumped
+// with, and JDK 21 refuses it anywhere else, so a build-time archive would only ever map on the
+// build machine. Instead the start scripts let the JVM create a dynamic archive on the first run
+// and reuse it afterwards. It lives in the user's cache (~/.javawizard/cache/cds, or
+// $JAVAWIZARD_HOME/cache/cds) and is recreated whenever the JDK or the jars change.
+val cdsArchiveName = "javawizard-${project.version}.jsa"
+
+tasks.named<CreateStartScripts>("startScripts") {
+    defaultJvmOpts = application.applicationDefaultJvmArgs + listOf(
+        "-XX:+AutoCreateSharedArchive",
+        "-XX:SharedArchiveFile=CDS_DIR_PLACEHOLDER/$cdsArchiveName",
+        "-Xshare:auto",
+        "-Xlog:cds=off,cds+dynamic=off",
+    )
+    doLast {
+        // DEFAULT_JVM_OPTS is deliberately not shell-expanded, so splice the directory in at assignment
+        // time. The JVM does not create it, so the scripts do.
+        val unixSetup = "CDS_DIR=\${JAVAWIZARD_HOME:-\$HOME/.javawizard}/cache/cds\n" +
+            "mkdir -p \"\$CDS_DIR\" 2>/dev/null\n"
+        unixScript.writeText(unixScript.readText()
+            .replace("\nDEFAULT_JVM_OPTS=", "\n${unixSetup}DEFAULT_JVM_OPTS=")
+            .replace("CDS_DIR_PLACEHOLDER", "'\"\$CDS_DIR\"'"))
+        val windowsSetup = "set CDS_DIR=%JAVAWIZARD_HOME%\\cache\\cds\r\n" +
+            "if not defined JAVAWIZARD_HOME set CDS_DIR=%USERPROFILE%\\.javawizard\\cache\\cds\r\n" +
+            "if not exist \"%CDS_DIR%\" mkdir \"%CDS_DIR%\" >NUL 2>&1\r\n"
+        windowsScript.writeText(windowsScript.readText()
+            .replace("set DEFAULT_JVM_OPTS=", "${windowsSetup}set DEFAULT_JVM_OPTS=")
+            .replace("CDS_DIR_PLACEHOLDER", "%CDS_DIR%"))
+    }
+}
+
+// Installs the distribution somewhere else, runs it once to create the archive and again with
+// -Xshare:on, and fails unless the main class then comes out of the archive.
+val cdsCheck = tasks.register("cdsCheck") {
+    group = "verification"
+    description = "Checks that a relocated javawizard distribution maps its AppCDS archive"
+    val install = tasks.named<Sync>("installDist")
+    val launcher = javaToolchains.launcherFor { languageVersion.set(JavaLanguageVersion.of(21)) }
+    val workDir = layout.buildDirectory.dir("cds-check")
+    inputs.files(install)
+    outputs.file(workDir.map { it.file("run.log") })
+
+    doLast {
+        val dir = workDir.get().asFile
+        dir.deleteRecursively()
+        val copy = dir.resolve("javawizard")
+        install.get().destinationDir.copyRecursively(copy)
+        val windows = System.getProperty("os.name").startsWith("Windows")
+        val script = copy.resolve(if (windows) "bin/javawizard.bat" else "bin/javawizard")
+        script.setExecutable(true)
+        val home = dir.resolve("home")
+        val log = dir.resolve("run.log")
+        fun run(javaOpts: String) {
+            val process = ProcessBuilder(script.path, "--help")
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+            process.environment().apply {
+                put("JAVA_HOME", launcher.get().metadata.installationPath.asFile.path)
+                put("JAVAWIZARD_HOME", home.path)
+                put("JAVA_OPTS", javaOpts)
+                remove("JAVAWIZARD_OPTS")
+            }
+            if (process.start().waitFor() != 0) {
+                throw GradleException("javawizard --help failed, see $log")
+            }
+        }
+        run("")
+        if (!home.resolve("cache/cds/$cdsArchiveName").isFile) {
+            throw GradleException("The first run did not create ${home.resolve("cache/cds/$cdsArchiveName")}")
+        }
+        run("-Xshare:on -Xlog:class+load=info")
+        if (log.readLines().none { it.contains("${application.mainClass.get()} source: shared objects file") }) {
+            throw GradleException("The installed distribution did not load its classes from the CDS archive, see $log")
+        }
+    }
+}
+
+tasks.named("check") {
+    dependsOn(cdsCheck)
+}
+
+// Profile-guided native image (needs Oracle GraalVM; Community Edition has no --pgo).
+// nativePgoInstrumentCompile builds an instrumented binary, pgoProfile runs the workload through
+// it with one profile per command, and nativePgoCompile feeds the profiles into an optimized
+// javawizard image. pgoReport compares that image with the generic one from nativeCompile.
+//
+// On Windows 'path add/remove' write the real user PATH, so they are only part of the
+// workload with -PpgoPathEdits, on a build machine whose PATH may be rewritten.
+// workloadCommands already installs 21, so exec runs against that install.
+val pgoCommands = workloadCommands + listOf(
+    listOf("java", "exec", "21", "java", "-version"),
+) + if (providers.gradleProperty("pgoPathEdits").isPresent) listOf(
+    listOf("path", "add", "javawizard-pgo-workload"),
+    listOf("path", "remove", "javawizard-pgo-workload"),
+) else emptyList()
+
+val pgoProfilesDir = layout.buildDirectory.dir("pgo/profiles")
+
+graalvmNative {
+    binaries {
+        create("pgoInstrument") {
+            imageName.set("javawizard-instrumented")
+            mainClass.set(application.mainClass)
+            classpath(tasks.named("jar"), configurations.runtimeClasspath)
+            useFatJar.set(true)
+            buildArgs.addAll(nativeImageArgs)
+            buildArgs.add("--pgo-instrument")
+        }
+        create("pgo") {
+            imageName.set("javawizard")
+            mainClass.set(application.mainClass)
+            classpath(tasks.named("jar"), configurations.runtimeClasspath)
+            useFatJar.set(true)
+            buildArgs.addAll(nativeImageArgs)
+            buildArgs.add("--pgo=" + pgoCommands.indices.joinToString(",") { "${pgoProfilesDir.get()}/$it.iprof" })
+        }
+    }
+}
+
+val pgoProfile = tasks.register("pgoProfile") {
+    group = "build"
+    description = "Runs the workload through the instrumented native image to collect PGO profiles"
+    val instrumented = tasks.named<BuildNativeImageTask>("nativePgoInstrumentCompile")
+    val workDir = layout.buildDirectory.dir("pgo")
+    dependsOn(instrumented)
+    inputs.files(workloadJdk)
+    inputs.dir(workloadDir)
+    inputs.file(instrumented.flatMap { it.outputFile })
+    inputs.property("workload", pgoCommands.toString())
+    outputs.dir(pgoProfilesDir)
+
+    doLast {
+        val dir = workDir.get().asFile
+        val profiles = pgoProfilesDir.get().asFile
+        profiles.deleteRecursively()
+        profiles.mkdirs()
+        val executable = instrumented.get().outputFile.get().asFile
+        withCatalogStub(workloadJdk.get().archiveFile.get().asFile) { baseUrl ->
+            runWorkload(pgoCommands, emptyList(), dir.resolve("home"), "$baseUrl/catalog.json", dir.resolve("logs")) { i ->
+                listOf(executable.path, "-XX:ProfilesDumpFile=${profiles.resolve("$i.iprof").path}")
+            }
+        }
+        val missing = pgoCommands.indices.filterNot { profiles.resolve("$it.iprof").isFile }
+        if (missing.isNotEmpty()) {
+            throw GradleException("No profile written for workload commands $missing, see ${dir.resolve("logs")}")
+        }
+    }
+}
+
+tasks.named("nativePgoCompile") {
+    dependsOn(pgoProfile)
+}
+
+/**
+ * Median wall time of [runs] calls of [action], in milliseconds.
+ */
+fun medianMillis(runs: Int, action: () -> Unit): Double {
+    val times = (1..runs).map {
+        val start = System.nanoTime()
+        action()
+        (System.nanoTime() - start) / 1_000_000.0
+    }.sorted()
+    return times[times.size / 2]
+}
+
+tasks.register("pgoReport") {
+    group = "verification"
+    description = "Compares startup, throughput and binary size of the generic and PGO native images"
+    val images = mapOf(
+        "generic" to tasks.named<BuildNativeImageTask>("nativeCompile"),
+        "pgo" to tasks.named<BuildNativeImageTask>("nativePgoCompile"),
+    )
+    val workDir = layout.buildDirectory.dir("pgo/report")
+    val reportFile = layout.buildDirectory.file("pgo/report.md")
+    dependsOn(images.values, workloadJdk)
+    outputs.file(reportFile)
+    outputs.upToDateWhen { false }
+
+    doLast {
+        val dir = workDir.get().asFile
+        val startupRuns = 20
+        val throughputRuns = 5
+        val largeCatalogSize = 20_000
+        data class Result(val sizeBytes: Long, val startupMillis: Double, val listMillis: Double)
+
+        val results = withCatalogStub(workloadJdk.get().archiveFile.get().asFile, largeCatalogSize) { baseUrl ->
+            images.mapValues { (name, task) ->
+                val executable = task.get().outputFile.get().asFile
+                val home = dir.resolve("home-$name")
+                val log = dir.resolve("$name.log")
+                fun run(command: List<String>, catalog: String) {
+                    val exitCode = runCommand(listOf(executable.path), emptyList(), command, home, "$baseUrl/$catalog", log)
+                    if (exitCode != 0) {
+                        throw GradleException("'${command.joinToString(" ")}' failed on the $name image, see $log")
+                    }
+                }
+                // Same state for both images: the workload leaves one installed stub JDK behind.
+                runWorkload(workloadCommands, emptyList(), home, "$baseUrl/catalog.json", dir.resolve("logs-$name")) {
+                    listOf(executable.path)
+                }
+                Result(
+                    executable.length(),
+                    medianMillis(startupRuns) { run(listOf("java", "list"), "catalog.json") },
+                    medianMillis(throughputRuns) { run(listOf("java", "install", "list"), "large-catalog.json") },
+                )
+            }
+        }
+
+        val generic = results.getValue("generic")
+        val pgo = results.getValue("pgo")
+        fun change(before: Double, after: Double) = "%+.1f%%".format((after - before) / before * 100)
+        fun mib(bytes: Long) = "%.1f MiB".format(bytes / 1024.0 / 1024.0)
+        fun ms(millis: Double) = "%.1f ms".format(millis)
+        fun entriesPerSecond(millis: Double) = "%,.0f entries/s".format(largeCatalogSize / (millis / 1000))
+        val report = """
+            |# javawizard native image: generic vs PGO
+            |
+            || Metric | Generic | PGO | Change |
+            ||---|---|---|---|
+            || Binary size | ${mib(generic.sizeBytes)} | ${mib(pgo.sizeBytes)} | ${change(generic.sizeBytes.toDouble(), pgo.sizeBytes.toDouble())} |
+            || Startup, `java list` (median of $startupRuns) | ${ms(generic.startupMillis)} | ${ms(pgo.startupMillis)} | ${change(generic.startupMillis, pgo.startupMillis)} |
+            || Throughput, `java install list` on $largeCatalogSize entries (median of $throughputRuns) | ${entriesPerSecond(generic.listMillis)} | ${entriesPerSecond(pgo.listMillis)} | ${change(largeCatalogSize / generic.listMillis, largeCatalogSize / pgo.listMillis)} |
+            |
+            |Profiles: ${pgoCommands.size} workload commands, see build/pgo/logs.
+            |""".trimMargin()
+        reportFile.get().asFile.writeText(report)
+        logger.lifecycle(report)
+    }
+}
+
+// Distribution tasks
+tasks.register<Copy>("nativeInstallDist") {
+    dependsOn("nativeCompile")
+    group = "distribution"
+    description = "Creates a distribution with the native executable"
+    
+    from(layout.buildDirectory.dir("native/nativeCompile")) {
+        include("javawizard.exe")
+        into("bin")
+    }
+    
+    into(layout.buildDirectory.dir("install/javawizard-native"))
+}
+
+// Custom task to create installer with Inno Setup
+tasks.register<Exec>("createInstaller") {
+    dependsOn("nativeCompile")
+    group = "distribution"
+    description = "Create Windows installer using Inno Setup"
+    
+    doFirst {
+        println("Creating installer with Inno Setup...")
+    }
+    
+    commandLine(
+        "cmd",
+        "/c",
+        "\"C:\\Program Files (x86)\\Inno Setup 6\\ISCC.exe\"",
+        "installer/javawizard-installer.iss"
+    )
+    workingDir(rootProject.projectDir)
+    
+    doLast {
+        println("Installer created successfully!")
+    }
+}
+
+// Optionally make nativeCompile automatically trigger installer creation
+tasks.named("nativeCompile") {
+    finalizedBy("createInstaller")
+}
+
+// Code quality and documentation
+tasks.register<Javadoc>("javadocJar") {
+    group = "documentation"
+    description = "Generate Javadoc JAR"
+}
+
+tasks.register<Jar>("sourcesJar") {
+    group = "documentation"
+    description = "Generate sources JAR"
+    archiveClassifier.set("sources")
+    from(sourceSets.main.get().allSource)
+}
@@ -0,0 +1,103 @@
+package com.amankrmj.xwizard;
+
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import com.amankrmj.xwizard.commands.CompletionCommand;
+import com.amankrmj.xwizard.commands.PathCommand;
+import com.amankrmj.xwizard.commands.ServeCommand;
+import com.amankrmj.xwizard.commands.SyncCommand;
+import com.amankrmj.xwizard.common.metrics.MetricsFormat;
+import com.amankrmj.xwizard.common.metrics.MetricsRegistry;
+import com.amankrmj.xwizard.common.metrics.MetricsReporter;
+import com.amankrmj.xwizard.common.metrics.Timer;
+import com.amankrmj.xwizard.common.output.Output;
+import com.amankrmj.xwizard.common.output.OutputFormat;
+import com.amankrmj.xwizard.common.state.StateLock;
+import com.amankrmj.xwizard.java.JavaVersionManagerCommand;
+import com.amankrmj.xwizard.java.NativeCompilerCommand;
+
+import java.nio.file.Path;
+
+@Command(name = "javawizard",
+         mixinStandardHelpOptions = true,
+         version = "1.0.0",
+         description = "JavaWizard - Complete Java Development Environment Manager",
+         subcommands = {
+             PathCommand.class,
+             JavaVersionManagerCommand.class,
+             NativeCompilerCommand.class,
+             ServeCommand.class,
+             SyncCommand.class,
+             CompletionCommand.class
+         })
+public class Main implements Runnable {
+
+    @Option(names = {"-v", "--verbose"}, scope = CommandLine.ScopeType.INHERIT,
+            description = "Print timings and counters to stderr at exit (same as --metrics text)")
+    private boolean verbose = false;
+
+    @Option(names = "--metrics", scope = CommandLine.ScopeType.INHERIT,
+            description = "Report collected performance metrics at exit: json or text")
+    private MetricsFormat metricsFormat;
+
+    @Option(names = "--metrics-file", scope = CommandLine.ScopeType.INHERIT,
+            description = "Append the metrics report to this file instead of printing it")
+    private Path metricsFile;
+
+    // Not inherited: several subcommands already use --output for a file name.
+    @Option(names = "--output", description = "Output format for listings: text, json, ndjson or tsv")
+    void setOutputFormat(OutputFormat format) {
+        Output.setFormat(format);
+    }
+
+    @Override
+    public void run() {
+        System.out.println("JavaWizard - Complete Java Development Environment Manager");
+        System.out.println("Use --help for options or try these commands:");
+        System.out.println("  path     - Manage environment PATH variables");
+        System.out.println("  java     - Manage Java versions and installations");
+        System.out.println("  native   - Manage native compilation and cross-platform builds");
+        System.out.println("  serve    - Run a caching relay for other machines");
+        System.out.println("  sync     - Match installed JDKs and environment to xwizard.lock");
+        System.out.println("  completion - Print a bash or zsh completion script");
+    }
+
+    private void reportMetrics(String command, int exitCode) {
+        if (metricsFormat == null && metricsFile == null && !verbose) {
+            return;
+        }
+        MetricsFormat format = metricsFormat != null ? metricsFormat
+                : metricsFile == null ? MetricsFormat.TEXT : MetricsFormat.JSON;
+        String report = MetricsReporter.format(MetricsRegistry.global(), format, command, exitCode);
+        try {
+            if (metricsFile != null) {
+                MetricsReporter.append(metricsFile, report);
+            } else {
+                System.err.println(report);
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to write metrics: " + e.getMessage());
+        }
+    }
+
+    public static void main(String[] args) {
+        // Shell completion runs on every TAB: answer before building the command tree.
+        if (args.length > 0 && args[0].equals(CompletionCommand.COMPLETE)) {
+            System.exit(CompletionCommand.complete(args));
+        }
+        Output.install();
+        StateLock.onWait(label -> System.err.println("⏳ Waiting for another javawizard operation on " + label + "..."));
+        Main main = new Main();
+        CommandLine cmd = new CommandLine(main);
+        cmd.setCaseInsensitiveEnumValuesAllowed(true);
+
+        Timer.Sample total = MetricsRegistry.global().timer("phase.total").start();
+        int exitCode = cmd.execute(args);
+        total.stop();
+
+        Output.flush();
+        main.reportMetrics(String.join(" ", args), exitCode);
+        System.exit(exitCode);
+    }
+}
@@ -0,0 +1,262 @@
+package com.amankrmj.xwizard.commands;
+
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+import com.amankrmj.xwizard.java.services.AvailableVersionSnapshot;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Model.OptionSpec;
+import picocli.CommandLine.Model.PositionalParamSpec;
+import picocli.CommandLine.Parameters;
+import picocli.CommandLine.Spec;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Prints bash/zsh completion scripts.
+ * <p>
+ * The command tree is written into the script, so subcommands and options complete
+ * without running javawizard at all. Only version and PATH arguments call back into
+ * {@code javawizard __complete <kind> <prefix>}, which {@code Main} dispatches to
+ * {@link #complete} before any picocli setup. That path reads the managed versions
+ * directory, the {@link AvailableVersionSnapshot} or {@code PATH}, and nothing else.
+ */
+@Command(name = "completion", description = "Print a bash or zsh completion script, e.g. eval \"$(javawizard completion bash)\"")
+public class CompletionCommand implements Callable<Integer> {
+
+    public static final String COMPLETE = "__complete";
+
+    private static final String INSTALLED = "installed";
+    private static final String MAJORS = "majors";
+    private static final String AVAILABLE = "available";
+    private static final String PATH_ENTRIES = "path";
+
+    /**
+     * What the positional arguments of each command complete to.
+     */
+    private static final Map<String, String> DYNAMIC = Map.ofEntries(
+            Map.entry("java use", INSTALLED),
+            Map.entry("java exec", INSTALLED),
+            Map.entry("java slim", INSTALLED),
+            Map.entry("java cds", INSTALLED),
+            Map.entry("java pin", INSTALLED),
+            Map.entry("java verify", INSTALLED),
+            Map.entry("java bundle", INSTALLED),
+            Map.entry("java upgrade", MAJORS),
+            Map.entry("java install", AVAILABLE),
+            Map.entry("java install download", AVAILABLE),
+            Map.entry("path remove", PATH_ENTRIES));
+
+    public enum Shell {
+        BASH, ZSH
+    }
+
+    @Parameters(index = "0", description = "Shell: bash or zsh")
+    private Shell shell;
+
+    @Spec
+    private CommandSpec spec;
+
+    @Override
+    public Integer call() {
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        out.println("# javawizard " + shell.name().toLowerCase() + " completion, generated by 'javawizard completion "
+                + shell.name().toLowerCase() + "'");
+        if (shell == Shell.ZSH) {
+            out.println("autoload -U +X bashcompinit && bashcompinit");
+        }
+        writeScript(out, spec.root().commandLine());
+        out.flush();
+        return 0;
+    }
+
+    private static void writeScript(PrintWriter out, CommandLine root) {
+        List<String> specCases = new ArrayList<>();
+        List<String> valueCases = new ArrayList<>();
+        collect(root, "", specCases, valueCases);
+
+        out.println("_javawizard_spec() {");
+        out.println("    subs=\"\" opts=\"\" valopts=\"\" kind=\"\" maxargs=0");
+        out.println("    case \"$1\" in");
+        specCases.forEach(out::println);
+        out.println("    esac");
+        out.println("}");
+        out.println();
+        out.println("_javawizard_values() {");
+        out.println("    case \"$1|$2\" in");
+        valueCases.forEach(out::println);
+        out.println("    esac");
+        out.println("}");
+        out.println();
+        out.print("""
+                _javawizard() {
+                    local cur="${COMP_WORDS[COMP_CWORD]}" prev="${COMP_WORDS[COMP_CWORD-1]}"
+                    local cmdpath="" args=0 i w subs opts valopts kind maxargs
+                    _javawizard_spec ""
+                    for ((i = 1; i < COMP_CWORD; i++)); do
+                        w="${COMP_WORDS[i]}"
+                        if [[ $w == -- ]]; then
+                            # Everything after -- belongs to another program.
+                            compopt -o default 2>/dev/null
+                            COMPREPLY=()
+                            return
+                        elif [[ " $valopts " == *" $w "* ]]; then
+                            ((i++))
+                        elif [[ $w == -* ]]; then
+                            :
+                        elif ((args == 0)) && [[ " $subs " == *" $w "* ]]; then
+                            cmdpath="${cmdpath:+$cmdpath }$w"
+                            _javawizard_spec "$cmdpath"
+                        else
+                            ((args++))
+                        fi
+                    done
+
+                    if [[ " $valopts " == *" $prev "* ]]; then
+                        local values
+                        values=$(_javawizard_values "$cmdpath" "$prev")
+                        if [[ -n $values ]]; then
+                            COMPREPLY=($(compgen -W "$values" -- "$cur"))
+                        else
+                            compopt -o default 2>/dev/null
+                            COMPREPLY=()
+                        fi
+                        return
+                    fi
+                    if [[ $cur == -* ]]; then
+                        COMPREPLY=($(compgen -W "$opts" -- "$cur"))
+                        return
+                    fi
+                    COMPREPLY=()
+                    if ((args == 0)); then
+                        COMPREPLY=($(compgen -W "$subs" -- "$cur"))
+                    fi
+                    if [[ -n $kind ]] && ((args < maxargs)); then
+                        local IFS=$'\\n'
+                        COMPREPLY+=($("${COMP_WORDS[0]}" __complete "$kind" "$cur" 2>/dev/null))
+                    fi
+                }
+                complete -F _javawizard javawizard xwizard
+                """);
+    }
+
+    private static void collect(CommandLine command, String path, List<String> specCases, List<String> valueCases) {
+        CommandSpec commandSpec = command.getCommandSpec();
+        Set<String> subs = new LinkedHashSet<>();
+        command.getSubcommands().forEach((name, sub) -> {
+            if (!sub.getCommandSpec().usageMessage().hidden()) {
+                subs.add(name);
+            }
+        });
+        Set<String> opts = new LinkedHashSet<>();
+        Set<String> valopts = new LinkedHashSet<>();
+        for (OptionSpec option : commandSpec.options()) {
+            if (option.hidden()) {
+                continue;
+            }
+            opts.addAll(List.of(option.names()));
+            if (option.arity().max() > 0) {
+                valopts.addAll(List.of(option.names()));
+                Collection<String> values = candidates(option);
+                if (!values.isEmpty()) {
+                    for (String name : option.names()) {
+                        valueCases.add("        \"" + path + "|" + name + "\") echo \"" + String.join(" ", values) + "\" ;;");
+                    }
+                }
+            }
+        }
+        // Only the first positional is a version (exec's second is the command to run).
+        List<PositionalParamSpec> positionals = commandSpec.positionalParameters();
+        int maxArgs = positionals.isEmpty() ? 0 : Math.min(99, positionals.get(0).arity().max());
+
+        StringBuilder line = new StringBuilder("        \"").append(path).append("\") ");
+        line.append("subs=\"").append(String.join(" ", subs)).append("\" ");
+        line.append("opts=\"").append(String.join(" ", opts)).append("\" ");
+        line.append("valopts=\"").append(String.join(" ", valopts)).append("\"");
+        String kind = DYNAMIC.get(path);
+        if (kind != null) {
+            line.append(" kind=").append(kind).append(" maxargs=").append(maxArgs);
+        }
+        specCases.add(line.append(" ;;").toString());
+
+        command.getSubcommands().forEach((name, sub) -> {
+            if (subs.contains(name) && sub.getCommandSpec().name().equals(name)) {
+                collect(sub, path.isEmpty() ? name : path + " " + name, specCases, valueCases);
+            }
+        });
+    }
+
+    private static Collection<String> candidates(OptionSpec option) {
+        Iterable<String> candidates = option.completionCandidates();
+        List<String> values = new ArrayList<>();
+        if (candidates != null) {
+            candidates.forEach(value -> values.add(value.toLowerCase()));
+        }
+        return values;
+    }
+
+    /**
+     * {@code __complete <kind> [prefix]}: print matching candidates, one per line.
+     * Runs without picocli, logging or metrics; must stay cheap enough for every TAB.
+     */
+    public static int complete(String[] args) {
+        if (args.length < 2) {
+            return 2;
+        }
+        String prefix = args.length > 2 ? args[2] : "";
+        Collection<String> candidates;
+        try {
+            candidates = switch (args[1]) {
+                case INSTALLED -> JavaVersionManagerUtils.listInstalledVersions();
+                case MAJORS -> majors(JavaVersionManagerUtils.listInstalledVersions());
+                case AVAILABLE -> {
+                    List<String> available = AvailableVersionSnapshot.read();
+                    Set<String> all = majors(available);
+                    all.addAll(available);
+                    yield all;
+                }
+                case PATH_ENTRIES -> {
+                    String path = System.getenv("PATH");
+                    yield path == null ? List.of() : new LinkedHashSet<>(List.of(path.split(File.pathSeparator)));
+                }
+                default -> List.of();
+            };
+        } catch (IOException e) {
+            return 1;
+        }
+
+        try {
+            BufferedWriter out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            for (String candidate : candidates) {
+                if (!candidate.isEmpty() && candidate.startsWith(prefix)) {
+                    out.write(candidate);
+                    out.newLine();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            return 1;
+        }
+        return 0;
+    }
+
+    private static Set<String> majors(List<String> versions) {
+        Set<String> majors = new LinkedHashSet<>();
+        for (String version : versions) {
+            majors.add(JavaVersionManagerUtils.majorVersion(version));
+        }
+        return majors;
+    }
+}
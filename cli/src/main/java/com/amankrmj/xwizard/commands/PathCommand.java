@@ -1,5 +1,11 @@
 package com.amankrmj.xwizard.commands;
 
+import com.amankrmj.xwizard.common.metrics.MetricsRegistry;
+import com.amankrmj.xwizard.common.metrics.ProcessMetrics;
+import com.amankrmj.xwizard.common.metrics.Timer;
+import com.amankrmj.xwizard.common.output.Output;
+import com.amankrmj.xwizard.common.output.RecordStream;
+import com.amankrmj.xwizard.common.state.StateLock;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
@@ -42,7 +48,8 @@ public class PathCommand implements Callable<Integer> {
 
         @Override
         public Integer call() throws Exception {
-            try {
+            // PATH is read, modified and written back; serialize with other invocations.
+            try (StateLock environment = StateLock.acquire(StateLock.ENVIRONMENT)) {
                 String scope = systemPath ? "SYSTEM" : "USER";
                 String currentPath = getCurrentPath(scope);
 
@@ -78,7 +85,8 @@ public class PathCommand implements Callable<Integer> {
 
         @Override
         public Integer call() throws Exception {
-            try {
+            // PATH is read, modified and written back; serialize with other invocations.
+            try (StateLock environment = StateLock.acquire(StateLock.ENVIRONMENT)) {
                 String scope = systemPath ? "SYSTEM" : "USER";
                 String currentPath = getCurrentPath(scope);
 
@@ -114,6 +122,17 @@ public class PathCommand implements Callable<Integer> {
         @Override
         public Integer call() throws Exception {
             try {
+                if (Output.isStructured()) {
+                    try (RecordStream records = Output.records("scope", "index", "path")) {
+                        if (showAll || !systemPath) {
+                            writeRecords(records, "USER");
+                        }
+                        if (showAll || systemPath) {
+                            writeRecords(records, "SYSTEM");
+                        }
+                    }
+                    return 0;
+                }
                 if (showAll) {
                     System.out.println("=== USER PATH ===");
                     listPath("USER");
@@ -132,6 +151,16 @@ public class PathCommand implements Callable<Integer> {
             }
         }
 
+        private void writeRecords(RecordStream records, String scope) throws IOException, InterruptedException {
+            String[] paths = getCurrentPath(scope).split(";");
+            for (int i = 0; i < paths.length; i++) {
+                String path = paths[i].trim();
+                if (!path.isEmpty()) {
+                    records.write(scope.toLowerCase(), i + 1, path);
+                }
+            }
+        }
+
         private void listPath(String scope) throws IOException, InterruptedException {
             String currentPath = getCurrentPath(scope);
             if (currentPath.isEmpty()) {
@@ -156,11 +185,13 @@ public class PathCommand implements Callable<Integer> {
             "SYSTEM\\CurrentControlSet\\Control\\Session Manager\\Environment" :
             "Environment";
 
+        Timer.Sample sample = MetricsRegistry.global().timer("path.read").start();
         ProcessBuilder pb = new ProcessBuilder("reg", "query", hive + "\\" + key, "/v", "Path");
-        Process process = pb.start();
+        Process process = ProcessMetrics.start(pb);
 
         String output = new String(process.getInputStream().readAllBytes());
         process.waitFor();
+        sample.stop();
 
         // Parse reg output to get PATH value
         String[] lines = output.split("\n");
@@ -181,11 +212,13 @@ public class PathCommand implements Callable<Integer> {
             "SYSTEM\\CurrentControlSet\\Control\\Session Manager\\Environment" :
             "Environment";
 
+        Timer.Sample sample = MetricsRegistry.global().timer("path.write").start();
         ProcessBuilder pb = new ProcessBuilder("reg", "add", hive + "\\" + key,
             "/v", "Path", "/t", "REG_EXPAND_SZ", "/d", newPath, "/f");
-        Process process = pb.start();
+        Process process = ProcessMetrics.start(pb);
 
         int exitCode = process.waitFor();
+        sample.stop();
         if (exitCode != 0) {
             String error = new String(process.getErrorStream().readAllBytes());
             throw new RuntimeException("Failed to update registry: " + error);
@@ -225,7 +258,7 @@ public class PathCommand implements Callable<Integer> {
             ProcessBuilder pb = new ProcessBuilder("powershell", "-Command",
                 "[System.Environment]::SetEnvironmentVariable('TEMP_REFRESH', [System.Guid]::NewGuid().ToString(), 'User'); " +
                 "[System.Environment]::SetEnvironmentVariable('TEMP_REFRESH', $null, 'User')");
-            Process process = pb.start();
+            Process process = ProcessMetrics.start(pb);
             process.waitFor();
         } catch (Exception e) {
             // Silent fail - environment change broadcast is optional
@@ -0,0 +1,121 @@
+package com.amankrmj.xwizard.commands;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.WizardHome;
+import com.amankrmj.xwizard.common.http.CachingRelay;
+import com.amankrmj.xwizard.common.http.Mirror;
+import com.amankrmj.xwizard.common.http.MirrorSelector;
+import com.amankrmj.xwizard.common.http.SharedHttpClient;
+import com.amankrmj.xwizard.common.output.Output;
+import com.amankrmj.xwizard.java.model.OracleJavaVersionInfo;
+import com.amankrmj.xwizard.java.services.JavaVersionAvailableFetchService;
+import com.sun.net.httpserver.HttpServer;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+
+@Command(name = "serve", description = "Run a caching relay that other machines can use as a mirror")
+public class ServeCommand implements Callable<Integer> {
+
+    @Option(names = {"-p", "--port"}, description = "Port to listen on (default: 8080)")
+    private int port = 8080;
+
+    @Option(names = "--bind", description = "Address to listen on; use 0.0.0.0 to serve other machines (default: 127.0.0.1)")
+    private String bind = "127.0.0.1";
+
+    @Option(names = "--cache-dir", description = "Where relayed objects are stored (default: ~/.javawizard/cache/relay)")
+    private Path cacheDir;
+
+    @Option(names = "--max-cache-size", description = "Evict least recently served objects beyond this size, e.g. 50G (default: 20G)")
+    private String maxCacheSize = "20G";
+
+    @Option(names = "--allow-host", description = "Additional upstream base URL to relay, e.g. https://cdn.example.com")
+    private List<String> allowHosts = new ArrayList<>();
+
+    @Option(names = "--ttl", description = "Seconds before a cached object is revalidated upstream (default: 600)")
+    private int ttlSeconds = 600;
+
+    @Option(names = "--upstream-scheme", description = "Scheme used to reach upstream hosts: https or http (default: https)")
+    private String upstreamScheme = "https";
+
+    @Override
+    public Integer call() {
+        if (!upstreamScheme.equals("https") && !upstreamScheme.equals("http")) {
+            System.err.println("❌ --upstream-scheme must be https or http");
+            return 1;
+        }
+
+        long maxBytes;
+        try {
+            maxBytes = FileUtils.parseSize(maxCacheSize);
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            return 1;
+        }
+
+        Path cache = cacheDir != null ? cacheDir : WizardHome.cacheDirectory().resolve("relay");
+        URI catalog = URI.create(JavaVersionAvailableFetchService.catalogUrl());
+        CachingRelay relay = new CachingRelay(SharedHttpClient.get(), cache, upstreamScheme, catalog,
+                JavaVersionAvailableFetchService::archiveLinks, Duration.ofSeconds(ttlSeconds), maxBytes);
+        try {
+            for (Mirror mirror : MirrorSelector.fromConfig().getMirrors()) {
+                if (!mirror.isOrigin()) {
+                    relay.allow(URI.create(mirror.getId()));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("❌ " + e.getMessage());
+            return 1;
+        }
+        for (String host : allowHosts) {
+            relay.allow(URI.create(host));
+        }
+        try {
+            // Archive hosts are also learned whenever the relay fetches the catalog itself.
+            for (OracleJavaVersionInfo version : new JavaVersionAvailableFetchService().fetchOracleJavaVersions(catalog.toString())) {
+                relay.allow(URI.create(version.getUrl()));
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️  Could not read the catalog yet (" + e.getMessage()
+                    + "); archive hosts are allowed once it is relayed");
+        }
+
+        try {
+            HttpServer server = relay.start(new InetSocketAddress(bind, port));
+            int actualPort = server.getAddress().getPort();
+            System.out.println("🚀 Relay listening on http://" + bind + ":" + actualPort);
+            System.out.println("   Cache:   " + cache.toAbsolutePath() + " (up to " + FileUtils.humanReadable(maxBytes) + ")");
+            System.out.println("   Catalog: " + catalog);
+            System.out.println();
+            System.out.println("Point clients at it with:");
+            System.out.println("  JAVAWIZARD_MIRRORS=http://<this-host>:" + actualPort);
+            String catalogPath = catalog.getPath();
+            System.out.println("  JAVAWIZARD_CATALOG_URL=http://<this-host>:" + actualPort + "/catalog/"
+                    + catalogPath.substring(catalogPath.lastIndexOf('/') + 1));
+            Output.flush();
+
+            CountDownLatch stopped = new CountDownLatch(1);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.stop(1);
+                stopped.countDown();
+            }));
+            stopped.await();
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        } catch (Exception e) {
+            System.err.println("❌ Failed to start relay: " + e.getMessage());
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.amankrmj.xwizard.commands;
+
+import com.amankrmj.xwizard.common.Platform;
+import com.amankrmj.xwizard.common.output.Output;
+import com.amankrmj.xwizard.common.output.RecordStream;
+import com.amankrmj.xwizard.java.ToolchainsJavaVersionCommand;
+import com.amankrmj.xwizard.java.model.JdkLock;
+import com.amankrmj.xwizard.java.services.SyncService;
+import com.amankrmj.xwizard.java.services.SyncService.Action;
+import com.amankrmj.xwizard.java.services.SyncService.Outcome;
+import com.amankrmj.xwizard.java.services.SyncService.Plan;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+@Command(name = "sync", description = "Install, remove and select JDKs to match an xwizard.lock file")
+public class SyncCommand implements Callable<Integer> {
+
+    private static final String[] COLUMNS = {"action", "target", "status", "error"};
+
+    @Option(names = {"-f", "--file"}, description = "Lock file (default: xwizard.lock)")
+    private Path file = Path.of("xwizard.lock");
+
+    @Option(names = {"-n", "--dry-run"}, description = "Print the plan without changing anything")
+    private boolean dryRun = false;
+
+    @Option(names = "--keep-unlisted", description = "Do not remove managed versions the lock file does not list")
+    private boolean keepUnlisted = false;
+
+    @Option(names = "--force", description = "Re-check the host even if nothing changed since the last sync")
+    private boolean force = false;
+
+    @Override
+    public Integer call() {
+        byte[] content;
+        try {
+            content = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            System.err.println("❌ Lock file not found: " + file.toAbsolutePath());
+            return 1;
+        } catch (Exception e) {
+            System.err.println("❌ Could not read " + file + ": " + e.getMessage());
+            return 1;
+        }
+
+        SyncService service = new SyncService();
+        try {
+            if (!force && !dryRun && service.isUpToDate(content)) {
+                report(List.of(), "✅ Already in sync with " + file);
+                return 0;
+            }
+
+            JdkLock lock = JdkLock.parse(content);
+            Plan plan = service.plan(lock, keepUnlisted);
+            if (!Platform.isWindows() && (lock.defaultVersion() != null || !lock.pathEntries().isEmpty())) {
+                System.err.println("ℹ️  'default' and 'path' are only applied on Windows; use 'javawizard java exec' elsewhere");
+            }
+            for (String kept : plan.kept()) {
+                System.out.println("📌 Keeping pinned " + kept + " (not in " + file + ")");
+            }
+            if (plan.actions().isEmpty()) {
+                if (!dryRun) {
+                    service.markUpToDate(content);
+                }
+                report(List.of(), "✅ Already in sync with " + file);
+                return 0;
+            }
+
+            if (!Output.isStructured()) {
+                System.out.println("📋 Plan (" + plan.actions().size() + " action(s)):");
+                plan.actions().forEach(action -> System.out.println("   " + action.describe()));
+            }
+            if (dryRun) {
+                if (Output.isStructured()) {
+                    try (RecordStream records = Output.records(COLUMNS)) {
+                        plan.actions().forEach(action -> records.write(kind(action), action.target(), "planned", null));
+                    }
+                }
+                return 0;
+            }
+
+            List<Outcome> outcomes = service.apply(plan);
+            boolean ok = outcomes.stream().allMatch(Outcome::ok);
+            if (outcomes.stream().anyMatch(outcome -> outcome.action().kind() != SyncService.Kind.PATH
+                    && outcome.action().kind() != SyncService.Kind.DEFAULT && outcome.ok())) {
+                ToolchainsJavaVersionCommand.syncAfterChange();
+            }
+            report(outcomes, ok ? "✅ In sync with " + file : null);
+            if (ok) {
+                service.markUpToDate(content);
+                return 0;
+            }
+            System.err.println("❌ Sync incomplete; fix the errors above and run it again");
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("❌ Sync interrupted");
+            return 1;
+        } catch (Exception e) {
+            System.err.println("❌ Sync failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static void report(List<Outcome> outcomes, String summary) {
+        if (Output.isStructured()) {
+            try (RecordStream records = Output.records(COLUMNS)) {
+                for (Outcome outcome : outcomes) {
+                    records.write(kind(outcome.action()), outcome.action().target(),
+                            outcome.ok() ? "done" : "failed", outcome.error());
+                }
+            }
+            return;
+        }
+        for (Outcome outcome : outcomes) {
+            System.out.println((outcome.ok() ? "   ✅ " : "   ❌ ") + outcome.action().describe()
+                    + (outcome.ok() ? "" : ": " + outcome.error()));
+        }
+        if (summary != null) {
+            System.out.println(summary);
+        }
+    }
+
+    private static String kind(Action action) {
+        return action.kind().name().toLowerCase();
+    }
+}
@@ -0,0 +1,60 @@
+package com.amankrmj.xwizard.java;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.java.services.JavaBundleService;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+@Command(name = "bundle", description = "Export installed Java versions into one deduplicated bundle file")
+public class BundleJavaVersionsCommand implements Callable<Integer> {
+
+    @Parameters(description = "Java versions to export (e.g., 17 21.0.8)", arity = "0..*")
+    private List<String> versions = new ArrayList<>();
+
+    @Option(names = {"-a", "--all"}, description = "Export every managed version")
+    private boolean all = false;
+
+    @Option(names = {"-o", "--output"}, required = true, description = "Bundle file to write, e.g. jdks.xwb")
+    private Path output;
+
+    @Override
+    public Integer call() {
+        try {
+            List<String> selected = new ArrayList<>();
+            if (all) {
+                selected.addAll(JavaVersionManagerUtils.listInstalledVersions());
+            }
+            for (String version : versions) {
+                Optional<String> installed = JavaVersionManagerUtils.resolveInstalledVersion(version);
+                if (installed.isEmpty()) {
+                    System.err.println("Java version not installed: " + version);
+                    return 1;
+                }
+                if (!selected.contains(installed.get())) {
+                    selected.add(installed.get());
+                }
+            }
+            if (selected.isEmpty()) {
+                System.err.println("Specify versions to export or use --all");
+                return 1;
+            }
+
+            System.out.println("📦 Bundling " + String.join(", ", selected) + "...");
+            JavaBundleService.BundleStats stats = new JavaBundleService().export(selected, output);
+            System.out.printf("✅ Wrote %s: %d versions, %d files in %d unique blobs, %s -> %s%n",
+                    output, stats.versions(), stats.files(), stats.blobs(),
+                    FileUtils.humanReadable(stats.originalBytes()), FileUtils.humanReadable(stats.bundleBytes()));
+            return 0;
+        } catch (Exception e) {
+            System.err.println("❌ Failed to create bundle: " + e.getMessage());
+            return 1;
+        }
+    }
+}
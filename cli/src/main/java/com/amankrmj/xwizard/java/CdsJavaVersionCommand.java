@@ -0,0 +1,90 @@
+package com.amankrmj.xwizard.java;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.java.services.JavaCdsService;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+@Command(name = "cds", description = "Generate Class Data Sharing archives to speed up JVM startup")
+public class CdsJavaVersionCommand implements Callable<Integer> {
+
+    @Parameters(index = "0", description = "Installed Java version (e.g., 21, 21.0.8)")
+    private String version;
+
+    @Option(names = "--app", description = "Application jar to train an AppCDS archive for")
+    private Path app;
+
+    @Option(names = "--workload", description = "Arguments passed to the application while training, e.g. \"--help\"")
+    private String workload;
+
+    @Option(names = "--default", description = "Apply this archive to 'java exec' and 'java matrix' runs of the version")
+    private boolean makeDefault = false;
+
+    @Option(names = {"-l", "--list"}, description = "List the archives trained for this version")
+    private boolean list = false;
+
+    @Override
+    public Integer call() {
+        try {
+            Optional<String> installed = JavaVersionManagerUtils.resolveInstalledVersion(version);
+            if (installed.isEmpty()) {
+                System.err.println("Java version not installed: " + version);
+                return 1;
+            }
+            String name = installed.get();
+            Path jdkHome = JavaVersionManagerUtils.getJavaVersionsDirectory().resolve(name);
+            JavaCdsService cds = new JavaCdsService();
+
+            if (list) {
+                Optional<Path> defaultArchive = JavaCdsService.defaultArchive(name);
+                List<Path> archives = JavaCdsService.listArchives(name);
+                if (archives.isEmpty()) {
+                    System.out.println("No AppCDS archives for Java " + name);
+                }
+                for (Path archive : archives) {
+                    String marker = defaultArchive.filter(archive::equals).isPresent() ? " (default)" : "";
+                    System.out.println("  " + archive.getFileName() + "  " + FileUtils.humanReadable(Files.size(archive)) + marker);
+                }
+                return 0;
+            }
+
+            if (app == null) {
+                System.out.println("🔧 Regenerating default CDS archive for Java " + name + "...");
+                cds.dumpDefault(jdkHome);
+                System.out.println("✅ Default CDS archive refreshed");
+                return 0;
+            }
+
+            if (!Files.isRegularFile(app)) {
+                System.err.println("Application jar not found: " + app);
+                return 1;
+            }
+            List<String> arguments = workload == null || workload.isBlank()
+                    ? List.of()
+                    : Arrays.asList(workload.trim().split("\\s+"));
+            System.out.println("🔧 Training AppCDS archive for " + app.getFileName() + " on Java " + name + "...");
+            Path archive = cds.trainApp(jdkHome, name, app, arguments);
+            System.out.println("✅ Archive created: " + archive + " (" + FileUtils.humanReadable(Files.size(archive)) + ")");
+
+            if (makeDefault) {
+                JavaCdsService.setDefaultArchive(name, archive);
+                System.out.println("'javawizard java exec " + name + " ...' will now apply this archive.");
+            } else {
+                System.out.println("Launch with: javawizard java exec " + name + " -- java -jar " + app);
+                System.out.println("         or: java " + JavaCdsService.jvmOptions(archive) + " -jar " + app);
+            }
+            return 0;
+        } catch (Exception e) {
+            System.err.println("❌ Failed to generate CDS archive: " + e.getMessage());
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.amankrmj.xwizard.java;
+
+import com.amankrmj.xwizard.common.metrics.ProcessMetrics;
+import com.amankrmj.xwizard.common.output.Output;
+import com.amankrmj.xwizard.common.output.RecordStream;
+import picocli.CommandLine.Command;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Command(name = "current", description = "Show current active Java version")
+public class CurrentJavaVersionCommand implements Callable<Integer> {
+
+    private static final Pattern QUOTED_VERSION = Pattern.compile("\"([^\"]+)\"");
+
+    @Override
+    public Integer call() {
+        try {
+            String javaHome = System.getenv("JAVA_HOME");
+            if (Output.isStructured()) {
+                writeRecord(javaHome);
+                return 0;
+            }
+            if (javaHome == null) {
+                System.out.println("JAVA_HOME not set");
+            } else {
+                System.out.println("JAVA_HOME: " + javaHome);
+            }
+
+            // Try to get version from java command
+            ProcessBuilder pb = new ProcessBuilder("java", "-version");
+            Process process = ProcessMetrics.start(pb);
+            String output = new String(process.getErrorStream().readAllBytes());
+            int exitCode = process.waitFor();
+
+            if (exitCode == 0) {
+                System.out.println("Active Java version:");
+                System.out.println(output.trim());
+            } else {
+                System.out.println("No Java found in PATH");
+            }
+
+            return 0;
+        } catch (Exception e) {
+            System.err.println("Error getting current Java version: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private void writeRecord(String javaHome) throws Exception {
+        String version = null;
+        boolean found;
+        try {
+            Process process = ProcessMetrics.start(new ProcessBuilder("java", "-version"));
+            String output = new String(process.getErrorStream().readAllBytes());
+            found = process.waitFor() == 0;
+            if (found) {
+                Matcher matcher = QUOTED_VERSION.matcher(output);
+                version = matcher.find() ? matcher.group(1) : null;
+            }
+        } catch (IOException e) {
+            found = false;
+        }
+        try (RecordStream records = Output.records("javaHome", "managedVersion", "version", "onPath")) {
+            records.write(javaHome, JavaVersionManagerUtils.getCurrentJavaVersion(), version, found);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.amankrmj.xwizard.java;
+
+import com.amankrmj.xwizard.common.metrics.ProcessMetrics;
+import com.amankrmj.xwizard.common.output.Output;
+import com.amankrmj.xwizard.common.state.StateLock;
+import com.amankrmj.xwizard.java.services.JavaExecService;
+import com.amankrmj.xwizard.java.services.JavaUsageLog;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+@Command(name = "exec", description = "Run a command with a specific Java version, without changing the global environment")
+public class ExecJavaVersionCommand implements Callable<Integer> {
+
+    @Parameters(index = "0", description = "Java version to run with (e.g., 21, 17.0.9)")
+    private String version;
+
+    @Parameters(index = "1..*", arity = "1..*", paramLabel = "COMMAND",
+            description = "Command and arguments; put them after '--', e.g. -- java -jar app.jar")
+    private List<String> command;
+
+    @Option(names = "--no-cds", description = "Do not add the version's CDS archive to JDK_JAVA_OPTIONS")
+    private boolean noCds = false;
+
+    @Override
+    public Integer call() {
+        try {
+            Optional<String> installed = JavaVersionManagerUtils.resolveInstalledVersion(version);
+            if (installed.isEmpty()) {
+                System.err.println("Java version not installed: " + version);
+                System.err.println("Use 'javawizard java install download " + version + "' to install it.");
+                return 1;
+            }
+            String name = installed.get();
+            Path home = JavaVersionManagerUtils.getJavaVersionsDirectory().resolve(name);
+
+            // Shared: other execs may run alongside, but prune/reinstall wait until we are done.
+            try (StateLock lock = StateLock.sharedForDirectory(home)) {
+                ProcessBuilder processBuilder = JavaExecService.prepare(name, home, command, !noCds).inheritIO();
+                JavaUsageLog.recordUse(name);
+                Output.flush();
+                Process process = ProcessMetrics.start(processBuilder);
+                try {
+                    return process.waitFor();
+                } catch (InterruptedException e) {
+                    process.destroy();
+                    Thread.currentThread().interrupt();
+                    return 130;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Failed to run " + command.get(0) + ": " + e.getMessage());
+            return 127;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.amankrmj.xwizard.java;
+
+import com.amankrmj.xwizard.common.model.VersionInfo;
+import com.amankrmj.xwizard.common.output.Output;
+import com.amankrmj.xwizard.common.output.RecordStream;
+import com.amankrmj.xwizard.java.model.OracleJavaVersionInfo;
+import com.amankrmj.xwizard.java.services.CatalogSearchIndex;
+import com.amankrmj.xwizard.java.services.JavaArchiveDownloadService;
+import com.amankrmj.xwizard.java.services.JavaCdsService;
+import com.amankrmj.xwizard.java.services.JavaInstallService;
+import com.amankrmj.xwizard.java.services.JavaVersionAvailableFetchService;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+@Command(name = "install",
+        description = "Install a specific Java version.",
+        subcommands = {
+                InstallJavaVersionCommand.ListAvailableCommand.class,
+                InstallJavaVersionCommand.SearchCommand.class,
+                InstallJavaVersionCommand.DownloadCommand.class,
+                InstallJavaVersionCommand.FromFileCommand.class
+        })
+public class InstallJavaVersionCommand implements Callable<Integer> {
+
+    @Option(names = {"-l", "--list"}, description = "List available Java versions")
+    private boolean list = false;
+
+    @Option(names = {"-f", "--force"}, description = "Force reinstall if already exists")
+    private boolean force = false;
+
+    @Option(names = {"-m", "--modules"}, split = ",",
+            description = "Build a minimal runtime with only these modules (jlink), e.g. java.base,java.sql")
+    private List<String> modules;
+
+    @Option(names = "--cds", description = "Generate the default CDS archive after installing")
+    private boolean cds = false;
+
+    @Parameters(index = "0", description = "Java version to install (e.g., 17, 21, 11-graalvm)", arity = "0..1")
+    private String version;
+
+    @Override
+    public Integer call() throws Exception {
+        if (list) {
+            return new ListAvailableCommand().call();
+        }
+
+        if (version == null) {
+            System.err.println("Please specify a version to install or use -l to list available versions");
+            System.err.println("Usage: javawizard java install <version>");
+            System.err.println("       javawizard java install -l");
+            System.err.println("       javawizard java install list");
+            System.err.println("       javawizard java install search <query>");
+            System.err.println("       javawizard java install download <version>");
+            System.err.println("       javawizard java install from-file <path>");
+            return 1;
+        }
+
+        if (modules != null && !modules.isEmpty()) {
+            return installSlim(version);
+        }
+
+        return installVersion(version);
+    }
+
+    private Integer installSlim(String version) {
+        try {
+            Optional<String> installed = JavaVersionManagerUtils.resolveInstalledVersion(version);
+            String source;
+            if (installed.isPresent()) {
+                source = installed.get();
+            } else {
+                System.out.println("🔄 Downloading Java " + version + "...");
+                source = downloadAndInstall(version, null, false).getFileName().toString();
+            }
+            SlimJavaVersionCommand.build(source, modules, null, force);
+            ToolchainsJavaVersionCommand.syncAfterChange();
+            return 0;
+        } catch (Exception e) {
+            System.err.println("❌ Failed to install Java " + version + ": " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Install {@code version} from the catalog into {@code target} (default: the managed versions directory).
+     *
+     * @return the JDK home
+     */
+    static Path downloadAndInstall(String version, Path target, boolean force) throws IOException {
+        OracleJavaVersionInfo info = findInCatalog(version)
+                .orElseThrow(() -> new IOException("Java version not found in catalog: " + version
+                        + " (use 'javawizard java install list' to see available versions)"));
+        return install(info, target, force);
+    }
+
+    /**
+     * Look {@code version} up in the catalog, fetching only the shards for its major version.
+     */
+    static Optional<OracleJavaVersionInfo> findInCatalog(String version) throws IOException {
+        List<OracleJavaVersionInfo> versions = new JavaVersionAvailableFetchService()
+                .fetchVersionsFor(JavaVersionAvailableFetchService.catalogUrl(), version);
+        return JavaVersionManagerUtils.findVersion(versions, version);
+    }
+
+    private static Path install(OracleJavaVersionInfo info, Path target, boolean force) throws IOException {
+        Path home = target != null ? target : JavaVersionManagerUtils.getJavaVersionsDirectory().resolve(info.getVersion());
+        System.out.println("🌐 Archive: " + JavaArchiveDownloadService.archiveUri(info));
+        return new JavaInstallService().install(info, home, force);
+    }
+
+    private Integer installVersion(String version) {
+        System.out.println("Installing Java " + version + "...");
+
+        try {
+            Optional<OracleJavaVersionInfo> info = findInCatalog(version);
+            if (info.isPresent()) {
+                Path target = install(info.get(), null, force);
+                System.out.println("✅ Installed Java " + info.get().getVersion() + " to " + target);
+                if (cds) {
+                    generateDefaultCds(target);
+                }
+                ToolchainsJavaVersionCommand.syncAfterChange();
+                System.out.println("Run: javawizard java use " + target.getFileName());
+                return 0;
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Failed to install Java " + version + ": " + e.getMessage());
+            return 1;
+        }
+
+        // Not in the catalog: explain how to get it manually.
+        if (version.contains("graalvm")) {
+            return installGraalVM(version);
+        } else {
+            return installOpenJDK(version);
+        }
+    }
+
+    private Integer installGraalVM(String version) {
+        System.out.println("GraalVM Installation Guide:");
+        System.out.println("1. Download GraalVM from: https://www.graalvm.org/downloads/");
+        System.out.println("2. Choose the appropriate version for your platform:");
+        System.out.println("   - Windows: graalvm-community-jdk-<version>_windows-x64_bin.zip");
+        System.out.println("   - macOS: graalvm-community-jdk-<version>_macos-x64_bin.tar.gz");
+        System.out.println("   - Linux: graalvm-community-jdk-<version>_linux-x64_bin.tar.gz");
+        System.out.println("3. Extract to: " + JavaVersionManagerUtils.getJavaVersionsDirectory()
+                .resolve("graalvm-" + version.replace("-graalvm", "")));
+        System.out.println("4. Run: javawizard java use graalvm-" + version.replace("-graalvm", ""));
+        return 0;
+    }
+
+    private Integer installOpenJDK(String version) {
+        System.out.println("OpenJDK Installation Guide:");
+        System.out.println("1. Download from Eclipse Adoptium: https://adoptium.net/");
+        System.out.println("2. Choose version " + version + " for your platform");
+        System.out.println("3. Extract to: " + JavaVersionManagerUtils.getJavaVersionsDirectory()
+                .resolve("jdk-" + version));
+        System.out.println("4. Run: javawizard java use jdk-" + version);
+        System.out.println();
+        System.out.println("Alternative - Use package managers:");
+        System.out.println("Windows (winget): winget install Microsoft.OpenJDK." + version);
+        System.out.println("macOS (brew): brew install openjdk@" + version);
+        System.out.println("Linux (apt): sudo apt install openjdk-" + version + "-jdk");
+        return 0;
+    }
+
+    static void generateDefaultCds(Path jdkHome) {
+        System.out.println("🔧 Generating default CDS archive...");
+        try {
+            new JavaCdsService().dumpDefault(jdkHome);
+            System.out.println("✅ Default CDS archive generated");
+        } catch (Exception e) {
+            // The JDK is installed and usable either way.
+            System.err.println("⚠️  Could not generate CDS archive: " + e.getMessage());
+        }
+    }
+
+    // Subcommands for install
+
+    @Command(name = "list", description = "List all available Java versions for installation")
+    static class ListAvailableCommand implements Callable<Integer> {
+
+        @Override
+        public Integer call() throws Exception {
+            JavaVersionAvailableFetchService fetchService = new JavaVersionAvailableFetchService();
+            try {
+                List<OracleJavaVersionInfo> versions = fetchService.fetchOracleJavaVersions(
+                        JavaVersionAvailableFetchService.catalogUrl());
+                if (Output.isStructured()) {
+                    try (RecordStream records = Output.records("version", "distribution", "description", "url")) {
+                        for (OracleJavaVersionInfo v : versions) {
+                            records.write(v.getVersion(), v.getDistribution(), v.getDescription(), v.getUrl());
+                        }
+                    }
+                    return 0;
+                }
+                System.out.println("\n📦 Available Java Versions:");
+                for (OracleJavaVersionInfo v : versions) {
+                    System.out.printf("  • Version: %-10s | Distribution: %-10s\n    Description: %s\n    URL: %s\n\n",
+                            v.getVersion(), v.getDistribution(), v.getDescription(), v.getUrl());
+                }
+                return 0;
+            } catch (Exception e) {
+                System.err.println("❌ Failed to fetch Java versions: " + e.getMessage());
+                return 1;
+            }
+        }
+    }
+
+    @Command(name = "search", description = "Search the catalog, e.g. 'graalvm 21 linux aarch64'")
+    static class SearchCommand implements Callable<Integer> {
+
+        @Parameters(arity = "1..*", paramLabel = "QUERY", description = "Words to match against version, distribution, description and archive name")
+        private List<String> query;
+
+        @Option(names = {"-n", "--limit"}, description = "Maximum results to show (default: 20)")
+        private int limit = 20;
+
+        @Override
+        public Integer call() {
+            CatalogSearchIndex index;
+            try {
+                List<byte[]> catalog = new JavaVersionAvailableFetchService()
+                        .fetchCatalogDocuments(JavaVersionAvailableFetchService.catalogUrl(), null);
+                index = CatalogSearchIndex.forCatalog(catalog);
+            } catch (IOException e) {
+                Optional<CatalogSearchIndex> stored = CatalogSearchIndex.stored();
+                if (stored.isEmpty()) {
+                    System.err.println("❌ Failed to fetch Java versions: " + e.getMessage());
+                    return 1;
+                }
+                System.err.println("⚠️  Catalog unavailable (" + e.getMessage() + "); searching the last downloaded copy");
+                index = stored.get();
+            }
+
+            String text = String.join(" ", query);
+            long start = System.nanoTime();
+            List<CatalogSearchIndex.Hit> hits = index.search(text, limit);
+            long micros = (System.nanoTime() - start) / 1000;
+
+            if (Output.isStructured()) {
+                try (RecordStream records = Output.records("version", "distribution", "description", "url", "score")) {
+                    for (CatalogSearchIndex.Hit hit : hits) {
+                        VersionInfo v = hit.entry();
+                        records.write(v.getVersion(), v.getDistribution(), v.getDescription(), v.getUrl(), hit.score());
+                    }
+                }
+                return hits.isEmpty() ? 1 : 0;
+            }
+            if (hits.isEmpty()) {
+                System.out.println("🔎 No catalog entries match '" + text + "'");
+                return 1;
+            }
+            System.out.println("🔎 " + hits.size() + " match(es) for '" + text + "' among " + index.size()
+                    + " entries (" + micros + " µs):");
+            for (CatalogSearchIndex.Hit hit : hits) {
+                VersionInfo v = hit.entry();
+                System.out.printf("  • %-12s %-10s %s%n", v.getVersion(), v.getDistribution(), v.getDescription());
+            }
+            System.out.println();
+            System.out.println("Install with: javawizard java install download <version>");
+            return 0;
+        }
+    }
+
+    @Command(name = "download", description = "Download and install a specific Java version")
+    static class DownloadCommand implements Callable<Integer> {
+
+        @Parameters(index = "0", description = "Java version to download and install", arity = "1")
+        private String version;
+
+        @Option(names = {"-d", "--directory"}, description = "Custom installation directory")
+        private String customDirectory;
+
+        @Option(names = {"-f", "--force"}, description = "Force reinstall if already exists")
+        private boolean force = false;
+
+        @Option(names = "--cds", description = "Generate the default CDS archive after installing")
+        private boolean cds = false;
+
+        @Override
+        public Integer call() throws Exception {
+            System.out.println("🔄 Downloading Java " + version + "...");
+
+            if (customDirectory != null) {
+                System.out.println("📁 Installing to custom directory: " + customDirectory);
+            }
+
+            try {
+                Path target = downloadAndInstall(version, customDirectory != null ? Path.of(customDirectory) : null, force);
+                System.out.println("✅ Installed Java " + version + " to " + target);
+                if (cds) {
+                    generateDefaultCds(target);
+                }
+                if (customDirectory == null) {
+                    ToolchainsJavaVersionCommand.syncAfterChange();
+                }
+                System.out.println("Run: javawizard java use " + target.getFileName());
+                return 0;
+            } catch (Exception e) {
+                System.err.println("❌ Failed to install Java " + version + ": " + e.getMessage());
+                return 1;
+            }
+        }
+    }
+
+    @Command(name = "from-file", description = "Install Java from a local archive file")
+    static class FromFileCommand implements Callable<Integer> {
+
+        @Parameters(index = "0", description = "Path to Java archive file (.zip, .tar.gz)", arity = "1")
+        private String filePath;
+
+        @Option(names = {"-n", "--name"}, description = "Custom name for this Java installation")
+        private String customName;
+
+        @Option(names = {"-f", "--force"}, description = "Force reinstall if already exists")
+        private boolean force = false;
+
+        @Option(names = "--cds", description = "Generate the default CDS archive after installing")
+        private boolean cds = false;
+
+        @Override
+        public Integer call() throws Exception {
+            System.out.println("📦 Installing Java from file: " + filePath);
+
+            Path archive = Path.of(filePath);
+            if (!Files.isRegularFile(archive)) {
+                System.err.println("❌ File not found: " + filePath);
+                return 1;
+            }
+
+            String name = customName != null ? customName : defaultName(archive);
+            if (customName != null) {
+                System.out.println("🏷️  Using custom name: " + customName);
+            }
+
+            try {
+                Path target = JavaVersionManagerUtils.getJavaVersionsDirectory().resolve(name);
+                new JavaInstallService().installArchive(archive, target, force);
+                System.out.println("✅ Installed to " + target);
+                if (cds) {
+                    generateDefaultCds(target);
+                }
+                ToolchainsJavaVersionCommand.syncAfterChange();
+                System.out.println("Run: javawizard java use " + name);
+                return 0;
+            } catch (Exception e) {
+                System.err.println("❌ Failed to install from file: " + e.getMessage());
+                return 1;
+            }
+        }
+
+        private static String defaultName(Path archive) {
+            String name = archive.getFileName().toString();
+            for (String extension : new String[]{".tar.gz", ".tgz", ".zip"}) {
+                if (name.toLowerCase().endsWith(extension)) {
+                    return name.substring(0, name.length() - extension.length());
+                }
+            }
+            return name;
+        }
+    }
+}
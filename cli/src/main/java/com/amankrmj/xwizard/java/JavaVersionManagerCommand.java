@@ -0,0 +1,50 @@
+package com.amankrmj.xwizard.java;
+
+import picocli.CommandLine.Command;
+
+import java.util.concurrent.Callable;
+
+@Command(name = "java",
+        description = "Manage Java versions and installations",
+        subcommands = {
+                ListJavaVersionsCommand.class,
+                InstallJavaVersionCommand.class,
+                UpgradeJavaVersionCommand.class,
+                SlimJavaVersionCommand.class,
+                CdsJavaVersionCommand.class,
+                PinJavaVersionCommand.class,
+                PruneJavaVersionsCommand.class,
+                VerifyJavaVersionCommand.class,
+                BundleJavaVersionsCommand.class,
+                UnbundleJavaVersionsCommand.class,
+                ToolchainsJavaVersionCommand.class,
+                UseJavaVersionCommand.class,
+                ExecJavaVersionCommand.class,
+                MatrixJavaVersionCommand.class,
+                CurrentJavaVersionCommand.class,
+                WhichJavaVersionCommand.class
+        })
+public class JavaVersionManagerCommand implements Callable<Integer> {
+
+    @Override
+    public Integer call() {
+        System.out.println("Java Version Manager - Use 'java --help' for options:");
+        System.out.println("  list     - List installed Java versions");
+        System.out.println("  install  - Install a specific Java version");
+        System.out.println("  upgrade  - Upgrade to the latest patch release, fetching only changed files");
+        System.out.println("  slim     - Build a minimal runtime image with jlink");
+        System.out.println("  cds      - Generate CDS/AppCDS archives for faster JVM startup");
+        System.out.println("  pin      - Protect a Java version from pruning");
+        System.out.println("  prune    - Remove least recently used Java versions");
+        System.out.println("  verify   - Check installed versions for corrupted, missing or extra files");
+        System.out.println("  bundle   - Export installed versions into one deduplicated file");
+        System.out.println("  unbundle - Import versions from a bundle file");
+        System.out.println("  toolchains - Register managed versions with Maven and Gradle");
+        System.out.println("  use      - Switch to a specific Java version");
+        System.out.println("  exec     - Run one command with a specific Java version");
+        System.out.println("  matrix   - Run one command against several Java versions in parallel");
+        System.out.println("  current  - Show current active Java version");
+        System.out.println("  which    - Show path to current Java installation");
+        return 0;
+    }
+}
@@ -0,0 +1,162 @@
+package com.amankrmj.xwizard.java;
+
+import com.amankrmj.xwizard.common.concurrent.TaskScope;
+import com.amankrmj.xwizard.common.concurrent.TaskScope.Subtask;
+import com.amankrmj.xwizard.common.output.Output;
+import com.amankrmj.xwizard.common.output.RecordStream;
+import com.amankrmj.xwizard.java.model.OracleJavaVersionInfo;
+import com.amankrmj.xwizard.java.services.InstalledVersionIndex;
+import com.amankrmj.xwizard.java.services.JavaInstallationScanService;
+import com.amankrmj.xwizard.java.services.JavaInstallationScanService.Installation;
+import com.amankrmj.xwizard.java.services.JavaVersionAvailableFetchService;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+@Command(name = "list", description = "List all installed Java versions")
+public class ListJavaVersionsCommand implements Callable<Integer> {
+
+    private static final Duration ALL_TIMEOUT = Duration.ofSeconds(10);
+
+    @Option(names = {"-a", "--all"}, description = "Also list other JDKs on this machine and available updates")
+    private boolean all = false;
+
+    @Override
+    public Integer call() {
+        try {
+            if (all) {
+                listAll();
+                return 0;
+            }
+            if (Output.isStructured()) {
+                writeRecords();
+                return 0;
+            }
+            System.out.println("=== Managed Java Versions ===");
+            listManagedVersions();
+            return 0;
+        } catch (Exception e) {
+            System.err.println("Error listing Java versions: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private void listManagedVersions() throws IOException {
+        Path javaVersionsDir = JavaVersionManagerUtils.getJavaVersionsDirectory();
+        if (!Files.exists(javaVersionsDir)) {
+            System.out.println("No managed Java versions found.");
+            System.out.println("Use 'javawizard java install <version>' to install Java versions.");
+            return;
+        }
+
+        String currentVersion = JavaVersionManagerUtils.getCurrentJavaVersion();
+
+        Files.list(javaVersionsDir)
+                .filter(Files::isDirectory)
+                .map(path -> path.getFileName().toString())
+                .sorted()
+                .forEach(version -> {
+                    String marker = version.equals(currentVersion) ? " (current)" : "";
+                    System.out.println("  " + version + marker);
+                });
+    }
+
+    private void writeRecords() throws IOException {
+        String currentVersion = JavaVersionManagerUtils.getCurrentJavaVersion();
+        Path javaVersionsDir = JavaVersionManagerUtils.getJavaVersionsDirectory();
+        Map<String, InstalledVersionIndex.Entry> index = InstalledVersionIndex.snapshot();
+        try (RecordStream records = Output.records("version", "current", "home", "source")) {
+            for (String version : JavaVersionManagerUtils.listInstalledVersions()) {
+                InstalledVersionIndex.Entry entry = index.get(version);
+                records.write(version, version.equals(currentVersion),
+                        javaVersionsDir.resolve(version).toAbsolutePath().toString(),
+                        entry != null ? entry.source() : null);
+            }
+        }
+    }
+
+    /**
+     * Managed versions, other JDKs on this machine and catalog updates, gathered
+     * concurrently within {@link #ALL_TIMEOUT}; whatever is not done by then is reported as timed out.
+     */
+    private void listAll() throws InterruptedException {
+        String currentVersion = JavaVersionManagerUtils.getCurrentJavaVersion();
+        Subtask<List<String>> managed;
+        Subtask<List<Installation>> others;
+        Subtask<List<OracleJavaVersionInfo>> catalog;
+        try (TaskScope scope = TaskScope.open(ALL_TIMEOUT)) {
+            managed = scope.fork("managed", JavaVersionManagerUtils::listInstalledVersions);
+            others = scope.fork("scan", () -> new JavaInstallationScanService().scan(scope.deadline()));
+            catalog = scope.fork("catalog", () -> new JavaVersionAvailableFetchService()
+                    .fetchOracleJavaVersions(JavaVersionAvailableFetchService.catalogUrl()));
+            scope.join();
+        }
+
+        List<OracleJavaVersionInfo> available = catalog.orElse(List.of());
+        Path javaVersionsDir = JavaVersionManagerUtils.getJavaVersionsDirectory();
+        if (Output.isStructured()) {
+            try (RecordStream records = Output.records("version", "current", "managed", "home", "update")) {
+                for (String version : managed.orElse(List.of())) {
+                    records.write(version, version.equals(currentVersion), true,
+                            javaVersionsDir.resolve(version).toAbsolutePath().toString(), update(available, version));
+                }
+                for (Installation installation : others.orElse(List.of())) {
+                    records.write(installation.version(), false, false, installation.home().toString(),
+                            installation.probed() ? update(available, installation.version()) : null);
+                }
+            }
+            return;
+        }
+
+        System.out.println("=== Managed Java Versions ===");
+        if (managed.state() != TaskScope.State.SUCCESS) {
+            System.out.println("  ⚠️  Could not list managed versions: " + managed.failureMessage());
+        } else if (managed.get().isEmpty()) {
+            System.out.println("  (none) - use 'javawizard java install <version>' to install one");
+        }
+        for (String version : managed.orElse(List.of())) {
+            String marker = version.equals(currentVersion) ? " (current)" : "";
+            System.out.println("  " + version + marker + updateNote(available, version));
+        }
+
+        System.out.println();
+        System.out.println("=== Other Java Installations ===");
+        if (others.state() != TaskScope.State.SUCCESS) {
+            System.out.println("  ⚠️  Scan incomplete: " + others.failureMessage());
+        } else if (others.get().isEmpty()) {
+            System.out.println("  (none found)");
+        }
+        for (Installation installation : others.orElse(List.of())) {
+            String vendor = installation.vendor() != null ? " [" + installation.vendor() + "]" : "";
+            System.out.println("  " + installation.version() + vendor + "  " + installation.home()
+                    + (installation.probed() ? updateNote(available, installation.version()) : ""));
+        }
+
+        if (catalog.state() != TaskScope.State.SUCCESS) {
+            System.out.println();
+            System.out.println("⚠️  Catalog unavailable (" + catalog.failureMessage() + "); update checks skipped");
+        }
+    }
+
+    /**
+     * The newest catalog release of {@code version}'s major version, if newer than it.
+     */
+    private static String update(List<OracleJavaVersionInfo> available, String version) {
+        return JavaVersionManagerUtils.findNewestVersion(available, JavaVersionManagerUtils.majorVersion(version))
+                .map(OracleJavaVersionInfo::getVersion)
+                .filter(latest -> JavaVersionManagerUtils.compareVersions(latest, version) > 0)
+                .orElse(null);
+    }
+
+    private static String updateNote(List<OracleJavaVersionInfo> available, String version) {
+        String update = update(available, version);
+        return update != null ? "  → " + update + " available" : "";
+    }
+}
@@ -0,0 +1,143 @@
+package com.amankrmj.xwizard.java;
+
+import com.amankrmj.xwizard.common.WizardHome;
+import com.amankrmj.xwizard.common.output.Output;
+import com.amankrmj.xwizard.common.output.RecordStream;
+import com.amankrmj.xwizard.java.services.JavaMatrixService;
+import com.amankrmj.xwizard.java.services.JavaMatrixService.Result;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+@Command(name = "matrix", description = "Run a command against several Java versions in parallel")
+public class MatrixJavaVersionCommand implements Callable<Integer> {
+
+    private static final int TAIL_LINES = 20;
+
+    @Option(names = "--versions", required = true, split = ",",
+            description = "Versions to run with, comma separated (e.g., 11,17,21)")
+    private List<String> versions;
+
+    @Option(names = {"-j", "--jobs"}, description = "Maximum runs at once (default: number of CPUs)")
+    private int jobs = Runtime.getRuntime().availableProcessors();
+
+    @Option(names = "--copy", description = "Run each version in its own copy of the current directory (build/, target/ and .gradle/ are not copied)")
+    private boolean copy = false;
+
+    @Option(names = "--keep-copies", description = "Keep the working copies made by --copy")
+    private boolean keepCopies = false;
+
+    @Option(names = "--logs", description = "Directory for per-version output (default: ~/.javawizard/logs/matrix/<time>)")
+    private Path logs;
+
+    @Parameters(arity = "1..*", paramLabel = "COMMAND",
+            description = "Command and arguments; put them after '--', e.g. -- ./gradlew test")
+    private List<String> command;
+
+    @Override
+    public Integer call() {
+        Path logDir = logs != null ? logs : WizardHome.directory().resolve("logs").resolve("matrix")
+                .resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        boolean text = !Output.isStructured();
+        if (text) {
+            System.out.println("🧪 Running '" + String.join(" ", command) + "' on " + String.join(", ", versions)
+                    + " (" + Math.min(Math.max(1, jobs), versions.size()) + " at a time)");
+            Output.flush();
+        }
+
+        List<Result> results;
+        try {
+            JavaMatrixService service = new JavaMatrixService(Path.of(""), logDir, jobs, copy, keepCopies);
+            results = service.run(versions, command,
+                    name -> {
+                        if (text) {
+                            System.out.println("▶️  " + name + " started");
+                            Output.flush();
+                        }
+                    },
+                    result -> {
+                        if (text) {
+                            System.out.println((result.passed() ? "✅ " : "❌ ") + label(result) + " "
+                                    + status(result) + " in " + seconds(result)
+                                    + (result.error() != null ? " (" + result.error() + ")" : ""));
+                            Output.flush();
+                        }
+                    });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 130;
+        } catch (IOException e) {
+            System.err.println("❌ Matrix run failed: " + e.getMessage());
+            return 1;
+        }
+
+        boolean allPassed = results.stream().allMatch(Result::passed);
+        if (!text) {
+            try (RecordStream records = Output.records("requested", "version", "status", "exitCode", "seconds", "log")) {
+                for (Result result : results) {
+                    records.write(result.requested(), result.version(), status(result), result.exitCode(),
+                            result.elapsed().toMillis() / 1000.0, result.log() != null ? result.log().toString() : null);
+                }
+            }
+            return allPassed ? 0 : 1;
+        }
+
+        printTable(results);
+        for (Result result : results) {
+            if (!result.passed() && result.log() != null) {
+                printTail(result);
+            }
+        }
+        System.out.println();
+        System.out.println("📄 Logs: " + logDir.toAbsolutePath());
+        return allPassed ? 0 : 1;
+    }
+
+    private static void printTable(List<Result> results) {
+        int width = Math.max("VERSION".length(), results.stream().mapToInt(result -> label(result).length()).max().orElse(0));
+        String format = "%-" + width + "s  %-7s  %4s  %9s%n";
+        System.out.println();
+        System.out.printf(format, "VERSION", "RESULT", "EXIT", "TIME");
+        for (Result result : results) {
+            System.out.printf(format, label(result), status(result),
+                    result.error() == null ? String.valueOf(result.exitCode()) : "-", seconds(result));
+        }
+    }
+
+    private static void printTail(Result result) {
+        try (Stream<String> lines = Files.lines(result.log())) {
+            List<String> all = lines.toList();
+            System.out.println();
+            System.out.println("--- " + result.version() + ": last lines of " + result.log() + " ---");
+            all.subList(Math.max(0, all.size() - TAIL_LINES), all.size()).forEach(System.out::println);
+        } catch (IOException | UncheckedIOException e) {
+            // The table already says it failed; a missing or unreadable log adds nothing.
+        }
+    }
+
+    private static String label(Result result) {
+        return result.version() != null ? result.version() : result.requested();
+    }
+
+    private static String status(Result result) {
+        if (result.error() != null) {
+            return result.version() == null ? "MISSING" : "ERROR";
+        }
+        return result.exitCode() == 0 ? "PASS" : "FAIL";
+    }
+
+    private static String seconds(Result result) {
+        return String.format(Locale.ROOT, "%.1fs", result.elapsed().toMillis() / 1000.0);
+    }
+}
@@ -0,0 +1,538 @@
+package com.amankrmj.xwizard.java;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.Platform;
+import com.amankrmj.xwizard.common.concurrent.TaskScope;
+import com.amankrmj.xwizard.common.concurrent.TaskScope.Subtask;
+import com.amankrmj.xwizard.common.metrics.ProcessMetrics;
+import com.amankrmj.xwizard.java.services.NativeBuildService;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+@Command(name = "native",
+         description = "Manage native compilation tools and create platform-specific executables",
+         subcommands = {
+             NativeCompilerCommand.InfoCommand.class,
+             NativeCompilerCommand.InstallCommand.class,
+             NativeCompilerCommand.BuildCommand.class,
+             NativeCompilerCommand.PackageCommand.class
+         })
+public class NativeCompilerCommand implements Callable<Integer> {
+
+    @Override
+    public Integer call() throws Exception {
+        System.out.println("Native Compilation Manager - Create standalone executables");
+        System.out.println("Available commands:");
+        System.out.println("  info     - Show native compilation options for current platform");
+        System.out.println("  install  - Install native compilation tools");
+        System.out.println("  build    - Build native executable (cached by input hash)");
+        System.out.println("  package  - Create platform-specific installers (cached by input hash)");
+        return 0;
+    }
+
+    @Command(name = "info", description = "Show native compilation options for current platform")
+    static class InfoCommand implements Callable<Integer> {
+
+        private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(10);
+
+        @Override
+        public Integer call() throws Exception {
+            String os = System.getProperty("os.name").toLowerCase();
+            String arch = System.getProperty("os.arch");
+
+            System.out.println("=== Native Compilation Options ===");
+            System.out.println("Platform: " + os + " (" + arch + ")");
+            System.out.println();
+            showDetectedTools();
+            System.out.println();
+
+            if (os.contains("windows")) {
+                showWindowsOptions();
+            } else if (os.contains("mac")) {
+                showMacOptions();
+            } else if (os.contains("linux")) {
+                showLinuxOptions();
+            } else {
+                System.out.println("Unsupported platform: " + os);
+                return 1;
+            }
+
+            return 0;
+        }
+
+        /**
+         * Probe the C toolchain, zlib, native-image and jpackage concurrently; the
+         * section takes as long as the slowest probe, at most {@link #PROBE_TIMEOUT}.
+         */
+        private void showDetectedTools() throws InterruptedException {
+            Map<String, Subtask<String>> probes = new LinkedHashMap<>();
+            try (TaskScope scope = TaskScope.open(PROBE_TIMEOUT)) {
+                probes.put(Platform.isWindows() ? "cl" : "gcc", scope.fork("compiler", InfoCommand::probeCompiler));
+                if (!Platform.isWindows()) {
+                    probes.put("zlib", scope.fork("zlib", InfoCommand::probeZlib));
+                }
+                probes.put("native-image", scope.fork("native-image", () -> probeTool(NativeBuildService.Tool.NATIVE_IMAGE)));
+                probes.put("jpackage", scope.fork("jpackage", () -> probeTool(NativeBuildService.Tool.JPACKAGE)));
+                scope.join();
+            }
+
+            System.out.println("🔎 Detected tools:");
+            probes.forEach((name, probe) -> {
+                String status = switch (probe.state()) {
+                    case SUCCESS -> "✅ " + String.format("%-13s", name) + probe.get();
+                    case CANCELLED -> "⏱️  " + String.format("%-13s", name) + "timed out";
+                    default -> "❌ " + String.format("%-13s", name) + "not found";
+                };
+                System.out.println("   " + status);
+            });
+        }
+
+        private static String probeCompiler() throws IOException, InterruptedException {
+            // cl prints its banner and exits 0 when run without arguments.
+            List<String> command = Platform.isWindows() ? List.of("cl") : List.of("gcc", "--version");
+            return firstLine(TaskScope.capture(new ProcessBuilder(command)));
+        }
+
+        private static String probeZlib() throws IOException, InterruptedException {
+            if (Platform.isMac()) {
+                String sdk = TaskScope.capture(new ProcessBuilder("xcrun", "--show-sdk-path")).strip();
+                Path header = Path.of(sdk, "usr", "include", "zlib.h");
+                if (Files.isRegularFile(header)) {
+                    return header.toString();
+                }
+                throw new IOException("zlib.h not in " + sdk);
+            }
+            try {
+                return "zlib " + TaskScope.capture(new ProcessBuilder("pkg-config", "--modversion", "zlib")).strip();
+            } catch (IOException e) {
+                // No pkg-config, or no zlib.pc: look for the header itself.
+                for (String include : List.of("/usr/include/zlib.h", "/usr/local/include/zlib.h")) {
+                    if (Files.isRegularFile(Path.of(include))) {
+                        return include;
+                    }
+                }
+                throw e;
+            }
+        }
+
+        /**
+         * The tool from a managed JDK, else from the PATH.
+         */
+        private static String probeTool(NativeBuildService.Tool tool) throws IOException, InterruptedException {
+            String executable;
+            try {
+                executable = NativeBuildService.resolveTool(tool, null).toString();
+            } catch (IOException e) {
+                executable = Platform.isWindows() && tool == NativeBuildService.Tool.NATIVE_IMAGE
+                        ? tool.executable() + ".cmd" : tool.executable();
+            }
+            return firstLine(TaskScope.capture(new ProcessBuilder(executable, "--version"))) + " (" + executable + ")";
+        }
+
+        private static String firstLine(String output) {
+            String stripped = output.strip();
+            int end = stripped.indexOf('\n');
+            return (end < 0 ? stripped : stripped.substring(0, end)).strip();
+        }
+
+        private void showWindowsOptions() {
+            System.out.println("🪟 WINDOWS NATIVE COMPILATION OPTIONS:");
+            System.out.println();
+
+            System.out.println("1. GraalVM Native Image (Recommended)");
+            System.out.println("   ✅ Creates true native executables (.exe)");
+            System.out.println("   ✅ No JVM required at runtime");
+            System.out.println("   ✅ Fast startup, low memory usage");
+            System.out.println("   📦 Install: Download from graalvm.org");
+            System.out.println("   🛠️  Requires: Visual Studio Build Tools");
+            System.out.println();
+
+            System.out.println("2. jpackage (Java 14+)");
+            System.out.println("   ✅ Built into OpenJDK");
+            System.out.println("   ⚠️  Bundles JVM (larger size)");
+            System.out.println("   📦 Creates: .exe installer with bundled JRE");
+            System.out.println("   🛠️  Command: jpackage --input ... --main-jar ...");
+            System.out.println();
+
+            System.out.println("3. Launch4j + Inno Setup");
+            System.out.println("   ⚠️  Requires JVM on target machine");
+            System.out.println("   📦 Creates: .exe wrapper + installer");
+            System.out.println("   💾 Smaller download, JVM dependency");
+            System.out.println();
+
+            System.out.println("4. Native Image with Substrate VM");
+            System.out.println("   🧪 Experimental alternative to GraalVM");
+            System.out.println("   📦 Similar to GraalVM but different toolchain");
+        }
+
+        private void showMacOptions() {
+            System.out.println("🍎 macOS NATIVE COMPILATION OPTIONS:");
+            System.out.println();
+
+            System.out.println("1. GraalVM Native Image (Recommended)");
+            System.out.println("   ✅ Creates native Mach-O executables");
+            System.out.println("   ✅ No JVM required at runtime");
+            System.out.println("   📦 Install: brew install --cask graalvm/tap/graalvm-jdk<version>");
+            System.out.println("   🛠️  Requires: Xcode Command Line Tools");
+            System.out.println("   📱 Supports: Intel & Apple Silicon (M1/M2)");
+            System.out.println();
+
+            System.out.println("2. jpackage (Java 14+)");
+            System.out.println("   ✅ Built into OpenJDK");
+            System.out.println("   📦 Creates: .app bundles or .dmg installers");
+            System.out.println("   ⚠️  Bundles JVM (larger size)");
+            System.out.println("   🛠️  Command: jpackage --type app-image --input ...");
+            System.out.println();
+
+            System.out.println("3. Quarkus Native (for microservices)");
+            System.out.println("   🚀 Fast startup, low memory");
+            System.out.println("   📦 Uses GraalVM under the hood");
+            System.out.println("   🔧 Framework-specific optimization");
+            System.out.println();
+
+            System.out.println("4. AppBundler + DMG Canvas");
+            System.out.println("   📦 Traditional .app bundle creation");
+            System.out.println("   ⚠️  Requires JVM on target machine");
+            System.out.println();
+
+            System.out.println("📋 Installation Steps:");
+            System.out.println("   xcode-select --install");
+            System.out.println("   brew install graalvm/tap/graalvm-jdk21");
+            System.out.println("   export JAVA_HOME=/Library/Java/JavaVirtualMachines/graalvm-jdk-21/Contents/Home");
+        }
+
+        private void showLinuxOptions() {
+            System.out.println("🐧 LINUX NATIVE COMPILATION OPTIONS:");
+            System.out.println();
+
+            System.out.println("1. GraalVM Native Image (Recommended)");
+            System.out.println("   ✅ Creates native ELF executables");
+            System.out.println("   ✅ No JVM required at runtime");
+            System.out.println("   📦 Install: sdk install java 21.0.1-graal (using SDKMAN)");
+            System.out.println("   🛠️  Requires: gcc, glibc-devel, zlib-devel");
+            System.out.println();
+
+            System.out.println("2. jpackage (Java 14+)");
+            System.out.println("   ✅ Built into OpenJDK");
+            System.out.println("   📦 Creates: .deb, .rpm packages or AppImage");
+            System.out.println("   ⚠️  Bundles JVM (larger size)");
+            System.out.println("   🛠️  Command: jpackage --type deb --input ...");
+            System.out.println();
+
+            System.out.println("3. Quarkus Native");
+            System.out.println("   🚀 Optimized for cloud/containers");
+            System.out.println("   📦 Excellent for microservices");
+            System.out.println("   🐳 Great Docker support");
+            System.out.println();
+
+            System.out.println("4. Substrate VM (experimental)");
+            System.out.println("   🧪 Alternative to GraalVM");
+            System.out.println("   📦 Research-stage tool");
+            System.out.println();
+
+            System.out.println("5. AppImage Creation");
+            System.out.println("   📦 Portable Linux apps");
+            System.out.println("   ✅ Run anywhere on Linux");
+            System.out.println("   🛠️  Tool: appimagetool");
+            System.out.println();
+
+            System.out.println("📋 Installation Steps (Ubuntu/Debian):");
+            System.out.println("   sudo apt update");
+            System.out.println("   sudo apt install build-essential zlib1g-dev");
+            System.out.println("   curl -s 'https://get.sdkman.io' | bash");
+            System.out.println("   sdk install java 21.0.1-graal");
+        }
+    }
+
+    @Command(name = "install", description = "Install native compilation tools for current platform")
+    static class InstallCommand implements Callable<Integer> {
+
+        @Parameters(index = "0", description = "Tool to install: graalvm, build-tools, jpackage")
+        private String tool;
+
+        @Override
+        public Integer call() throws Exception {
+            String os = System.getProperty("os.name").toLowerCase();
+
+            switch (tool.toLowerCase()) {
+                case "graalvm":
+                    return installGraalVM(os);
+                case "build-tools":
+                    return installBuildTools(os);
+                case "jpackage":
+                    return installJPackage(os);
+                default:
+                    System.err.println("Unknown tool: " + tool);
+                    System.err.println("Available tools: graalvm, build-tools, jpackage");
+                    return 1;
+            }
+        }
+
+        private Integer installGraalVM(String os) {
+            System.out.println("Installing GraalVM for " + os + "...");
+
+            if (os.contains("windows")) {
+                System.out.println("Windows GraalVM Installation:");
+                System.out.println("1. Download from: https://github.com/graalvm/graalvm-ce-builds/releases");
+                System.out.println("2. Or use Chocolatey: choco install graalvm");
+                System.out.println("3. Set JAVA_HOME and add to PATH");
+            } else if (os.contains("mac")) {
+                System.out.println("macOS GraalVM Installation:");
+                System.out.println("brew install --cask graalvm/tap/graalvm-jdk21");
+                System.out.println("export JAVA_HOME=/Library/Java/JavaVirtualMachines/graalvm-jdk-21/Contents/Home");
+            } else if (os.contains("linux")) {
+                System.out.println("Linux GraalVM Installation:");
+                System.out.println("curl -s 'https://get.sdkman.io' | bash");
+                System.out.println("source ~/.sdkman/bin/sdkman-init.sh");
+                System.out.println("sdk install java 21.0.1-graal");
+                System.out.println("sdk use java 21.0.1-graal");
+            }
+
+            return 0;
+        }
+
+        private Integer installBuildTools(String os) {
+            System.out.println("Installing build tools for " + os + "...");
+
+            if (os.contains("windows")) {
+                System.out.println("Windows Build Tools:");
+                System.out.println("Download Visual Studio Build Tools 2022");
+                System.out.println("Or Visual Studio Community with C++ workload");
+            } else if (os.contains("mac")) {
+                System.out.println("macOS Build Tools:");
+                System.out.println("xcode-select --install");
+            } else if (os.contains("linux")) {
+                System.out.println("Linux Build Tools:");
+                System.out.println("Ubuntu/Debian: sudo apt install build-essential zlib1g-dev");
+                System.out.println("RHEL/CentOS: sudo yum groupinstall 'Development Tools' && sudo yum install zlib-devel");
+                System.out.println("Arch: sudo pacman -S base-devel zlib");
+            }
+
+            return 0;
+        }
+
+        private Integer installJPackage(String os) {
+            System.out.println("jpackage is included with OpenJDK 14+");
+            System.out.println("Current Java version:");
+
+            try {
+                ProcessBuilder pb = new ProcessBuilder("java", "-version");
+                Process process = ProcessMetrics.start(pb);
+                String output = new String(process.getErrorStream().readAllBytes());
+                System.out.println(output);
+
+                pb = new ProcessBuilder("jpackage", "--help");
+                process = ProcessMetrics.start(pb);
+                int exitCode = process.waitFor();
+
+                if (exitCode == 0) {
+                    System.out.println("✅ jpackage is available!");
+                } else {
+                    System.out.println("❌ jpackage not found. Update to Java 14+ or install a JDK that includes jpackage.");
+                }
+            } catch (Exception e) {
+                System.err.println("Error checking jpackage: " + e.getMessage());
+            }
+
+            return 0;
+        }
+    }
+
+    @Command(name = "build", description = "Build a native executable (native-image), app image (jpackage) or runtime (jlink)")
+    static class BuildCommand implements Callable<Integer> {
+
+        @Option(names = {"-t", "--tool"}, description = "Tool to use: graalvm (native-image), jpackage, jlink")
+        private String tool = "graalvm";
+
+        @Option(names = {"-o", "--output"}, description = "Output file name (default: jar name)")
+        private String outputName;
+
+        @Option(names = "--jar", description = "Application jar (default: the jar in build/libs or target)")
+        private Path jar;
+
+        @Option(names = "--dest", description = "Where to put the result (default: build/native)")
+        private Path dest = Path.of("build", "native");
+
+        @Option(names = "--modules", split = ",", description = "jlink modules (default: computed with jdeps from the jar)")
+        private List<String> modules;
+
+        @Option(names = "--java", description = "Managed Java version providing the tool (default: newest that has it)")
+        private String javaVersion;
+
+        @Option(names = "--tool-path", description = "Use this tool executable instead of a managed one")
+        private Path toolPath;
+
+        @Option(names = "--no-cache", description = "Run the tool even if an identical build is cached")
+        private boolean noCache = false;
+
+        @Option(names = "--max-cache-size", description = "Trim the build cache to this size afterwards, least recently used first (default: 10G)")
+        private String maxCacheSize = "10G";
+
+        @Parameters(paramLabel = "TOOL_ARGS", description = "Extra tool arguments, after '--'")
+        private List<String> toolArgs = new ArrayList<>();
+
+        @Override
+        public Integer call() throws Exception {
+            NativeBuildService.Tool selected = switch (tool) {
+                case "graalvm", "native-image" -> NativeBuildService.Tool.NATIVE_IMAGE;
+                case "jpackage" -> NativeBuildService.Tool.JPACKAGE;
+                case "jlink" -> NativeBuildService.Tool.JLINK;
+                default -> null;
+            };
+            if (selected == null) {
+                System.err.println("Unknown tool: " + tool);
+                return 1;
+            }
+
+            try {
+                Path executable = toolPath != null ? toolPath : NativeBuildService.resolveTool(selected, javaVersion);
+                Path appJar = jar;
+                if (appJar == null && !(selected == NativeBuildService.Tool.JLINK && modules != null)) {
+                    appJar = defaultJar();
+                }
+                String name = outputName != null ? outputName : appJar != null ? baseName(appJar) : "runtime";
+                String moduleList = null;
+                if (selected == NativeBuildService.Tool.JLINK) {
+                    moduleList = modules != null ? String.join(",", modules) : NativeBuildService.moduleDependencies(executable, appJar);
+                }
+                NativeBuildService.Request request = new NativeBuildService.Request(selected, executable, appJar,
+                        inputs(selected, appJar), name, "app-image", moduleList, toolArgs);
+                return report(request, dest, noCache, maxCacheSize);
+            } catch (IOException e) {
+                System.err.println("❌ Build failed: " + e.getMessage());
+                return 1;
+            }
+        }
+    }
+
+    @Command(name = "package", description = "Create a platform-specific installer with jpackage")
+    static class PackageCommand implements Callable<Integer> {
+
+        @Option(names = "--type", description = "Installer type (default: exe on Windows, dmg on macOS, deb on Linux)")
+        private String type;
+
+        @Option(names = {"-n", "--name"}, description = "Application name (default: jar name)")
+        private String name;
+
+        @Option(names = "--jar", description = "Application jar (default: the jar in build/libs or target)")
+        private Path jar;
+
+        @Option(names = "--dest", description = "Where to put the installer (default: build/installer)")
+        private Path dest = Path.of("build", "installer");
+
+        @Option(names = "--java", description = "Managed Java version providing jpackage (default: newest)")
+        private String javaVersion;
+
+        @Option(names = "--tool-path", description = "Use this jpackage executable instead of a managed one")
+        private Path toolPath;
+
+        @Option(names = "--no-cache", description = "Run jpackage even if an identical installer is cached")
+        private boolean noCache = false;
+
+        @Option(names = "--max-cache-size", description = "Trim the build cache to this size afterwards, least recently used first (default: 10G)")
+        private String maxCacheSize = "10G";
+
+        @Parameters(paramLabel = "TOOL_ARGS", description = "Extra jpackage arguments, after '--' (e.g. --app-version 1.2.0)")
+        private List<String> toolArgs = new ArrayList<>();
+
+        @Override
+        public Integer call() throws Exception {
+            String installerType = type != null ? type : Platform.isWindows() ? "exe" : Platform.isMac() ? "dmg" : "deb";
+            try {
+                Path executable = toolPath != null ? toolPath
+                        : NativeBuildService.resolveTool(NativeBuildService.Tool.JPACKAGE, javaVersion);
+                Path appJar = jar != null ? jar : defaultJar();
+                NativeBuildService.Request request = new NativeBuildService.Request(NativeBuildService.Tool.JPACKAGE,
+                        executable, appJar, inputs(NativeBuildService.Tool.JPACKAGE, appJar),
+                        name != null ? name : baseName(appJar), installerType, null, toolArgs);
+                return report(request, dest, noCache, maxCacheSize);
+            } catch (IOException e) {
+                System.err.println("❌ Packaging failed: " + e.getMessage());
+                return 1;
+            }
+        }
+    }
+
+    private static int report(NativeBuildService.Request request, Path dest, boolean noCache, String maxCacheSize)
+            throws IOException {
+        long maxCacheBytes;
+        try {
+            maxCacheBytes = FileUtils.parseSize(maxCacheSize);
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            return 1;
+        }
+        System.out.println("🔨 " + request.tool().executable() + " " + request.name() + " (" + request.toolPath() + ")");
+        try {
+            NativeBuildService.Result result = new NativeBuildService(maxCacheBytes).build(request, dest, !noCache);
+            System.out.println((result.cached() ? "⚡ Reused cached build " : "✅ Built ") + result.key()
+                    + " in " + result.elapsed().toMillis() + " ms");
+            for (Path file : result.files()) {
+                System.out.println("   " + file);
+            }
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 130;
+        }
+    }
+
+    /**
+     * The single application jar in {@code build/libs} (Gradle) or {@code target} (Maven).
+     */
+    static Path defaultJar() throws IOException {
+        for (Path dir : List.of(Path.of("build", "libs"), Path.of("target"))) {
+            if (!Files.isDirectory(dir)) {
+                continue;
+            }
+            List<Path> jars;
+            try (Stream<Path> files = Files.list(dir)) {
+                jars = files.filter(file -> {
+                    String fileName = file.getFileName().toString();
+                    return fileName.endsWith(".jar") && !fileName.endsWith("-plain.jar") && !fileName.endsWith("-sources.jar")
+                            && !fileName.endsWith("-javadoc.jar") && !fileName.startsWith("original-");
+                }).sorted().toList();
+            }
+            if (jars.size() == 1) {
+                return jars.get(0);
+            }
+            if (jars.size() > 1) {
+                throw new IOException("several jars in " + dir + ", pick one with --jar: " + jars);
+            }
+        }
+        throw new IOException("no jar found in build/libs or target; pass --jar");
+    }
+
+    /**
+     * jpackage copies the jar's whole directory, so all of it is part of the key.
+     */
+    static List<Path> inputs(NativeBuildService.Tool tool, Path jar) throws IOException {
+        if (jar == null) {
+            return List.of();
+        }
+        if (tool != NativeBuildService.Tool.JPACKAGE) {
+            return List.of(jar);
+        }
+        try (Stream<Path> files = Files.walk(jar.toAbsolutePath().getParent())) {
+            return files.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    private static String baseName(Path jar) {
+        String fileName = jar.getFileName().toString();
+        return fileName.endsWith(".jar") ? fileName.substring(0, fileName.length() - 4) : fileName;
+    }
+}
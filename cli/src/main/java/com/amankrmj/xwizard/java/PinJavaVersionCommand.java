@@ -0,0 +1,47 @@
+package com.amankrmj.xwizard.java;
+
+import com.amankrmj.xwizard.java.services.JavaUsageLog;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+@Command(name = "pin", description = "Protect a Java version from 'prune' (no argument lists pins)")
+public class PinJavaVersionCommand implements Callable<Integer> {
+
+    @Parameters(index = "0", description = "Java version to pin", arity = "0..1")
+    private String version;
+
+    @Option(names = {"-r", "--remove"}, description = "Unpin the version instead")
+    private boolean remove = false;
+
+    @Override
+    public Integer call() {
+        try {
+            Set<String> pinned = JavaUsageLog.pinned();
+            if (version == null) {
+                if (pinned.isEmpty()) {
+                    System.out.println("No pinned Java versions.");
+                }
+                pinned.forEach(v -> System.out.println("  " + v));
+                return 0;
+            }
+
+            // Store the installed name ('21' -> '21.0.5'), which is what prune compares against.
+            String name = remove && pinned.contains(version) ? version
+                    : JavaVersionManagerUtils.resolveInstalledVersion(version).orElse(null);
+            if (name == null) {
+                System.err.println("Java " + version + " is not installed");
+                return 1;
+            }
+            JavaUsageLog.setPinned(name, !remove);
+            System.out.println((remove ? "Unpinned Java " : "Pinned Java ") + name);
+            return 0;
+        } catch (Exception e) {
+            System.err.println("Error updating pins: " + e.getMessage());
+            return 1;
+        }
+    }
+}
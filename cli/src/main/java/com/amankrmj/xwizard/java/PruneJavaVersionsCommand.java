@@ -0,0 +1,106 @@
+package com.amankrmj.xwizard.java;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.output.Output;
+import com.amankrmj.xwizard.common.output.RecordStream;
+import com.amankrmj.xwizard.java.services.JavaPruneService;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+@Command(name = "prune", description = "Remove least recently used Java versions (pinned and current versions are kept)")
+public class PruneJavaVersionsCommand implements Callable<Integer> {
+
+    private static final String[] COLUMNS = {"version", "bytes", "last_used", "status"};
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(ZoneId.systemDefault());
+
+    @Option(names = "--max-size", description = "Disk budget for the versions that may be removed (pinned and current ones do not count), e.g. 2G or 500M")
+    private String maxSize;
+
+    @Option(names = "--older-than", description = "Remove versions not used for this many days")
+    private Integer olderThanDays;
+
+    @Option(names = {"-n", "--dry-run"}, description = "Only show what would be removed")
+    private boolean dryRun = false;
+
+    @Override
+    public Integer call() {
+        if (maxSize == null && olderThanDays == null) {
+            System.err.println("Specify --max-size and/or --older-than");
+            System.err.println("Usage: javawizard java prune --max-size 2G");
+            System.err.println("       javawizard java prune --older-than 90 --dry-run");
+            return 1;
+        }
+
+        try {
+            Long budget = maxSize != null ? FileUtils.parseSize(maxSize) : null;
+            Duration age = olderThanDays != null ? Duration.ofDays(olderThanDays) : null;
+
+            JavaPruneService pruneService = new JavaPruneService();
+            JavaPruneService.PrunePlan plan = pruneService.plan(budget, age);
+            if (Output.isStructured()) {
+                return structured(pruneService, plan);
+            }
+            if (plan.evict().isEmpty()) {
+                System.out.println("Nothing to prune (" + FileUtils.humanReadable(plan.remainingBytes()) + " in use).");
+                return 0;
+            }
+
+            System.out.println(dryRun ? "Would remove:" : "Removing:");
+            for (JavaPruneService.InstalledVersion version : plan.evict()) {
+                System.out.printf("  %-20s %10s  last used %s%n", version.name(),
+                        FileUtils.humanReadable(version.sizeBytes()),
+                        DATE.format(Instant.ofEpochMilli(version.lastUsedMillis())));
+            }
+            if (dryRun) {
+                System.out.println("Would reclaim " + FileUtils.humanReadable(plan.reclaimableBytes()));
+                return 0;
+            }
+
+            JavaPruneService.PruneResult result = pruneService.execute(plan);
+            for (JavaPruneService.InstalledVersion version : result.skipped()) {
+                System.err.println("⏭️  Skipped " + version.name() + ": in use by another javawizard operation");
+            }
+            if (!result.removed().isEmpty()) {
+                ToolchainsJavaVersionCommand.syncAfterChange();
+            }
+            long kept = plan.remainingBytes() + result.skipped().stream()
+                    .mapToLong(JavaPruneService.InstalledVersion::sizeBytes).sum();
+            System.out.println("✅ Reclaimed " + FileUtils.humanReadable(result.reclaimedBytes())
+                    + ", " + FileUtils.humanReadable(kept) + " still in use");
+            return 0;
+        } catch (Exception e) {
+            System.err.println("❌ Failed to prune Java versions: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private int structured(JavaPruneService pruneService, JavaPruneService.PrunePlan plan) throws Exception {
+        List<JavaPruneService.InstalledVersion> removed = plan.evict();
+        List<JavaPruneService.InstalledVersion> skipped = List.of();
+        if (!dryRun && !plan.evict().isEmpty()) {
+            JavaPruneService.PruneResult result = pruneService.execute(plan);
+            removed = result.removed();
+            skipped = result.skipped();
+            if (!removed.isEmpty()) {
+                ToolchainsJavaVersionCommand.syncAfterChange();
+            }
+        }
+        try (RecordStream records = Output.records(COLUMNS)) {
+            for (JavaPruneService.InstalledVersion version : removed) {
+                records.write(version.name(), version.sizeBytes(), version.lastUsedMillis(), dryRun ? "would-remove" : "removed");
+            }
+            for (JavaPruneService.InstalledVersion version : skipped) {
+                records.write(version.name(), version.sizeBytes(), version.lastUsedMillis(), "skipped");
+            }
+        }
+        return 0;
+    }
+}
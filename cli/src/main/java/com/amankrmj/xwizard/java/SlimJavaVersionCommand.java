@@ -0,0 +1,60 @@
+package com.amankrmj.xwizard.java;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.java.services.JavaSlimService;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+@Command(name = "slim", description = "Build a minimal runtime image from an installed Java version with jlink")
+public class SlimJavaVersionCommand implements Callable<Integer> {
+
+    @Parameters(index = "0", description = "Installed Java version to build from (e.g., 21, 21.0.8)")
+    private String version;
+
+    @Option(names = {"-m", "--modules"}, split = ",", required = true,
+            description = "Modules to include, e.g. java.base,java.sql")
+    private List<String> modules;
+
+    @Option(names = {"-n", "--name"}, description = "Name of the runtime (default: <version>-slim)")
+    private String name;
+
+    @Option(names = {"-f", "--force"}, description = "Rebuild if the runtime already exists")
+    private boolean force = false;
+
+    @Override
+    public Integer call() {
+        try {
+            Optional<String> installed = JavaVersionManagerUtils.resolveInstalledVersion(version);
+            if (installed.isEmpty()) {
+                System.err.println("Java version not installed: " + version);
+                return 1;
+            }
+            build(installed.get(), modules, name, force);
+            return 0;
+        } catch (Exception e) {
+            System.err.println("❌ Failed to build runtime image: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    static Path build(String installedVersion, List<String> modules, String name, boolean force) throws Exception {
+        Path versionsDir = JavaVersionManagerUtils.getJavaVersionsDirectory();
+        String runtimeName = name != null ? name : installedVersion + "-slim";
+        System.out.println("🔧 Building runtime " + runtimeName + " from Java " + installedVersion
+                + " with modules " + String.join(",", modules) + "...");
+
+        Path jdkHome = versionsDir.resolve(installedVersion);
+        Path runtime = new JavaSlimService().slim(jdkHome, modules, versionsDir.resolve(runtimeName), force);
+
+        System.out.println("✅ Runtime created: " + runtime + " (" + FileUtils.humanReadable(FileUtils.size(runtime))
+                + ", full JDK " + FileUtils.humanReadable(FileUtils.size(jdkHome)) + ")");
+        System.out.println("Run: javawizard java use " + runtimeName);
+        return runtime;
+    }
+}
@@ -0,0 +1,68 @@
+package com.amankrmj.xwizard.java;
+
+import com.amankrmj.xwizard.common.output.Output;
+import com.amankrmj.xwizard.java.services.JavaToolchainsService;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+@Command(name = "toolchains",
+        description = "Register managed Java versions with Maven and Gradle toolchains",
+        subcommands = {
+                ToolchainsJavaVersionCommand.SyncCommand.class
+        })
+public class ToolchainsJavaVersionCommand implements Callable<Integer> {
+
+    @Override
+    public Integer call() throws Exception {
+        List<JavaToolchainsService.Toolchain> toolchains = new JavaToolchainsService().discover();
+        if (toolchains.isEmpty()) {
+            System.out.println("No managed JDKs to register.");
+        }
+        for (JavaToolchainsService.Toolchain toolchain : toolchains) {
+            System.out.printf("  %-20s %-12s %s%n", toolchain.name(), toolchain.version(), toolchain.vendor());
+        }
+        System.out.println("Use 'javawizard java toolchains sync' to write them to ~/.m2/toolchains.xml and Gradle.");
+        return 0;
+    }
+
+    /**
+     * Re-register toolchains after versions were added or removed and say what happened.
+     * A failure is a warning; the command that changed the versions still succeeds.
+     */
+    public static void syncAfterChange() {
+        JavaToolchainsService.SyncResult result = JavaToolchainsService.syncAfterChange();
+        if (result.failed()) {
+            System.err.println("⚠️  Could not update Maven/Gradle toolchains: " + result.error());
+        } else if (result.changed() && !Output.isStructured()) {
+            System.out.println("🔧 Updated Maven/Gradle toolchains (" + result.toolchains().size() + " JDKs)");
+        }
+    }
+
+    @Command(name = "sync", description = "Write ~/.m2/toolchains.xml and Gradle's installation paths")
+    static class SyncCommand implements Callable<Integer> {
+
+        @Option(names = {"-f", "--force"}, description = "Rewrite even if nothing changed")
+        private boolean force = false;
+
+        @Override
+        public Integer call() {
+            try {
+                JavaToolchainsService.SyncResult result = new JavaToolchainsService().sync(force);
+                if (!result.changed()) {
+                    System.out.println("Toolchains are up to date (" + result.toolchains().size() + " JDKs).");
+                    return 0;
+                }
+                System.out.println("✅ Registered " + result.toolchains().size() + " JDKs");
+                System.out.println("   Maven:  " + result.mavenFile());
+                System.out.println("   Gradle: " + result.gradleFile());
+                return 0;
+            } catch (Exception e) {
+                System.err.println("❌ Failed to sync toolchains: " + e.getMessage());
+                return 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.amankrmj.xwizard.java;
+
+import com.amankrmj.xwizard.java.services.JavaBundleService;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+@Command(name = "unbundle", description = "Import Java versions from a bundle created with 'bundle'")
+public class UnbundleJavaVersionsCommand implements Callable<Integer> {
+
+    @Parameters(index = "0", description = "Bundle file to import")
+    private Path bundle;
+
+    @Option(names = {"-f", "--force"}, description = "Replace versions that are already installed")
+    private boolean force = false;
+
+    @Override
+    public Integer call() {
+        if (!Files.isRegularFile(bundle)) {
+            System.err.println("Bundle not found: " + bundle);
+            return 1;
+        }
+        try {
+            System.out.println("📦 Importing " + bundle + "...");
+            List<String> imported = new JavaBundleService().importBundle(bundle, force);
+            if (imported.isEmpty()) {
+                System.out.println("All bundled versions are already installed (use --force to replace them).");
+            } else {
+                System.out.println("✅ Imported: " + String.join(", ", imported));
+                ToolchainsJavaVersionCommand.syncAfterChange();
+            }
+            return 0;
+        } catch (Exception e) {
+            System.err.println("❌ Failed to import bundle: " + e.getMessage());
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.amankrmj.xwizard.java;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.java.model.OracleJavaVersionInfo;
+import com.amankrmj.xwizard.java.services.JavaUpgradeService;
+import com.amankrmj.xwizard.java.services.JavaVersionAvailableFetchService;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+@Command(name = "upgrade", description = "Upgrade an installed Java version to the latest patch release")
+public class UpgradeJavaVersionCommand implements Callable<Integer> {
+
+    @Parameters(index = "0", description = "Major version to upgrade (e.g., 17, 21)")
+    private String major;
+
+    @Option(names = "--full", description = "Download the whole archive instead of only the changed files")
+    private boolean full = false;
+
+    @Override
+    public Integer call() {
+        try {
+            Optional<String> installed = JavaVersionManagerUtils.listInstalledVersions().stream()
+                    .filter(name -> JavaVersionManagerUtils.majorVersion(name).equals(major))
+                    .max(JavaVersionManagerUtils::compareVersions);
+            if (installed.isEmpty()) {
+                System.err.println("No installed Java " + major + " to upgrade.");
+                System.err.println("Use 'javawizard java install download " + major + "' to install it.");
+                return 1;
+            }
+
+            List<OracleJavaVersionInfo> versions = new JavaVersionAvailableFetchService()
+                    .fetchVersionsFor(JavaVersionAvailableFetchService.catalogUrl(), major);
+            Optional<OracleJavaVersionInfo> latest = JavaVersionManagerUtils.findNewestVersion(versions, major);
+            if (latest.isEmpty()) {
+                System.err.println("Java " + major + " is not in the catalog.");
+                return 1;
+            }
+
+            String from = installed.get();
+            OracleJavaVersionInfo target = latest.get();
+            if (JavaVersionManagerUtils.compareVersions(from, target.getVersion()) >= 0) {
+                System.out.println("Java " + from + " is already the latest " + major + " release.");
+                return 0;
+            }
+
+            System.out.println("🔄 Upgrading Java " + from + " -> " + target.getVersion() + "...");
+            JavaUpgradeService.UpgradeResult result = new JavaUpgradeService().upgrade(from, target, full);
+
+            if (result.delta()) {
+                double percent = result.totalBytes() == 0 ? 0 : 100.0 * result.bytesFetched() / result.totalBytes();
+                System.out.printf(Locale.ROOT, "📦 Fetched %d changed files (%s of %s, %.1f%%), reused %d unchanged files%n",
+                        result.filesFetched(), FileUtils.humanReadable(result.bytesFetched()),
+                        FileUtils.humanReadable(result.totalBytes()), percent, result.filesReused());
+            } else {
+                System.out.println("📦 No file manifest published; installed from the full archive.");
+            }
+            System.out.println("✅ Installed Java " + target.getVersion() + " to " + result.home());
+            ToolchainsJavaVersionCommand.syncAfterChange();
+            System.out.println("Run: javawizard java use " + target.getVersion());
+            return 0;
+        } catch (Exception e) {
+            System.err.println("❌ Failed to upgrade Java " + major + ": " + e.getMessage());
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.amankrmj.xwizard.java;
+
+import com.amankrmj.xwizard.common.state.StateLock;
+import com.amankrmj.xwizard.java.services.JavaCdsService;
+import com.amankrmj.xwizard.java.services.JavaUsageLog;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Parameters;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+@Command(name = "use", description = "Switch to a specific Java version")
+public class UseJavaVersionCommand implements Callable<Integer> {
+
+    @Parameters(index = "0", description = "Java version to use")
+    private String version;
+
+    @Override
+    public Integer call() {
+        try {
+            Path javaVersionsDir = JavaVersionManagerUtils.getJavaVersionsDirectory();
+            Path versionPath = javaVersionsDir.resolve(version);
+            // Keep the version from being pruned or replaced while we point the environment at it.
+            try (StateLock home = StateLock.forDirectory(versionPath);
+                 StateLock environment = StateLock.acquire(StateLock.ENVIRONMENT)) {
+                return use(javaVersionsDir, versionPath);
+            }
+        } catch (Exception e) {
+            System.err.println("Error switching Java version: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private Integer use(Path javaVersionsDir, Path versionPath) throws Exception {
+        if (!Files.exists(versionPath)) {
+            System.err.println("Java version not found: " + version);
+            System.err.println("Available versions:");
+            if (Files.exists(javaVersionsDir)) {
+                Files.list(javaVersionsDir)
+                        .filter(Files::isDirectory)
+                        .map(path -> path.getFileName().toString())
+                        .forEach(v -> System.err.println("  " + v));
+            }
+            return 1;
+        }
+
+        // Set JAVA_HOME
+        JavaVersionManagerUtils.setJavaHome(versionPath.toString());
+
+        // Update PATH
+        JavaVersionManagerUtils.updatePathForJava(versionPath.resolve("bin").toString());
+
+        // Archives are applied per process by 'java exec' and 'java matrix'; only drop the option an
+        // earlier javawizard wrote into the user's JDK_JAVA_OPTIONS, keeping the rest of it.
+        String options = JavaVersionManagerUtils.getUserEnvironmentVariable("JDK_JAVA_OPTIONS");
+        String stripped = JavaCdsService.stripManagedOptions(options);
+        if (options != null && !options.strip().equals(stripped)) {
+            if (stripped == null) {
+                JavaVersionManagerUtils.removeUserEnvironmentVariable("JDK_JAVA_OPTIONS");
+            } else {
+                JavaVersionManagerUtils.setUserEnvironmentVariable("JDK_JAVA_OPTIONS", stripped);
+            }
+        }
+        Optional<Path> archive = JavaCdsService.defaultArchive(version);
+        archive.ifPresent(path -> System.out.println("CDS archive (used by 'java exec'): " + path));
+
+        JavaUsageLog.recordUse(version);
+
+        System.out.println("Switched to Java version: " + version);
+        System.out.println("JAVA_HOME: " + versionPath);
+        System.out.println("Note: Restart your terminal to see the changes.");
+
+        return 0;
+    }
+}
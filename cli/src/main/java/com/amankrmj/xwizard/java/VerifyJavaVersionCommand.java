@@ -0,0 +1,124 @@
+package com.amankrmj.xwizard.java;
+
+import com.amankrmj.xwizard.common.output.Output;
+import com.amankrmj.xwizard.common.output.RecordStream;
+import com.amankrmj.xwizard.java.services.JavaVerifyService;
+import com.amankrmj.xwizard.java.services.JavaVerifyService.Report;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+@Command(name = "verify", description = "Check installed Java versions against their install-time file manifests")
+public class VerifyJavaVersionCommand implements Callable<Integer> {
+
+    private static final int LISTED_PATHS = 10;
+
+    @Parameters(index = "0", description = "Java version to check", arity = "0..1")
+    private String version;
+
+    @Option(names = {"-a", "--all"}, description = "Check every installed version")
+    private boolean all = false;
+
+    @Option(names = "--deep", description = "Re-hash every file, even ones unchanged since the last check")
+    private boolean deep = false;
+
+    @Option(names = "--repair", description = "Restore corrupted and missing files from the original archive")
+    private boolean repair = false;
+
+    @Override
+    public Integer call() {
+        List<String> versions = new ArrayList<>();
+        try {
+            if (all) {
+                versions.addAll(JavaVersionManagerUtils.listInstalledVersions());
+            } else if (version != null) {
+                Optional<String> installed = JavaVersionManagerUtils.resolveInstalledVersion(version);
+                if (installed.isEmpty()) {
+                    System.err.println("Java version not installed: " + version);
+                    return 1;
+                }
+                versions.add(installed.get());
+            } else {
+                System.err.println("Specify a version or use --all");
+                return 1;
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Failed to list installed versions: " + e.getMessage());
+            return 1;
+        }
+
+        JavaVerifyService service = new JavaVerifyService();
+        boolean ok = true;
+        List<Report> reports = new ArrayList<>();
+        for (String name : versions) {
+            try {
+                Report report = service.verify(name, deep, repair);
+                reports.add(report);
+                ok &= report.intact();
+                if (!Output.isStructured()) {
+                    print(report);
+                }
+            } catch (Exception e) {
+                ok = false;
+                System.err.println("❌ " + name + ": " + e.getMessage());
+            }
+        }
+
+        if (Output.isStructured()) {
+            try (RecordStream records = Output.records("version", "problem", "path", "repaired")) {
+                for (Report report : reports) {
+                    if (report.corrupted().isEmpty() && report.missing().isEmpty() && report.extra().isEmpty()) {
+                        records.write(report.version(), "none", null, false);
+                    }
+                    report.corrupted().forEach(path -> records.write(report.version(), "corrupted", path, report.repaired().contains(path)));
+                    report.missing().forEach(path -> records.write(report.version(), "missing", path, report.repaired().contains(path)));
+                    report.extra().forEach(path -> records.write(report.version(), "extra", path, false));
+                }
+            }
+        }
+        return ok ? 0 : 1;
+    }
+
+    private static void print(Report report) {
+        if (report.manifestRecorded()) {
+            System.out.println("📝 " + report.version() + ": no manifest was recorded at install time; recorded one now ("
+                    + report.files() + " files). Later checks compare against it.");
+            return;
+        }
+        String hashed = report.hashed() + " of " + report.files() + " files hashed";
+        if (report.corrupted().isEmpty() && report.missing().isEmpty()) {
+            System.out.println("✅ " + report.version() + ": intact (" + hashed + ")");
+        } else {
+            System.out.println("❌ " + report.version() + ": " + report.corrupted().size() + " corrupted, "
+                    + report.missing().size() + " missing (" + hashed + ")");
+            list("corrupted", report.corrupted());
+            list("missing", report.missing());
+        }
+        if (!report.extra().isEmpty()) {
+            System.out.println("   " + report.extra().size() + " extra file(s) not part of the install (left in place):");
+            list("extra", report.extra());
+        }
+
+        if (!report.repaired().isEmpty()) {
+            System.out.println("🔧 Restored " + report.repaired().size() + " file(s) from the original archive");
+        } else if (report.repairError() != null) {
+            System.out.println("⚠️  Could not repair: " + report.repairError());
+        } else if (!report.intact()) {
+            System.out.println("   Run 'javawizard java verify " + report.version() + " --repair' to restore them.");
+        }
+    }
+
+    private static void list(String label, List<String> paths) {
+        for (int i = 0; i < Math.min(LISTED_PATHS, paths.size()); i++) {
+            System.out.println("     " + label + ": " + paths.get(i));
+        }
+        if (paths.size() > LISTED_PATHS) {
+            System.out.println("     ... and " + (paths.size() - LISTED_PATHS) + " more");
+        }
+    }
+}
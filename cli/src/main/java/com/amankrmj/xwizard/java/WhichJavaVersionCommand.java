@@ -1,5 +1,6 @@
 package com.amankrmj.xwizard.java;
 
+import com.amankrmj.xwizard.common.metrics.ProcessMetrics;
 import picocli.CommandLine.Command;
 
 import java.util.concurrent.Callable;
@@ -11,7 +12,7 @@ public class WhichJavaVersionCommand implements Callable<Integer> {
     public Integer call() {
         try {
             ProcessBuilder pb = new ProcessBuilder("where", "java");
-            Process process = pb.start();
+            Process process = ProcessMetrics.start(pb);
             String output = new String(process.getInputStream().readAllBytes());
             int exitCode = process.waitFor();
 
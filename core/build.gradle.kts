@@ -0,0 +1,20 @@
+// Catalog fetching, version resolution, installation and PATH/JAVA_HOME management.
+// No picocli and no console entry point: embed it through com.amankrmj.xwizard.api.JavaWizard.
+plugins {
+    `java-library`
+}
+
+base {
+    archivesName.set("xwizard-core")
+}
+
+dependencies {
+    implementation("com.fasterxml.jackson.core:jackson-core:2.17.1")
+}
+
+tasks.register<Jar>("sourcesJar") {
+    group = "documentation"
+    description = "Generate sources JAR"
+    archiveClassifier.set("sources")
+    from(sourceSets.main.get().allSource)
+}
@@ -0,0 +1,246 @@
+package com.amankrmj.xwizard.api;
+
+import com.amankrmj.xwizard.common.Platform;
+import com.amankrmj.xwizard.common.model.VersionInfo;
+import com.amankrmj.xwizard.common.state.StateLock;
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+import com.amankrmj.xwizard.java.model.JdkLock;
+import com.amankrmj.xwizard.java.model.CompactCatalog;
+import com.amankrmj.xwizard.java.services.JavaExecService;
+import com.amankrmj.xwizard.java.services.JavaInstallService;
+import com.amankrmj.xwizard.java.services.JavaPruneService;
+import com.amankrmj.xwizard.java.services.JavaToolchainsService;
+import com.amankrmj.xwizard.java.services.JavaUsageLog;
+import com.amankrmj.xwizard.java.services.JavaVersionAvailableFetchService;
+import com.amankrmj.xwizard.java.services.SyncService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Programmatic entry point to JavaWizard for IDE plugins, build tools and services
+ * that embed the {@code core} module instead of shelling out to the CLI.
+ * <p>
+ * One instance can be shared by any number of threads. Changes to the host go
+ * through the same {@link StateLock}s as the CLI, so they are also safe against a
+ * concurrently running {@code javawizard} process. Within one instance, concurrent
+ * {@link #install} calls for the same version share a single download and
+ * extraction, and the parsed catalog is kept in memory for {@code catalogTtl} on top
+ * of the on-disk ETag cache, as a {@link CompactCatalog}.
+ */
+public final class JavaWizard {
+
+    public static final Duration DEFAULT_CATALOG_TTL = Duration.ofMinutes(10);
+
+    private record CatalogSnapshot(CompactCatalog catalog, long fetchedAtNanos) {
+    }
+
+    private final String catalogUrl;
+    private final Duration catalogTtl;
+    private final JavaVersionAvailableFetchService fetchService;
+    private final JavaInstallService installService;
+    private final Map<String, CompletableFuture<Path>> installing = new ConcurrentHashMap<>();
+    private volatile CatalogSnapshot catalog;
+
+    public JavaWizard() {
+        this(JavaVersionAvailableFetchService.catalogUrl(), DEFAULT_CATALOG_TTL);
+    }
+
+    public JavaWizard(String catalogUrl, Duration catalogTtl) {
+        this.catalogUrl = catalogUrl;
+        this.catalogTtl = catalogTtl;
+        this.fetchService = new JavaVersionAvailableFetchService();
+        this.installService = new JavaInstallService();
+    }
+
+    /**
+     * Every version in the catalog.
+     */
+    public List<CompactCatalog.Entry> available() throws IOException {
+        return catalog().entries();
+    }
+
+    /**
+     * The whole catalog, fetched at most once per {@code catalogTtl}.
+     */
+    public CompactCatalog catalog() throws IOException {
+        CatalogSnapshot snapshot = catalog;
+        if (snapshot != null && System.nanoTime() - snapshot.fetchedAtNanos() < catalogTtl.toNanos()) {
+            return snapshot.catalog();
+        }
+        CompactCatalog fetched = JavaVersionAvailableFetchService.parseCompact(
+                fetchService.fetchCatalogDocuments(catalogUrl, null));
+        catalog = new CatalogSnapshot(fetched, System.nanoTime());
+        return fetched;
+    }
+
+    /**
+     * The newest catalog entry matching {@code version} (e.g. {@code 21} or {@code 21.0.5}).
+     * Without a fresh in-memory catalog only the shards for its major version are fetched.
+     */
+    public Optional<VersionInfo> find(String version) throws IOException {
+        CatalogSnapshot snapshot = catalog;
+        List<VersionInfo> versions = Collections.unmodifiableList(snapshot != null
+                && System.nanoTime() - snapshot.fetchedAtNanos() < catalogTtl.toNanos()
+                ? snapshot.catalog().entries()
+                : fetchService.fetchVersionsFor(catalogUrl, version));
+        return JavaVersionManagerUtils.findVersion(versions, version);
+    }
+
+    /**
+     * Names of the managed versions, oldest first.
+     */
+    public List<String> installed() throws IOException {
+        return JavaVersionManagerUtils.listInstalledVersions();
+    }
+
+    /**
+     * Home of the newest installed version matching {@code version}.
+     */
+    public Optional<Path> resolve(String version) throws IOException {
+        return JavaVersionManagerUtils.resolveInstalledVersion(version)
+                .map(JavaVersionManagerUtils.getJavaVersionsDirectory()::resolve);
+    }
+
+    /**
+     * Make sure a version matching {@code version} is installed.
+     *
+     * @return its home; an already installed match is returned without touching the network
+     */
+    public Path install(String version) throws IOException {
+        return install(version, null);
+    }
+
+    /**
+     * @param expectedSha256 if set, the archive must have this SHA-256
+     */
+    public Path install(String version, String expectedSha256) throws IOException {
+        Optional<Path> home = resolve(version);
+        if (home.isPresent()) {
+            return home.get();
+        }
+        VersionInfo info = find(version)
+                .orElseThrow(() -> new IOException("Java version not found in catalog: " + version));
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> running = installing.putIfAbsent(info.getVersion(), mine);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            Path target = JavaVersionManagerUtils.getJavaVersionsDirectory().resolve(info.getVersion());
+            // Another process may have installed it since resolve(); its target lock serialises us behind it.
+            Path installed = Files.exists(target) ? target
+                    : installService.install(info, target, false, expectedSha256);
+            JavaToolchainsService.syncAfterChange();
+            mine.complete(installed);
+            return installed;
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            installing.remove(info.getVersion(), mine);
+        }
+    }
+
+    private static Path await(CompletableFuture<Path> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Delete the installed version named exactly {@code name}.
+     *
+     * @return whether it was removed; {@code false} if it is missing or in use by another operation
+     */
+    public boolean remove(String name) throws IOException {
+        Path home = JavaVersionManagerUtils.getJavaVersionsDirectory().resolve(name);
+        if (!Files.isDirectory(home)) {
+            return false;
+        }
+        JavaPruneService.InstalledVersion version = new JavaPruneService.InstalledVersion(name, 0, 0, false);
+        JavaPruneService.PruneResult result = new JavaPruneService()
+                .execute(new JavaPruneService.PrunePlan(List.of(version), List.of()));
+        if (result.removed().isEmpty()) {
+            return false;
+        }
+        JavaToolchainsService.syncAfterChange();
+        return true;
+    }
+
+    /**
+     * Persist {@code version} as the user's {@code JAVA_HOME} and put its {@code bin} first
+     * on the user PATH. Only supported on Windows; elsewhere use {@link #processBuilder}.
+     */
+    public Path use(String version) throws IOException, InterruptedException {
+        requireWindows();
+        String name = JavaVersionManagerUtils.resolveInstalledVersion(version)
+                .orElseThrow(() -> new IOException("Java " + version + " is not installed"));
+        Path home = JavaVersionManagerUtils.getJavaVersionsDirectory().resolve(name);
+        try (StateLock environment = StateLock.acquire(StateLock.ENVIRONMENT);
+             StateLock lock = StateLock.sharedForDirectory(home)) {
+            JavaVersionManagerUtils.setJavaHome(home.toString());
+            JavaVersionManagerUtils.updatePathForJava(home.resolve("bin").toString());
+        }
+        JavaUsageLog.recordUse(name);
+        return home;
+    }
+
+    /**
+     * Append {@code entry} to the persisted user PATH unless it is already there. Windows only.
+     */
+    public void addToPath(String entry) throws IOException, InterruptedException {
+        requireWindows();
+        try (StateLock environment = StateLock.acquire(StateLock.ENVIRONMENT)) {
+            JavaVersionManagerUtils.addToUserPath(entry);
+        }
+    }
+
+    private static void requireWindows() throws IOException {
+        if (!Platform.isWindows()) {
+            throw new IOException("The user environment is only persisted on Windows");
+        }
+    }
+
+    /**
+     * A process that runs {@code command} against an installed version, with
+     * {@code JAVA_HOME} and {@code PATH} set only for the child.
+     */
+    public ProcessBuilder processBuilder(String version, List<String> command) throws IOException {
+        String name = JavaVersionManagerUtils.resolveInstalledVersion(version)
+                .orElseThrow(() -> new IOException("Java " + version + " is not installed"));
+        Path home = JavaVersionManagerUtils.getJavaVersionsDirectory().resolve(name);
+        return JavaExecService.prepare(name, home, command, true);
+    }
+
+    /**
+     * Bring the host to {@code lock}, as {@code javawizard sync} does.
+     */
+    public List<SyncService.Outcome> sync(JdkLock lock, boolean keepUnlisted) throws IOException, InterruptedException {
+        SyncService service = new SyncService();
+        List<SyncService.Outcome> outcomes = service.apply(service.plan(lock, keepUnlisted));
+        if (outcomes.stream().anyMatch(outcome -> outcome.ok()
+                && (outcome.action().kind() == SyncService.Kind.INSTALL || outcome.action().kind() == SyncService.Kind.REMOVE))) {
+            JavaToolchainsService.syncAfterChange();
+        }
+        return outcomes;
+    }
+}
@@ -0,0 +1,48 @@
+package com.amankrmj.xwizard.common;
+
+import java.util.Locale;
+
+/**
+ * Operating system and architecture naming as used in JDK archive file names.
+ */
+public final class Platform {
+
+    private static final String OS_NAME = System.getProperty("os.name").toLowerCase(Locale.ROOT);
+    private static final String OS_ARCH = System.getProperty("os.arch").toLowerCase(Locale.ROOT);
+
+    private Platform() {
+    }
+
+    public static boolean isWindows() {
+        return OS_NAME.contains("windows");
+    }
+
+    public static boolean isMac() {
+        return OS_NAME.contains("mac");
+    }
+
+    /**
+     * @return {@code windows}, {@code macos} or {@code linux}
+     */
+    public static String os() {
+        if (isWindows()) {
+            return "windows";
+        }
+        return isMac() ? "macos" : "linux";
+    }
+
+    /**
+     * @return {@code x64} or {@code aarch64}
+     */
+    public static String arch() {
+        return OS_ARCH.equals("aarch64") || OS_ARCH.equals("arm64") ? "aarch64" : "x64";
+    }
+
+    public static String archiveExtension() {
+        return isWindows() ? "zip" : "tar.gz";
+    }
+
+    public static String executableName(String tool) {
+        return isWindows() ? tool + ".exe" : tool;
+    }
+}
@@ -0,0 +1,26 @@
+package com.amankrmj.xwizard.common;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Location of JavaWizard's own state (installed versions, caches, config).
+ * Defaults to {@code ~/.javawizard}; {@code JAVAWIZARD_HOME} overrides it.
+ */
+public final class WizardHome {
+
+    private WizardHome() {
+    }
+
+    public static Path directory() {
+        String override = System.getenv("JAVAWIZARD_HOME");
+        if (override != null && !override.isBlank()) {
+            return Paths.get(override);
+        }
+        return Paths.get(System.getProperty("user.home"), ".javawizard");
+    }
+
+    public static Path cacheDirectory() {
+        return directory().resolve("cache");
+    }
+}
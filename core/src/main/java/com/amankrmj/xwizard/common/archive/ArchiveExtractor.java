@@ -0,0 +1,399 @@
+package com.amankrmj.xwizard.common.archive;
+
+import com.amankrmj.xwizard.common.metrics.MetricsRegistry;
+import com.amankrmj.xwizard.common.metrics.Timer;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Extracts JDK archives ({@code .zip}, {@code .tar.gz}, {@code .tgz}).
+ * <p>
+ * JDK archives wrap everything in one top-level directory ({@code jdk-21.0.8/}),
+ * which is stripped so the target directory becomes the JDK home. The macOS
+ * {@code Contents/Home} bundle layout is flattened the same way.
+ * <p>
+ * Nothing is ever written outside the target: entry names are checked as text,
+ * symlink targets must be relative and stay inside, and files are only created
+ * under parents whose real path is inside the target, never through a link.
+ */
+public final class ArchiveExtractor {
+
+    private ArchiveExtractor() {
+    }
+
+    public static boolean isSupported(String fileName) {
+        String name = fileName.toLowerCase();
+        return name.endsWith(".zip") || name.endsWith(".tar.gz") || name.endsWith(".tgz");
+    }
+
+    /**
+     * @param archive archive to extract
+     * @param target  directory to extract into; created if missing
+     * @return number of regular files written
+     */
+    public static long extract(Path archive, Path target) throws IOException {
+        String name = archive.getFileName().toString().toLowerCase();
+        MetricsRegistry metrics = MetricsRegistry.global();
+        Timer.Sample sample = metrics.timer("phase.extract").start();
+        try {
+            Files.createDirectories(target);
+            target = target.toRealPath();
+            long files;
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(archive), 1 << 16)) {
+                if (name.endsWith(".zip")) {
+                    files = extractZip(in, target);
+                } else if (name.endsWith(".tar.gz") || name.endsWith(".tgz")) {
+                    files = extractTar(new GZIPInputStream(in, 1 << 16), target);
+                } else {
+                    throw new IOException("Unsupported archive format: " + archive.getFileName());
+                }
+            }
+            metrics.counter("extract.files").add(files);
+            return files;
+        } finally {
+            sample.stop();
+        }
+    }
+
+    private static long extractZip(InputStream in, Path target) throws IOException {
+        long files = 0;
+        try (ZipInputStream zip = new ZipInputStream(in)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                Path path = resolve(target, entry.getName());
+                if (path == null) {
+                    continue;
+                }
+                if (entry.isDirectory()) {
+                    createDirectories(target, path);
+                } else {
+                    createDirectories(target, path.getParent());
+                    write(zip, path, entry.getSize());
+                    files++;
+                }
+            }
+        }
+        return files;
+    }
+
+    private static long extractTar(InputStream in, Path target) throws IOException {
+        long files = 0;
+        byte[] header = new byte[512];
+        String longName = null;
+        String longLink = null;
+        Map<String, String> pax = new HashMap<>();
+
+        while (readFully(in, header)) {
+            if (isZeroBlock(header)) {
+                break;
+            }
+            String name = string(header, 0, 100);
+            String prefix = string(header, 345, 155);
+            if (!prefix.isEmpty()) {
+                name = prefix + "/" + name;
+            }
+            int mode = (int) octal(header, 100, 8);
+            long size = octal(header, 124, 12);
+            char type = (char) header[156];
+            String linkName = string(header, 157, 100);
+
+            switch (type) {
+                case 'L' -> {
+                    longName = new String(readBytes(in, size), StandardCharsets.UTF_8).trim().replace("\0", "");
+                    skipPadding(in, size);
+                    continue;
+                }
+                case 'K' -> {
+                    longLink = new String(readBytes(in, size), StandardCharsets.UTF_8).trim().replace("\0", "");
+                    skipPadding(in, size);
+                    continue;
+                }
+                case 'x' -> {
+                    pax = parsePax(readBytes(in, size));
+                    skipPadding(in, size);
+                    continue;
+                }
+                case 'g' -> {
+                    skip(in, size);
+                    skipPadding(in, size);
+                    continue;
+                }
+                default -> {
+                }
+            }
+
+            if (longName != null) {
+                name = longName;
+            } else if (pax.containsKey("path")) {
+                name = pax.get("path");
+            }
+            if (longLink != null) {
+                linkName = longLink;
+            } else if (pax.containsKey("linkpath")) {
+                linkName = pax.get("linkpath");
+            }
+            if (pax.containsKey("size")) {
+                size = Long.parseLong(pax.get("size"));
+            }
+            longName = null;
+            longLink = null;
+            pax = new HashMap<>();
+
+            Path path = resolve(target, name);
+            if (path == null) {
+                skip(in, size);
+                skipPadding(in, size);
+                continue;
+            }
+
+            switch (type) {
+                case '5' -> createDirectories(target, path);
+                case '2' -> {
+                    createDirectories(target, path.getParent());
+                    Files.deleteIfExists(path);
+                    Files.createSymbolicLink(path, checkLink(target, path, name, linkName));
+                }
+                case '1' -> {
+                    Path source = resolve(target, linkName);
+                    if (source != null) {
+                        createDirectories(target, path.getParent());
+                        checkInside(target, source.getParent().toRealPath(), linkName);
+                        Files.deleteIfExists(path);
+                        Files.createLink(path, source);
+                    }
+                }
+                case '0', '\0', '7' -> {
+                    createDirectories(target, path.getParent());
+                    write(in, path, size);
+                    if (mode != 0) {
+                        FileManifest.applyMode(path, mode & 0777);
+                    }
+                    files++;
+                }
+                default -> skip(in, size);
+            }
+            skipPadding(in, size);
+        }
+        return files;
+    }
+
+    /**
+     * Map an archive entry name to a path under {@code target}, dropping the
+     * top-level directory and rejecting anything that escapes the target.
+     *
+     * @return the path, or {@code null} for the top-level directory itself
+     */
+    private static Path resolve(Path target, String entryName) throws IOException {
+        String name = entryName.replace('\\', '/');
+        while (name.startsWith("./")) {
+            name = name.substring(2);
+        }
+        int slash = name.indexOf('/');
+        if (slash < 0 || slash == name.length() - 1) {
+            return null;
+        }
+        name = name.substring(slash + 1);
+        if (name.startsWith("Contents/Home/")) {
+            name = name.substring("Contents/Home/".length());
+        } else if (name.startsWith("Contents/")) {
+            return null;
+        }
+        if (name.isEmpty()) {
+            return null;
+        }
+        Path path = target.resolve(name).normalize();
+        if (!path.startsWith(target.normalize())) {
+            throw new IOException("Archive entry escapes target directory: " + entryName);
+        }
+        return path;
+    }
+
+    /**
+     * Create {@code dir} and its parents, refusing if the part that already exists
+     * leads outside {@code target} through a symlink.
+     */
+    private static void createDirectories(Path target, Path dir) throws IOException {
+        Path existing = dir;
+        while (!Files.exists(existing, LinkOption.NOFOLLOW_LINKS)) {
+            existing = existing.getParent();
+        }
+        Path real;
+        try {
+            real = existing.toRealPath();
+        } catch (NoSuchFileException e) {
+            throw new IOException("Archive entry goes through a dangling symlink: " + existing);
+        }
+        checkInside(target, real, dir.toString());
+        Files.createDirectories(dir);
+    }
+
+    /**
+     * A symlink target is accepted only if it is relative and stays inside
+     * {@code target} once resolved against the link's (real) parent, both as text
+     * and, if it already exists, through any links it passes.
+     */
+    private static Path checkLink(Path target, Path link, String entryName, String linkName) throws IOException {
+        Path linkTarget = Path.of(linkName);
+        if (linkTarget.isAbsolute() || linkName.startsWith("/") || linkName.startsWith("\\")) {
+            throw new IOException("Archive symlink has an absolute target: " + entryName + " -> " + linkName);
+        }
+        Path resolved = link.getParent().toRealPath().resolve(linkTarget);
+        checkInside(target, resolved.normalize(), entryName + " -> " + linkName);
+        if (Files.exists(resolved)) {
+            // The OS resolves "a/../x" through a, which plain normalize() does not.
+            checkInside(target, resolved.toRealPath(), entryName + " -> " + linkName);
+        }
+        return linkTarget;
+    }
+
+    private static void checkInside(Path target, Path path, String entryName) throws IOException {
+        if (!path.startsWith(target)) {
+            throw new IOException("Archive entry escapes target directory: " + entryName);
+        }
+    }
+
+    private static void write(InputStream in, Path path, long size) throws IOException {
+        // Replace whatever is there (deleteIfExists removes a link, not what it points to)
+        // and never follow a link when opening.
+        Files.deleteIfExists(path);
+        byte[] buffer = new byte[1 << 16];
+        long remaining = size < 0 ? Long.MAX_VALUE : size;
+        long written = 0;
+        try (OutputStream out = Files.newOutputStream(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, LinkOption.NOFOLLOW_LINKS)) {
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    if (size >= 0) {
+                        throw new EOFException("Truncated archive entry: " + path.getFileName());
+                    }
+                    break;
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+                written += read;
+            }
+        }
+        MetricsRegistry.global().counter("extract.bytes").add(written);
+    }
+
+    private static Map<String, String> parsePax(byte[] data) {
+        // Records are "<length> <key>=<value>\n", length counting the whole record.
+        Map<String, String> headers = new HashMap<>();
+        int pos = 0;
+        while (pos < data.length) {
+            int space = pos;
+            while (space < data.length && data[space] != ' ') {
+                space++;
+            }
+            if (space >= data.length) {
+                break;
+            }
+            int length = Integer.parseInt(new String(data, pos, space - pos, StandardCharsets.US_ASCII));
+            String record = new String(data, space + 1, length - (space - pos) - 2, StandardCharsets.UTF_8);
+            int eq = record.indexOf('=');
+            if (eq > 0) {
+                headers.put(record.substring(0, eq), record.substring(eq + 1));
+            }
+            pos += length;
+        }
+        return headers;
+    }
+
+    private static boolean readFully(InputStream in, byte[] block) throws IOException {
+        int offset = 0;
+        while (offset < block.length) {
+            int read = in.read(block, offset, block.length - offset);
+            if (read < 0) {
+                if (offset == 0) {
+                    return false;
+                }
+                throw new EOFException("Truncated tar header");
+            }
+            offset += read;
+        }
+        return true;
+    }
+
+    private static byte[] readBytes(InputStream in, long size) throws IOException {
+        byte[] data = new byte[(int) size];
+        if (!readFully(in, data) && size > 0) {
+            throw new EOFException("Truncated tar entry");
+        }
+        return data;
+    }
+
+    private static void skip(InputStream in, long size) throws IOException {
+        long remaining = size;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new EOFException("Truncated tar entry");
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static void skipPadding(InputStream in, long size) throws IOException {
+        long padding = (512 - (size % 512)) % 512;
+        skip(in, padding);
+    }
+
+    private static boolean isZeroBlock(byte[] block) {
+        for (byte b : block) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String string(byte[] block, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && block[end] != 0) {
+            end++;
+        }
+        return new String(block, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private static long octal(byte[] block, int offset, int length) {
+        if ((block[offset] & 0x80) != 0) {
+            // GNU base-256 encoding for large sizes.
+            long value = 0;
+            for (int i = offset + 1; i < offset + length; i++) {
+                value = (value << 8) | (block[i] & 0xff);
+            }
+            return value;
+        }
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = block[i];
+            if (b == 0 || b == ' ') {
+                if (value > 0) {
+                    break;
+                }
+                continue;
+            }
+            value = (value << 3) + (b - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,183 @@
+package com.amankrmj.xwizard.common.archive;
+
+import com.amankrmj.xwizard.common.FileUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Per-file content manifest of a JDK home.
+ * <p>
+ * Text format, one regular file per line, paths relative to the JDK home with
+ * {@code /} separators:
+ * <pre>
+ * # comment
+ * &lt;sha256-hex&gt; &lt;size&gt; &lt;octal-mode&gt; &lt;path&gt;
+ * </pre>
+ * Catalogs publish one next to each archive as {@code <archive>.manifest}.
+ */
+public final class FileManifest {
+
+    private static final boolean POSIX = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+
+    private final List<Entry> entries;
+
+    public FileManifest(List<Entry> entries) {
+        this.entries = List.copyOf(entries);
+    }
+
+    public record Entry(String path, String sha256, long size, int mode) {
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public long totalSize() {
+        long total = 0;
+        for (Entry entry : entries) {
+            total += entry.size();
+        }
+        return total;
+    }
+
+    /**
+     * @return one entry per distinct content hash
+     */
+    public Map<String, Entry> byHash() {
+        Map<String, Entry> index = new HashMap<>(entries.size() * 2);
+        for (Entry entry : entries) {
+            index.putIfAbsent(entry.sha256(), entry);
+        }
+        return index;
+    }
+
+    public Map<String, Entry> byPath() {
+        Map<String, Entry> index = new HashMap<>(entries.size() * 2);
+        for (Entry entry : entries) {
+            index.put(entry.path(), entry);
+        }
+        return index;
+    }
+
+    public static FileManifest parse(String text) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (String line : text.split("\n")) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(" ", 4);
+            if (fields.length != 4) {
+                throw new IOException("Malformed manifest line: " + line);
+            }
+            try {
+                entries.add(new Entry(fields[3], fields[0], Long.parseLong(fields[1]), Integer.parseInt(fields[2], 8)));
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed manifest line: " + line, e);
+            }
+        }
+        return new FileManifest(entries);
+    }
+
+    public static FileManifest read(Path file) throws IOException {
+        return parse(Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    public String format() {
+        StringBuilder text = new StringBuilder(entries.size() * 100);
+        for (Entry entry : entries) {
+            text.append(entry.sha256()).append(' ')
+                    .append(entry.size()).append(' ')
+                    .append(Integer.toOctalString(entry.mode())).append(' ')
+                    .append(entry.path()).append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Write atomically (temp file + rename) so readers never see a partial manifest.
+     */
+    public void write(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        Files.writeString(tmp, format(), StandardCharsets.UTF_8);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Hash every regular file below {@code root}, spreading the work over all cores.
+     */
+    public static FileManifest scan(Path root) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).toList();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<Future<Entry>> futures = new ArrayList<>(files.size());
+            for (Path file : files) {
+                futures.add(executor.submit(() -> new Entry(relativePath(root, file), FileUtils.sha256(file),
+                        Files.size(file), mode(file))));
+            }
+            List<Entry> entries = new ArrayList<>(futures.size());
+            for (Future<Entry> future : futures) {
+                entries.add(future.get());
+            }
+            entries.sort((a, b) -> a.path().compareTo(b.path()));
+            return new FileManifest(entries);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while hashing " + root, e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public static String relativePath(Path root, Path file) {
+        return root.relativize(file).toString().replace('\\', '/');
+    }
+
+    public static int mode(Path file) throws IOException {
+        if (!POSIX) {
+            return 0644;
+        }
+        int mode = 0;
+        for (PosixFilePermission permission : Files.getPosixFilePermissions(file)) {
+            mode |= 1 << (8 - permission.ordinal());
+        }
+        return mode;
+    }
+
+    public static void applyMode(Path file, int mode) throws IOException {
+        if (!POSIX) {
+            return;
+        }
+        Set<PosixFilePermission> permissions = EnumSet.noneOf(PosixFilePermission.class);
+        for (PosixFilePermission permission : PosixFilePermission.values()) {
+            if ((mode & (1 << (8 - permission.ordinal()))) != 0) {
+                permissions.add(permission);
+            }
+        }
+        Files.setPosixFilePermissions(file, Collections.unmodifiableSet(permissions));
+    }
+}
@@ -0,0 +1,266 @@
+package com.amankrmj.xwizard.common.concurrent;
+
+import com.amankrmj.xwizard.common.metrics.MetricsRegistry;
+import com.amankrmj.xwizard.common.metrics.ProcessMetrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * A group of concurrent tasks on virtual threads that share one deadline.
+ * <p>
+ * Tasks are forked into the scope, {@link #join()} waits for all of them until the
+ * deadline and cancels whatever is still running, and {@link #close()} does not
+ * return before every task thread has finished, so no probe outlives the command
+ * that started it. A scope opened inside a task is cancelled along with it.
+ * <p>
+ * This is the part of {@code StructuredTaskScope} the commands need; that API is
+ * still a preview in Java 21 and would need {@code --enable-preview} in the native image.
+ */
+public final class TaskScope implements AutoCloseable {
+
+    private static final ThreadLocal<Subtask<?>> CURRENT = new ThreadLocal<>();
+
+    public enum State {
+        RUNNING, SUCCESS, FAILED, CANCELLED
+    }
+
+    public static final class Subtask<T> {
+
+        private final String name;
+        private final Callable<T> task;
+        private final Instant deadline;
+        private final List<Runnable> cancelHooks = new ArrayList<>();
+        private Thread thread;
+        private State state = State.RUNNING;
+        private T value;
+        private Throwable exception;
+
+        private Subtask(String name, Callable<T> task, Instant deadline) {
+            this.name = name;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public synchronized State state() {
+            return state;
+        }
+
+        /**
+         * @throws IllegalStateException unless the task completed successfully
+         */
+        public synchronized T get() {
+            if (state != State.SUCCESS) {
+                throw new IllegalStateException(name + " did not complete: " + failureMessage());
+            }
+            return value;
+        }
+
+        public synchronized T orElse(T fallback) {
+            return state == State.SUCCESS ? value : fallback;
+        }
+
+        public synchronized Throwable exception() {
+            return exception;
+        }
+
+        /**
+         * Why the task has no result, for messages: the exception's message, or "timed out".
+         */
+        public synchronized String failureMessage() {
+            return switch (state) {
+                case RUNNING -> "still running";
+                case SUCCESS -> "";
+                case CANCELLED -> "timed out";
+                case FAILED -> exception.getMessage() != null ? exception.getMessage() : exception.toString();
+            };
+        }
+
+        private void run() {
+            CURRENT.set(this);
+            try {
+                complete(State.SUCCESS, task.call(), null);
+            } catch (Throwable e) {
+                complete(State.FAILED, null, e);
+            }
+        }
+
+        private synchronized void complete(State outcome, T result, Throwable failure) {
+            if (state == State.RUNNING) {
+                state = outcome;
+                value = result;
+                exception = failure;
+            }
+        }
+
+        private synchronized boolean cancel() {
+            if (state != State.RUNNING) {
+                return false;
+            }
+            state = State.CANCELLED;
+            for (Runnable hook : cancelHooks) {
+                try {
+                    hook.run();
+                } catch (RuntimeException e) {
+                    // Best effort: the interrupt below still reaches the task.
+                }
+            }
+            thread.interrupt();
+            return true;
+        }
+
+        private synchronized void onCancel(Runnable hook) {
+            if (state == State.CANCELLED) {
+                hook.run();
+            } else {
+                cancelHooks.add(hook);
+            }
+        }
+    }
+
+    private final Instant deadline;
+    private final List<Subtask<?>> subtasks = new ArrayList<>();
+    private boolean joined;
+
+    private TaskScope(Instant deadline) {
+        this.deadline = deadline;
+    }
+
+    public static TaskScope open(Duration timeout) {
+        return new TaskScope(Instant.now().plus(timeout));
+    }
+
+    /**
+     * A scope with the given deadline, e.g. a parent scope's {@link #deadline()}.
+     */
+    public static TaskScope open(Instant deadline) {
+        return new TaskScope(deadline);
+    }
+
+    public Instant deadline() {
+        return deadline;
+    }
+
+    public <T> Subtask<T> fork(String name, Callable<T> task) {
+        if (joined) {
+            throw new IllegalStateException("Scope already joined");
+        }
+        Subtask<T> subtask = new Subtask<>(name, task, deadline);
+        subtask.thread = Thread.ofVirtual().name("scope-" + name).unstarted(subtask::run);
+        subtasks.add(subtask);
+        MetricsRegistry.global().counter("scope.tasks").increment();
+        subtask.thread.start();
+        return subtask;
+    }
+
+    /**
+     * Wait for every task until the deadline, then cancel the ones still running.
+     * If the calling thread is interrupted (e.g. its own task was cancelled) every
+     * task is cancelled and the interrupt is rethrown.
+     */
+    public TaskScope join() throws InterruptedException {
+        joined = true;
+        try {
+            for (Subtask<?> subtask : subtasks) {
+                Duration remaining = Duration.between(Instant.now(), deadline);
+                if (remaining.isNegative() || remaining.isZero()
+                        || !subtask.thread.join(remaining)) {
+                    break;
+                }
+            }
+        } finally {
+            cancelRunning();
+        }
+        return this;
+    }
+
+    private void cancelRunning() {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        for (Subtask<?> subtask : subtasks) {
+            if (subtask.cancel()) {
+                metrics.counter("scope.cancelled").increment();
+            }
+        }
+    }
+
+    /**
+     * Cancel unfinished tasks and wait for all task threads to end.
+     */
+    @Override
+    public void close() {
+        joined = true;
+        cancelRunning();
+        boolean interrupted = false;
+        for (Subtask<?> subtask : subtasks) {
+            while (true) {
+                try {
+                    subtask.thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * {@code limit}, shortened to the time left before the calling task's scope deadline,
+     * for timeouts of blocking calls (HTTP requests) that must not outlast the scope.
+     * Outside a task this is {@code limit}.
+     */
+    public static Duration remaining(Duration limit) {
+        Subtask<?> current = CURRENT.get();
+        if (current == null) {
+            return limit;
+        }
+        Duration left = Duration.between(Instant.now(), current.deadline);
+        if (left.compareTo(limit) >= 0) {
+            return limit;
+        }
+        // HTTP timeouts must be positive; an expired deadline fails the call at once.
+        return left.compareTo(Duration.ofMillis(1)) > 0 ? left : Duration.ofMillis(1);
+    }
+
+    /**
+     * Run {@code hook} if the calling task is cancelled, e.g. to kill a child process
+     * whose output it is blocked reading. Outside a task this does nothing.
+     */
+    public static void onCancel(Runnable hook) {
+        Subtask<?> current = CURRENT.get();
+        if (current != null) {
+            current.onCancel(hook);
+        }
+    }
+
+    /**
+     * Run a short-lived probe process and return its output (stderr included). The
+     * process is killed if the calling task is cancelled.
+     *
+     * @throws IOException if it cannot be started or exits with a non-zero status
+     */
+    public static String capture(ProcessBuilder builder) throws IOException, InterruptedException {
+        Process process = ProcessMetrics.start(builder.redirectErrorStream(true));
+        onCancel(process::destroyForcibly);
+        byte[] output = process.getInputStream().readAllBytes();
+        int exitCode = process.waitFor();
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+        }
+        if (exitCode != 0) {
+            throw new IOException(builder.command().get(0) + " exited with " + exitCode);
+        }
+        return new String(output, StandardCharsets.UTF_8);
+    }
+}
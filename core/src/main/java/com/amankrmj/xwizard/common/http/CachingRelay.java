@@ -0,0 +1,562 @@
+package com.amankrmj.xwizard.common.http;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.metrics.HttpMetrics;
+import com.amankrmj.xwizard.common.metrics.MetricsRegistry;
+import com.amankrmj.xwizard.common.metrics.Timer;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serial;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * A caching HTTP relay that other JavaWizard clients use as a {@link Mirror}.
+ * <p>
+ * {@code GET /<host[:port]>/<path>} is answered from the local cache, filling it
+ * from {@code <scheme>://<host[:port]>/<path>} on a miss. Concurrent misses for the
+ * same object share one upstream fetch. Cached objects are revalidated with
+ * {@code If-None-Match}/{@code If-Modified-Since} once older than the TTL, and
+ * served stale if upstream is unreachable. {@code GET /catalog/<path>} relays
+ * {@code <path>} resolved against the configured catalog, so a sharded catalog's
+ * relative shard links work through the relay; {@code /catalog.json} is the
+ * catalog itself. Single byte ranges are supported so interrupted downloads can resume.
+ * <p>
+ * Only the catalog host, hosts added with {@link #allow} and the archive hosts named
+ * in relayed catalog documents are fetched from; anything else is answered 403, so
+ * the relay cannot be used to reach other services on its network. Objects are
+ * stored under {@code objects/} named by the SHA-256 of their upstream URL, with
+ * their metadata under {@code meta/}, and the least recently served ones are
+ * evicted once the cache grows past its size limit.
+ */
+public class CachingRelay {
+
+    private static final Pattern HOST = Pattern.compile("[A-Za-z0-9.-]+(:\\d{1,5})?");
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+    private static final String CATALOG_PATH = "/catalog.json";
+    private static final String CATALOG_PREFIX = "/catalog/";
+
+    /**
+     * Reads the archive URLs a relayed catalog document points at.
+     */
+    @FunctionalInterface
+    public interface CatalogLinks {
+        Collection<URI> read(byte[] document) throws IOException;
+    }
+
+    private final HttpClient httpClient;
+    private final Path objectsDirectory;
+    private final Path metaDirectory;
+    private final String upstreamScheme;
+    private final URI catalogUri;
+    private final CatalogLinks catalogLinks;
+    private final Duration ttl;
+    private final long maxCacheBytes;
+    private final Set<String> allowedHosts = ConcurrentHashMap.newKeySet();
+    private final AtomicLong cacheBytes = new AtomicLong();
+    private final Map<Path, CompletableFuture<Path>> inflight = new ConcurrentHashMap<>();
+
+    /**
+     * @param catalogLinks  reads archive URLs out of catalog documents, or {@code null}
+     * @param maxCacheBytes size the cache is trimmed to, or {@code 0} for no limit
+     */
+    public CachingRelay(HttpClient httpClient, Path cacheDirectory, String upstreamScheme, URI catalogUri,
+                        CatalogLinks catalogLinks, Duration ttl, long maxCacheBytes) {
+        this.httpClient = httpClient;
+        Path root = cacheDirectory.toAbsolutePath().normalize();
+        this.objectsDirectory = root.resolve("objects");
+        this.metaDirectory = root.resolve("meta");
+        this.upstreamScheme = upstreamScheme;
+        this.catalogUri = catalogUri;
+        this.catalogLinks = catalogLinks;
+        this.ttl = ttl;
+        this.maxCacheBytes = maxCacheBytes;
+        if (catalogUri != null) {
+            allow(catalogUri);
+        }
+    }
+
+    /**
+     * Relay objects from the host (and port) of {@code upstream}.
+     */
+    public CachingRelay allow(URI upstream) {
+        if (upstream.getHost() != null) {
+            allowedHosts.add(authority(upstream));
+        }
+        return this;
+    }
+
+    public boolean isAllowed(URI upstream) {
+        return upstream.getHost() != null && allowedHosts.contains(authority(upstream));
+    }
+
+    /**
+     * {@code host[:port]} as it appears in the first segment of a relay path (see {@link Mirror#resolve}).
+     */
+    private static String authority(URI uri) {
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+        return uri.getPort() == -1 ? host : host + ":" + uri.getPort();
+    }
+
+    public HttpServer start(InetSocketAddress address) throws IOException {
+        Files.createDirectories(objectsDirectory);
+        Files.createDirectories(metaDirectory);
+        cacheBytes.set(objectBytes());
+        evict(null);
+        HttpServer server = HttpServer.create(address, 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        return server;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        metrics.counter("relay.requests").increment();
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                sendEmpty(exchange, 405);
+                return;
+            }
+
+            String rawPath = exchange.getRequestURI().getRawPath();
+            if (rawPath.equals("/")) {
+                sendText(exchange, 200, "javawizard relay\n");
+                return;
+            }
+
+            URI upstream;
+            if (rawPath.equals(CATALOG_PATH) && catalogUri != null) {
+                upstream = catalogUri;
+            } else if (rawPath.startsWith(CATALOG_PREFIX) && catalogUri != null) {
+                String relative = rawPath.substring(CATALOG_PREFIX.length());
+                upstream = isSafeRelative(relative) ? catalogUri.resolve(relative) : null;
+            } else {
+                upstream = upstreamFor(exchange.getRequestURI());
+            }
+            if (upstream == null) {
+                sendText(exchange, 400, "Expected /<host>/<path>\n");
+                return;
+            }
+            if (!isAllowed(upstream)) {
+                metrics.counter("relay.forbidden").increment();
+                sendText(exchange, 403, "Not a catalog or mirror host: " + upstream.getHost() + "\n");
+                return;
+            }
+
+            Path file = objectsDirectory.resolve(key(upstream));
+            try {
+                try {
+                    serve(exchange, fetch(upstream, file));
+                } catch (NoSuchFileException e) {
+                    // Evicted between the fetch and opening it; fetch it again.
+                    serve(exchange, fetch(upstream, file));
+                }
+            } catch (UpstreamStatusException e) {
+                sendEmpty(exchange, e.status);
+            } catch (IOException e) {
+                metrics.counter("relay.errors").increment();
+                sendText(exchange, 502, "Upstream fetch failed: " + e.getMessage() + "\n");
+            }
+        } catch (IOException e) {
+            // Client went away mid-response; nothing to report to it.
+            metrics.counter("relay.aborted").increment();
+        }
+    }
+
+    private URI upstreamFor(URI request) {
+        String[] segments = request.getRawPath().substring(1).split("/", -1);
+        if (segments.length < 2 || !HOST.matcher(segments[0]).matches()) {
+            return null;
+        }
+        if (!isSafeRelative(request.getRawPath().substring(segments[0].length() + 2))) {
+            return null;
+        }
+        String query = request.getRawQuery();
+        return URI.create(upstreamScheme + "://" + request.getRawPath().substring(1)
+                + (query != null ? "?" + query : ""));
+    }
+
+    private static boolean isSafeRelative(String path) {
+        for (String segment : path.split("/", -1)) {
+            if (segment.isEmpty() || segment.equals(".") || segment.equals("..")
+                    || segment.contains("\\") || segment.contains(":")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cache file name for {@code upstream}; hashing keeps every URL, query included, in its own file.
+     */
+    private static String key(URI upstream) {
+        return HexFormat.of().formatHex(FileUtils.newSha256().digest(upstream.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Return a fresh cached copy of {@code upstream}, fetching or revalidating it
+     * if needed. Only one fetch per file runs at a time; other callers wait for it.
+     */
+    Path fetch(URI upstream, Path file) throws IOException {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        if (isFresh(file)) {
+            metrics.counter("relay.hit").increment();
+            return file;
+        }
+
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> running = inflight.putIfAbsent(file, mine);
+        if (running != null) {
+            metrics.counter("relay.coalesced").increment();
+            return await(running);
+        }
+
+        try {
+            mine.complete(fill(upstream, file));
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+        } finally {
+            inflight.remove(file, mine);
+        }
+        return await(mine);
+    }
+
+    private Path fill(URI upstream, Path file) throws IOException {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        Path metaFile = metaFile(file);
+        Map<String, String> meta = readMeta(metaFile);
+        boolean cached = Files.isRegularFile(file);
+        long previousSize = cached ? Files.size(file) : 0;
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(upstream).GET();
+        if (cached && meta.containsKey("etag")) {
+            request.header("If-None-Match", meta.get("etag"));
+        }
+        if (cached && meta.containsKey("last-modified")) {
+            request.header("If-Modified-Since", meta.get("last-modified"));
+        }
+
+        Path part = Files.createTempFile(objectsDirectory, "." + file.getFileName(), ".part");
+        Timer.Sample sample = metrics.timer("relay.fill").start();
+        try {
+            HttpResponse<Path> response;
+            try {
+                HttpMetrics.resolve("http.relay", upstream);
+                response = httpClient.send(request.build(), HttpMetrics.meter("http.relay",
+                        HttpResponse.BodyHandlers.ofFile(part)));
+            } catch (IOException e) {
+                if (cached) {
+                    metrics.counter("relay.stale").increment();
+                    return file;
+                }
+                throw e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while fetching " + upstream, e);
+            }
+
+            int status = response.statusCode();
+            if (status == 304 && cached) {
+                metrics.counter("relay.revalidated").increment();
+                touch(metaFile, meta);
+                return file;
+            }
+            if (status >= 500 && cached) {
+                metrics.counter("relay.stale").increment();
+                return file;
+            }
+            if (status != 200) {
+                throw new UpstreamStatusException(status);
+            }
+
+            metrics.counter("relay.miss").increment();
+            Map<String, String> fresh = new LinkedHashMap<>();
+            fresh.put("url", upstream.toString());
+            response.headers().firstValue("ETag").ifPresent(v -> fresh.put("etag", v));
+            response.headers().firstValue("Last-Modified").ifPresent(v -> fresh.put("last-modified", v));
+            response.headers().firstValue("Content-Type").ifPresent(v -> fresh.put("content-type", v));
+            long size = Files.size(part);
+            Files.move(part, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            touch(metaFile, fresh);
+            if (isCatalogDocument(upstream)) {
+                learnHosts(file);
+            }
+            cacheBytes.addAndGet(size - previousSize);
+            evict(file);
+            return file;
+        } finally {
+            sample.stop();
+            Files.deleteIfExists(part);
+        }
+    }
+
+    private static Path await(CompletableFuture<Path> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw e;
+        }
+    }
+
+    private boolean isFresh(Path file) {
+        try {
+            FileTime checked = Files.getLastModifiedTime(metaFile(file));
+            return Files.isRegularFile(file)
+                    && System.currentTimeMillis() - checked.toMillis() < ttl.toMillis();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private Path metaFile(Path file) {
+        return metaDirectory.resolve(file.getFileName().toString());
+    }
+
+    private boolean isCatalogDocument(URI upstream) {
+        return catalogLinks != null && catalogUri != null
+                && authority(upstream).equals(authority(catalogUri))
+                && (upstream.equals(catalogUri) || upstream.getPath().endsWith(".json"));
+    }
+
+    /**
+     * Allow the archive hosts a freshly fetched catalog document links to.
+     */
+    private void learnHosts(Path document) {
+        try {
+            for (URI link : catalogLinks.read(Files.readAllBytes(document))) {
+                if (link.isAbsolute()) {
+                    allow(link);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not a catalog (or a shard index without links); nothing to learn.
+        }
+    }
+
+    private long objectBytes() throws IOException {
+        long total = 0;
+        for (Path object : objects()) {
+            try {
+                total += Files.size(object);
+            } catch (NoSuchFileException e) {
+                // Evicted meanwhile.
+            }
+        }
+        return total;
+    }
+
+    private List<Path> objects() throws IOException {
+        try (Stream<Path> files = Files.list(objectsDirectory)) {
+            return files.filter(file -> !file.getFileName().toString().startsWith(".")).toList();
+        }
+    }
+
+    /**
+     * Delete the least recently served objects until the cache fits its limit.
+     * Objects being fetched and {@code keep} are never evicted.
+     */
+    private synchronized void evict(Path keep) throws IOException {
+        if (maxCacheBytes <= 0 || cacheBytes.get() <= maxCacheBytes) {
+            return;
+        }
+        record Entry(Path file, long size, long lastServed) {
+        }
+        List<Entry> entries = new ArrayList<>();
+        for (Path object : objects()) {
+            try {
+                entries.add(new Entry(object, Files.size(object), Files.getLastModifiedTime(object).toMillis()));
+            } catch (NoSuchFileException e) {
+                // Raced with another eviction.
+            }
+        }
+        entries.sort(Comparator.comparingLong(Entry::lastServed));
+        MetricsRegistry metrics = MetricsRegistry.global();
+        for (Entry entry : entries) {
+            if (cacheBytes.get() <= maxCacheBytes) {
+                break;
+            }
+            if (entry.file().equals(keep) || inflight.containsKey(entry.file())) {
+                continue;
+            }
+            try {
+                if (Files.deleteIfExists(entry.file())) {
+                    cacheBytes.addAndGet(-entry.size());
+                    metrics.counter("relay.evicted").increment();
+                }
+                Files.deleteIfExists(metaFile(entry.file()));
+            } catch (IOException e) {
+                // Still open for a download on Windows; try the next one.
+            }
+        }
+    }
+
+    private static Map<String, String> readMeta(Path metaFile) {
+        Map<String, String> meta = new LinkedHashMap<>();
+        try {
+            for (String line : Files.readAllLines(metaFile, StandardCharsets.UTF_8)) {
+                int tab = line.indexOf('\t');
+                if (tab > 0) {
+                    meta.put(line.substring(0, tab), line.substring(tab + 1));
+                }
+            }
+        } catch (IOException e) {
+            // No metadata yet; the object will be fetched unconditionally.
+        }
+        return meta;
+    }
+
+    /**
+     * Rewrite the metadata file; its mtime is the time the object was last confirmed fresh.
+     */
+    private static void touch(Path metaFile, Map<String, String> meta) throws IOException {
+        StringBuilder content = new StringBuilder();
+        meta.forEach((key, value) -> content.append(key).append('\t').append(value).append('\n'));
+        Path tmp = Files.createTempFile(metaFile.getParent(), "." + metaFile.getFileName(), ".tmp");
+        try {
+            Files.writeString(tmp, content, StandardCharsets.UTF_8);
+            Files.move(tmp, metaFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private void serve(HttpExchange exchange, Path file) throws IOException {
+        Map<String, String> meta = readMeta(metaFile(file));
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Accept-Ranges", "bytes");
+        headers.set("Content-Type", meta.getOrDefault("content-type", "application/octet-stream"));
+        if (meta.containsKey("etag")) {
+            headers.set("ETag", meta.get("etag"));
+        }
+        if (meta.containsKey("last-modified")) {
+            headers.set("Last-Modified", meta.get("last-modified"));
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The object's mtime records when it was last served, for eviction.
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            long size = channel.size();
+            long start = 0;
+            long end = size - 1;
+            int status = 200;
+
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            if (range != null && ifRangeMatches(exchange, meta)) {
+                Matcher matcher = RANGE.matcher(range.trim());
+                if (matcher.matches() && !(matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+                    if (matcher.group(1).isEmpty()) {
+                        start = Math.max(0, size - Long.parseLong(matcher.group(2)));
+                    } else {
+                        start = Long.parseLong(matcher.group(1));
+                        if (!matcher.group(2).isEmpty()) {
+                            end = Math.min(end, Long.parseLong(matcher.group(2)));
+                        }
+                    }
+                    if (start >= size || start > end) {
+                        headers.set("Content-Range", "bytes */" + size);
+                        sendEmpty(exchange, 416);
+                        return;
+                    }
+                    status = 206;
+                    headers.set("Content-Range", "bytes " + start + "-" + end + "/" + size);
+                }
+                // Multi-range and malformed headers fall through to the full object.
+            }
+
+            long length = end - start + 1;
+            if (exchange.getRequestMethod().equals("HEAD")) {
+                headers.set("Content-Length", Long.toString(length));
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(status, length == 0 ? -1 : length);
+            OutputStream body = exchange.getResponseBody();
+            WritableByteChannel out = Channels.newChannel(body);
+            long position = start;
+            while (position <= end) {
+                long sent = channel.transferTo(position, end - position + 1, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+            MetricsRegistry.global().counter("relay.bytes.served").add(position - start);
+        }
+    }
+
+    private static boolean ifRangeMatches(HttpExchange exchange, Map<String, String> meta) {
+        String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+        return ifRange == null
+                || ifRange.equals(meta.get("etag"))
+                || ifRange.equals(meta.get("last-modified"));
+    }
+
+    private static void sendEmpty(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        if (exchange.getRequestMethod().equals("HEAD")) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static final class UpstreamStatusException extends IOException {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        UpstreamStatusException(int status) {
+            super("Upstream returned HTTP " + status);
+            this.status = status;
+        }
+    }
+}
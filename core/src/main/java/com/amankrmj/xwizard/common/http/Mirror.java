@@ -0,0 +1,74 @@
+package com.amankrmj.xwizard.common.http;
+
+import java.net.URI;
+import java.util.Objects;
+
+/**
+ * A place upstream objects can be fetched from.
+ * <p>
+ * {@link #ORIGIN} fetches the upstream URL as-is. Any other mirror replicates
+ * upstream objects under {@code <base>/<upstream-host[:port]>/<upstream-path>}, e.g.
+ * {@code https://download.oracle.com/java/21/latest/x.tar.gz} is served by the
+ * mirror {@code http://cache.local:8080} as
+ * {@code http://cache.local:8080/download.oracle.com/java/21/latest/x.tar.gz}.
+ */
+public final class Mirror {
+
+    public static final Mirror ORIGIN = new Mirror("origin", null);
+
+    private final String id;
+    private final URI base;
+
+    private Mirror(String id, URI base) {
+        this.id = id;
+        this.base = base;
+    }
+
+    public static Mirror of(String base) {
+        String trimmed = base.trim();
+        while (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return new Mirror(trimmed, URI.create(trimmed));
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public boolean isOrigin() {
+        return base == null;
+    }
+
+    public URI resolve(URI upstream) {
+        if (isOrigin()) {
+            return upstream;
+        }
+        StringBuilder uri = new StringBuilder(base.toString())
+                .append('/').append(upstream.getHost());
+        if (upstream.getPort() != -1) {
+            uri.append(':').append(upstream.getPort());
+        }
+        String path = upstream.getRawPath();
+        uri.append(path == null || path.isEmpty() ? "/" : path);
+        if (upstream.getRawQuery() != null) {
+            uri.append('?').append(upstream.getRawQuery());
+        }
+        return URI.create(uri.toString());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof Mirror other && id.equals(other.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
@@ -0,0 +1,199 @@
+package com.amankrmj.xwizard.common.http;
+
+import com.amankrmj.xwizard.common.WizardHome;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Ranks configured mirrors by measured latency and throughput and remembers the
+ * figures between runs.
+ * <p>
+ * Mirrors come from {@code JAVAWIZARD_MIRRORS} (comma separated base URLs) or
+ * {@code ~/.javawizard/mirrors.txt} (one per line, {@code #} comments), and
+ * {@link Mirror#ORIGIN} is always appended as the last resort. Stats are kept in
+ * {@code ~/.javawizard/mirror-stats.tsv}, written at most every
+ * {@value #SAVE_INTERVAL_MILLIS} ms while requests run and once more at exit.
+ */
+public class MirrorSelector {
+
+    static final long SAVE_INTERVAL_MILLIS = 30_000;
+
+    private final List<Mirror> mirrors;
+    private final Map<Mirror, MirrorStats> stats = new LinkedHashMap<>();
+    private final Path statsFile;
+    private final LongSupplier clock;
+    private boolean dirty;
+    private long lastSavedMillis = Long.MIN_VALUE;
+
+    public MirrorSelector(List<Mirror> mirrors, Path statsFile) {
+        this(mirrors, statsFile, System::currentTimeMillis);
+    }
+
+    MirrorSelector(List<Mirror> mirrors, Path statsFile, LongSupplier clock) {
+        this.mirrors = List.copyOf(mirrors);
+        this.statsFile = statsFile;
+        this.clock = clock;
+        for (Mirror mirror : this.mirrors) {
+            stats.put(mirror, new MirrorStats());
+        }
+        load();
+    }
+
+    public static MirrorSelector originOnly() {
+        return new MirrorSelector(List.of(Mirror.ORIGIN), null);
+    }
+
+    /**
+     * @throws IOException if {@code mirrors.txt} exists but cannot be read
+     */
+    public static MirrorSelector fromConfig() throws IOException {
+        List<Mirror> mirrors = new ArrayList<>();
+        String env = System.getenv("JAVAWIZARD_MIRRORS");
+        if (env != null && !env.isBlank()) {
+            for (String base : env.split("[,\\s]+")) {
+                if (!base.isBlank()) {
+                    mirrors.add(Mirror.of(base));
+                }
+            }
+        } else {
+            Path config = WizardHome.directory().resolve("mirrors.txt");
+            if (Files.isRegularFile(config)) {
+                try {
+                    for (String line : Files.readAllLines(config, StandardCharsets.UTF_8)) {
+                        String base = line.strip();
+                        if (!base.isEmpty() && !base.startsWith("#")) {
+                            mirrors.add(Mirror.of(base));
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new IOException("Unreadable mirror config " + config + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        mirrors.add(Mirror.ORIGIN);
+        return new MirrorSelector(mirrors, WizardHome.directory().resolve("mirror-stats.tsv"));
+    }
+
+    /**
+     * Mirrors in the order they should be tried: healthy ones fastest first,
+     * then unhealthy ones (oldest failure first) so there is always a fallback.
+     */
+    public List<Mirror> ranked() {
+        long now = clock.getAsLong();
+        List<Mirror> healthy = new ArrayList<>();
+        List<Mirror> unhealthy = new ArrayList<>();
+        for (Mirror mirror : mirrors) {
+            (stats.get(mirror).isHealthy(now) ? healthy : unhealthy).add(mirror);
+        }
+        healthy.sort(Comparator.comparingDouble(m -> stats.get(m).score()));
+        unhealthy.sort(Comparator.comparingLong(m -> stats.get(m).lastFailureMillis));
+        healthy.addAll(unhealthy);
+        return healthy;
+    }
+
+    public Mirror fastest() {
+        return ranked().get(0);
+    }
+
+    public void recordSuccess(Mirror mirror, long ttfbNanos, long bytes, long transferNanos) {
+        MirrorStats mirrorStats = stats.get(mirror);
+        if (mirrorStats != null) {
+            mirrorStats.recordSuccess(ttfbNanos, bytes, transferNanos);
+            markDirty();
+        }
+    }
+
+    public void recordFailure(Mirror mirror) {
+        MirrorStats mirrorStats = stats.get(mirror);
+        if (mirrorStats != null) {
+            mirrorStats.recordFailure(clock.getAsLong());
+            markDirty();
+        }
+    }
+
+    public List<Mirror> getMirrors() {
+        return mirrors;
+    }
+
+    private synchronized void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * {@link #save()} unless the stats were written within the last {@value #SAVE_INTERVAL_MILLIS} ms.
+     */
+    public synchronized void saveIfDue() {
+        long now = clock.getAsLong();
+        if (lastSavedMillis == Long.MIN_VALUE || now - lastSavedMillis >= SAVE_INTERVAL_MILLIS) {
+            save();
+        }
+    }
+
+    /**
+     * Write the stats if anything was recorded since the last save.
+     */
+    public synchronized void save() {
+        if (statsFile == null || !dirty) {
+            return;
+        }
+        dirty = false;
+        lastSavedMillis = clock.getAsLong();
+        StringBuilder tsv = new StringBuilder("# mirror\tsamples\tlatencyMs\tbytesPerSecond\tconsecutiveFailures\tlastFailureMillis\n");
+        for (Map.Entry<Mirror, MirrorStats> entry : stats.entrySet()) {
+            MirrorStats s = entry.getValue();
+            synchronized (s) {
+                tsv.append(String.format(Locale.ROOT, "%s\t%d\t%.3f\t%.1f\t%d\t%d%n", entry.getKey().getId(),
+                        s.samples, s.latencyMillis, s.bytesPerSecond, s.consecutiveFailures, s.lastFailureMillis));
+            }
+        }
+        try {
+            Files.createDirectories(statsFile.getParent());
+            Path tmp = Files.createTempFile(statsFile.getParent(), "mirror-stats", ".tmp");
+            Files.writeString(tmp, tsv, StandardCharsets.UTF_8);
+            Files.move(tmp, statsFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Stats are an optimisation; losing them only costs re-measuring.
+        }
+    }
+
+    private void load() {
+        if (statsFile == null || !Files.isRegularFile(statsFile)) {
+            return;
+        }
+        Map<String, Mirror> byId = new LinkedHashMap<>();
+        for (Mirror mirror : mirrors) {
+            byId.put(mirror.getId(), mirror);
+        }
+        try {
+            for (String line : Files.readAllLines(statsFile, StandardCharsets.UTF_8)) {
+                if (line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\t");
+                Mirror mirror = fields.length == 6 ? byId.get(fields[0]) : null;
+                if (mirror == null) {
+                    continue;
+                }
+                MirrorStats s = stats.get(mirror);
+                s.samples = Long.parseLong(fields[1]);
+                s.latencyMillis = Double.parseDouble(fields[2]);
+                s.bytesPerSecond = Double.parseDouble(fields[3]);
+                s.consecutiveFailures = Integer.parseInt(fields[4]);
+                s.lastFailureMillis = Long.parseLong(fields[5]);
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Corrupt stats are simply re-measured.
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.amankrmj.xwizard.common.http;
+
+/**
+ * Rolling latency/throughput figures for one mirror (exponentially weighted,
+ * so a mirror that slows down loses its rank within a few requests).
+ */
+final class MirrorStats {
+
+    static final int MAX_CONSECUTIVE_FAILURES = 3;
+    static final long FAILURE_COOLDOWN_MILLIS = 5 * 60 * 1000L;
+
+    private static final double ALPHA = 0.3;
+    private static final long REFERENCE_BYTES = 1024 * 1024;
+
+    long samples;
+    double latencyMillis;
+    double bytesPerSecond;
+    int consecutiveFailures;
+    long lastFailureMillis;
+
+    synchronized void recordSuccess(long ttfbNanos, long bytes, long transferNanos) {
+        double latency = ttfbNanos / 1_000_000.0;
+        latencyMillis = samples == 0 ? latency : ALPHA * latency + (1 - ALPHA) * latencyMillis;
+        // Tiny bodies say nothing about bandwidth; only let real transfers move the estimate.
+        if (bytes >= 64 * 1024 && transferNanos > 0) {
+            double throughput = bytes * 1_000_000_000.0 / transferNanos;
+            bytesPerSecond = bytesPerSecond == 0 ? throughput : ALPHA * throughput + (1 - ALPHA) * bytesPerSecond;
+        }
+        samples++;
+        consecutiveFailures = 0;
+    }
+
+    synchronized void recordFailure(long nowMillis) {
+        consecutiveFailures++;
+        lastFailureMillis = nowMillis;
+    }
+
+    synchronized boolean isHealthy(long nowMillis) {
+        return consecutiveFailures < MAX_CONSECUTIVE_FAILURES
+                || nowMillis - lastFailureMillis > FAILURE_COOLDOWN_MILLIS;
+    }
+
+    /**
+     * Expected milliseconds to fetch a 1 MiB object; unmeasured mirrors score 0
+     * so each configured mirror gets tried at least once, unless that try failed.
+     */
+    synchronized double score() {
+        if (samples == 0) {
+            return consecutiveFailures * 1000.0;
+        }
+        double transfer = bytesPerSecond > 0 ? REFERENCE_BYTES * 1000.0 / bytesPerSecond : 0;
+        return latencyMillis + transfer + consecutiveFailures * 1000.0;
+    }
+}
@@ -0,0 +1,118 @@
+package com.amankrmj.xwizard.common.http;
+
+import com.amankrmj.xwizard.common.metrics.HttpMetrics;
+import com.amankrmj.xwizard.common.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Sends upstream requests through the fastest healthy mirror, failing over to
+ * the next one on I/O errors, 5xx/429 responses, or a mirror that does not
+ * have the object yet (404). Every attempt feeds the {@link MirrorSelector}, whose
+ * stats are saved at most every few seconds and, for the shared client, at exit.
+ */
+public class MirroredHttpClient {
+
+    private final HttpClient httpClient;
+    private final MirrorSelector selector;
+    private final IOException configError;
+
+    public MirroredHttpClient(HttpClient httpClient, MirrorSelector selector) {
+        this(httpClient, selector, null);
+    }
+
+    private MirroredHttpClient(HttpClient httpClient, MirrorSelector selector, IOException configError) {
+        this.httpClient = httpClient;
+        this.selector = selector;
+        this.configError = configError;
+    }
+
+    public static MirroredHttpClient shared() {
+        return Holder.INSTANCE;
+    }
+
+    public MirrorSelector getSelector() {
+        return selector;
+    }
+
+    /**
+     * @param request      request against the upstream URL
+     * @param metricPrefix prefix for {@link HttpMetrics}, e.g. {@code http.catalog}
+     */
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler, String metricPrefix)
+            throws IOException, InterruptedException {
+        if (configError != null) {
+            throw new IOException(configError.getMessage(), configError);
+        }
+        URI upstream = request.uri();
+        MetricsRegistry metrics = MetricsRegistry.global();
+        IOException lastError = null;
+        HttpResponse<T> lastResponse = null;
+
+        try {
+            for (Mirror mirror : selector.ranked()) {
+                URI target = mirror.resolve(upstream);
+                HttpRequest attempt = mirror.isOrigin()
+                        ? request
+                        : HttpRequest.newBuilder(request, (name, value) -> true).uri(target).build();
+
+                HttpMetrics.resolve(metricPrefix, target);
+                long[] transfer = new long[3];
+                HttpResponse<T> response;
+                try {
+                    response = httpClient.send(attempt, HttpMetrics.meter(metricPrefix, handler,
+                            (ttfbNanos, bytes, transferNanos) -> {
+                                transfer[0] = ttfbNanos;
+                                transfer[1] = bytes;
+                                transfer[2] = transferNanos;
+                            }));
+                } catch (IOException e) {
+                    selector.recordFailure(mirror);
+                    metrics.counter("mirror.failover").increment();
+                    lastError = e;
+                    continue;
+                }
+
+                int status = response.statusCode();
+                if (status >= 500 || status == 429) {
+                    selector.recordFailure(mirror);
+                } else if (status == 404 && !mirror.isOrigin()) {
+                    // Mirror has not replicated this object; not a health problem.
+                } else {
+                    selector.recordSuccess(mirror, transfer[0], transfer[1], transfer[2]);
+                    metrics.counter("mirror.selected." + mirror.getId()).increment();
+                    return response;
+                }
+                metrics.counter("mirror.failover").increment();
+                lastResponse = response;
+            }
+        } finally {
+            selector.saveIfDue();
+        }
+
+        if (lastResponse != null) {
+            return lastResponse;
+        }
+        throw lastError != null ? lastError : new IOException("No mirror available for " + upstream);
+    }
+
+    private static final class Holder {
+        private static final MirroredHttpClient INSTANCE = create();
+
+        private static MirroredHttpClient create() {
+            MirroredHttpClient client;
+            try {
+                client = new MirroredHttpClient(SharedHttpClient.get(), MirrorSelector.fromConfig());
+            } catch (IOException e) {
+                // Fail every request with the config problem rather than quietly bypassing the user's mirrors.
+                return new MirroredHttpClient(SharedHttpClient.get(), MirrorSelector.originOnly(), e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(client.selector::save, "mirror-stats"));
+            return client;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.amankrmj.xwizard.common.http;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * One {@link HttpClient} for the whole process, so connections (and HTTP/2
+ * streams) are reused across catalog and archive requests.
+ */
+public final class SharedHttpClient {
+
+    private SharedHttpClient() {
+    }
+
+    public static HttpClient get() {
+        return Holder.CLIENT;
+    }
+
+    private static final class Holder {
+
+        private static final HttpClient CLIENT = create();
+
+        private static HttpClient create() {
+            // Pool settings are read once when the client implementation loads.
+            setIfAbsent("jdk.httpclient.connectionPoolSize", "16");
+            setIfAbsent("jdk.httpclient.keepalive.timeout", "60");
+            setIfAbsent("jdk.httpclient.maxstreams", "64");
+
+            return HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+        }
+
+        private static void setIfAbsent(String key, String value) {
+            if (System.getProperty(key) == null) {
+                System.setProperty(key, value);
+            }
+        }
+    }
+}
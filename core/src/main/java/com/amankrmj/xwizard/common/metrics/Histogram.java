@@ -0,0 +1,68 @@
+package com.amankrmj.xwizard.common.metrics;
+
+/**
+ * Distribution of long values with power-of-two buckets.
+ * Percentiles are approximated by the upper bound of the bucket they fall in,
+ * which is plenty for spotting regressions across runs.
+ */
+public final class Histogram {
+
+    private final long[] buckets = new long[64];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    Histogram() {
+    }
+
+    public synchronized void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        buckets[63 - Long.numberOfLeadingZeros(value | 1)]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getSum() {
+        return sum;
+    }
+
+    public synchronized long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public synchronized long getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    public synchronized double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @param percentile value between 0 and 100
+     */
+    public synchronized long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                long upper = i == 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+                return Math.max(min, Math.min(max, upper));
+            }
+        }
+        return max;
+    }
+}
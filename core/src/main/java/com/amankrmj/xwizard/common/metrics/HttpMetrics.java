@@ -0,0 +1,140 @@
+package com.amankrmj.xwizard.common.metrics;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * HTTP instrumentation for {@link java.net.http.HttpClient} calls.
+ * <p>
+ * The JDK client does not expose connection phases, so DNS is measured with an
+ * explicit lookup (which warms the JVM address cache the client then hits) and
+ * connect/TLS time is folded into time-to-first-byte.
+ */
+public final class HttpMetrics {
+
+    private HttpMetrics() {
+    }
+
+    /**
+     * Resolve the host of {@code uri} and record the lookup as {@code <prefix>.dns}.
+     * Lookup failures are ignored; the request itself reports them.
+     */
+    public static void resolve(String prefix, URI uri) {
+        String host = uri.getHost();
+        if (host == null) {
+            return;
+        }
+        Timer.Sample sample = MetricsRegistry.global().timer(prefix + ".dns").start();
+        try {
+            InetAddress.getAllByName(host);
+        } catch (UnknownHostException e) {
+            MetricsRegistry.global().counter(prefix + ".dns.failures").increment();
+        } finally {
+            sample.stop();
+        }
+    }
+
+    /**
+     * Wrap {@code delegate} so the response records {@code <prefix>.ttfb},
+     * {@code <prefix>.transfer}, {@code <prefix>.bytes} and {@code <prefix>.bytesPerSecond}.
+     * Create the handler immediately before sending; TTFB is measured from that point.
+     */
+    public static <T> HttpResponse.BodyHandler<T> meter(String prefix, HttpResponse.BodyHandler<T> delegate) {
+        return meter(prefix, delegate, null);
+    }
+
+    /**
+     * Like {@link #meter(String, HttpResponse.BodyHandler)}, additionally reporting the
+     * completed transfer to {@code listener}.
+     */
+    public static <T> HttpResponse.BodyHandler<T> meter(String prefix, HttpResponse.BodyHandler<T> delegate,
+                                                       TransferListener listener) {
+        MetricsRegistry registry = MetricsRegistry.global();
+        registry.counter(prefix + ".requests").increment();
+        long sentAt = System.nanoTime();
+        return responseInfo -> {
+            long headersAt = System.nanoTime();
+            registry.timer(prefix + ".ttfb").record(headersAt - sentAt);
+            return new MeteredSubscriber<>(delegate.apply(responseInfo), prefix, headersAt - sentAt, headersAt, listener);
+        };
+    }
+
+    /**
+     * Receives the timing of a completed response body.
+     */
+    @FunctionalInterface
+    public interface TransferListener {
+        void onTransferComplete(long ttfbNanos, long bytes, long transferNanos);
+    }
+
+    private static final class MeteredSubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+        private final HttpResponse.BodySubscriber<T> delegate;
+        private final String prefix;
+        private final long ttfbNanos;
+        private final long headersAt;
+        private final TransferListener listener;
+        private long bytes;
+
+        private MeteredSubscriber(HttpResponse.BodySubscriber<T> delegate, String prefix, long ttfbNanos,
+                                  long headersAt, TransferListener listener) {
+            this.delegate = delegate;
+            this.prefix = prefix;
+            this.ttfbNanos = ttfbNanos;
+            this.headersAt = headersAt;
+            this.listener = listener;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            delegate.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            for (ByteBuffer item : items) {
+                bytes += item.remaining();
+            }
+            delegate.onNext(items);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            MetricsRegistry.global().counter(prefix + ".errors").increment();
+            delegate.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            long elapsed = System.nanoTime() - headersAt;
+            record(prefix, bytes, elapsed);
+            if (listener != null) {
+                listener.onTransferComplete(ttfbNanos, bytes, elapsed);
+            }
+            delegate.onComplete();
+        }
+    }
+
+    /**
+     * Record a completed body transfer of {@code bytes} that took {@code nanos}.
+     */
+    public static void record(String prefix, long bytes, long nanos) {
+        MetricsRegistry registry = MetricsRegistry.global();
+        registry.timer(prefix + ".transfer").record(nanos);
+        registry.counter(prefix + ".bytes").add(bytes);
+        if (nanos > 0) {
+            registry.histogram(prefix + ".bytesPerSecond").record(bytes * 1_000_000_000L / nanos);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.amankrmj.xwizard.common.metrics;
+
+public enum MetricsFormat {
+    JSON,
+    TEXT
+}
@@ -0,0 +1,140 @@
+package com.amankrmj.xwizard.common.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders a {@link MetricsRegistry} as JSON (one object per line, so a file can
+ * be appended to across runs) or as a human readable table.
+ * <p>
+ * Timer values are reported in milliseconds, everything else as recorded.
+ */
+public final class MetricsReporter {
+
+    private MetricsReporter() {
+    }
+
+    public static String format(MetricsRegistry registry, MetricsFormat format, String command, int exitCode) {
+        return format == MetricsFormat.JSON
+                ? toJson(registry, command, exitCode)
+                : toText(registry, command, exitCode);
+    }
+
+    /**
+     * Append the report to {@code file}, creating it (and its parent directories) if needed.
+     */
+    public static void append(Path file, String report) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.writeString(file, report + System.lineSeparator(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static String toJson(MetricsRegistry registry, String command, int exitCode) {
+        StringBuilder json = new StringBuilder(512);
+        json.append("{\"timestamp\":").append(quote(Instant.now().toString()))
+                .append(",\"command\":").append(quote(command))
+                .append(",\"exitCode\":").append(exitCode);
+
+        json.append(",\"counters\":{");
+        String separator = "";
+        for (Map.Entry<String, Counter> entry : registry.getCounters().entrySet()) {
+            json.append(separator).append(quote(entry.getKey())).append(':').append(entry.getValue().get());
+            separator = ",";
+        }
+
+        json.append("},\"timers\":{");
+        separator = "";
+        for (Map.Entry<String, Timer> entry : registry.getTimers().entrySet()) {
+            Histogram h = entry.getValue().getHistogram();
+            json.append(separator).append(quote(entry.getKey()))
+                    .append(":{\"count\":").append(h.getCount())
+                    .append(",\"totalMs\":").append(millis(h.getSum()))
+                    .append(",\"minMs\":").append(millis(h.getMin()))
+                    .append(",\"maxMs\":").append(millis(h.getMax()))
+                    .append(",\"p50Ms\":").append(millis(h.getPercentile(50)))
+                    .append(",\"p95Ms\":").append(millis(h.getPercentile(95)))
+                    .append('}');
+            separator = ",";
+        }
+
+        json.append("},\"histograms\":{");
+        separator = "";
+        for (Map.Entry<String, Histogram> entry : registry.getHistograms().entrySet()) {
+            Histogram h = entry.getValue();
+            json.append(separator).append(quote(entry.getKey()))
+                    .append(":{\"count\":").append(h.getCount())
+                    .append(",\"sum\":").append(h.getSum())
+                    .append(",\"min\":").append(h.getMin())
+                    .append(",\"max\":").append(h.getMax())
+                    .append(",\"mean\":").append(String.format(Locale.ROOT, "%.1f", h.getMean()))
+                    .append(",\"p50\":").append(h.getPercentile(50))
+                    .append(",\"p95\":").append(h.getPercentile(95))
+                    .append('}');
+            separator = ",";
+        }
+        return json.append("}}").toString();
+    }
+
+    private static String toText(MetricsRegistry registry, String command, int exitCode) {
+        StringBuilder text = new StringBuilder(512);
+        text.append("=== Metrics: ").append(command).append(" (exit ").append(exitCode).append(") ===\n");
+
+        for (Map.Entry<String, Counter> entry : registry.getCounters().entrySet()) {
+            text.append(String.format(Locale.ROOT, "  counter    %-32s %d%n",
+                    entry.getKey(), entry.getValue().get()));
+        }
+        for (Map.Entry<String, Timer> entry : registry.getTimers().entrySet()) {
+            Histogram h = entry.getValue().getHistogram();
+            text.append(String.format(Locale.ROOT,
+                    "  timer      %-32s count=%d total=%sms min=%sms p50=%sms p95=%sms max=%sms%n",
+                    entry.getKey(), h.getCount(), millis(h.getSum()), millis(h.getMin()),
+                    millis(h.getPercentile(50)), millis(h.getPercentile(95)), millis(h.getMax())));
+        }
+        for (Map.Entry<String, Histogram> entry : registry.getHistograms().entrySet()) {
+            Histogram h = entry.getValue();
+            text.append(String.format(Locale.ROOT,
+                    "  histogram  %-32s count=%d mean=%.1f min=%d p50=%d p95=%d max=%d%n",
+                    entry.getKey(), h.getCount(), h.getMean(), h.getMin(),
+                    h.getPercentile(50), h.getPercentile(95), h.getMax()));
+        }
+        if (registry.isEmpty()) {
+            text.append("  (no metrics recorded)\n");
+        }
+        return text.toString().stripTrailing();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
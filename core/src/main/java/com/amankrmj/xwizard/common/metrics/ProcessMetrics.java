@@ -0,0 +1,35 @@
+package com.amankrmj.xwizard.common.metrics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Counts and times child process spawns (registry queries, {@code java -version} probes, ...).
+ */
+public final class ProcessMetrics {
+
+    private ProcessMetrics() {
+    }
+
+    public static Process start(ProcessBuilder processBuilder) throws IOException {
+        MetricsRegistry registry = MetricsRegistry.global();
+        registry.counter("process.spawn").increment();
+        registry.counter("process.spawn." + executableName(processBuilder.command())).increment();
+        Timer.Sample sample = registry.timer("process.start").start();
+        try {
+            return processBuilder.start();
+        } finally {
+            sample.stop();
+        }
+    }
+
+    private static String executableName(List<String> command) {
+        if (command.isEmpty()) {
+            return "unknown";
+        }
+        Path fileName = Path.of(command.get(0)).getFileName();
+        String name = fileName == null ? command.get(0) : fileName.toString();
+        return name.endsWith(".exe") ? name.substring(0, name.length() - 4) : name;
+    }
+}
@@ -0,0 +1,59 @@
+package com.amankrmj.xwizard.common.metrics;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Records durations in nanoseconds.
+ */
+public final class Timer {
+
+    private final Histogram histogram = new Histogram();
+
+    Timer() {
+    }
+
+    public void record(long nanos) {
+        histogram.record(nanos);
+    }
+
+    public Sample start() {
+        return new Sample(this, System.nanoTime());
+    }
+
+    public <T> T time(Callable<T> action) throws Exception {
+        Sample sample = start();
+        try {
+            return action.call();
+        } finally {
+            sample.stop();
+        }
+    }
+
+    public Histogram getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * A running measurement; {@link #stop()} records the elapsed time once.
+     */
+    public static final class Sample {
+
+        private final Timer timer;
+        private final long startNanos;
+        private boolean stopped;
+
+        private Sample(Timer timer, long startNanos) {
+            this.timer = timer;
+            this.startNanos = startNanos;
+        }
+
+        public long stop() {
+            long elapsed = System.nanoTime() - startNanos;
+            if (!stopped) {
+                stopped = true;
+                timer.record(elapsed);
+            }
+            return elapsed;
+        }
+    }
+}
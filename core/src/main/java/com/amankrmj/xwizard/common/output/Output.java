@@ -0,0 +1,61 @@
+package com.amankrmj.xwizard.common.output;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+
+/**
+ * Process-wide stdout handling.
+ * <p>
+ * When stdout is not a terminal it is replaced by one large buffer that is
+ * flushed at exit (or explicitly via {@link #flush()}), so piped listings do not
+ * pay a write syscall per line. Interactive output stays line-flushed.
+ */
+public final class Output {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static volatile OutputFormat format = OutputFormat.TEXT;
+
+    private Output() {
+    }
+
+    public static void install() {
+        if (System.console() != null) {
+            return;
+        }
+        Charset charset = System.out.charset();
+        System.setOut(new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), BUFFER_SIZE),
+                false, charset));
+    }
+
+    public static void flush() {
+        System.out.flush();
+    }
+
+    public static OutputFormat format() {
+        return format;
+    }
+
+    public static void setFormat(OutputFormat outputFormat) {
+        format = outputFormat != null ? outputFormat : OutputFormat.TEXT;
+    }
+
+    /**
+     * True if the user asked for machine-readable output; commands then skip
+     * banners and hints and emit records only.
+     */
+    public static boolean isStructured() {
+        return format != OutputFormat.TEXT;
+    }
+
+    /**
+     * Start a stream of records with the given columns in the current format.
+     * In {@link OutputFormat#TEXT} mode records are written as TSV without a header.
+     */
+    public static RecordStream records(String... columns) {
+        return new RecordStream(System.out, format, columns);
+    }
+}
@@ -0,0 +1,8 @@
+package com.amankrmj.xwizard.common.output;
+
+public enum OutputFormat {
+    TEXT,
+    JSON,
+    NDJSON,
+    TSV
+}
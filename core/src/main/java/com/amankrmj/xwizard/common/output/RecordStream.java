@@ -0,0 +1,121 @@
+package com.amankrmj.xwizard.common.output;
+
+import java.io.PrintStream;
+
+/**
+ * Writes records as they are produced: one JSON array, one JSON object per line,
+ * or tab-separated values with a header row. Values may be strings, numbers,
+ * booleans or {@code null}.
+ */
+public class RecordStream implements AutoCloseable {
+
+    private final PrintStream out;
+    private final OutputFormat format;
+    private final String[] columns;
+    private final StringBuilder line = new StringBuilder(256);
+    private int count;
+
+    RecordStream(PrintStream out, OutputFormat format, String... columns) {
+        this.out = out;
+        this.format = format;
+        this.columns = columns;
+        if (format == OutputFormat.TSV) {
+            out.println(String.join("\t", columns));
+        } else if (format == OutputFormat.JSON) {
+            out.print('[');
+        }
+    }
+
+    public void write(Object... values) {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException("Expected " + columns.length + " values, got " + values.length);
+        }
+        line.setLength(0);
+        switch (format) {
+            case JSON, NDJSON -> {
+                if (format == OutputFormat.JSON && count > 0) {
+                    line.append(',');
+                }
+                line.append('{');
+                for (int i = 0; i < columns.length; i++) {
+                    if (i > 0) {
+                        line.append(',');
+                    }
+                    appendJsonString(columns[i]);
+                    line.append(':');
+                    appendJsonValue(values[i]);
+                }
+                line.append('}');
+            }
+            case TSV, TEXT -> {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        line.append('\t');
+                    }
+                    appendTsvValue(values[i]);
+                }
+            }
+        }
+        if (format == OutputFormat.JSON) {
+            out.print(line);
+        } else {
+            out.println(line);
+        }
+        count++;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() {
+        if (format == OutputFormat.JSON) {
+            out.println(']');
+        }
+        out.flush();
+    }
+
+    private void appendJsonValue(Object value) {
+        if (value == null) {
+            line.append("null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            line.append(value);
+        } else {
+            appendJsonString(value.toString());
+        }
+    }
+
+    private void appendJsonString(String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    private void appendTsvValue(Object value) {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            line.append(c == '\t' || c == '\n' || c == '\r' ? ' ' : c);
+        }
+    }
+}
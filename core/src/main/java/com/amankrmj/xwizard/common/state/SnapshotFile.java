@@ -0,0 +1,55 @@
+package com.amankrmj.xwizard.common.state;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * A small line-oriented state file updated copy-on-write.
+ * <p>
+ * Writers serialize on a {@link StateLock}, write a complete new copy and rename
+ * it over the old one. Readers take no lock and always see one whole snapshot.
+ */
+public class SnapshotFile {
+
+    private final Path file;
+
+    public SnapshotFile(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public List<String> read() throws IOException {
+        try {
+            return Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return List.of();
+        }
+    }
+
+    /**
+     * Apply {@code change} to the current lines and publish the result.
+     */
+    public void update(UnaryOperator<List<String>> change) throws IOException {
+        try (StateLock ignored = StateLock.acquire("snapshot-" + file.getFileName())) {
+            List<String> updated = change.apply(new ArrayList<>(read()));
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), "." + file.getFileName(), ".tmp");
+            try {
+                Files.write(tmp, updated, StandardCharsets.UTF_8);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        }
+    }
+}
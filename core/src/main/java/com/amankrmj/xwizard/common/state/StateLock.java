@@ -0,0 +1,262 @@
+package com.amankrmj.xwizard.common.state;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.Platform;
+import com.amankrmj.xwizard.common.WizardHome;
+import com.amankrmj.xwizard.common.metrics.MetricsRegistry;
+import com.amankrmj.xwizard.common.metrics.Timer;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * A named lock shared by every JavaWizard process on the host.
+ * <p>
+ * Backed by {@link FileChannel#lock()} on {@code ~/.javawizard/locks/<name>.lock},
+ * so a crashed process releases its locks automatically. File locks are held per
+ * process, so threads of one process are additionally coordinated with a
+ * {@link ReentrantReadWriteLock}; re-acquiring a lock the thread already holds is allowed,
+ * but a thread holding only a shared lock cannot upgrade it to an exclusive one (it
+ * would wait for itself), so that throws {@link IllegalStateException}.
+ * Exclusive locks guard changes; shared locks keep a directory in place while it
+ * is being used (e.g. by {@code java exec}). Lock files are never deleted, as that
+ * would let two processes lock different inodes. Nothing is printed while waiting;
+ * a front end can announce waits through {@link #onWait}.
+ */
+public final class StateLock implements AutoCloseable {
+
+    /** Guards user environment variables (JAVA_HOME, PATH, JDK_JAVA_OPTIONS). */
+    public static final String ENVIRONMENT = "environment";
+
+    private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    private static volatile Consumer<String> waitListener = label -> {
+    };
+
+    private final Entry entry;
+    private final boolean shared;
+    private final boolean countedShared;
+    private boolean released;
+
+    private StateLock(Entry entry, boolean shared, boolean countedShared) {
+        this.entry = entry;
+        this.shared = shared;
+        this.countedShared = countedShared;
+    }
+
+    public static Path lockDirectory() {
+        return WizardHome.directory().resolve("locks");
+    }
+
+    /**
+     * Called once, with what is locked, whenever an acquisition has to wait for another holder.
+     */
+    public static void onWait(Consumer<String> listener) {
+        waitListener = listener != null ? listener : label -> {
+        };
+    }
+
+    /**
+     * Block until {@code name} is free, telling the user once if another process holds it.
+     */
+    public static StateLock acquire(String name) throws IOException {
+        return exclusive(name, name, true).orElseThrow();
+    }
+
+    /**
+     * Take {@code name} only if nobody else holds it, shared or exclusive.
+     */
+    public static Optional<StateLock> tryAcquire(String name) throws IOException {
+        return exclusive(name, name, false);
+    }
+
+    /**
+     * Lock guarding a JDK home (or any other directory JavaWizard creates or replaces).
+     */
+    public static StateLock forDirectory(Path directory) throws IOException {
+        return exclusive(nameFor(directory), directory.toString(), true).orElseThrow();
+    }
+
+    public static Optional<StateLock> tryForDirectory(Path directory) throws IOException {
+        return exclusive(nameFor(directory), directory.toString(), false);
+    }
+
+    /**
+     * Keep {@code directory} from being replaced or removed while it is in use.
+     * Any number of shared holders may coexist; exclusive holders wait for all of them.
+     */
+    public static StateLock sharedForDirectory(Path directory) throws IOException {
+        String name = nameFor(directory);
+        Entry entry = entry(name);
+        if (entry.rw.isWriteLockedByCurrentThread()) {
+            entry.rw.readLock().lock();
+            return new StateLock(entry, true, false);
+        }
+
+        Lock read = entry.rw.readLock();
+        boolean announced = false;
+        if (!read.tryLock()) {
+            waiting(directory.toString());
+            announced = true;
+            read.lock();
+        }
+        try {
+            synchronized (entry) {
+                if (entry.sharedHolders == 0) {
+                    entry.fileLock = lockFile(name, directory.toString(), true, true, announced);
+                }
+                entry.sharedHolders++;
+            }
+            return new StateLock(entry, true, true);
+        } catch (IOException | RuntimeException e) {
+            read.unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Lock name for a directory: its file name for readability plus a SHA-256 prefix of the
+     * normalized path, so distinct directories never share a lock.
+     */
+    static String nameFor(Path directory) {
+        Path absolute = directory.toAbsolutePath().normalize();
+        String path = absolute.toString();
+        if (Platform.isWindows() || Platform.isMac()) {
+            path = path.toLowerCase(Locale.ROOT);
+        }
+        String fileName = absolute.getFileName() == null ? "root" : absolute.getFileName().toString();
+        String hash = HexFormat.of().formatHex(FileUtils.newSha256().digest(path.getBytes(StandardCharsets.UTF_8)), 0, 16);
+        return "dir-" + fileName.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + hash;
+    }
+
+    private static Optional<StateLock> exclusive(String name, String label, boolean blocking) throws IOException {
+        Entry entry = entry(name);
+        if (entry.rw.getReadHoldCount() > 0 && !entry.rw.isWriteLockedByCurrentThread()) {
+            throw new IllegalStateException("Cannot lock " + label
+                    + " exclusively while this thread holds a shared lock on it");
+        }
+        Lock write = entry.rw.writeLock();
+        boolean announced = false;
+        if (!write.tryLock()) {
+            if (!blocking) {
+                return Optional.empty();
+            }
+            waiting(label);
+            announced = true;
+            write.lock();
+        }
+        try {
+            if (entry.rw.getWriteHoldCount() == 1) {
+                FileLock fileLock = lockFile(name, label, false, blocking, announced);
+                if (fileLock == null) {
+                    write.unlock();
+                    return Optional.empty();
+                }
+                entry.fileLock = fileLock;
+            }
+            return Optional.of(new StateLock(entry, false, false));
+        } catch (IOException | RuntimeException e) {
+            write.unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the file lock, or {@code null} if it is taken and {@code blocking} is false
+     */
+    private static FileLock lockFile(String name, String label, boolean shared, boolean blocking, boolean announced)
+            throws IOException {
+        Path directory = lockDirectory();
+        Files.createDirectories(directory);
+        FileChannel channel = FileChannel.open(directory.resolve(name + ".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock fileLock = channel.tryLock(0, Long.MAX_VALUE, shared);
+            if (fileLock == null) {
+                if (!blocking) {
+                    channel.close();
+                    return null;
+                }
+                if (!announced) {
+                    waiting(label);
+                }
+                Timer.Sample sample = MetricsRegistry.global().timer("lock.wait").start();
+                try {
+                    fileLock = channel.lock(0, Long.MAX_VALUE, shared);
+                } finally {
+                    sample.stop();
+                }
+            }
+            return fileLock;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static Entry entry(String name) {
+        return ENTRIES.computeIfAbsent(name, key -> new Entry());
+    }
+
+    private static void waiting(String label) {
+        MetricsRegistry.global().counter("lock.contended").increment();
+        waitListener.accept(label);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (released) {
+            return;
+        }
+        released = true;
+        if (shared) {
+            try {
+                if (countedShared) {
+                    synchronized (entry) {
+                        if (--entry.sharedHolders == 0) {
+                            releaseFile(entry);
+                        }
+                    }
+                }
+            } finally {
+                entry.rw.readLock().unlock();
+            }
+            return;
+        }
+        try {
+            if (entry.rw.getWriteHoldCount() == 1) {
+                releaseFile(entry);
+            }
+        } finally {
+            entry.rw.writeLock().unlock();
+        }
+    }
+
+    private static void releaseFile(Entry entry) throws IOException {
+        FileLock fileLock = entry.fileLock;
+        entry.fileLock = null;
+        if (fileLock != null) {
+            fileLock.channel().close();
+        }
+    }
+
+    private static final class Entry {
+
+        private final ReentrantReadWriteLock rw = new ReentrantReadWriteLock();
+        private FileLock fileLock;
+        private int sharedHolders;
+    }
+}
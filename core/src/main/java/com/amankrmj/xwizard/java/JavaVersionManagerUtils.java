@@ -0,0 +1,249 @@
+package com.amankrmj.xwizard.java;
+
+import com.amankrmj.xwizard.common.Platform;
+import com.amankrmj.xwizard.common.WizardHome;
+import com.amankrmj.xwizard.common.metrics.MetricsRegistry;
+import com.amankrmj.xwizard.common.metrics.ProcessMetrics;
+import com.amankrmj.xwizard.common.metrics.Timer;
+import com.amankrmj.xwizard.common.model.VersionInfo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class JavaVersionManagerUtils {
+
+    public static Path getJavaVersionsDirectory() {
+        return WizardHome.directory().resolve("java-versions");
+    }
+
+    /**
+     * Names of the managed Java versions, sorted. Hidden entries (staging
+     * directories and the like) are skipped.
+     */
+    public static List<String> listInstalledVersions() throws IOException {
+        Path javaVersionsDir = getJavaVersionsDirectory();
+        if (!Files.isDirectory(javaVersionsDir)) {
+            return List.of();
+        }
+        try (Stream<Path> entries = Files.list(javaVersionsDir)) {
+            return entries.filter(Files::isDirectory)
+                    .map(path -> path.getFileName().toString())
+                    .filter(name -> !name.startsWith("."))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Resolve a user supplied version to an installed one: the exact directory
+     * name, or the newest installed version extending it ({@code 21 -> 21.0.8}).
+     */
+    public static Optional<String> resolveInstalledVersion(String requested) throws IOException {
+        List<String> installed = listInstalledVersions();
+        if (installed.contains(requested)) {
+            return Optional.of(requested);
+        }
+        return installed.stream()
+                .filter(name -> name.startsWith(requested + ".") || name.startsWith(requested + "u"))
+                .max(JavaVersionManagerUtils::compareVersions);
+    }
+
+    /**
+     * Read a key from a JDK's {@code release} file, e.g. {@code JAVA_VERSION}.
+     */
+    public static Optional<String> readReleaseProperty(Path javaHome, String key) {
+        Path release = javaHome.resolve("release");
+        if (!Files.isRegularFile(release)) {
+            return Optional.empty();
+        }
+        try {
+            for (String line : Files.readAllLines(release)) {
+                if (line.startsWith(key + "=")) {
+                    String value = line.substring(key.length() + 1).trim();
+                    if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                        value = value.substring(1, value.length() - 1);
+                    }
+                    return Optional.of(value);
+                }
+            }
+        } catch (IOException e) {
+            // Treat an unreadable release file like a missing one.
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Major version of a version string: {@code 21.0.8 -> 21}, {@code 8u461 -> 8}.
+     */
+    public static String majorVersion(String version) {
+        int end = 0;
+        while (end < version.length() && Character.isDigit(version.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? version : version.substring(0, end);
+    }
+
+    /**
+     * Compare version strings numerically component by component
+     * ({@code 21.0.10 > 21.0.9}, {@code 8u461 > 8u45}).
+     */
+    public static int compareVersions(String a, String b) {
+        String[] left = a.split("\\D+");
+        String[] right = b.split("\\D+");
+        for (int i = 0; i < Math.max(left.length, right.length); i++) {
+            long l = i < left.length && !left[i].isEmpty() ? Long.parseLong(left[i]) : 0;
+            long r = i < right.length && !right[i].isEmpty() ? Long.parseLong(right[i]) : 0;
+            if (l != r) {
+                return Long.compare(l, r);
+            }
+        }
+        return a.compareTo(b);
+    }
+
+    /**
+     * Find the catalog entry for {@code requested}: an exact version match, or
+     * the first entry whose version extends it ({@code 21 -> 21.0.8}, {@code 8 -> 8u461}).
+     */
+    public static <T extends VersionInfo> Optional<T> findVersion(List<T> versions, String requested) {
+        for (T info : versions) {
+            if (info.getVersion().equals(requested)) {
+                return Optional.of(info);
+            }
+        }
+        for (T info : versions) {
+            String version = info.getVersion();
+            if (version.startsWith(requested + ".") || version.startsWith(requested + "u")) {
+                return Optional.of(info);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The newest catalog entry for {@code requested}: the highest version, by
+     * {@link #compareVersions}, that equals or extends it. Unlike {@link #findVersion}
+     * this does not depend on catalog order, so {@code 21} finds the latest 21.x release.
+     */
+    public static <T extends VersionInfo> Optional<T> findNewestVersion(List<T> versions, String requested) {
+        T newest = null;
+        for (T info : versions) {
+            String version = info.getVersion();
+            if ((version.equals(requested) || version.startsWith(requested + ".") || version.startsWith(requested + "u"))
+                    && (newest == null || compareVersions(version, newest.getVersion()) > 0)) {
+                newest = info;
+            }
+        }
+        return Optional.ofNullable(newest);
+    }
+
+    public static String getCurrentJavaVersion() {
+        String javaHome = System.getenv("JAVA_HOME");
+        if (javaHome == null) return null;
+
+        Path javaVersionsDir = getJavaVersionsDirectory();
+        Path javaHomePath = Paths.get(javaHome);
+
+        if (javaHomePath.startsWith(javaVersionsDir)) {
+            return javaVersionsDir.relativize(javaHomePath).toString();
+        }
+
+        return null;
+    }
+
+    public static void setJavaHome(String javaHome) throws IOException, InterruptedException {
+        setUserEnvironmentVariable("JAVA_HOME", javaHome);
+    }
+
+    public static void setUserEnvironmentVariable(String name, String value) throws IOException, InterruptedException {
+        Timer.Sample sample = MetricsRegistry.global().timer("path.write").start();
+        ProcessBuilder pb = new ProcessBuilder("reg", "add", "HKCU\\Environment",
+                "/v", name, "/t", "REG_SZ", "/d", value, "/f");
+        Process process = ProcessMetrics.start(pb);
+
+        int exitCode = process.waitFor();
+        sample.stop();
+        if (exitCode != 0) {
+            String error = new String(process.getErrorStream().readAllBytes());
+            throw new RuntimeException("Failed to set " + name + ": " + error);
+        }
+    }
+
+    public static void removeUserEnvironmentVariable(String name) throws IOException, InterruptedException {
+        Timer.Sample sample = MetricsRegistry.global().timer("path.write").start();
+        ProcessBuilder pb = new ProcessBuilder("reg", "delete", "HKCU\\Environment", "/v", name, "/f");
+        Process process = ProcessMetrics.start(pb);
+        process.waitFor();
+        sample.stop();
+    }
+
+    /**
+     * The persisted user environment variable ({@code HKCU\\Environment} on Windows),
+     * or {@code null} if it is not set. Elsewhere this is the process environment.
+     */
+    public static String getUserEnvironmentVariable(String name) throws IOException, InterruptedException {
+        if (!Platform.isWindows()) {
+            return System.getenv(name);
+        }
+        Timer.Sample read = MetricsRegistry.global().timer("path.read").start();
+        ProcessBuilder pb = new ProcessBuilder("reg", "query", "HKCU\\Environment", "/v", name);
+        Process process = ProcessMetrics.start(pb);
+        String output = new String(process.getInputStream().readAllBytes());
+        process.waitFor();
+        read.stop();
+
+        for (String line : output.split("\n")) {
+            String[] parts = line.trim().split("\\s+", 3);
+            if (parts.length >= 3 && parts[0].equalsIgnoreCase(name)) {
+                return parts[2].trim();
+            }
+        }
+        return null;
+    }
+
+    public static void updatePathForJava(String javaBinPath) throws IOException, InterruptedException {
+        String currentPath = getUserEnvironmentVariable("Path");
+        if (currentPath == null) {
+            currentPath = "";
+        }
+
+        // Remove any existing Java paths and add new one at the beginning
+        String[] pathParts = currentPath.split(";");
+        String newPath = javaBinPath + ";" + Arrays.stream(pathParts)
+                .filter(part -> !part.toLowerCase().contains("java") || part.trim().isEmpty())
+                .collect(Collectors.joining(";"));
+        setUserPath(newPath);
+    }
+
+    /**
+     * Append {@code entry} to the user PATH unless it is already there.
+     */
+    public static void addToUserPath(String entry) throws IOException, InterruptedException {
+        String currentPath = getUserEnvironmentVariable("Path");
+        if (currentPath == null || currentPath.isEmpty()) {
+            setUserPath(entry);
+        } else if (!Arrays.asList(currentPath.toLowerCase().split(";")).contains(entry.toLowerCase().trim())) {
+            setUserPath(currentPath + ";" + entry);
+        }
+    }
+
+    private static void setUserPath(String newPath) throws IOException, InterruptedException {
+        Timer.Sample write = MetricsRegistry.global().timer("path.write").start();
+        ProcessBuilder pb = new ProcessBuilder("reg", "add", "HKCU\\Environment",
+                "/v", "Path", "/t", "REG_EXPAND_SZ", "/d", newPath, "/f");
+        Process process = ProcessMetrics.start(pb);
+
+        int exitCode = process.waitFor();
+        write.stop();
+        if (exitCode != 0) {
+            String error = new String(process.getErrorStream().readAllBytes());
+            throw new RuntimeException("Failed to update PATH: " + error);
+        }
+    }
+}
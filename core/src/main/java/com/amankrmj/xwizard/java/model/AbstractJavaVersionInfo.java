@@ -53,16 +53,17 @@ public abstract class AbstractJavaVersionInfo implements VersionInfo {
 
     @Override
     public int hashCode() {
-        return Objects.hash(version, url);
+        // Not Objects.hash: that allocates a varargs array on every call. Fields are never null.
+        return 31 * version.hashCode() + url.hashCode();
     }
 
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
         if (!(obj instanceof AbstractJavaVersionInfo other)) return false;
-        return Objects.equals(version, other.version)
-                && Objects.equals(url, other.url)
-                && Objects.equals(description, other.description)
-                && Objects.equals(distribution, other.distribution);
+        return version.equals(other.version)
+                && url.equals(other.url)
+                && description.equals(other.description)
+                && distribution.equals(other.distribution);
     }
 }
@@ -0,0 +1,16 @@
+package com.amankrmj.xwizard.java.model;
+
+/**
+ * One entry of a sharded catalog's root index (see {@link JavaVersionCatalogCodec#readIndex}).
+ *
+ * @param major        major version the shard covers, or {@code null} if it may hold any
+ * @param distribution distribution the shard covers, or {@code null}
+ * @param url          shard location, absolute or relative to the index
+ * @param sha256       hex SHA-256 of the shard, or {@code null}; lets clients skip unchanged shards without a request
+ */
+public record CatalogShard(String major, String distribution, String url, String sha256) {
+
+    public boolean covers(String requestedMajor) {
+        return major == null || requestedMajor == null || major.equals(requestedMajor);
+    }
+}
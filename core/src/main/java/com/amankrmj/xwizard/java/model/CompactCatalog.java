@@ -0,0 +1,246 @@
+package com.amankrmj.xwizard.java.model;
+
+import com.amankrmj.xwizard.common.model.VersionInfo;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Read-only catalog stored as one string dictionary plus an {@code int} table.
+ * <p>
+ * Aggregated catalogs repeat the same version, distribution and description for
+ * every platform, so each distinct string is kept once and an entry is just four
+ * dictionary indices in {@link #fields}. {@link Entry} views are created on demand
+ * and hold nothing but the catalog and a row number; their {@code equals} and
+ * {@code hashCode} allocate nothing. Within one catalog equal strings have equal
+ * indices, so entries are compared by index.
+ */
+public final class CompactCatalog {
+
+    private static final int VERSION = 0;
+    private static final int DESCRIPTION = 1;
+    private static final int DISTRIBUTION = 2;
+    private static final int URL = 3;
+    private static final int FIELDS = 4;
+
+    private final String[] strings;
+    /** {@link #FIELDS} dictionary indices per entry. */
+    private final int[] fields;
+    private final int size;
+
+    private CompactCatalog(String[] strings, int[] fields, int size) {
+        this.strings = strings;
+        this.fields = fields;
+        this.size = size;
+    }
+
+    public static final class Builder {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private int[] fields = new int[64 * FIELDS];
+        private int size;
+
+        public Builder add(String version, String description, String distribution, String url) {
+            if (fields.length < (size + 1) * FIELDS) {
+                fields = Arrays.copyOf(fields, fields.length * 2);
+            }
+            int row = size * FIELDS;
+            fields[row + VERSION] = intern(version);
+            fields[row + DESCRIPTION] = intern(description);
+            fields[row + DISTRIBUTION] = intern(distribution);
+            fields[row + URL] = intern(url);
+            size++;
+            return this;
+        }
+
+        public Builder add(VersionInfo info) {
+            return add(info.getVersion(), info.getDescription(), info.getDistribution(), info.getUrl());
+        }
+
+        private int intern(String value) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = strings.size();
+                ids.put(value, id);
+                strings.add(value);
+            }
+            return id;
+        }
+
+        public CompactCatalog build() {
+            return new CompactCatalog(strings.toArray(String[]::new), Arrays.copyOf(fields, size * FIELDS), size);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static CompactCatalog of(Collection<? extends VersionInfo> versions) {
+        Builder builder = new Builder();
+        versions.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Rebuild from the parts returned by {@link #dictionary()} and {@link #table()}.
+     *
+     * @throws IllegalArgumentException if the table does not fit the dictionary
+     */
+    public static CompactCatalog of(String[] dictionary, int[] table) {
+        if (table.length % FIELDS != 0) {
+            throw new IllegalArgumentException("Table length " + table.length + " is not a multiple of " + FIELDS);
+        }
+        for (int id : table) {
+            if (id < 0 || id >= dictionary.length) {
+                throw new IllegalArgumentException("Dictionary index " + id + " out of range");
+            }
+        }
+        return new CompactCatalog(dictionary.clone(), table.clone(), table.length / FIELDS);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Distinct strings across all entries. */
+    public int dictionarySize() {
+        return strings.length;
+    }
+
+    public String[] dictionary() {
+        return strings.clone();
+    }
+
+    /** {@code version, description, distribution, url} dictionary indices, entry after entry. */
+    public int[] table() {
+        return fields.clone();
+    }
+
+    public String version(int index) {
+        return field(index, VERSION);
+    }
+
+    public String description(int index) {
+        return field(index, DESCRIPTION);
+    }
+
+    public String distribution(int index) {
+        return field(index, DISTRIBUTION);
+    }
+
+    public String url(int index) {
+        return field(index, URL);
+    }
+
+    private String field(int index, int field) {
+        return strings[fields[checkIndex(index) * FIELDS + field]];
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return index;
+    }
+
+    public Entry get(int index) {
+        return new Entry(this, checkIndex(index));
+    }
+
+    /**
+     * All entries as a list view; elements are created as they are read.
+     */
+    public List<Entry> entries() {
+        return new Entries();
+    }
+
+    private final class Entries extends AbstractList<Entry> implements RandomAccess {
+
+        @Override
+        public Entry get(int index) {
+            return CompactCatalog.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    public static final class Entry implements VersionInfo {
+
+        private final CompactCatalog catalog;
+        private final int index;
+
+        private Entry(CompactCatalog catalog, int index) {
+            this.catalog = catalog;
+            this.index = index;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        @Override
+        public String getVersion() {
+            return catalog.strings[catalog.fields[index * FIELDS + VERSION]];
+        }
+
+        @Override
+        public String getDescription() {
+            return catalog.strings[catalog.fields[index * FIELDS + DESCRIPTION]];
+        }
+
+        @Override
+        public String getDistribution() {
+            return catalog.strings[catalog.fields[index * FIELDS + DISTRIBUTION]];
+        }
+
+        @Override
+        public String getUrl() {
+            return catalog.strings[catalog.fields[index * FIELDS + URL]];
+        }
+
+        @Override
+        public int hashCode() {
+            // Same as AbstractJavaVersionInfo; String caches its hash.
+            return 31 * getVersion().hashCode() + getUrl().hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Entry other)) return false;
+            int row = index * FIELDS;
+            int otherRow = other.index * FIELDS;
+            if (catalog == other.catalog) {
+                return row == otherRow || Arrays.equals(catalog.fields, row, row + FIELDS,
+                        catalog.fields, otherRow, otherRow + FIELDS);
+            }
+            for (int field = 0; field < FIELDS; field++) {
+                if (!catalog.strings[catalog.fields[row + field]].equals(other.catalog.strings[other.catalog.fields[otherRow + field]])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "JavaVersionInfo{" +
+                    "version='" + getVersion() + '\'' +
+                    ", description='" + getDescription() + '\'' +
+                    ", distribution='" + getDistribution() + '\'' +
+                    ", url='" + getUrl() + '\'' +
+                    '}';
+        }
+    }
+}
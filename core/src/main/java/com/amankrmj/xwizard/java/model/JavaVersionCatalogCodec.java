@@ -0,0 +1,223 @@
+package com.amankrmj.xwizard.java.model;
+
+import com.amankrmj.xwizard.common.model.VersionInfo;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming reader/writer for the version catalog: a JSON array of objects with
+ * {@code version}, {@code description}, {@code distribution} and {@code url}.
+ * <p>
+ * Large catalogs may instead publish a root index that points at shards, each of
+ * which is such an array:
+ * <pre>
+ * {"format": 1, "shards": [
+ *   {"major": "21", "distribution": "oracle", "url": "shards/21-oracle.json", "sha256": "..."}
+ * ]}
+ * </pre>
+ * Only {@code url} is required; {@link #isIndex} tells the two layouts apart.
+ * <p>
+ * Built on jackson-core only, so no reflection or databind metadata is needed in
+ * the native image. Unknown fields are skipped; missing required fields fail with
+ * the index of the offending entry.
+ */
+public final class JavaVersionCatalogCodec {
+
+    // Callers own the streams they pass in.
+    private static final JsonFactory FACTORY = JsonFactory.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private JavaVersionCatalogCodec() {
+    }
+
+    @FunctionalInterface
+    private interface EntryConsumer {
+        void accept(String version, String description, String distribution, String url);
+    }
+
+    public static List<OracleJavaVersionInfo> read(byte[] json) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            return read(parser);
+        }
+    }
+
+    public static List<OracleJavaVersionInfo> read(InputStream json) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            return read(parser);
+        }
+    }
+
+    /**
+     * Append the entries of {@code json} to {@code catalog} without creating entry objects.
+     *
+     * @return the number of entries read
+     */
+    public static int read(byte[] json, CompactCatalog.Builder catalog) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            return read(parser, catalog::add);
+        }
+    }
+
+    private static List<OracleJavaVersionInfo> read(JsonParser parser) throws IOException {
+        List<OracleJavaVersionInfo> versions = new ArrayList<>();
+        // Versions, distributions and descriptions repeat per platform; keep one copy of each.
+        Map<String, String> strings = new HashMap<>();
+        read(parser, (version, description, distribution, url) -> versions.add(new OracleJavaVersionInfo(
+                strings.computeIfAbsent(version, s -> s),
+                strings.computeIfAbsent(description, s -> s),
+                strings.computeIfAbsent(distribution, s -> s),
+                url)));
+        return versions;
+    }
+
+    private static int read(JsonParser parser, EntryConsumer consumer) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Catalog must be a JSON array");
+        }
+        int count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new IOException("Catalog ends before the closing ']'");
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new IOException("Catalog entry " + count + " is not an object");
+            }
+            readEntry(parser, count++, consumer);
+        }
+        return count;
+    }
+
+    private static void readEntry(JsonParser parser, int index, EntryConsumer consumer) throws IOException {
+        String version = null;
+        String description = null;
+        String distribution = null;
+        String url = null;
+
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "version" -> version = text(parser, value);
+                case "description" -> description = text(parser, value);
+                case "distribution" -> distribution = text(parser, value);
+                case "url" -> url = text(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (version == null || description == null || distribution == null || url == null) {
+            throw new IOException("Catalog entry " + index + " is missing one of version, description, distribution, url");
+        }
+        consumer.accept(version, description, distribution, url);
+    }
+
+    private static String text(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!value.isScalarValue()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getText();
+    }
+
+    /**
+     * True if {@code json} is a root index (an object) rather than a flat catalog (an array).
+     */
+    public static boolean isIndex(byte[] json) {
+        for (byte b : json) {
+            if (b == '{') {
+                return true;
+            }
+            if (b != ' ' && b != '\t' && b != '\r' && b != '\n' && b != (byte) 0xEF && b != (byte) 0xBB && b != (byte) 0xBF) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    public static List<CatalogShard> readIndex(byte[] json) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Catalog index must be a JSON object");
+            }
+            List<CatalogShard> shards = null;
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken value = parser.nextToken();
+                if (field.equals("shards") && value == JsonToken.START_ARRAY) {
+                    shards = readShards(parser);
+                } else if (field.equals("format") && value == JsonToken.VALUE_NUMBER_INT && parser.getIntValue() > 1) {
+                    throw new IOException("Catalog index format " + parser.getIntValue() + " is newer than this javawizard supports");
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (shards == null) {
+                throw new IOException("Catalog index has no 'shards' array");
+            }
+            return shards;
+        }
+    }
+
+    private static List<CatalogShard> readShards(JsonParser parser) throws IOException {
+        List<CatalogShard> shards = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                throw new IOException("Catalog index shard " + shards.size() + " is not an object");
+            }
+            String major = null;
+            String distribution = null;
+            String url = null;
+            String sha256 = null;
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "major" -> major = text(parser, value);
+                    case "distribution" -> distribution = text(parser, value);
+                    case "url" -> url = text(parser, value);
+                    case "sha256" -> sha256 = text(parser, value);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (url == null) {
+                throw new IOException("Catalog index shard " + shards.size() + " has no url");
+            }
+            shards.add(new CatalogShard(major, distribution, url, sha256));
+        }
+        return shards;
+    }
+
+    public static void write(List<? extends VersionInfo> versions, OutputStream out) throws IOException {
+        try (JsonGenerator generator = FACTORY.createGenerator(out)) {
+            generator.writeStartArray();
+            for (VersionInfo info : versions) {
+                generator.writeStartObject();
+                generator.writeStringField("version", info.getVersion());
+                generator.writeStringField("description", info.getDescription());
+                generator.writeStringField("distribution", info.getDistribution());
+                generator.writeStringField("url", info.getUrl());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.amankrmj.xwizard.java.model;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Desired JDK state of a host, read from {@code xwizard.lock}:
+ * <pre>
+ * # comments and blank lines are ignored
+ * default 21.0.5
+ * jdk 21.0.5 sha256:3c6a...
+ * jdk 17
+ * path C:\tools\bin
+ * </pre>
+ * A {@code jdk} version is matched like everywhere else ({@code 17} is satisfied by
+ * any installed 17.x); its optional digest is the SHA-256 of the archive, checked
+ * before it is extracted. {@code path} takes the rest of the line as one PATH entry.
+ */
+public record JdkLock(String defaultVersion, List<Jdk> jdks, List<String> pathEntries) {
+
+    public record Jdk(String version, String sha256) {
+    }
+
+    public static JdkLock parse(byte[] content) throws IOException {
+        String defaultVersion = null;
+        List<Jdk> jdks = new ArrayList<>();
+        List<String> pathEntries = new ArrayList<>();
+        String[] lines = new String(content, StandardCharsets.UTF_8).split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\\s+", 2);
+            String value = fields.length > 1 ? fields[1].strip() : "";
+            if (value.isEmpty()) {
+                throw new IOException("line " + (i + 1) + ": '" + fields[0] + "' needs a value");
+            }
+            switch (fields[0].toLowerCase(Locale.ROOT)) {
+                case "default" -> defaultVersion = value;
+                case "path" -> pathEntries.add(value);
+                case "jdk" -> {
+                    String[] parts = value.split("\\s+");
+                    String sha256 = null;
+                    if (parts.length > 1) {
+                        if (parts.length > 2 || !parts[1].startsWith("sha256:")) {
+                            throw new IOException("line " + (i + 1) + ": expected 'jdk <version> [sha256:<hex>]'");
+                        }
+                        sha256 = parts[1].substring("sha256:".length());
+                    }
+                    jdks.add(new Jdk(parts[0], sha256));
+                }
+                default -> throw new IOException("line " + (i + 1) + ": unknown key '" + fields[0] + "'");
+            }
+        }
+        if (defaultVersion != null) {
+            String requested = defaultVersion;
+            if (jdks.stream().noneMatch(jdk -> matches(jdk.version(), requested))) {
+                jdks.add(new Jdk(requested, null));
+            }
+        }
+        return new JdkLock(defaultVersion, List.copyOf(jdks), List.copyOf(pathEntries));
+    }
+
+    /**
+     * Whether an installed version name satisfies a requested one.
+     */
+    public static boolean matches(String installed, String requested) {
+        return installed.equals(requested)
+                || installed.startsWith(requested + ".") || installed.startsWith(requested + "u");
+    }
+}
@@ -0,0 +1,16 @@
+package com.amankrmj.xwizard.java.model;
+
+/**
+ * Concrete model mapped from the JSON coming from GitHub.
+ * Matches fields: version, description, distribution, url
+ * (see {@link JavaVersionCatalogCodec}).
+ */
+public class OracleJavaVersionInfo extends AbstractJavaVersionInfo {
+
+    public OracleJavaVersionInfo(String version,
+                                 String description,
+                                 String distribution,
+                                 String url) {
+        super(version, description, distribution, url);
+    }
+}
@@ -0,0 +1,75 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.WizardHome;
+import com.amankrmj.xwizard.common.model.VersionInfo;
+import com.amankrmj.xwizard.common.state.SnapshotFile;
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The distinct catalog versions, newest first, kept in
+ * {@code ~/.javawizard/cache/available-versions.txt} (one per line). A full catalog
+ * fetch replaces the list; a fetch of some shards only adds the versions it saw.
+ * <p>
+ * Shell completion reads it instead of the catalog so a TAB never touches the network.
+ */
+public final class AvailableVersionSnapshot {
+
+    private AvailableVersionSnapshot() {
+    }
+
+    private static SnapshotFile file() {
+        return new SnapshotFile(WizardHome.cacheDirectory().resolve("available-versions.txt"));
+    }
+
+    public static List<String> read() throws IOException {
+        return file().read();
+    }
+
+    /**
+     * Record the versions in the whole {@code catalog}, dropping any no longer listed;
+     * the file is only rewritten when they changed.
+     */
+    public static void update(List<? extends VersionInfo> catalog) throws IOException {
+        List<String> lines = sorted(versions(catalog));
+        SnapshotFile file = file();
+        if (!file.read().equals(lines)) {
+            file.update(previous -> lines);
+        }
+    }
+
+    /**
+     * Add the versions in {@code entries}, part of the catalog, to those already recorded.
+     */
+    public static void merge(List<? extends VersionInfo> entries) throws IOException {
+        Set<String> added = versions(entries);
+        SnapshotFile file = file();
+        if (!file.read().containsAll(added)) {
+            file.update(previous -> {
+                Set<String> versions = new LinkedHashSet<>(previous);
+                versions.addAll(added);
+                return sorted(versions);
+            });
+        }
+    }
+
+    private static Set<String> versions(List<? extends VersionInfo> entries) {
+        Set<String> versions = new LinkedHashSet<>();
+        for (VersionInfo info : entries) {
+            versions.add(info.getVersion());
+        }
+        return versions;
+    }
+
+    static List<String> sorted(Collection<String> versions) {
+        List<String> lines = new ArrayList<>(versions);
+        lines.sort((a, b) -> JavaVersionManagerUtils.compareVersions(b, a));
+        return List.copyOf(lines);
+    }
+}
@@ -0,0 +1,388 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.WizardHome;
+import com.amankrmj.xwizard.common.model.VersionInfo;
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+import com.amankrmj.xwizard.java.model.CompactCatalog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Search index over the version catalog.
+ * <p>
+ * Every entry's version, distribution, description and archive file name are split
+ * into lower-case terms ({@code graalvm}, {@code 21}, {@code 21.0.2}, {@code aarch64}, ...).
+ * Terms are kept in one sorted array, so all terms starting with a query word are a
+ * contiguous range found by binary search, and each term points at the entries it
+ * occurs in. Words that match nothing as a prefix fall back to terms within a small
+ * edit distance, so typos like {@code gralvm} still match.
+ * <p>
+ * The index is stored in {@code ~/.javawizard/cache/catalog-index.bin} together with
+ * a hash of the catalog documents it was built from, and is rebuilt only when they change.
+ * Entries are kept as a {@link CompactCatalog}, stored as its dictionary and index table.
+ */
+public final class CatalogSearchIndex {
+
+    private static final int MAGIC = 0x58574958; // "XWIX"
+    private static final int FORMAT = 2;
+
+    private static final int EXACT_KEY = 8;
+    private static final int EXACT = 4;
+    private static final int PREFIX_KEY = 4;
+    private static final int PREFIX = 2;
+    private static final int FUZZY = 1;
+
+    public record Hit(VersionInfo entry, int score) {
+    }
+
+    private final String catalogSha256;
+    private final CompactCatalog entries;
+    private final String[] terms;
+    /** Per term, sorted {@code entry << 1 | key} where key is set for version/distribution matches. */
+    private final int[][] postings;
+
+    private CatalogSearchIndex(String catalogSha256, CompactCatalog entries, String[] terms, int[][] postings) {
+        this.catalogSha256 = catalogSha256;
+        this.entries = entries;
+        this.terms = terms;
+        this.postings = postings;
+    }
+
+    public static Path indexFile() {
+        return WizardHome.cacheDirectory().resolve("catalog-index.bin");
+    }
+
+    /**
+     * The stored index if it was built from exactly these catalog documents (the flat
+     * catalog or all shards), else a fresh one (which is then stored).
+     */
+    public static CatalogSearchIndex forCatalog(List<byte[]> documents) throws IOException {
+        MessageDigest digest = FileUtils.newSha256();
+        for (byte[] document : documents) {
+            digest.update(FileUtils.newSha256().digest(document));
+        }
+        String sha256 = HexFormat.of().formatHex(digest.digest());
+        Optional<CatalogSearchIndex> stored = load(indexFile());
+        if (stored.isPresent() && stored.get().catalogSha256.equals(sha256)) {
+            return stored.get();
+        }
+        CatalogSearchIndex index = build(sha256, JavaVersionAvailableFetchService.parseCompact(documents));
+        try {
+            index.save(indexFile());
+        } catch (IOException e) {
+            // Searching still works; the next run just builds it again.
+        }
+        return index;
+    }
+
+    /**
+     * The stored index, whatever catalog it was built from; for searching while offline.
+     */
+    public static Optional<CatalogSearchIndex> stored() {
+        return load(indexFile());
+    }
+
+    public static CatalogSearchIndex build(String catalogSha256, CompactCatalog catalog) {
+        // Rank the distinct version strings once; catalogs repeat each version for many platforms.
+        Map<String, Integer> rank = new HashMap<>();
+        catalog.entries().stream().map(VersionInfo::getVersion).distinct()
+                .sorted((a, b) -> JavaVersionManagerUtils.compareVersions(b, a))
+                .forEach(version -> rank.put(version, rank.size()));
+        // Stable sort by rank: the key is rank in the high bits and the original row in the low ones.
+        long[] order = new long[catalog.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = (long) rank.get(catalog.version(i)) << 32 | i;
+        }
+        Arrays.sort(order);
+        CompactCatalog.Builder sorted = CompactCatalog.builder();
+        for (long key : order) {
+            sorted.add(catalog.get((int) key));
+        }
+        CompactCatalog versions = sorted.build();
+
+        Map<String, List<Integer>> byTerm = new HashMap<>();
+        for (int i = 0; i < versions.size(); i++) {
+            CompactCatalog.Entry info = versions.get(i);
+            Set<String> key = new LinkedHashSet<>();
+            tokenize(info.getVersion(), key, true);
+            tokenize(info.getDistribution(), key, true);
+            Set<String> other = new LinkedHashSet<>();
+            tokenize(info.getDescription(), other, true);
+            tokenize(fileName(info.getUrl()), other, true);
+            other.removeAll(key);
+
+            for (String term : key) {
+                byTerm.computeIfAbsent(term, t -> new ArrayList<>()).add(i << 1 | 1);
+            }
+            for (String term : other) {
+                byTerm.computeIfAbsent(term, t -> new ArrayList<>()).add(i << 1);
+            }
+        }
+
+        String[] terms = byTerm.keySet().toArray(String[]::new);
+        Arrays.sort(terms);
+        int[][] postings = new int[terms.length][];
+        for (int t = 0; t < terms.length; t++) {
+            postings[t] = byTerm.get(terms[t]).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new CatalogSearchIndex(catalogSha256, versions, terms, postings);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Entries matching every word of {@code query}, best first; ties go to the newer version.
+     */
+    public List<Hit> search(String query, int limit) {
+        Set<String> words = new LinkedHashSet<>();
+        tokenize(query, words, false);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        int[] score = new int[entries.size()];
+        int[] matchedWords = new int[entries.size()];
+        int[] best = new int[entries.size()];
+        int[] touched = new int[entries.size()];
+        int required = 0;
+        for (String word : words) {
+            int touchedCount = 0;
+            boolean prefixHit = false;
+            int from = lowerBound(word);
+            for (int t = from; t < terms.length && terms[t].startsWith(word); t++) {
+                boolean exact = terms[t].length() == word.length();
+                prefixHit = true;
+                touchedCount = collect(t, exact ? EXACT_KEY : PREFIX_KEY, exact ? EXACT : PREFIX, best, touched, touchedCount);
+            }
+            if (!prefixHit) {
+                int maxDistance = word.length() >= 6 ? 2 : word.length() >= 3 ? 1 : 0;
+                for (int t = 0; maxDistance > 0 && t < terms.length; t++) {
+                    if (withinDistance(word, terms[t], maxDistance)) {
+                        touchedCount = collect(t, FUZZY, FUZZY, best, touched, touchedCount);
+                    }
+                }
+            }
+            for (int i = 0; i < touchedCount; i++) {
+                int entry = touched[i];
+                score[entry] += best[entry];
+                matchedWords[entry]++;
+                best[entry] = 0;
+            }
+            required++;
+        }
+
+        // Entries are stored newest first, so walking them in order within each score breaks ties by version.
+        int maxScore = 0;
+        int candidates = 0;
+        for (int entry = 0; entry < entries.size(); entry++) {
+            if (matchedWords[entry] == required) {
+                touched[candidates++] = entry;
+                maxScore = Math.max(maxScore, score[entry]);
+            }
+        }
+        List<Hit> hits = new ArrayList<>(Math.min(limit, candidates));
+        for (int s = maxScore; s > 0 && hits.size() < limit; s--) {
+            for (int i = 0; i < candidates && hits.size() < limit; i++) {
+                int entry = touched[i];
+                if (score[entry] == s) {
+                    hits.add(new Hit(entries.get(entry), s));
+                }
+            }
+        }
+        return hits;
+    }
+
+    private int collect(int term, int keyWeight, int weight, int[] best, int[] touched, int touchedCount) {
+        for (int posting : postings[term]) {
+            int entry = posting >>> 1;
+            int value = (posting & 1) != 0 ? keyWeight : weight;
+            if (best[entry] == 0) {
+                touched[touchedCount++] = entry;
+            }
+            if (value > best[entry]) {
+                best[entry] = value;
+            }
+        }
+        return touchedCount;
+    }
+
+    private int lowerBound(String word) {
+        int found = Arrays.binarySearch(terms, word);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    /**
+     * Split {@code text} into lower-case words. With {@code expand}, dotted versions also yield
+     * their leading components ({@code 21.0.2+13 -> 21, 21.0, 21.0.2, 21.0.2+13}), so {@code 21}
+     * matches Java 21 but not {@code 23.0.21}.
+     */
+    static void tokenize(String text, Set<String> out, boolean expand) {
+        if (text == null) {
+            return;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int length = lower.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !isWordChar(lower.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && isWordChar(lower.charAt(i))) {
+                i++;
+            }
+            String token = trimDots(lower.substring(start, i));
+            if (token.isEmpty()) {
+                continue;
+            }
+            if (expand) {
+                for (int end = 1; end < token.length(); end++) {
+                    char c = token.charAt(end);
+                    if (c == '.' || c == '+') {
+                        out.add(token.substring(0, end));
+                    }
+                }
+            }
+            out.add(token);
+        }
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '.' || c == '+';
+    }
+
+    private static String trimDots(String token) {
+        int start = 0;
+        int end = token.length();
+        while (start < end && token.charAt(start) == '.') {
+            start++;
+        }
+        while (end > start && token.charAt(end - 1) == '.') {
+            end--;
+        }
+        return token.substring(start, end);
+    }
+
+    private static String fileName(String url) {
+        if (url == null) {
+            return null;
+        }
+        int slash = url.lastIndexOf('/');
+        return slash >= 0 ? url.substring(slash + 1) : url;
+    }
+
+    /**
+     * Levenshtein distance of at most {@code max}, computed in a band around the diagonal.
+     */
+    static boolean withinDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return false;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= max;
+    }
+
+    void save(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = Files.createTempFile(file.getParent(), "." + file.getFileName(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeUTF(catalogSha256);
+                String[] dictionary = entries.dictionary();
+                out.writeInt(dictionary.length);
+                for (String value : dictionary) {
+                    out.writeUTF(value);
+                }
+                int[] table = entries.table();
+                out.writeInt(table.length);
+                for (int id : table) {
+                    out.writeInt(id);
+                }
+                out.writeInt(terms.length);
+                for (int t = 0; t < terms.length; t++) {
+                    out.writeUTF(terms[t]);
+                    out.writeInt(postings[t].length);
+                    for (int posting : postings[t]) {
+                        out.writeInt(posting);
+                    }
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    static Optional<CatalogSearchIndex> load(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT) {
+                return Optional.empty();
+            }
+            String sha256 = in.readUTF();
+            String[] dictionary = new String[in.readInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = in.readUTF();
+            }
+            int[] table = new int[in.readInt()];
+            for (int i = 0; i < table.length; i++) {
+                table[i] = in.readInt();
+            }
+            CompactCatalog entries = CompactCatalog.of(dictionary, table);
+            String[] terms = new String[in.readInt()];
+            int[][] postings = new int[terms.length][];
+            for (int t = 0; t < terms.length; t++) {
+                terms[t] = in.readUTF();
+                postings[t] = new int[in.readInt()];
+                for (int p = 0; p < postings[t].length; p++) {
+                    postings[t][p] = in.readInt();
+                }
+            }
+            return Optional.of(new CatalogSearchIndex(sha256, entries, terms, postings));
+        } catch (IOException | RuntimeException e) {
+            // Missing, truncated or foreign files are rebuilt rather than trusted.
+            return Optional.empty();
+        }
+    }
+}
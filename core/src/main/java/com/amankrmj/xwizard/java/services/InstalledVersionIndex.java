@@ -0,0 +1,60 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.WizardHome;
+import com.amankrmj.xwizard.common.state.SnapshotFile;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Where each managed version came from and when it was installed, kept in
+ * {@code ~/.javawizard/state/installed.tsv} ({@code <name>\t<installed-millis>\t<source>}).
+ * <p>
+ * The directory listing stays the source of truth for what is installed; entries
+ * for versions that no longer exist are ignored by readers.
+ */
+public final class InstalledVersionIndex {
+
+    public record Entry(String name, long installedAt, String source) {
+    }
+
+    private InstalledVersionIndex() {
+    }
+
+    private static SnapshotFile file() {
+        return new SnapshotFile(WizardHome.directory().resolve("state").resolve("installed.tsv"));
+    }
+
+    public static Map<String, Entry> snapshot() throws IOException {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        for (String line : file().read()) {
+            String[] fields = line.split("\t", 3);
+            if (fields.length < 3) {
+                continue;
+            }
+            try {
+                entries.put(fields[0], new Entry(fields[0], Long.parseLong(fields[1]), fields[2]));
+            } catch (NumberFormatException e) {
+                // Ignore a malformed line rather than losing the whole index.
+            }
+        }
+        return entries;
+    }
+
+    public static void record(String name, String source) throws IOException {
+        String line = name + "\t" + System.currentTimeMillis() + "\t" + source;
+        file().update(lines -> {
+            lines.removeIf(existing -> existing.startsWith(name + "\t"));
+            lines.add(line);
+            return lines;
+        });
+    }
+
+    public static void remove(String name) throws IOException {
+        file().update(lines -> {
+            lines.removeIf(existing -> existing.startsWith(name + "\t"));
+            return lines;
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.Platform;
+import com.amankrmj.xwizard.common.WizardHome;
+import com.amankrmj.xwizard.common.archive.ArchiveExtractor;
+import com.amankrmj.xwizard.common.http.MirroredHttpClient;
+import com.amankrmj.xwizard.common.metrics.MetricsRegistry;
+import com.amankrmj.xwizard.common.metrics.Timer;
+import com.amankrmj.xwizard.common.model.VersionInfo;
+import com.amankrmj.xwizard.common.state.StateLock;
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+/**
+ * Downloads JDK archives for catalog entries into {@code ~/.javawizard/cache/archives},
+ * routed through the fastest configured mirror.
+ */
+public class JavaArchiveDownloadService {
+
+    private final MirroredHttpClient httpClient;
+    private final Path archiveCache;
+
+    public JavaArchiveDownloadService() {
+        this(MirroredHttpClient.shared(), WizardHome.cacheDirectory().resolve("archives"));
+    }
+
+    public JavaArchiveDownloadService(MirroredHttpClient httpClient, Path archiveCache) {
+        this.httpClient = httpClient;
+        this.archiveCache = archiveCache;
+    }
+
+    /**
+     * Archive URL for the current platform. Catalog entries either point at an
+     * archive directly or at a directory following Oracle's
+     * {@code jdk-<major>_<os>-<arch>_bin.<ext>} naming.
+     */
+    public static URI archiveUri(VersionInfo info) {
+        String url = info.getUrl();
+        if (ArchiveExtractor.isSupported(url)) {
+            return URI.create(url);
+        }
+        String base = url.endsWith("/") ? url : url + "/";
+        return URI.create(base + "jdk-" + JavaVersionManagerUtils.majorVersion(info.getVersion())
+                + "_" + Platform.os() + "-" + Platform.arch() + "_bin." + Platform.archiveExtension());
+    }
+
+    /**
+     * @return the cached archive, downloading it first if it is not cached yet
+     */
+    public Path download(VersionInfo info) throws IOException {
+        return download(info.getVersion(), archiveUri(info));
+    }
+
+    /**
+     * The cached archive for {@code version} served at {@code uri}, downloading it if needed.
+     */
+    public Path download(String version, URI uri) throws IOException {
+        String fileName = version + "-" + Path.of(uri.getPath()).getFileName();
+        return download(uri, archiveCache.resolve(fileName));
+    }
+
+    /**
+     * Download {@code upstream} to {@code target} unless it is already there. The archive
+     * is locked while it is fetched, so concurrent installs of one version download it
+     * once; the bytes go to a private temporary file that is atomically moved into place.
+     */
+    public Path download(URI upstream, Path target) throws IOException {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        if (Files.isRegularFile(target)) {
+            metrics.counter("cache.archive.hit").increment();
+            return target;
+        }
+        Files.createDirectories(target.getParent());
+        try (StateLock ignored = StateLock.forDirectory(target)) {
+            if (Files.isRegularFile(target)) {
+                // Another install fetched it while we waited for the lock.
+                metrics.counter("cache.archive.hit").increment();
+                return target;
+            }
+            metrics.counter("cache.archive.miss").increment();
+            return fetch(upstream, target, metrics);
+        }
+    }
+
+    private Path fetch(URI upstream, Path target, MetricsRegistry metrics) throws IOException {
+        Path partial = Files.createTempFile(target.getParent(), "." + target.getFileName(), ".part");
+        HttpRequest request = HttpRequest.newBuilder(upstream)
+                .timeout(Duration.ofMinutes(30))
+                .GET()
+                .build();
+
+        Timer.Sample sample = metrics.timer("phase.download").start();
+        try {
+            HttpResponse<Path> response = httpClient.send(request,
+                    HttpResponse.BodyHandlers.ofFile(partial, StandardOpenOption.WRITE,
+                            StandardOpenOption.TRUNCATE_EXISTING),
+                    "http.archive");
+            if (response.statusCode() != 200) {
+                Files.deleteIfExists(partial);
+                throw new IOException("Unexpected status " + response.statusCode() + " for: " + upstream);
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return target;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Files.deleteIfExists(partial);
+            throw new IOException("Download interrupted: " + upstream, e);
+        } catch (IOException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        } finally {
+            sample.stop();
+        }
+    }
+}
@@ -0,0 +1,641 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.archive.FileManifest;
+import com.amankrmj.xwizard.common.metrics.MetricsRegistry;
+import com.amankrmj.xwizard.common.metrics.Timer;
+import com.amankrmj.xwizard.common.state.StagedDirectory;
+import com.amankrmj.xwizard.common.state.StateLock;
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Packs several managed versions into one file and unpacks them again.
+ * <p>
+ * Layout:
+ * <pre>
+ * "XWBUNDLE" u32 format
+ * blob*                         each blob is one distinct file content, deflated on its own
+ * index                         gzip: blobs (sha256, offset, length, size) and versions
+ *                               (name, files, symbolic links, directories)
+ * u64 indexOffset u64 indexLength "XWBEND\0\0"
+ * </pre>
+ * A file present in several versions (legal notices, most of {@code lib/}) is stored
+ * once. Export holds a shared lock on every source home and bundles what is on disk,
+ * hashed as it is read, not what the install manifest recorded. Import reads the blob
+ * region front to back exactly once, inflates and writes blobs on worker threads, and
+ * aborts before anything is committed if a blob does not match its SHA-256. Blobs of
+ * at least {@value #STREAM_THRESHOLD} bytes (such as {@code lib/modules}) are streamed
+ * on both sides instead of being held in memory.
+ */
+public class JavaBundleService {
+
+    private static final byte[] MAGIC = "XWBUNDLE".getBytes();
+    private static final byte[] END_MAGIC = "XWBEND\0\0".getBytes();
+    private static final int FORMAT = 2;
+    /** Format 1 had no symbolic links or directories in its index. */
+    private static final int FORMAT_FILES_ONLY = 1;
+    private static final long STREAM_THRESHOLD = 8L << 20;
+    private static final int FOOTER_LENGTH = 8 + 8 + 8;
+
+    private final int parallelism = Runtime.getRuntime().availableProcessors();
+
+    public record BundleStats(int versions, int files, int blobs, long originalBytes, long bundleBytes) {
+    }
+
+    private record Blob(String sha256, long offset, long length, long size) {
+    }
+
+    private record BundledFile(String path, int blob, int mode) {
+    }
+
+    private record BundledLink(String path, String target) {
+    }
+
+    /** What one version contributes to the bundle. */
+    private record Tree(List<BundledFile> files, List<BundledLink> links, List<String> directories) {
+    }
+
+    private record Source(Path path, String relative, long size, int mode) {
+    }
+
+    public BundleStats export(List<String> versions, Path output) throws IOException {
+        Path versionsDir = JavaVersionManagerUtils.getJavaVersionsDirectory();
+        Timer.Sample sample = MetricsRegistry.global().timer("phase.bundle.export").start();
+        // Keep prune, remove and upgrade away from the homes while they are read; fixed order as in import.
+        List<StateLock> locks = new ArrayList<>();
+        try {
+            for (String name : new TreeSet<>(versions)) {
+                locks.add(StateLock.sharedForDirectory(versionsDir.resolve(name)));
+            }
+            return exportLocked(versions, versionsDir, output);
+        } finally {
+            sample.stop();
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).close();
+            }
+        }
+    }
+
+    private BundleStats exportLocked(List<String> versions, Path versionsDir, Path output) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        Path partial = output.resolveSibling(output.getFileName() + ".part");
+        try {
+            // Hash what is on disk now; the install manifest misses later edits.
+            Map<String, List<Source>> sources = new LinkedHashMap<>();
+            Map<String, Tree> trees = new LinkedHashMap<>();
+            Map<Source, Future<String>> hashing = new LinkedHashMap<>();
+            for (String version : versions) {
+                List<Source> files = new ArrayList<>();
+                List<BundledLink> links = new ArrayList<>();
+                List<String> directories = new ArrayList<>();
+                scan(versionsDir.resolve(version), files, links, directories);
+                for (Source file : files) {
+                    hashing.put(file, executor.submit(() -> FileUtils.sha256(file.path())));
+                }
+                sources.put(version, files);
+                trees.put(version, new Tree(new ArrayList<>(), links, directories));
+            }
+
+            // Deduplicate by content hash across all selected versions.
+            Map<String, Integer> blobIndex = new LinkedHashMap<>();
+            List<Source> blobSources = new ArrayList<>();
+            List<String> hashes = new ArrayList<>();
+            long originalBytes = 0;
+            int fileCount = 0;
+            for (Map.Entry<String, List<Source>> version : sources.entrySet()) {
+                List<BundledFile> files = trees.get(version.getKey()).files();
+                for (Source file : version.getValue()) {
+                    String sha256 = hashing.get(file).get();
+                    Integer index = blobIndex.get(sha256);
+                    if (index == null) {
+                        index = blobSources.size();
+                        blobIndex.put(sha256, index);
+                        blobSources.add(file);
+                        hashes.add(sha256);
+                    }
+                    files.add(new BundledFile(file.relative(), index, file.mode()));
+                    originalBytes += file.size();
+                    fileCount++;
+                }
+            }
+
+            List<Blob> blobs = writeBundle(executor, partial, blobSources, hashes, trees);
+            Files.move(partial, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new BundleStats(versions.size(), fileCount, blobs.size(), originalBytes, Files.size(output));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Bundle export interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    private List<Blob> writeBundle(ExecutorService executor, Path partial, List<Source> blobSources,
+                                   List<String> hashes, Map<String, Tree> trees)
+            throws IOException, InterruptedException, ExecutionException {
+        List<Blob> blobs = new ArrayList<>(blobSources.size());
+        try (OutputStream file = Files.newOutputStream(partial);
+             CountingOutputStream out = new CountingOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.write(MAGIC);
+            new DataOutputStream(out).writeInt(FORMAT);
+
+            // Compress small blobs ahead on all cores, write strictly in order; large ones are
+            // deflated straight into the bundle by this thread.
+            Deque<Future<byte[]>> window = new ArrayDeque<>();
+            int next = 0;
+            for (int written = 0; written < blobSources.size(); written++) {
+                while (next < blobSources.size() && window.size() < parallelism * 2) {
+                    Source source = blobSources.get(next);
+                    String sha256 = hashes.get(next++);
+                    window.add(source.size() < STREAM_THRESHOLD
+                            ? executor.submit(() -> deflate(source.path(), sha256))
+                            : CompletableFuture.completedFuture(null));
+                }
+                Source source = blobSources.get(written);
+                long offset = out.count;
+                byte[] compressed = window.poll().get();
+                if (compressed != null) {
+                    out.write(compressed);
+                } else {
+                    deflate(source.path(), hashes.get(written), out);
+                }
+                blobs.add(new Blob(hashes.get(written), offset, out.count - offset, source.size()));
+            }
+
+            long indexOffset = out.count;
+            ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+            try (DataOutputStream index = new DataOutputStream(new GZIPOutputStream(indexBytes))) {
+                index.writeInt(blobs.size());
+                for (Blob blob : blobs) {
+                    index.write(HexFormat.of().parseHex(blob.sha256()));
+                    index.writeLong(blob.offset());
+                    index.writeLong(blob.length());
+                    index.writeLong(blob.size());
+                }
+                index.writeInt(trees.size());
+                for (Map.Entry<String, Tree> version : trees.entrySet()) {
+                    Tree tree = version.getValue();
+                    index.writeUTF(version.getKey());
+                    index.writeInt(tree.files().size());
+                    for (BundledFile bundled : tree.files()) {
+                        index.writeUTF(bundled.path());
+                        index.writeInt(bundled.blob());
+                        index.writeShort(bundled.mode());
+                    }
+                    index.writeInt(tree.links().size());
+                    for (BundledLink link : tree.links()) {
+                        index.writeUTF(link.path());
+                        index.writeUTF(link.target());
+                    }
+                    index.writeInt(tree.directories().size());
+                    for (String directory : tree.directories()) {
+                        index.writeUTF(directory);
+                    }
+                }
+            }
+            out.write(indexBytes.toByteArray());
+            DataOutputStream footer = new DataOutputStream(out);
+            footer.writeLong(indexOffset);
+            footer.writeLong(indexBytes.size());
+            footer.write(END_MAGIC);
+            footer.flush();
+        }
+        return blobs;
+    }
+
+    /**
+     * Collect the regular files, symbolic links (not followed) and directories below {@code home}.
+     */
+    private static void scan(Path home, List<Source> files, List<BundledLink> links, List<String> directories)
+            throws IOException {
+        if (!Files.isDirectory(home, LinkOption.NOFOLLOW_LINKS)) {
+            throw new IOException("Java version not installed: " + home.getFileName());
+        }
+        Files.walkFileTree(home, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                if (!dir.equals(home)) {
+                    directories.add(FileManifest.relativePath(home, dir));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                String relative = FileManifest.relativePath(home, file);
+                if (attrs.isSymbolicLink()) {
+                    links.add(new BundledLink(relative, Files.readSymbolicLink(file).toString().replace('\\', '/')));
+                } else if (attrs.isRegularFile()) {
+                    files.add(new Source(file, relative, attrs.size(), FileManifest.mode(file)));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        files.sort(Comparator.comparing(Source::relative));
+    }
+
+    /**
+     * Unpack every version in {@code bundle} into the managed versions directory.
+     *
+     * @return names of the imported versions (existing ones are skipped unless {@code force})
+     */
+    public List<String> importBundle(Path bundle, boolean force) throws IOException {
+        Path versionsDir = JavaVersionManagerUtils.getJavaVersionsDirectory();
+        Files.createDirectories(versionsDir);
+        Timer.Sample sample = MetricsRegistry.global().timer("phase.bundle.import").start();
+
+        List<Blob> blobs = new ArrayList<>();
+        Map<String, Tree> versionFiles = new LinkedHashMap<>();
+        readIndex(bundle, blobs, versionFiles);
+        for (String name : versionFiles.keySet()) {
+            checkVersionName(versionsDir, name);
+        }
+
+        // Lock in a fixed order so two concurrent imports cannot deadlock.
+        List<StateLock> locks = new ArrayList<>();
+        try {
+            for (String name : new TreeSet<>(versionFiles.keySet())) {
+                locks.add(StateLock.forDirectory(versionsDir.resolve(name)));
+            }
+            return importLocked(bundle, force, versionsDir, blobs, versionFiles);
+        } finally {
+            sample.stop();
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).close();
+            }
+        }
+    }
+
+    private List<String> importLocked(Path bundle, boolean force, Path versionsDir, List<Blob> blobs,
+                                      Map<String, Tree> versionFiles) throws IOException {
+        Map<String, Path> staging = new LinkedHashMap<>();
+        try {
+            return importStaged(bundle, force, versionsDir, blobs, versionFiles, staging);
+        } catch (IOException | RuntimeException e) {
+            // Nothing is committed until every blob checked out; drop the half-written trees.
+            for (Path stage : staging.values()) {
+                FileUtils.deleteRecursively(stage);
+            }
+            throw e;
+        }
+    }
+
+    private List<String> importStaged(Path bundle, boolean force, Path versionsDir, List<Blob> blobs,
+                                      Map<String, Tree> versionFiles, Map<String, Path> staging) throws IOException {
+
+        // Where each blob has to go: staging path + mode for every file referencing it.
+        List<List<Path>> targets = new ArrayList<>(blobs.size());
+        List<List<Integer>> modes = new ArrayList<>(blobs.size());
+        for (int i = 0; i < blobs.size(); i++) {
+            targets.add(new ArrayList<>());
+            modes.add(new ArrayList<>());
+        }
+        for (Map.Entry<String, Tree> version : versionFiles.entrySet()) {
+            String name = version.getKey();
+            if (Files.exists(versionsDir.resolve(name)) && !force) {
+                continue;
+            }
+            Path stage = StagedDirectory.prepare(versionsDir.resolve(name), "unbundle");
+            staging.put(name, stage);
+            for (BundledFile file : version.getValue().files()) {
+                Path target = inside(stage, file.path());
+                targets.get(file.blob()).add(target);
+                modes.get(file.blob()).add(file.mode());
+            }
+            for (BundledLink link : version.getValue().links()) {
+                Path path = inside(stage, link.path());
+                if (Path.of(link.target()).isAbsolute() || link.target().startsWith("/")
+                        || !path.getParent().resolve(link.target()).normalize().startsWith(stage)) {
+                    throw new IOException("Bundle link escapes the JDK home: " + link.path() + " -> " + link.target());
+                }
+            }
+            for (String directory : version.getValue().directories()) {
+                inside(stage, directory);
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        // Bounds the compressed bytes held in memory while workers catch up.
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        List<Future<?>> futures = new ArrayList<>();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(bundle), 1 << 20)) {
+            long position = 0;
+            for (int i = 0; i < blobs.size(); i++) {
+                Blob blob = blobs.get(i);
+                in.skipNBytes(blob.offset() - position);
+                position = blob.offset() + blob.length();
+                List<Path> paths = targets.get(i);
+                List<Integer> blobModes = modes.get(i);
+                if (paths.isEmpty()) {
+                    in.skipNBytes(blob.length());
+                } else if (blob.length() >= STREAM_THRESHOLD) {
+                    BoundedInputStream compressed = new BoundedInputStream(in, blob.length());
+                    writeBlob(compressed, blob, paths, blobModes);
+                    compressed.skipNBytes(compressed.remaining);
+                } else {
+                    byte[] compressed = in.readNBytes((int) blob.length());
+                    inFlight.acquire();
+                    futures.add(executor.submit(() -> {
+                        try {
+                            writeBlob(new ByteArrayInputStream(compressed), blob, paths, blobModes);
+                            return null;
+                        } finally {
+                            inFlight.release();
+                        }
+                    }));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Bundle import interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<String> imported = new ArrayList<>();
+        for (Map.Entry<String, Path> stage : staging.entrySet()) {
+            String name = stage.getKey();
+            Path home = versionsDir.resolve(name);
+            Files.createDirectories(stage.getValue());
+            Tree tree = versionFiles.get(name);
+            for (String directory : tree.directories()) {
+                Files.createDirectories(stage.getValue().resolve(directory));
+            }
+            for (BundledLink link : tree.links()) {
+                Path path = stage.getValue().resolve(link.path());
+                Files.createDirectories(path.getParent());
+                Files.createSymbolicLink(path, Path.of(link.target()));
+            }
+            StagedDirectory.commit(stage.getValue(), home);
+
+            List<FileManifest.Entry> entries = new ArrayList<>();
+            for (BundledFile file : tree.files()) {
+                Blob blob = blobs.get(file.blob());
+                entries.add(new FileManifest.Entry(file.path(), blob.sha256(), blob.size(), file.mode()));
+            }
+            new FileManifest(entries).write(JavaUpgradeService.manifestFile(name));
+            InstalledVersionIndex.record(name, "bundle:" + bundle.toAbsolutePath());
+            imported.add(name);
+        }
+        return imported;
+    }
+
+    /**
+     * Bundle version names become directory names, so each must be a plain direct
+     * child of the versions directory.
+     */
+    private static void checkVersionName(Path versionsDir, String name) throws IOException {
+        if (name.isEmpty() || name.equals(".") || name.equals("..") || name.contains("/") || name.contains("\\")
+                || name.indexOf('\0') >= 0) {
+            throw new IOException("Invalid version name in bundle: " + name);
+        }
+        Path home = versionsDir.resolve(name).normalize();
+        if (!versionsDir.normalize().equals(home.getParent())) {
+            throw new IOException("Invalid version name in bundle: " + name);
+        }
+    }
+
+    private static Path inside(Path stage, String path) throws IOException {
+        Path target = stage.resolve(path).normalize();
+        if (!target.startsWith(stage) || target.equals(stage)) {
+            throw new IOException("Bundle entry escapes the JDK home: " + path);
+        }
+        return target;
+    }
+
+    private static void readIndex(Path bundle, List<Blob> blobs, Map<String, Tree> versionFiles)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(bundle, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(MAGIC.length + 4);
+            channel.read(header, 0);
+            if (!Arrays.equals(Arrays.copyOf(header.array(), MAGIC.length), MAGIC)) {
+                throw new IOException("Not a JavaWizard bundle: " + bundle);
+            }
+            int format = header.getInt(MAGIC.length);
+            if (format != FORMAT && format != FORMAT_FILES_ONLY) {
+                throw new IOException("Unsupported bundle format version " + format);
+            }
+
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_LENGTH);
+            channel.read(footer, channel.size() - FOOTER_LENGTH);
+            if (!Arrays.equals(Arrays.copyOfRange(footer.array(), 16, 24), END_MAGIC)) {
+                throw new IOException("Truncated bundle: " + bundle);
+            }
+            long indexOffset = footer.getLong(0);
+            long indexLength = footer.getLong(8);
+
+            InputStream indexStream = Channels.newInputStream(channel.position(indexOffset));
+            try (DataInputStream index = new DataInputStream(new GZIPInputStream(
+                    new BufferedInputStream(new BoundedInputStream(indexStream, indexLength))))) {
+                int blobCount = index.readInt();
+                byte[] sha = new byte[32];
+                for (int i = 0; i < blobCount; i++) {
+                    index.readFully(sha);
+                    blobs.add(new Blob(HexFormat.of().formatHex(sha), index.readLong(), index.readLong(), index.readLong()));
+                }
+                int versionCount = index.readInt();
+                for (int v = 0; v < versionCount; v++) {
+                    String name = index.readUTF();
+                    int fileCount = index.readInt();
+                    List<BundledFile> files = new ArrayList<>(fileCount);
+                    for (int f = 0; f < fileCount; f++) {
+                        BundledFile file = new BundledFile(index.readUTF(), index.readInt(), index.readShort() & 0xffff);
+                        if (file.blob() < 0 || file.blob() >= blobs.size()) {
+                            throw new IOException("Corrupt bundle index: " + bundle);
+                        }
+                        files.add(file);
+                    }
+                    List<BundledLink> links = new ArrayList<>();
+                    List<String> directories = new ArrayList<>();
+                    if (format != FORMAT_FILES_ONLY) {
+                        int linkCount = index.readInt();
+                        for (int l = 0; l < linkCount; l++) {
+                            links.add(new BundledLink(index.readUTF(), index.readUTF()));
+                        }
+                        int directoryCount = index.readInt();
+                        for (int d = 0; d < directoryCount; d++) {
+                            directories.add(index.readUTF());
+                        }
+                    }
+                    versionFiles.put(name, new Tree(files, links, directories));
+                }
+            }
+        }
+    }
+
+    private static byte[] deflate(Path source, String sha256) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        deflate(source, sha256, compressed);
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Deflate {@code source} into {@code target} (left open), checking that what was read
+     * still has the hash it was deduplicated under.
+     */
+    private static void deflate(Path source, String sha256, OutputStream target) throws IOException {
+        MessageDigest digest = FileUtils.newSha256();
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try (InputStream in = new DigestInputStream(Files.newInputStream(source), digest)) {
+            DeflaterOutputStream out = new DeflaterOutputStream(target, deflater, 1 << 16);
+            in.transferTo(out);
+            out.finish();
+        } finally {
+            deflater.end();
+        }
+        if (!HexFormat.of().formatHex(digest.digest()).equals(sha256)) {
+            throw new IOException(source + " changed while it was being bundled");
+        }
+    }
+
+    /**
+     * Inflate one blob into the first target and copy it to the others. The inflated bytes
+     * are hashed on the way, so a truncated or tampered bundle fails here instead of being installed.
+     */
+    private static void writeBlob(InputStream compressed, Blob blob, List<Path> targets, List<Integer> modes)
+            throws IOException {
+        Path first = targets.get(0);
+        Files.createDirectories(first.getParent());
+        MessageDigest digest = FileUtils.newSha256();
+        Inflater inflater = new Inflater();
+        long size;
+        try (InputStream in = new DigestInputStream(new InflaterInputStream(compressed, inflater, 1 << 16), digest)) {
+            size = Files.copy(in, first, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            inflater.end();
+        }
+        if (size != blob.size() || !HexFormat.of().formatHex(digest.digest()).equals(blob.sha256())) {
+            throw new IOException("Corrupt bundle: " + first.getFileName() + " does not match its SHA-256 "
+                    + blob.sha256());
+        }
+        FileManifest.applyMode(first, modes.get(0));
+        for (int i = 1; i < targets.size(); i++) {
+            Path target = targets.get(i);
+            Files.createDirectories(target.getParent());
+            Files.copy(first, target, StandardCopyOption.REPLACE_EXISTING);
+            FileManifest.applyMode(target, modes.get(i));
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    private static final class BoundedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        private BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() {
+            // The underlying stream is owned by the caller.
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.Platform;
+import com.amankrmj.xwizard.common.WizardHome;
+import com.amankrmj.xwizard.common.metrics.MetricsRegistry;
+import com.amankrmj.xwizard.common.metrics.ProcessMetrics;
+import com.amankrmj.xwizard.common.metrics.Timer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Class Data Sharing archives for managed JDKs.
+ * <p>
+ * The default CDS archive lives inside the JDK ({@code -Xshare:dump} regenerates
+ * it). Application archives are dynamic AppCDS archives trained per jar and kept
+ * in {@code ~/.javawizard/cds/<version>/<jar>-<key>.jsa}, where the key covers the
+ * jar's path, size and modification time so a rebuilt jar gets a fresh archive.
+ * One archive per version can be marked as the default that {@code java exec} and
+ * {@code java matrix} add to the {@code JDK_JAVA_OPTIONS} of the processes they start.
+ */
+public class JavaCdsService {
+
+    private static final String DEFAULT_MARKER = "default";
+
+    public static Path archiveDirectory(String version) {
+        return WizardHome.directory().resolve("cds").resolve(version);
+    }
+
+    /**
+     * Regenerate the JDK's default CDS archive.
+     */
+    public void dumpDefault(Path jdkHome) throws IOException, InterruptedException {
+        run("phase.cds.dump", List.of(java(jdkHome).toString(), "-Xshare:dump"));
+    }
+
+    /**
+     * Train a dynamic AppCDS archive by running {@code java -jar <jar> <workload>} once.
+     * Requires JDK 13+.
+     *
+     * @return the archive file
+     */
+    public Path trainApp(Path jdkHome, String version, Path jar, List<String> workload)
+            throws IOException, InterruptedException {
+        Path archive = archiveFor(version, jar);
+        Files.createDirectories(archive.getParent());
+        Files.deleteIfExists(archive);
+
+        List<String> command = new ArrayList<>();
+        command.add(java(jdkHome).toString());
+        command.add("-XX:ArchiveClassesAtExit=" + archive);
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+        command.addAll(workload);
+        run("phase.cds.train", command);
+
+        if (!Files.isRegularFile(archive)) {
+            throw new IOException("JVM did not produce an archive (JDK 13+ is required for AppCDS)");
+        }
+        return archive;
+    }
+
+    /**
+     * Archive location for {@code jar}; it exists only once trained.
+     */
+    public static Path archiveFor(String version, Path jar) throws IOException {
+        Path absolute = jar.toAbsolutePath().normalize();
+        String identity = absolute + "|" + Files.size(absolute) + "|" + Files.getLastModifiedTime(absolute).toMillis();
+        byte[] digest = FileUtils.newSha256().digest(identity.getBytes(StandardCharsets.UTF_8));
+        String name = absolute.getFileName().toString().replaceAll("\\.jar$", "");
+        return archiveDirectory(version).resolve(name + "-" + HexFormat.of().formatHex(digest, 0, 6) + ".jsa");
+    }
+
+    /**
+     * Trained archive for {@code jar}, if one exists and still matches the jar.
+     */
+    public static Optional<Path> findArchive(String version, Path jar) {
+        try {
+            Path archive = archiveFor(version, jar);
+            return Files.isRegularFile(archive) ? Optional.of(archive) : Optional.empty();
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    public static void setDefaultArchive(String version, Path archive) throws IOException {
+        Files.writeString(archiveDirectory(version).resolve(DEFAULT_MARKER), archive.getFileName().toString());
+    }
+
+    public static Optional<Path> defaultArchive(String version) {
+        Path marker = archiveDirectory(version).resolve(DEFAULT_MARKER);
+        try {
+            if (Files.isRegularFile(marker)) {
+                Path archive = marker.resolveSibling(Files.readString(marker).trim());
+                if (Files.isRegularFile(archive)) {
+                    return Optional.of(archive);
+                }
+            }
+        } catch (IOException e) {
+            // Fall through: no usable default archive.
+        }
+        return Optional.empty();
+    }
+
+    public static List<Path> listArchives(String version) throws IOException {
+        Path directory = archiveDirectory(version);
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(".jsa")).sorted().toList();
+        }
+    }
+
+    /**
+     * JVM options that map {@code archive} in. Logging for the cds tags is
+     * silenced so a JVM started for another application (class path mismatch)
+     * quietly runs without the archive instead of printing warnings.
+     */
+    public static String jvmOptions(Path archive) {
+        String option = "-XX:SharedArchiveFile=" + archive;
+        if (option.contains(" ")) {
+            option = "\"" + option + "\"";
+        }
+        return option + " -Xshare:auto -Xlog:cds*=off";
+    }
+
+    /**
+     * {@code options} without the tokens {@link #jvmOptions} added for an archive of ours,
+     * keeping whatever else the user put there; {@code null} if nothing is left.
+     */
+    public static String stripManagedOptions(String options) {
+        if (options == null) {
+            return null;
+        }
+        String archive = Pattern.quote("-XX:SharedArchiveFile=" + archiveDirectory(""));
+        String stripped = options
+                .replaceAll("\\s*(\"" + archive + "[^\"]*\"|" + archive + "\\S*)( -Xshare:auto)?( -Xlog:cds\\*=off)?", "")
+                .strip();
+        return stripped.isEmpty() ? null : stripped;
+    }
+
+    private static Path java(Path jdkHome) throws IOException {
+        Path java = jdkHome.resolve("bin").resolve(Platform.executableName("java"));
+        if (!Files.isExecutable(java)) {
+            throw new IOException("java executable not found in " + jdkHome);
+        }
+        return java;
+    }
+
+    private static void run(String phase, List<String> command) throws IOException, InterruptedException {
+        Timer.Sample sample = MetricsRegistry.global().timer(phase).start();
+        try {
+            Process process = ProcessMetrics.start(new ProcessBuilder(command).redirectErrorStream(true));
+            String output = new String(process.getInputStream().readAllBytes());
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new IOException(command.get(0) + " failed (exit " + exitCode + "): " + output.trim());
+            }
+        } finally {
+            sample.stop();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.Platform;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Builds child processes that run against one managed JDK without touching the
+ * user's global environment: {@code JAVA_HOME} and {@code PATH} are set only in
+ * the child, and the JDK's default or per-jar CDS archive is added through
+ * {@code JDK_JAVA_OPTIONS}.
+ */
+public final class JavaExecService {
+
+    private JavaExecService() {
+    }
+
+    /**
+     * @param version name of the installed version (used for CDS lookups)
+     * @param home    JDK home
+     * @param command command line; a bare tool name such as {@code java} or {@code mvn}
+     *                is resolved against the JDK's {@code bin} first
+     */
+    public static ProcessBuilder prepare(String version, Path home, List<String> command, boolean cds) {
+        Path bin = home.resolve("bin");
+        List<String> resolved = new ArrayList<>(command);
+        // ProcessBuilder looks executables up on *our* PATH, not the child's, so resolve JDK tools here.
+        String program = command.get(0);
+        if (!program.contains("/") && !program.contains(File.separator)) {
+            Path tool = bin.resolve(Platform.executableName(program));
+            if (Files.isExecutable(tool)) {
+                resolved.set(0, tool.toString());
+            }
+        }
+
+        ProcessBuilder processBuilder = new ProcessBuilder(resolved);
+        Map<String, String> environment = processBuilder.environment();
+        environment.put("JAVA_HOME", home.toString());
+        String pathKey = environment.keySet().stream()
+                .filter(key -> key.equalsIgnoreCase("PATH"))
+                .findFirst()
+                .orElse("PATH");
+        String path = environment.get(pathKey);
+        environment.put(pathKey, path == null || path.isEmpty() ? bin.toString() : bin + File.pathSeparator + path);
+
+        if (cds) {
+            cdsArchive(version, resolved).ifPresent(archive ->
+                    environment.put("JDK_JAVA_OPTIONS", withArchive(environment.get("JDK_JAVA_OPTIONS"), archive)));
+        }
+        return processBuilder;
+    }
+
+    /**
+     * {@code JDK_JAVA_OPTIONS} for the child: an archive of ours left over from another
+     * version is replaced, and the user's own options (their own archive included) are kept.
+     */
+    static String withArchive(String inherited, Path archive) {
+        String existing = JavaCdsService.stripManagedOptions(inherited);
+        if (existing == null) {
+            return JavaCdsService.jvmOptions(archive);
+        }
+        return existing.contains("SharedArchiveFile") ? existing : existing + " " + JavaCdsService.jvmOptions(archive);
+    }
+
+    /**
+     * A trained archive for {@code java ... -jar app.jar}, else the version's default archive.
+     */
+    static Optional<Path> cdsArchive(String version, List<String> command) {
+        Path program = Path.of(command.get(0)).getFileName();
+        if (program == null || !program.toString().equals(Platform.executableName("java"))) {
+            return Optional.empty();
+        }
+        int jarFlag = command.indexOf("-jar");
+        if (jarFlag > 0 && jarFlag + 1 < command.size()) {
+            Optional<Path> trained = JavaCdsService.findArchive(version, Path.of(command.get(jarFlag + 1)));
+            if (trained.isPresent()) {
+                return trained;
+            }
+        }
+        return JavaCdsService.defaultArchive(version);
+    }
+}
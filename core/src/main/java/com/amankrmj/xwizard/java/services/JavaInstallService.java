@@ -0,0 +1,101 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.archive.ArchiveExtractor;
+import com.amankrmj.xwizard.common.archive.FileManifest;
+import com.amankrmj.xwizard.common.model.VersionInfo;
+import com.amankrmj.xwizard.common.state.StagedDirectory;
+import com.amankrmj.xwizard.common.state.StateLock;
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Installs JDKs into the managed versions directory from catalog entries or local archives.
+ * <p>
+ * The target is locked for the whole install and the archive is extracted into a
+ * hidden staging directory that is renamed into place, so concurrent invocations
+ * and crashes never expose a half-extracted JDK. Managed installs also record a
+ * per-file manifest for {@code java verify}.
+ */
+public class JavaInstallService {
+
+    private final JavaArchiveDownloadService downloadService;
+
+    public JavaInstallService() {
+        this(new JavaArchiveDownloadService());
+    }
+
+    public JavaInstallService(JavaArchiveDownloadService downloadService) {
+        this.downloadService = downloadService;
+    }
+
+    public Path install(VersionInfo info, Path target, boolean force) throws IOException {
+        return install(info, target, force, null);
+    }
+
+    /**
+     * @param expectedSha256 if set, the archive must have this SHA-256; a mismatching
+     *                       cached archive is deleted so the next attempt downloads it again
+     */
+    public Path install(VersionInfo info, Path target, boolean force, String expectedSha256) throws IOException {
+        Path archive = downloadService.download(info);
+        if (expectedSha256 != null) {
+            String actual = FileUtils.sha256(archive);
+            if (!actual.equalsIgnoreCase(expectedSha256)) {
+                Files.deleteIfExists(archive);
+                throw new IOException("Checksum mismatch for " + archive.getFileName() + ": expected "
+                        + expectedSha256 + ", got " + actual);
+            }
+        }
+        return installArchive(archive, target, force, JavaArchiveDownloadService.archiveUri(info).toString());
+    }
+
+    /**
+     * Extract {@code archive} so that {@code target} becomes the JDK home.
+     *
+     * @throws IOException if {@code target} already exists and {@code force} is not set
+     */
+    public Path installArchive(Path archive, Path target, boolean force) throws IOException {
+        return installArchive(archive, target, force, archive.toAbsolutePath().toString());
+    }
+
+    private Path installArchive(Path archive, Path target, boolean force, String source) throws IOException {
+        if (!ArchiveExtractor.isSupported(archive.getFileName().toString())) {
+            throw new IOException("Unsupported archive format: " + archive.getFileName());
+        }
+        try (StateLock ignored = StateLock.forDirectory(target)) {
+            if (Files.exists(target) && !force) {
+                throw new IOException("Already installed: " + target + " (use --force to reinstall)");
+            }
+            Files.createDirectories(target.toAbsolutePath().getParent());
+            Path staging = StagedDirectory.prepare(target, "staging");
+            boolean managed = isManaged(target);
+            FileManifest manifest = null;
+            try {
+                ArchiveExtractor.extract(archive, staging);
+                if (managed) {
+                    manifest = FileManifest.scan(staging);
+                }
+                StagedDirectory.commit(staging, target);
+            } catch (IOException e) {
+                FileUtils.deleteRecursively(staging);
+                throw e;
+            }
+            if (managed) {
+                String name = target.getFileName().toString();
+                // Written after the commit so its timestamp postdates every file (see JavaVerifyService).
+                manifest.write(JavaUpgradeService.manifestFile(name));
+                InstalledVersionIndex.record(name, source);
+            }
+        }
+        return target;
+    }
+
+    static boolean isManaged(Path home) {
+        Path parent = home.toAbsolutePath().normalize().getParent();
+        return parent != null && parent.equals(JavaVersionManagerUtils.getJavaVersionsDirectory().toAbsolutePath().normalize());
+    }
+}
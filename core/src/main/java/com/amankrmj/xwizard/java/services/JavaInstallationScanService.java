@@ -0,0 +1,154 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.Platform;
+import com.amankrmj.xwizard.common.concurrent.TaskScope;
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Finds JDKs installed outside JavaWizard: the usual per-platform install
+ * directories, SDKMAN, IntelliJ's {@code ~/.jdks} and {@code JAVA_HOME}.
+ * <p>
+ * Each directory is listed and each JDK probed in its own task; a JDK's version
+ * comes from its {@code release} file, or from {@code java -version} if it has none.
+ */
+public class JavaInstallationScanService {
+
+    private static final Pattern QUOTED_VERSION = Pattern.compile("\"([^\"]+)\"");
+
+    /**
+     * @param version the JDK's version, or a short reason it could not be determined
+     */
+    public record Installation(Path home, String version, String vendor, boolean probed) {
+    }
+
+    public static List<Path> searchRoots() {
+        String userHome = System.getProperty("user.home");
+        List<Path> roots = new ArrayList<>();
+        if (Platform.isWindows()) {
+            for (String programFiles : List.of("C:\\Program Files", "C:\\Program Files (x86)")) {
+                roots.add(Path.of(programFiles, "Java"));
+                roots.add(Path.of(programFiles, "Eclipse Adoptium"));
+                roots.add(Path.of(programFiles, "Microsoft"));
+                roots.add(Path.of(programFiles, "Zulu"));
+                roots.add(Path.of(programFiles, "Amazon Corretto"));
+            }
+        } else if (Platform.isMac()) {
+            roots.add(Path.of("/Library/Java/JavaVirtualMachines"));
+            roots.add(Path.of(userHome, "Library", "Java", "JavaVirtualMachines"));
+        } else {
+            roots.add(Path.of("/usr/lib/jvm"));
+            roots.add(Path.of("/usr/java"));
+            roots.add(Path.of("/opt/java"));
+        }
+        roots.add(Path.of(userHome, ".jdks"));
+        roots.add(Path.of(userHome, ".sdkman", "candidates", "java"));
+        return roots;
+    }
+
+    /**
+     * Every JDK under the search roots and {@code JAVA_HOME}, probed by the deadline.
+     * Symlinked aliases ({@code default-java}, SDKMAN's {@code current}) are listed once.
+     */
+    public List<Installation> scan(Instant deadline) throws InterruptedException {
+        List<Path> roots = searchRoots();
+        List<TaskScope.Subtask<List<Path>>> listings = new ArrayList<>();
+        Set<Path> homes = new LinkedHashSet<>();
+        try (TaskScope scope = TaskScope.open(deadline)) {
+            for (Path root : roots) {
+                listings.add(scope.fork("list " + root, () -> findHomes(root)));
+            }
+            scope.join();
+        }
+        for (TaskScope.Subtask<List<Path>> listing : listings) {
+            homes.addAll(listing.orElse(List.of()));
+        }
+        String javaHome = System.getenv("JAVA_HOME");
+        if (javaHome != null && !javaHome.isBlank() && isJdkHome(Path.of(javaHome)) && !isManaged(Path.of(javaHome))) {
+            homes.add(realPath(Path.of(javaHome)));
+        }
+
+        List<Path> ordered = new ArrayList<>(homes);
+        List<TaskScope.Subtask<Installation>> probes = new ArrayList<>();
+        try (TaskScope scope = TaskScope.open(deadline)) {
+            for (Path home : ordered) {
+                probes.add(scope.fork("probe " + home, () -> probe(home)));
+            }
+            scope.join();
+        }
+        List<Installation> installations = new ArrayList<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            TaskScope.Subtask<Installation> probe = probes.get(i);
+            installations.add(probe.orElse(new Installation(ordered.get(i), "(" + probe.failureMessage() + ")", null, false)));
+        }
+        installations.sort(Comparator.comparing(Installation::home));
+        return installations;
+    }
+
+    /**
+     * JDK homes directly under {@code root}, resolved to their real paths.
+     */
+    static List<Path> findHomes(Path root) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        Set<Path> homes = new LinkedHashSet<>();
+        try (Stream<Path> children = Files.list(root)) {
+            for (Path child : children.sorted().toList()) {
+                // macOS bundles keep the JDK in Contents/Home.
+                for (Path candidate : List.of(child, child.resolve("Contents").resolve("Home"))) {
+                    if (isJdkHome(candidate)) {
+                        homes.add(realPath(candidate));
+                        break;
+                    }
+                }
+            }
+        }
+        return List.copyOf(homes);
+    }
+
+    private static boolean isJdkHome(Path path) {
+        return Files.isRegularFile(path.resolve("bin").resolve(Platform.executableName("java")));
+    }
+
+    /**
+     * Whether {@code home} is one of the managed versions, which are already listed separately.
+     */
+    private static boolean isManaged(Path home) {
+        Path versionsDir = JavaVersionManagerUtils.getJavaVersionsDirectory();
+        return home.toAbsolutePath().normalize().startsWith(versionsDir.toAbsolutePath().normalize())
+                || realPath(home).startsWith(realPath(versionsDir));
+    }
+
+    private static Path realPath(Path path) {
+        try {
+            return path.toRealPath();
+        } catch (IOException e) {
+            return path.toAbsolutePath().normalize();
+        }
+    }
+
+    static Installation probe(Path home) throws IOException, InterruptedException {
+        String vendor = JavaVersionManagerUtils.readReleaseProperty(home, "IMPLEMENTOR").orElse(null);
+        String version = JavaVersionManagerUtils.readReleaseProperty(home, "JAVA_VERSION").orElse(null);
+        if (version == null) {
+            Path java = home.resolve("bin").resolve(Platform.executableName("java"));
+            String output = TaskScope.capture(new ProcessBuilder(java.toString(), "-version"));
+            Matcher matcher = QUOTED_VERSION.matcher(output);
+            version = matcher.find() ? matcher.group(1) : "(unknown)";
+        }
+        return new Installation(home, version, vendor, true);
+    }
+}
@@ -0,0 +1,158 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.metrics.MetricsRegistry;
+import com.amankrmj.xwizard.common.metrics.ProcessMetrics;
+import com.amankrmj.xwizard.common.state.StateLock;
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Runs one command against several managed JDKs at once.
+ * <p>
+ * Every run gets its own environment (see {@link JavaExecService#prepare}) and its
+ * own log file; with working copies enabled it also gets a private copy of the
+ * project directory, so builds that write to {@code build/} or {@code target/}
+ * do not trip over each other. At most {@code jobs} processes run at a time.
+ */
+public class JavaMatrixService {
+
+    /**
+     * Build output and caches in the project root that are not copied into working
+     * copies. Nested directories with these names (a {@code src/.../build} package,
+     * say) are ordinary sources and are copied.
+     */
+    private static final Set<String> SKIPPED_DIRECTORIES = Set.of("build", "target", ".gradle");
+
+    public record Result(String requested, String version, int exitCode, Duration elapsed, Path log, String error) {
+
+        public boolean passed() {
+            return error == null && exitCode == 0;
+        }
+    }
+
+    private final Path projectDir;
+    private final Path logDir;
+    private final int jobs;
+    private final boolean workingCopies;
+    private final boolean keepWorkingCopies;
+
+    public JavaMatrixService(Path projectDir, Path logDir, int jobs, boolean workingCopies, boolean keepWorkingCopies) {
+        this.projectDir = projectDir.toAbsolutePath().normalize();
+        this.logDir = logDir;
+        this.jobs = Math.max(1, jobs);
+        this.workingCopies = workingCopies;
+        this.keepWorkingCopies = keepWorkingCopies;
+    }
+
+    /**
+     * @param versions  requested versions, resolved like {@code java exec} does; duplicates run once
+     * @param onStarted called with the resolved version name when its process starts
+     * @param onDone    called as each run finishes, from the worker thread
+     * @return one result per distinct version, in request order
+     */
+    public List<Result> run(List<String> versions, List<String> command,
+                            Consumer<String> onStarted, Consumer<Result> onDone) throws IOException, InterruptedException {
+        Files.createDirectories(logDir);
+        Path copiesRoot = workingCopies ? Files.createTempDirectory("javawizard-matrix-") : null;
+
+        List<String> seen = new ArrayList<>();
+        List<Future<Result>> futures = new ArrayList<>();
+        Semaphore slots = new Semaphore(jobs);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String requested : versions) {
+                String name = JavaVersionManagerUtils.resolveInstalledVersion(requested).orElse(null);
+                if (name != null && seen.contains(name)) {
+                    continue;
+                }
+                seen.add(name != null ? name : requested);
+                if (name != null) {
+                    // Here rather than in the workers, so they do not queue on the usage lock.
+                    JavaUsageLog.recordUse(name);
+                }
+                futures.add(executor.submit(() -> {
+                    slots.acquire();
+                    try {
+                        Result result = runOne(requested, name, command, copiesRoot, onStarted);
+                        onDone.accept(result);
+                        return result;
+                    } finally {
+                        slots.release();
+                    }
+                }));
+            }
+
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new IOException(e.getCause().getMessage(), e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            if (copiesRoot != null) {
+                if (keepWorkingCopies) {
+                    System.err.println("📁 Working copies kept in " + copiesRoot);
+                } else {
+                    FileUtils.deleteRecursively(copiesRoot);
+                }
+            }
+        }
+    }
+
+    private Result runOne(String requested, String name, List<String> command, Path copiesRoot,
+                          Consumer<String> onStarted) throws InterruptedException {
+        if (name == null) {
+            return new Result(requested, null, -1, Duration.ZERO, null, "not installed");
+        }
+        long start = System.nanoTime();
+        Path log = logDir.resolve(name.replaceAll("[^A-Za-z0-9._-]", "_") + ".log");
+
+        Path home = JavaVersionManagerUtils.getJavaVersionsDirectory().resolve(name);
+        try (StateLock lock = StateLock.sharedForDirectory(home)) {
+            Path workDir = projectDir;
+            if (copiesRoot != null) {
+                workDir = copiesRoot.resolve(name);
+                FileUtils.copyRecursively(projectDir, workDir,
+                        dir -> projectDir.equals(dir.getParent())
+                                && SKIPPED_DIRECTORIES.contains(dir.getFileName().toString()));
+            }
+
+            ProcessBuilder processBuilder = JavaExecService.prepare(name, home, command, true)
+                    .directory(workDir.toFile())
+                    .redirectErrorStream(true)
+                    .redirectOutput(log.toFile());
+            processBuilder.environment().put("JAVAWIZARD_MATRIX_VERSION", name);
+
+            onStarted.accept(name);
+            Process process = ProcessMetrics.start(processBuilder);
+            try {
+                int exitCode = process.waitFor();
+                MetricsRegistry.global().counter(exitCode == 0 ? "matrix.passed" : "matrix.failed").increment();
+                return new Result(requested, name, exitCode, Duration.ofNanos(System.nanoTime() - start), log, null);
+            } catch (InterruptedException e) {
+                process.descendants().forEach(ProcessHandle::destroy);
+                process.destroy();
+                throw e;
+            }
+        } catch (IOException e) {
+            MetricsRegistry.global().counter("matrix.failed").increment();
+            return new Result(requested, name, -1, Duration.ofNanos(System.nanoTime() - start), log, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.metrics.MetricsRegistry;
+import com.amankrmj.xwizard.common.state.StagedDirectory;
+import com.amankrmj.xwizard.common.state.StateLock;
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Evicts least-recently-used managed versions down to a disk budget and/or age
+ * limit. Pinned versions and the current {@code JAVA_HOME} (this process's and the
+ * persisted user one, which a new shell will get) are never evicted, and do not
+ * count against the budget.
+ */
+public class JavaPruneService {
+
+    public record InstalledVersion(String name, long sizeBytes, long lastUsedMillis, boolean protectedVersion) {
+    }
+
+    public record PrunePlan(List<InstalledVersion> evict, List<InstalledVersion> keep) {
+
+        public long reclaimableBytes() {
+            return evict.stream().mapToLong(InstalledVersion::sizeBytes).sum();
+        }
+
+        public long remainingBytes() {
+            return keep.stream().mapToLong(InstalledVersion::sizeBytes).sum();
+        }
+    }
+
+    /**
+     * @param skipped planned versions left in place because another javawizard
+     *                operation held them (installing, upgrading or using them)
+     */
+    public record PruneResult(List<InstalledVersion> removed, List<InstalledVersion> skipped) {
+
+        public long reclaimedBytes() {
+            return removed.stream().mapToLong(InstalledVersion::sizeBytes).sum();
+        }
+    }
+
+    private enum Outcome {
+        REMOVED, SKIPPED, GONE
+    }
+
+    /**
+     * @param maxBytes   disk budget for the versions that may be evicted, or {@code null}
+     * @param olderThan  evict versions not used for this long, or {@code null}
+     */
+    public PrunePlan plan(Long maxBytes, Duration olderThan) throws IOException {
+        List<InstalledVersion> installed = scan();
+        long now = System.currentTimeMillis();
+
+        List<InstalledVersion> evict = new ArrayList<>();
+        List<InstalledVersion> keep = new ArrayList<>();
+        // Least recently used first.
+        installed.sort(Comparator.comparingLong(InstalledVersion::lastUsedMillis));
+
+        // Protected versions stay whatever the budget, so they must not push others out.
+        long total = installed.stream()
+                .filter(version -> !version.protectedVersion())
+                .mapToLong(InstalledVersion::sizeBytes)
+                .sum();
+        for (InstalledVersion version : installed) {
+            boolean stale = olderThan != null && now - version.lastUsedMillis() > olderThan.toMillis();
+            boolean overBudget = maxBytes != null && total > maxBytes;
+            if (!version.protectedVersion() && (stale || overBudget)) {
+                evict.add(version);
+                total -= version.sizeBytes();
+            } else {
+                keep.add(version);
+            }
+        }
+        return new PrunePlan(evict, keep);
+    }
+
+    /**
+     * Delete the planned versions in parallel, including their manifests and CDS archives.
+     * Versions that are already gone appear in neither list of the result.
+     */
+    public PruneResult execute(PrunePlan plan) throws IOException {
+        Path versionsDir = JavaVersionManagerUtils.getJavaVersionsDirectory();
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(plan.evict().size(), Runtime.getRuntime().availableProcessors())));
+        try {
+            List<Future<Outcome>> futures = new ArrayList<>();
+            for (InstalledVersion version : plan.evict()) {
+                futures.add(executor.submit(() -> {
+                    Path home = versionsDir.resolve(version.name());
+                    // A version that is being installed, upgraded or switched to right now is skipped.
+                    Optional<StateLock> lock = StateLock.tryForDirectory(home);
+                    if (lock.isEmpty()) {
+                        return Outcome.SKIPPED;
+                    }
+                    try (StateLock ignored = lock.get()) {
+                        if (!Files.exists(home)) {
+                            return Outcome.GONE;
+                        }
+                        // Hide the version first so 'list'/'use' never see a half-deleted JDK.
+                        Path doomed = StagedDirectory.prepare(home, "deleting");
+                        Files.move(home, doomed, StandardCopyOption.ATOMIC_MOVE);
+                        FileUtils.deleteRecursively(doomed);
+                        Files.deleteIfExists(JavaUpgradeService.manifestFile(version.name()));
+                        FileUtils.deleteRecursively(JavaCdsService.archiveDirectory(version.name()));
+                        InstalledVersionIndex.remove(version.name());
+                        return Outcome.REMOVED;
+                    }
+                }));
+            }
+            List<InstalledVersion> removed = new ArrayList<>();
+            List<InstalledVersion> skipped = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                switch (futures.get(i).get()) {
+                    case REMOVED -> removed.add(plan.evict().get(i));
+                    case SKIPPED -> skipped.add(plan.evict().get(i));
+                    case GONE -> {
+                    }
+                }
+            }
+            PruneResult result = new PruneResult(removed, skipped);
+            MetricsRegistry.global().counter("prune.bytes").add(result.reclaimedBytes());
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Prune interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Managed versions that {@code JAVA_HOME} points into, in this process or in the persisted user environment.
+     */
+    private static Set<String> currentVersions(Path versionsDir) throws IOException {
+        List<String> homes = new ArrayList<>();
+        homes.add(System.getenv("JAVA_HOME"));
+        try {
+            homes.add(JavaVersionManagerUtils.getUserEnvironmentVariable("JAVA_HOME"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading JAVA_HOME", e);
+        }
+        Path root = versionsDir.toAbsolutePath().normalize();
+        Set<String> current = new HashSet<>();
+        for (String home : homes) {
+            if (home == null || home.isBlank()) {
+                continue;
+            }
+            try {
+                Path path = Path.of(home.strip()).toAbsolutePath().normalize();
+                if (path.startsWith(root) && !path.equals(root)) {
+                    current.add(root.relativize(path).getName(0).toString());
+                }
+            } catch (InvalidPathException e) {
+                // Not a path we manage.
+            }
+        }
+        return current;
+    }
+
+    private List<InstalledVersion> scan() throws IOException {
+        Path versionsDir = JavaVersionManagerUtils.getJavaVersionsDirectory();
+        List<String> names = JavaVersionManagerUtils.listInstalledVersions();
+        Map<String, Long> lastUsed = JavaUsageLog.lastUsed();
+        Map<String, InstalledVersionIndex.Entry> index = InstalledVersionIndex.snapshot();
+        Set<String> pinned = JavaUsageLog.pinned();
+        Set<String> current = currentVersions(versionsDir);
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(names.size(), Runtime.getRuntime().availableProcessors())));
+        try {
+            List<Future<InstalledVersion>> futures = new ArrayList<>();
+            for (String name : names) {
+                futures.add(executor.submit(() -> {
+                    Path home = versionsDir.resolve(name);
+                    InstalledVersionIndex.Entry indexed = index.get(name);
+                    long fallback = indexed != null ? indexed.installedAt() : Files.getLastModifiedTime(home).toMillis();
+                    long used = lastUsed.getOrDefault(name, fallback);
+                    boolean protectedVersion = pinned.contains(name) || current.contains(name);
+                    return new InstalledVersion(name, FileUtils.size(home), used, protectedVersion);
+                }));
+            }
+            List<InstalledVersion> installed = new ArrayList<>();
+            for (Future<InstalledVersion> future : futures) {
+                installed.add(future.get());
+            }
+            return installed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Scan interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.Platform;
+import com.amankrmj.xwizard.common.archive.FileManifest;
+import com.amankrmj.xwizard.common.metrics.MetricsRegistry;
+import com.amankrmj.xwizard.common.metrics.ProcessMetrics;
+import com.amankrmj.xwizard.common.metrics.Timer;
+import com.amankrmj.xwizard.common.state.StagedDirectory;
+import com.amankrmj.xwizard.common.state.StateLock;
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds trimmed runtime images with the {@code jlink} of an installed JDK.
+ * Images are stripped of debug info, man pages and header files.
+ */
+public class JavaSlimService {
+
+    /**
+     * @param jdkHome JDK providing {@code jlink} and the modules
+     * @param modules root modules to include (their dependencies are added by jlink)
+     * @param target  runtime directory to create
+     */
+    public Path slim(Path jdkHome, List<String> modules, Path target, boolean force)
+            throws IOException, InterruptedException {
+        Path jlink = jdkHome.resolve("bin").resolve(Platform.executableName("jlink"));
+        if (!Files.isExecutable(jlink)) {
+            throw new IOException("jlink not found in " + jdkHome + " (a full JDK 9+ is required)");
+        }
+        try (StateLock source = StateLock.forDirectory(jdkHome);
+             StateLock destination = StateLock.forDirectory(target)) {
+            if (Files.exists(target) && !force) {
+                throw new IOException("Already exists: " + target + " (use --force to rebuild)");
+            }
+            Path runtime = link(jlink, jdkHome, modules, target);
+            if (JavaInstallService.isManaged(target)) {
+                FileManifest.scan(runtime).write(JavaUpgradeService.manifestFile(target.getFileName().toString()));
+                InstalledVersionIndex.record(target.getFileName().toString(),
+                        "jlink:" + jdkHome.getFileName() + ":" + String.join(",", modules));
+            }
+            return runtime;
+        }
+    }
+
+    private Path link(Path jlink, Path jdkHome, List<String> modules, Path target)
+            throws IOException, InterruptedException {
+        // jlink refuses to write into an existing directory, so build next to the target and rename.
+        Path staging = StagedDirectory.prepare(target, "jlink");
+
+        List<String> command = new ArrayList<>(List.of(
+                jlink.toString(),
+                "--add-modules", String.join(",", modules),
+                "--strip-debug",
+                "--no-man-pages",
+                "--no-header-files",
+                "--compress=" + compressArgument(jdkHome),
+                "--output", staging.toString()));
+
+        Timer.Sample sample = MetricsRegistry.global().timer("phase.jlink").start();
+        try {
+            Process process = ProcessMetrics.start(new ProcessBuilder(command).redirectErrorStream(true));
+            String output = new String(process.getInputStream().readAllBytes());
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                FileUtils.deleteRecursively(staging);
+                throw new IOException("jlink failed (exit " + exitCode + "): " + output.trim());
+            }
+            StagedDirectory.commit(staging, target);
+            return target;
+        } finally {
+            sample.stop();
+        }
+    }
+
+    /**
+     * JDK 21 replaced the numeric compression levels with {@code zip-N}.
+     */
+    private static String compressArgument(Path jdkHome) {
+        String version = JavaVersionManagerUtils.readReleaseProperty(jdkHome, "JAVA_VERSION").orElse("");
+        String major = JavaVersionManagerUtils.majorVersion(version);
+        try {
+            return Integer.parseInt(major) >= 21 ? "zip-6" : "2";
+        } catch (NumberFormatException e) {
+            return "2";
+        }
+    }
+}
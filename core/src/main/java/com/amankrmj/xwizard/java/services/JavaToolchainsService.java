@@ -0,0 +1,288 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.Platform;
+import com.amankrmj.xwizard.common.WizardHome;
+import com.amankrmj.xwizard.common.state.StateLock;
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Registers managed JDKs with Maven ({@code ~/.m2/toolchains.xml}) and Gradle
+ * ({@code org.gradle.java.installations.paths} in {@code ~/.gradle/gradle.properties}).
+ * <p>
+ * Only JavaWizard's own section of each file is touched: a marked block in
+ * toolchains.xml, and in gradle.properties the entries of one key that lie under the
+ * managed versions directory (paths the user listed there themselves are kept). A fingerprint of the registered
+ * set is kept in {@code ~/.javawizard/state/toolchains.fingerprint}, so a sync with
+ * nothing new does not rewrite either file.
+ */
+public class JavaToolchainsService {
+
+    static final String BEGIN_MARKER = "<!-- javawizard:begin (managed by 'javawizard java toolchains sync') -->";
+    static final String END_MARKER = "<!-- javawizard:end -->";
+    static final String GRADLE_KEY = "org.gradle.java.installations.paths";
+
+    public record Toolchain(String name, String version, String vendor, Path home) {
+    }
+
+    /**
+     * @param error why the sync failed, or {@code null}; only {@link #syncAfterChange()} reports failures this way
+     */
+    public record SyncResult(boolean changed, List<Toolchain> toolchains, Path mavenFile, Path gradleFile,
+                             String error) {
+
+        public boolean failed() {
+            return error != null;
+        }
+    }
+
+    public static Path mavenToolchainsFile() {
+        return Paths.get(System.getProperty("user.home"), ".m2", "toolchains.xml");
+    }
+
+    public static Path gradlePropertiesFile() {
+        String gradleHome = System.getenv("GRADLE_USER_HOME");
+        Path directory = gradleHome != null && !gradleHome.isBlank()
+                ? Paths.get(gradleHome)
+                : Paths.get(System.getProperty("user.home"), ".gradle");
+        return directory.resolve("gradle.properties");
+    }
+
+    static Path fingerprintFile() {
+        return WizardHome.directory().resolve("state").resolve("toolchains.fingerprint");
+    }
+
+    /**
+     * Full JDKs in the managed versions directory; jlink runtimes without a compiler are left out.
+     */
+    public List<Toolchain> discover() throws IOException {
+        Path versionsDir = JavaVersionManagerUtils.getJavaVersionsDirectory();
+        List<Toolchain> toolchains = new ArrayList<>();
+        for (String name : JavaVersionManagerUtils.listInstalledVersions()) {
+            Path home = versionsDir.resolve(name).toAbsolutePath();
+            if (!Files.isRegularFile(home.resolve("bin").resolve(Platform.executableName("javac")))) {
+                continue;
+            }
+            String version = JavaVersionManagerUtils.readReleaseProperty(home, "JAVA_VERSION").orElse(name);
+            String vendor = JavaVersionManagerUtils.readReleaseProperty(home, "IMPLEMENTOR").orElse("unknown");
+            toolchains.add(new Toolchain(name, version, vendor, home));
+        }
+        return toolchains;
+    }
+
+    public SyncResult sync(boolean force) throws IOException {
+        Path mavenFile = mavenToolchainsFile();
+        Path gradleFile = gradlePropertiesFile();
+        try (StateLock ignored = StateLock.acquire("toolchains")) {
+            List<Toolchain> toolchains = discover();
+            String fingerprint = fingerprint(toolchains);
+            if (!force && fingerprint.equals(readFingerprint()) && isRegistered(mavenFile, gradleFile)) {
+                return new SyncResult(false, toolchains, mavenFile, gradleFile, null);
+            }
+
+            writeAtomically(mavenFile, mergeMaven(readOrNull(mavenFile), toolchains));
+            writeAtomically(gradleFile, mergeGradle(readOrNull(gradleFile), toolchains,
+                    JavaVersionManagerUtils.getJavaVersionsDirectory().toAbsolutePath().normalize()));
+            writeAtomically(fingerprintFile(), fingerprint + "\n");
+            return new SyncResult(true, toolchains, mavenFile, gradleFile, null);
+        }
+    }
+
+    /**
+     * Sync after versions were added or removed. A failure is returned in the result
+     * rather than thrown, so it never fails the caller; reporting it is up to the caller.
+     */
+    public static SyncResult syncAfterChange() {
+        try {
+            return new JavaToolchainsService().sync(false);
+        } catch (IOException e) {
+            return new SyncResult(false, List.of(), mavenToolchainsFile(), gradlePropertiesFile(), e.getMessage());
+        }
+    }
+
+    static String mergeMaven(String existing, List<Toolchain> toolchains) throws IOException {
+        StringBuilder block = new StringBuilder();
+        block.append("  ").append(BEGIN_MARKER).append('\n');
+        for (Toolchain toolchain : toolchains) {
+            block.append("  <toolchain>\n")
+                    .append("    <type>jdk</type>\n")
+                    .append("    <provides>\n")
+                    .append("      <version>").append(xml(toolchain.version())).append("</version>\n")
+                    .append("      <vendor>").append(xml(toolchain.vendor())).append("</vendor>\n")
+                    .append("      <id>javawizard-").append(xml(toolchain.name())).append("</id>\n")
+                    .append("    </provides>\n")
+                    .append("    <configuration>\n")
+                    .append("      <jdkHome>").append(xml(toolchain.home().toString())).append("</jdkHome>\n")
+                    .append("    </configuration>\n")
+                    .append("  </toolchain>\n");
+        }
+        block.append("  ").append(END_MARKER).append('\n');
+
+        if (existing == null || existing.isBlank()) {
+            return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<toolchains>\n" + block + "</toolchains>\n";
+        }
+
+        int begin = existing.indexOf(BEGIN_MARKER);
+        int end = existing.indexOf(END_MARKER);
+        if (begin >= 0 && end > begin) {
+            int lineStart = existing.lastIndexOf('\n', begin) + 1;
+            int lineEnd = existing.indexOf('\n', end);
+            lineEnd = lineEnd < 0 ? existing.length() : lineEnd + 1;
+            return existing.substring(0, lineStart) + block + existing.substring(lineEnd);
+        }
+
+        int close = existing.lastIndexOf("</toolchains>");
+        if (close < 0) {
+            throw new IOException(mavenToolchainsFile() + " has no </toolchains> element; not modifying it");
+        }
+        int lineStart = existing.lastIndexOf('\n', close) + 1;
+        String insertAt = existing.substring(lineStart, close).isBlank() ? existing.substring(0, lineStart) : existing.substring(0, close) + "\n";
+        return insertAt + block + existing.substring(close);
+    }
+
+    /**
+     * Rewrite the installation paths key so it lists every managed JDK, dropping entries
+     * under {@code managedRoot} that are no longer installed and keeping all others.
+     */
+    static String mergeGradle(String existing, List<Toolchain> toolchains, Path managedRoot) {
+        List<String> lines = new ArrayList<>();
+        List<String> paths = new ArrayList<>();
+        int at = -1;
+        if (existing != null) {
+            String[] split = existing.split("\\R", -1);
+            for (int i = 0; i < split.length; i++) {
+                String current = split[i];
+                if (!isGradleKeyLine(current)) {
+                    lines.add(current);
+                    continue;
+                }
+                // A value continued onto the next line ends with an unescaped backslash.
+                StringBuilder value = new StringBuilder(current);
+                while (endsWithContinuation(value) && i + 1 < split.length) {
+                    value.setLength(value.length() - 1);
+                    value.append(split[++i].stripLeading());
+                }
+                for (String entry : gradleValue(value.toString()).split(",")) {
+                    String path = entry.strip();
+                    if (!path.isEmpty() && !isManaged(path, managedRoot) && !paths.contains(path)) {
+                        paths.add(path);
+                    }
+                }
+                if (at < 0) {
+                    at = lines.size();
+                }
+            }
+            if (!lines.isEmpty() && lines.get(lines.size() - 1).isEmpty()) {
+                lines.remove(lines.size() - 1);
+            }
+        }
+        for (Toolchain toolchain : toolchains) {
+            paths.add(toolchain.home().toString());
+        }
+        if (!paths.isEmpty()) {
+            String line = GRADLE_KEY + "=" + paths.stream()
+                    .map(path -> path.replace("\\", "\\\\"))
+                    .collect(Collectors.joining(","));
+            lines.add(at < 0 ? lines.size() : at, line);
+        }
+        return lines.isEmpty() ? "" : String.join("\n", lines) + "\n";
+    }
+
+    private static boolean isManaged(String path, Path managedRoot) {
+        try {
+            return Paths.get(path).toAbsolutePath().normalize().startsWith(managedRoot);
+        } catch (InvalidPathException e) {
+            return false;
+        }
+    }
+
+    private static boolean endsWithContinuation(CharSequence line) {
+        int backslashes = 0;
+        for (int i = line.length() - 1; i >= 0 && line.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    /**
+     * The unescaped value of a {@code key=value} line in {@code .properties} syntax.
+     */
+    private static String gradleValue(String line) {
+        String rest = line.stripLeading().substring(GRADLE_KEY.length()).stripLeading().substring(1).stripLeading();
+        StringBuilder value = new StringBuilder(rest.length());
+        for (int i = 0; i < rest.length(); i++) {
+            char c = rest.charAt(i);
+            if (c == '\\' && i + 1 < rest.length()) {
+                c = rest.charAt(++i);
+            }
+            value.append(c);
+        }
+        return value.toString();
+    }
+
+    private static boolean isGradleKeyLine(String line) {
+        String trimmed = line.stripLeading();
+        if (!trimmed.startsWith(GRADLE_KEY)) {
+            return false;
+        }
+        String rest = trimmed.substring(GRADLE_KEY.length()).stripLeading();
+        return rest.startsWith("=") || rest.startsWith(":");
+    }
+
+    private static boolean isRegistered(Path mavenFile, Path gradleFile) throws IOException {
+        String maven = readOrNull(mavenFile);
+        return maven != null && maven.contains(BEGIN_MARKER) && Files.exists(gradleFile);
+    }
+
+    private static String fingerprint(List<Toolchain> toolchains) {
+        MessageDigest digest = FileUtils.newSha256();
+        for (Toolchain toolchain : toolchains) {
+            digest.update((toolchain.name() + "\t" + toolchain.version() + "\t" + toolchain.vendor() + "\t"
+                    + toolchain.home() + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String readFingerprint() throws IOException {
+        String content = readOrNull(fingerprintFile());
+        return content == null ? "" : content.strip();
+    }
+
+    private static String readOrNull(Path file) throws IOException {
+        try {
+            return Files.readString(file, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private static void writeAtomically(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = Files.createTempFile(file.getParent(), "." + file.getFileName(), ".tmp");
+        try {
+            Files.writeString(tmp, content, StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static String xml(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                .replace("\"", "&quot;").replace("'", "&apos;");
+    }
+}
@@ -0,0 +1,247 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.WizardHome;
+import com.amankrmj.xwizard.common.archive.FileManifest;
+import com.amankrmj.xwizard.common.http.MirroredHttpClient;
+import com.amankrmj.xwizard.common.metrics.MetricsRegistry;
+import com.amankrmj.xwizard.common.metrics.Timer;
+import com.amankrmj.xwizard.common.model.VersionInfo;
+import com.amankrmj.xwizard.common.state.StagedDirectory;
+import com.amankrmj.xwizard.common.state.StateLock;
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Upgrades an installed JDK to a newer patch release by fetching only the files
+ * whose content changed.
+ * <p>
+ * The catalog publishes {@code <archive>.manifest} (see {@link FileManifest}) and
+ * the file contents as {@code objects/<sha256>} next to the archive. Files whose
+ * hash already exists in the installed version are copied from it (never linked, so
+ * the two homes stay independent) and re-hashed, as the old home may have been edited
+ * since its manifest was recorded; the rest are fetched in parallel and checked as
+ * they arrive. Without a published manifest the upgrade falls back to a full archive
+ * install.
+ */
+public class JavaUpgradeService {
+
+    private static final int PARALLEL_FETCHES = 8;
+
+    private final MirroredHttpClient httpClient;
+    private final JavaInstallService installService;
+
+    public JavaUpgradeService() {
+        this(MirroredHttpClient.shared(), new JavaInstallService());
+    }
+
+    public JavaUpgradeService(MirroredHttpClient httpClient, JavaInstallService installService) {
+        this.httpClient = httpClient;
+        this.installService = installService;
+    }
+
+    public record UpgradeResult(Path home, boolean delta, int filesFetched, int filesReused,
+                                long bytesFetched, long totalBytes) {
+    }
+
+    /**
+     * Where the manifest of a managed version is recorded.
+     */
+    public static Path manifestFile(String installName) {
+        return WizardHome.directory().resolve("manifests").resolve(installName + ".manifest");
+    }
+
+    /**
+     * The recorded manifest of an installed version, hashing the install (and
+     * recording the result) if none exists yet.
+     */
+    public static FileManifest installedManifest(String installName) throws IOException {
+        Path file = manifestFile(installName);
+        if (Files.isRegularFile(file)) {
+            return FileManifest.read(file);
+        }
+        FileManifest manifest = FileManifest.scan(JavaVersionManagerUtils.getJavaVersionsDirectory().resolve(installName));
+        manifest.write(file);
+        return manifest;
+    }
+
+    /**
+     * @return the published manifest, or empty if the catalog does not provide one
+     */
+    public Optional<FileManifest> fetchManifest(VersionInfo info) throws IOException {
+        URI uri = URI.create(JavaArchiveDownloadService.archiveUri(info) + ".manifest");
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(), "http.manifest");
+            if (response.statusCode() == 404) {
+                return Optional.empty();
+            }
+            if (response.statusCode() != 200) {
+                throw new IOException("Unexpected status " + response.statusCode() + " for: " + uri);
+            }
+            return Optional.of(FileManifest.parse(response.body()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Request interrupted fetching: " + uri, e);
+        }
+    }
+
+    public UpgradeResult upgrade(String installedName, VersionInfo target, boolean forceFull) throws IOException {
+        Path versionsDir = JavaVersionManagerUtils.getJavaVersionsDirectory();
+        Path oldHome = versionsDir.resolve(installedName);
+        Path newHome = versionsDir.resolve(target.getVersion());
+        // The old home is read throughout, so keep prune/reinstall away from it too.
+        try (StateLock source = StateLock.forDirectory(oldHome);
+             StateLock destination = StateLock.forDirectory(newHome)) {
+            return upgrade(installedName, oldHome, newHome, target, forceFull);
+        }
+    }
+
+    private UpgradeResult upgrade(String installedName, Path oldHome, Path newHome, VersionInfo target, boolean forceFull)
+            throws IOException {
+        if (Files.exists(newHome)) {
+            throw new IOException("Already installed: " + newHome);
+        }
+
+        Optional<FileManifest> published = forceFull ? Optional.empty() : fetchManifest(target);
+        if (published.isEmpty()) {
+            installService.install(target, newHome, false);
+            long size = FileUtils.size(newHome);
+            return new UpgradeResult(newHome, false, -1, 0, size, size);
+        }
+
+        FileManifest manifest = published.get();
+        Timer.Sample sample = MetricsRegistry.global().timer("phase.upgrade").start();
+        Path staging = StagedDirectory.prepare(newHome, "upgrade");
+        try {
+            Map<String, FileManifest.Entry> reusable = installedManifest(installedName).byHash();
+
+            // One fetch per distinct missing content; duplicates are copied afterwards.
+            Map<String, FileManifest.Entry> missing = new LinkedHashMap<>();
+            List<FileManifest.Entry> duplicates = new ArrayList<>();
+            int reused = 0;
+            for (FileManifest.Entry entry : manifest.getEntries()) {
+                Path destination = resolve(staging, entry.path());
+                Files.createDirectories(destination.getParent());
+                FileManifest.Entry existing = reusable.get(entry.sha256());
+                if (existing != null && reuse(resolve(oldHome, existing.path()), destination, entry)) {
+                    reused++;
+                } else if (missing.putIfAbsent(entry.sha256(), entry) != null) {
+                    duplicates.add(entry);
+                }
+            }
+
+            URI objects = JavaArchiveDownloadService.archiveUri(target).resolve("objects/");
+            long fetchedBytes = fetchAll(objects, staging, List.copyOf(missing.values()));
+            for (FileManifest.Entry entry : duplicates) {
+                FileManifest.Entry fetched = missing.get(entry.sha256());
+                Path destination = resolve(staging, entry.path());
+                Files.copy(resolve(staging, fetched.path()), destination, StandardCopyOption.REPLACE_EXISTING);
+                FileManifest.applyMode(destination, entry.mode());
+            }
+
+            StagedDirectory.commit(staging, newHome);
+            manifest.write(manifestFile(target.getVersion()));
+            InstalledVersionIndex.record(target.getVersion(), JavaArchiveDownloadService.archiveUri(target).toString());
+
+            MetricsRegistry.global().counter("upgrade.files.reused").add(reused);
+            MetricsRegistry.global().counter("upgrade.files.fetched").add(missing.size());
+            return new UpgradeResult(newHome, true, missing.size(), reused, fetchedBytes, manifest.totalSize());
+        } catch (IOException e) {
+            FileUtils.deleteRecursively(staging);
+            throw e;
+        } finally {
+            sample.stop();
+        }
+    }
+
+    private long fetchAll(URI objects, Path staging, List<FileManifest.Entry> missing) throws IOException {
+        Semaphore permits = new Semaphore(PARALLEL_FETCHES);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Long>> futures = new ArrayList<>(missing.size());
+            for (FileManifest.Entry entry : missing) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return fetch(objects.resolve(entry.sha256()), resolve(staging, entry.path()), entry);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            long total = 0;
+            for (Future<Long> future : futures) {
+                total += future.get();
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Upgrade interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+    }
+
+    private long fetch(URI uri, Path destination, FileManifest.Entry entry) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofMinutes(5)).GET().build();
+        HttpResponse<Path> response = httpClient.send(request,
+                HttpResponse.BodyHandlers.ofFile(destination, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING),
+                "http.object");
+        if (response.statusCode() != 200) {
+            throw new IOException("Unexpected status " + response.statusCode() + " for: " + uri);
+        }
+        String actual = FileUtils.sha256(destination);
+        if (!actual.equals(entry.sha256())) {
+            throw new IOException("Checksum mismatch for " + entry.path() + ": expected " + entry.sha256() + ", got " + actual);
+        }
+        FileManifest.applyMode(destination, entry.mode());
+        return entry.size();
+    }
+
+    /**
+     * Copy an unchanged file from the installed version. The copy is hashed because
+     * the installed file may have been changed in place since its manifest was written.
+     *
+     * @return whether the copy matches {@code entry}; if not it is removed and must be fetched
+     */
+    private static boolean reuse(Path source, Path destination, FileManifest.Entry entry) throws IOException {
+        if (!Files.isRegularFile(source)) {
+            return false;
+        }
+        Files.copy(source, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+        if (!FileUtils.sha256(destination).equals(entry.sha256())) {
+            Files.delete(destination);
+            return false;
+        }
+        FileManifest.applyMode(destination, entry.mode());
+        return true;
+    }
+
+    private static Path resolve(Path root, String relative) throws IOException {
+        Path path = root.resolve(relative).normalize();
+        if (!path.startsWith(root)) {
+            throw new IOException("Manifest path escapes the JDK home: " + relative);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,118 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.WizardHome;
+import com.amankrmj.xwizard.common.state.SnapshotFile;
+import com.amankrmj.xwizard.common.state.StateLock;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Last-used tracking and pins for managed versions.
+ * <p>
+ * {@code ~/.javawizard/usage.log} is append-only ({@code <epoch-millis>\t<version>}
+ * per line), so recording a use is a single small write. The log is compacted to
+ * one line per version once it grows past {@link #COMPACT_THRESHOLD}.
+ * {@code ~/.javawizard/pinned} lists versions that pruning must never remove.
+ */
+public final class JavaUsageLog {
+
+    static final long COMPACT_THRESHOLD = 256 * 1024;
+
+    private JavaUsageLog() {
+    }
+
+    public static Path logFile() {
+        return WizardHome.directory().resolve("usage.log");
+    }
+
+    public static Path pinFile() {
+        return WizardHome.directory().resolve("pinned");
+    }
+
+    public static void recordUse(String version) {
+        Path log = logFile();
+        // Held briefly so an append cannot land in a log that is being compacted away.
+        try (StateLock ignored = StateLock.acquire("usage")) {
+            Files.createDirectories(log.getParent());
+            Files.writeString(log, System.currentTimeMillis() + "\t" + version + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            if (Files.size(log) > COMPACT_THRESHOLD) {
+                compact(log);
+            }
+        } catch (IOException e) {
+            // Usage tracking must never fail the command that is being tracked.
+        }
+    }
+
+    /**
+     * @return latest recorded use per version, in epoch millis
+     */
+    public static Map<String, Long> lastUsed() throws IOException {
+        Map<String, Long> lastUsed = new HashMap<>();
+        Path log = logFile();
+        if (!Files.isRegularFile(log)) {
+            return lastUsed;
+        }
+        for (String line : Files.readAllLines(log, StandardCharsets.UTF_8)) {
+            int tab = line.indexOf('\t');
+            if (tab <= 0) {
+                continue;
+            }
+            try {
+                long timestamp = Long.parseLong(line.substring(0, tab));
+                lastUsed.merge(line.substring(tab + 1), timestamp, Math::max);
+            } catch (NumberFormatException e) {
+                // Skip torn lines from an interrupted append.
+            }
+        }
+        return lastUsed;
+    }
+
+    public static Set<String> pinned() throws IOException {
+        Path file = pinFile();
+        Set<String> pinned = new LinkedHashSet<>();
+        if (Files.isRegularFile(file)) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    pinned.add(line.strip());
+                }
+            }
+        }
+        return pinned;
+    }
+
+    public static void setPinned(String version, boolean pin) throws IOException {
+        new SnapshotFile(pinFile()).update(lines -> {
+            Set<String> pinned = new LinkedHashSet<>();
+            for (String line : lines) {
+                if (!line.isBlank()) {
+                    pinned.add(line.strip());
+                }
+            }
+            if (pin) {
+                pinned.add(version);
+            } else {
+                pinned.remove(version);
+            }
+            return new ArrayList<>(pinned);
+        });
+    }
+
+    private static void compact(Path log) throws IOException {
+        StringBuilder compacted = new StringBuilder();
+        lastUsed().forEach((version, timestamp) -> compacted.append(timestamp).append('\t').append(version).append('\n'));
+        Path tmp = Files.createTempFile(log.getParent(), "usage", ".tmp");
+        Files.writeString(tmp, compacted, StandardCharsets.UTF_8);
+        Files.move(tmp, log, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,216 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.archive.ArchiveExtractor;
+import com.amankrmj.xwizard.common.archive.FileManifest;
+import com.amankrmj.xwizard.common.metrics.MetricsRegistry;
+import com.amankrmj.xwizard.common.metrics.Timer;
+import com.amankrmj.xwizard.common.state.StagedDirectory;
+import com.amankrmj.xwizard.common.state.StateLock;
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Checks managed JDKs against the manifest recorded when they were installed.
+ * <p>
+ * The manifest file's modification time doubles as "last verified": a file whose
+ * size matches and whose mtime is older than that has not been touched since and is
+ * not re-hashed unless a deep check is requested. Everything else is hashed in
+ * parallel. Corrupted and missing files can be restored from the original archive;
+ * extra files are reported but left alone.
+ */
+public class JavaVerifyService {
+
+    public record Report(String version, int files, int hashed, boolean manifestRecorded,
+                         List<String> corrupted, List<String> missing, List<String> extra,
+                         List<String> repaired, String repairError) {
+
+        public boolean intact() {
+            return corrupted.size() + missing.size() == repaired.size();
+        }
+    }
+
+    /**
+     * @param deep   hash every file, ignoring the mtime/size fast path
+     * @param repair restore corrupted and missing files from the archive the version was installed from
+     */
+    public Report verify(String version, boolean deep, boolean repair) throws IOException {
+        Path home = JavaVersionManagerUtils.getJavaVersionsDirectory().resolve(version);
+        Timer.Sample sample = MetricsRegistry.global().timer("phase.verify").start();
+        // Repair replaces files, so it needs the home to itself; a plain check only keeps it in place.
+        try (StateLock lock = repair ? StateLock.forDirectory(home) : StateLock.sharedForDirectory(home)) {
+            Path manifestFile = JavaUpgradeService.manifestFile(version);
+            if (!Files.isRegularFile(manifestFile)) {
+                // Installed before manifests were recorded: nothing to compare against yet.
+                FileManifest manifest = JavaUpgradeService.installedManifest(version);
+                return new Report(version, manifest.getEntries().size(), manifest.getEntries().size(), true,
+                        List.of(), List.of(), List.of(), List.of(), null);
+            }
+
+            FileManifest manifest = FileManifest.read(manifestFile);
+            FileTime verifiedAt = Files.getLastModifiedTime(manifestFile);
+            Map<String, BasicFileAttributes> actual = listFiles(home);
+
+            List<String> corrupted = new ArrayList<>();
+            List<String> missing = new ArrayList<>();
+            List<FileManifest.Entry> toHash = new ArrayList<>();
+            for (FileManifest.Entry entry : manifest.getEntries()) {
+                if (isRegenerated(entry.path())) {
+                    continue;
+                }
+                BasicFileAttributes attributes = actual.remove(entry.path());
+                if (attributes == null) {
+                    missing.add(entry.path());
+                } else if (attributes.size() != entry.size()) {
+                    corrupted.add(entry.path());
+                } else if (deep || attributes.lastModifiedTime().compareTo(verifiedAt) >= 0) {
+                    toHash.add(entry);
+                }
+            }
+            corrupted.addAll(hashMismatches(home, toHash));
+            corrupted.sort(null);
+            List<String> extra = actual.keySet().stream().filter(path -> !isRegenerated(path)).sorted().toList();
+
+            List<String> repaired = List.of();
+            String repairError = null;
+            if (repair && !(corrupted.isEmpty() && missing.isEmpty())) {
+                try {
+                    repaired = repair(version, home, manifest, corrupted, missing);
+                } catch (IOException e) {
+                    repairError = e.getMessage();
+                }
+            }
+
+            MetricsRegistry metrics = MetricsRegistry.global();
+            metrics.counter("verify.files.hashed").add(toHash.size());
+            metrics.counter("verify.files.skipped").add(manifest.getEntries().size() - toHash.size());
+            Report report = new Report(version, manifest.getEntries().size(), toHash.size(), false,
+                    corrupted, missing, extra, repaired, repairError);
+            if (report.intact()) {
+                // Everything checks out as of now, so the next run can skip files untouched since.
+                Files.setLastModifiedTime(manifestFile, FileTime.fromMillis(System.currentTimeMillis()));
+            }
+            return report;
+        } finally {
+            sample.stop();
+        }
+    }
+
+    /**
+     * The default CDS archive is rewritten in place by {@code java cds}; it is not part of the install.
+     */
+    private static boolean isRegenerated(String path) {
+        return path.endsWith(".jsa");
+    }
+
+    private static Map<String, BasicFileAttributes> listFiles(Path home) throws IOException {
+        Map<String, BasicFileAttributes> files = new HashMap<>();
+        try (Stream<Path> walk = Files.walk(home)) {
+            for (Path file : (Iterable<Path>) walk::iterator) {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                if (attributes.isRegularFile()) {
+                    files.put(FileManifest.relativePath(home, file), attributes);
+                }
+            }
+        }
+        return files;
+    }
+
+    private static List<String> hashMismatches(Path home, List<FileManifest.Entry> entries) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>(entries.size());
+            for (FileManifest.Entry entry : entries) {
+                futures.add(executor.submit(() -> FileUtils.sha256(home.resolve(entry.path())).equals(entry.sha256())));
+            }
+            List<String> mismatches = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                if (!futures.get(i).get()) {
+                    mismatches.add(entries.get(i).path());
+                }
+            }
+            return mismatches;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while hashing " + home, e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<String> repair(String version, Path home, FileManifest manifest,
+                                List<String> corrupted, List<String> missing) throws IOException {
+        Path archive = sourceArchive(version);
+        Map<String, FileManifest.Entry> byPath = manifest.byPath();
+        Path staging = StagedDirectory.prepare(home, "repair");
+        try {
+            ArchiveExtractor.extract(archive, staging);
+            List<String> wanted = new ArrayList<>(corrupted);
+            wanted.addAll(missing);
+            // Check everything first so a mismatched archive leaves the install untouched.
+            for (String path : wanted) {
+                Path replacement = staging.resolve(path);
+                if (!Files.isRegularFile(replacement)) {
+                    throw new IOException(archive.getFileName() + " does not contain " + path);
+                }
+                if (!FileUtils.sha256(replacement).equals(byPath.get(path).sha256())) {
+                    throw new IOException(archive.getFileName() + " has a different " + path + " than was installed");
+                }
+            }
+            for (String path : wanted) {
+                Path target = home.resolve(path);
+                Files.createDirectories(target.getParent());
+                Files.move(staging.resolve(path), target, StandardCopyOption.REPLACE_EXISTING);
+                FileManifest.applyMode(target, byPath.get(path).mode());
+            }
+            MetricsRegistry.global().counter("verify.files.repaired").add(wanted.size());
+            return wanted;
+        } finally {
+            FileUtils.deleteRecursively(staging);
+        }
+    }
+
+    /**
+     * The archive {@code version} was installed from: the cached (or re-downloaded) catalog archive,
+     * or the local file given to {@code install from-file}.
+     */
+    private static Path sourceArchive(String version) throws IOException {
+        InstalledVersionIndex.Entry entry = InstalledVersionIndex.snapshot().get(version);
+        String source = entry != null ? entry.source() : null;
+        if (source == null || source.isEmpty()) {
+            throw new IOException("no record of the archive " + version + " was installed from; reinstall it with --force");
+        }
+        if (source.startsWith("jlink:")) {
+            throw new IOException(version + " was built with jlink; rebuild it with 'javawizard java slim --force'");
+        }
+        if (source.startsWith("bundle:")) {
+            throw new IOException(version + " came from a bundle; re-import it with 'javawizard java unbundle --force'");
+        }
+        if (source.startsWith("http://") || source.startsWith("https://")) {
+            return new JavaArchiveDownloadService().download(version, URI.create(source));
+        }
+        Path archive = Path.of(source);
+        if (!Files.isRegularFile(archive)) {
+            throw new IOException("original archive " + archive + " no longer exists");
+        }
+        return archive;
+    }
+}
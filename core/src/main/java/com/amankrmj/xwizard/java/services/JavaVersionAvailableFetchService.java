@@ -0,0 +1,332 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.WizardHome;
+import com.amankrmj.xwizard.common.concurrent.TaskScope;
+import com.amankrmj.xwizard.common.http.MirrorSelector;
+import com.amankrmj.xwizard.common.http.MirroredHttpClient;
+import com.amankrmj.xwizard.common.metrics.MetricsRegistry;
+import com.amankrmj.xwizard.common.metrics.Timer;
+import com.amankrmj.xwizard.common.model.VersionInfo;
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+import com.amankrmj.xwizard.java.model.CatalogShard;
+import com.amankrmj.xwizard.java.model.CompactCatalog;
+import com.amankrmj.xwizard.java.model.JavaVersionCatalogCodec;
+import com.amankrmj.xwizard.java.model.OracleJavaVersionInfo;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fetches the version catalog and maps it into JavaVersionInfo models.
+ * <p>
+ * The catalog is either one JSON array of {@code version}, {@code description},
+ * {@code distribution}, {@code url} objects, or a root index pointing at shards of
+ * that form (see {@link JavaVersionCatalogCodec}). Every document is kept in
+ * {@code ~/.javawizard/cache/catalog} together with its ETag (one file, the ETag on
+ * the first line, so the two are always replaced together) and revalidated with
+ * {@code If-None-Match}; shards whose SHA-256 in the index matches the cached copy
+ * are not requested at all. Lookups for one version fetch only the shards for its
+ * major version. If the network is down, the last cached copies are used.
+ */
+public class JavaVersionAvailableFetchService {
+
+    public static final String DEFAULT_CATALOG_URL =
+            "https://raw.githubusercontent.com/amankrmj01/XWizard/6238a3f15c24b5c075fc7b899b0145c97e85abca/.github/java_versions/java_version.json";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(20);
+
+    private final MirroredHttpClient httpClient;
+    private final Path cacheDirectory;
+
+    public JavaVersionAvailableFetchService() {
+        this(MirroredHttpClient.shared());
+    }
+
+    public JavaVersionAvailableFetchService(HttpClient httpClient) {
+        this(new MirroredHttpClient(httpClient, MirrorSelector.originOnly()));
+    }
+
+    public JavaVersionAvailableFetchService(MirroredHttpClient httpClient) {
+        this(httpClient, WizardHome.cacheDirectory().resolve("catalog"));
+    }
+
+    public JavaVersionAvailableFetchService(MirroredHttpClient httpClient, Path cacheDirectory) {
+        this.httpClient = httpClient;
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Catalog location, overridable with {@code JAVAWIZARD_CATALOG_URL}.
+     */
+    public static String catalogUrl() {
+        String override = System.getenv("JAVAWIZARD_CATALOG_URL");
+        return override != null && !override.isBlank() ? override : DEFAULT_CATALOG_URL;
+    }
+
+    /**
+     * Fetch and parse the whole catalog, every shard included.
+     *
+     * @param rawGithubJsonUrl URL of the flat catalog or root index
+     * @return list of parsed OracleJavaVersionInfo entries
+     * @throws IOException if network or parsing fails
+     */
+    public List<OracleJavaVersionInfo> fetchOracleJavaVersions(String rawGithubJsonUrl) throws IOException {
+        List<OracleJavaVersionInfo> versions = parseAll(fetchCatalogDocuments(rawGithubJsonUrl, null));
+        try {
+            AvailableVersionSnapshot.update(versions);
+        } catch (IOException e) {
+            // Shell completion keeps offering the previous list.
+        }
+        return versions;
+    }
+
+    /**
+     * Catalog entries that may match {@code requested}; of a sharded catalog only the
+     * shards for its major version are fetched.
+     */
+    public List<OracleJavaVersionInfo> fetchVersionsFor(String rawGithubJsonUrl, String requested) throws IOException {
+        List<OracleJavaVersionInfo> versions = parseAll(fetchCatalogDocuments(rawGithubJsonUrl, requested));
+        try {
+            AvailableVersionSnapshot.merge(versions);
+        } catch (IOException e) {
+            // As above: completion just misses these versions until the next fetch.
+        }
+        return versions;
+    }
+
+    /**
+     * The catalog documents as served: the flat catalog, or the shards covering
+     * {@code requested} (all of them if it is {@code null}). For callers that key caches on content.
+     */
+    public List<byte[]> fetchCatalogDocuments(String rawGithubJsonUrl, String requested) throws IOException {
+        URI root = URI.create(rawGithubJsonUrl);
+        // Read on the calling thread: inside a TaskScope the shard fetches must not outlast its deadline.
+        Duration timeout = TaskScope.remaining(REQUEST_TIMEOUT);
+        byte[] document = fetchCached(root, null, timeout);
+        if (!JavaVersionCatalogCodec.isIndex(document)) {
+            return List.of(document);
+        }
+
+        String major = requested == null || requested.isEmpty() || !Character.isDigit(requested.charAt(0))
+                ? null : JavaVersionManagerUtils.majorVersion(requested);
+        List<CatalogShard> shards = JavaVersionCatalogCodec.readIndex(document).stream()
+                .filter(shard -> shard.covers(major))
+                .toList();
+        MetricsRegistry.global().counter("catalog.shards").add(shards.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<byte[]>> futures = new ArrayList<>(shards.size());
+            for (CatalogShard shard : shards) {
+                futures.add(executor.submit(() -> fetchCached(root.resolve(shard.url()), shard.sha256(), timeout)));
+            }
+            List<byte[]> documents = new ArrayList<>(futures.size());
+            for (Future<byte[]> future : futures) {
+                documents.add(future.get());
+            }
+            return documents;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted fetching catalog shards", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * @param expectedSha256 if the cached copy has this hash it is used without asking the server
+     * @param timeout        request timeout; a cached copy is used if it runs out
+     */
+    private byte[] fetchCached(URI uri, String expectedSha256, Duration timeout) throws IOException {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        String id = HexFormat.of().formatHex(FileUtils.newSha256().digest(uri.toString().getBytes(StandardCharsets.UTF_8)), 0, 16);
+        Path cacheFile = cacheDirectory.resolve(id + ".cache");
+        CachedDocument document = readCached(cacheFile);
+        byte[] cached = document != null ? document.body() : null;
+        if (cached != null && expectedSha256 != null && expectedSha256.equalsIgnoreCase(sha256(cached))) {
+            metrics.counter("catalog.cache.fresh").increment();
+            return cached;
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .header("Accept", "application/json")
+                .timeout(timeout)
+                .GET();
+        if (document != null && document.etag() != null) {
+            builder.header("If-None-Match", document.etag());
+        }
+
+        Timer.Sample fetch = metrics.timer("phase.catalog.fetch").start();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray(), "http.catalog");
+        } catch (HttpTimeoutException e) {
+            return staleOrThrow(cached, uri, new IOException("Request timed out fetching: " + uri, e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Request interrupted fetching: " + uri, e);
+        } catch (IOException e) {
+            return staleOrThrow(cached, uri, e);
+        } finally {
+            fetch.stop();
+        }
+
+        if (response.statusCode() == 304 && cached != null) {
+            metrics.counter("catalog.cache.revalidated").increment();
+            return cached;
+        }
+        if (response.statusCode() >= 500 && cached != null) {
+            return staleOrThrow(cached, uri, null);
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Unexpected status " + response.statusCode() + " for: " + uri);
+        }
+
+        byte[] fetched = response.body();
+        if (expectedSha256 != null && !expectedSha256.equalsIgnoreCase(sha256(fetched))) {
+            throw new IOException("Checksum mismatch for catalog shard " + uri);
+        }
+        metrics.counter("catalog.cache.miss").increment();
+        try {
+            writeCached(cacheFile, new CachedDocument(response.headers().firstValue("ETag").orElse(null), fetched));
+        } catch (IOException e) {
+            // Only the cache is lost; the fetched catalog is still good.
+        }
+        return fetched;
+    }
+
+    private static byte[] staleOrThrow(byte[] cached, URI uri, IOException error) throws IOException {
+        if (cached == null) {
+            throw error;
+        }
+        MetricsRegistry.global().counter("catalog.cache.stale").increment();
+        System.err.println("⚠️  Could not reach " + uri + "; using the cached catalog");
+        return cached;
+    }
+
+    public static List<OracleJavaVersionInfo> parse(byte[] catalog) throws IOException {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        Timer.Sample parse = metrics.timer("phase.catalog.parse").start();
+        try {
+            List<OracleJavaVersionInfo> versions = JavaVersionCatalogCodec.read(catalog);
+            metrics.counter("catalog.entries").add(versions.size());
+            return versions;
+        } finally {
+            parse.stop();
+        }
+    }
+
+    public static List<OracleJavaVersionInfo> parseAll(List<byte[]> documents) throws IOException {
+        if (documents.size() == 1) {
+            return parse(documents.get(0));
+        }
+        List<OracleJavaVersionInfo> versions = new ArrayList<>();
+        for (byte[] document : documents) {
+            versions.addAll(parse(document));
+        }
+        return versions;
+    }
+
+    /**
+     * Parse catalog documents straight into a {@link CompactCatalog}, for callers that keep it resident.
+     */
+    public static CompactCatalog parseCompact(List<byte[]> documents) throws IOException {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        Timer.Sample parse = metrics.timer("phase.catalog.parse").start();
+        try {
+            CompactCatalog.Builder builder = CompactCatalog.builder();
+            for (byte[] document : documents) {
+                metrics.counter("catalog.entries").add(JavaVersionCatalogCodec.read(document, builder));
+            }
+            return builder.build();
+        } finally {
+            parse.stop();
+        }
+    }
+
+    /**
+     * Archive URLs a catalog document links to; none for a shard index.
+     */
+    public static List<URI> archiveLinks(byte[] document) throws IOException {
+        if (JavaVersionCatalogCodec.isIndex(document)) {
+            return List.of();
+        }
+        List<URI> links = new ArrayList<>();
+        for (OracleJavaVersionInfo version : JavaVersionCatalogCodec.read(document)) {
+            links.add(URI.create(version.getUrl()));
+        }
+        return links;
+    }
+
+    private static String sha256(byte[] data) {
+        return HexFormat.of().formatHex(FileUtils.newSha256().digest(data));
+    }
+
+    /**
+     * A cached catalog document and the ETag it was served with ({@code null} if none).
+     */
+    private record CachedDocument(String etag, byte[] body) {
+    }
+
+    private static CachedDocument readCached(Path file) throws IOException {
+        byte[] content;
+        try {
+            content = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        int newline = 0;
+        while (newline < content.length && content[newline] != '\n') {
+            newline++;
+        }
+        if (newline == content.length) {
+            return null;
+        }
+        String etag = new String(content, 0, newline, StandardCharsets.UTF_8);
+        return new CachedDocument(etag.isEmpty() ? null : etag, Arrays.copyOfRange(content, newline + 1, content.length));
+    }
+
+    private static void writeCached(Path file, CachedDocument document) throws IOException {
+        byte[] etag = (document.etag() == null ? "" : document.etag()).getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[etag.length + 1 + document.body().length];
+        System.arraycopy(etag, 0, content, 0, etag.length);
+        content[etag.length] = '\n';
+        System.arraycopy(document.body(), 0, content, etag.length + 1, document.body().length);
+        write(file, content);
+    }
+
+    private static void write(Path file, byte[] content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = Files.createTempFile(file.getParent(), "." + file.getFileName(), ".tmp");
+        try {
+            Files.write(tmp, content);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Convenience method if you want the interface type for downstream use.
+     */
+    public List<? extends VersionInfo> fetchAsModel(String rawGithubJsonUrl) throws IOException {
+        return fetchOracleJavaVersions(rawGithubJsonUrl);
+    }
+}
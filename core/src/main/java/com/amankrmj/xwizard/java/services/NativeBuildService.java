@@ -0,0 +1,456 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.Platform;
+import com.amankrmj.xwizard.common.WizardHome;
+import com.amankrmj.xwizard.common.archive.FileManifest;
+import com.amankrmj.xwizard.common.metrics.MetricsRegistry;
+import com.amankrmj.xwizard.common.metrics.ProcessMetrics;
+import com.amankrmj.xwizard.common.metrics.Timer;
+import com.amankrmj.xwizard.common.output.Output;
+import com.amankrmj.xwizard.common.state.StagedDirectory;
+import com.amankrmj.xwizard.common.state.StateLock;
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Runs native-image, jpackage and jlink against an application jar, caching the
+ * results in {@code ~/.javawizard/cache/native-builds/<key>}.
+ * <p>
+ * The key covers the tool and its {@code --version} output, the platform, the
+ * SHA-256 of every input file and the tool arguments, so an unchanged build is a
+ * copy out of the cache instead of minutes of compilation. Files the build reads
+ * besides the jar are part of the key too: entries of the jar manifest's
+ * {@code Class-Path}, and any existing file or directory named by a tool argument
+ * ({@code -cp} jars, {@code -H:ConfigurationFileDirectories}, resource configs,
+ * {@code @argfiles} and the paths inside them). Builds run into a
+ * staging directory that is renamed into the cache only when the tool succeeds,
+ * and builds with the same key are serialized so the second one becomes a hit.
+ * <p>
+ * The cache is kept under a size limit: after each build, the least recently used
+ * entries are removed until the rest fit.
+ */
+public class NativeBuildService {
+
+    private static final int KEY_FORMAT = 2;
+
+    public static final long DEFAULT_MAX_CACHE_BYTES = 10L << 30;
+
+    public enum Tool {
+        NATIVE_IMAGE("native-image"),
+        JPACKAGE("jpackage"),
+        JLINK("jlink");
+
+        private final String executable;
+
+        Tool(String executable) {
+            this.executable = executable;
+        }
+
+        public String executable() {
+            return executable;
+        }
+    }
+
+    /**
+     * @param toolPath  the tool executable, e.g. from {@link #resolveTool}
+     * @param jar       application jar; may be null for jlink with explicit modules
+     * @param inputs    files whose content determines the output: the jar, plus for
+     *                  jpackage everything else in the jar's directory
+     * @param type      jpackage {@code --type} (app-image, deb, dmg, exe, ...); unused otherwise
+     * @param modules   jlink {@code --add-modules}; unused otherwise
+     * @param extraArgs passed to the tool as given
+     */
+    public record Request(Tool tool, Path toolPath, Path jar, List<Path> inputs, String name,
+                          String type, String modules, List<String> extraArgs) {
+    }
+
+    public record Result(Path output, List<Path> files, boolean cached, String key, Duration elapsed) {
+    }
+
+    private final long maxCacheBytes;
+
+    public NativeBuildService() {
+        this(DEFAULT_MAX_CACHE_BYTES);
+    }
+
+    /**
+     * @param maxCacheBytes size the cache is trimmed to after a build
+     */
+    public NativeBuildService(long maxCacheBytes) {
+        this.maxCacheBytes = maxCacheBytes;
+    }
+
+    public static Path cacheDirectory() {
+        return WizardHome.cacheDirectory().resolve("native-builds");
+    }
+
+    /**
+     * The tool from the given managed version, or from the newest managed version that has it.
+     */
+    public static Path resolveTool(Tool tool, String javaVersion) throws IOException {
+        Path versionsDir = JavaVersionManagerUtils.getJavaVersionsDirectory();
+        if (javaVersion != null) {
+            String name = JavaVersionManagerUtils.resolveInstalledVersion(javaVersion)
+                    .orElseThrow(() -> new IOException("Java version not installed: " + javaVersion));
+            return findTool(versionsDir.resolve(name), tool)
+                    .orElseThrow(() -> new IOException(tool.executable() + " not found in " + name));
+        }
+        List<String> installed = new ArrayList<>(JavaVersionManagerUtils.listInstalledVersions());
+        installed.sort(Comparator.comparing((String v) -> v, JavaVersionManagerUtils::compareVersions).reversed());
+        for (String name : installed) {
+            Optional<Path> found = findTool(versionsDir.resolve(name), tool);
+            if (found.isPresent()) {
+                return found.get();
+            }
+        }
+        throw new IOException(tool.executable() + " not found in any managed Java version"
+                + (tool == Tool.NATIVE_IMAGE ? " (install a GraalVM, e.g. 'javawizard java install download 21-graalvm')" : ""));
+    }
+
+    /**
+     * Modules {@code jar} needs, from {@code jdeps} next to {@code jlink}.
+     */
+    public static String moduleDependencies(Path jlink, Path jar) throws IOException, InterruptedException {
+        Path jdeps = jlink.resolveSibling(Platform.executableName("jdeps"));
+        Process process = ProcessMetrics.start(new ProcessBuilder(jdeps.toString(), "--print-module-deps",
+                "--ignore-missing-deps", jar.toString()).redirectErrorStream(true));
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).strip();
+        if (process.waitFor() != 0 || output.isEmpty()) {
+            throw new IOException("jdeps could not determine the modules of " + jar + ": " + output);
+        }
+        String[] lines = output.split("\\R");
+        return lines[lines.length - 1].strip();
+    }
+
+    private static Optional<Path> findTool(Path home, Tool tool) {
+        Path bin = home.resolve("bin");
+        // GraalVM ships native-image as a .cmd launcher on Windows.
+        for (String candidate : List.of(Platform.executableName(tool.executable()), tool.executable() + ".cmd")) {
+            Path path = bin.resolve(candidate);
+            if (Files.isExecutable(path)) {
+                return Optional.of(path);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Build into {@code destination}, reusing a cached result when the key matches.
+     *
+     * @param useCache false to always run the tool (the result still replaces the cache entry)
+     */
+    public Result build(Request request, Path destination, boolean useCache) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        MetricsRegistry metrics = MetricsRegistry.global();
+        String key = key(request);
+        Path entry = cacheDirectory().resolve(key);
+
+        boolean cached;
+        try (StateLock lock = StateLock.acquire("native-build-" + key)) {
+            cached = useCache && Files.isDirectory(entry);
+            if (cached) {
+                metrics.counter("native.cache.hit").increment();
+                // Eviction goes by modification time, so a hit counts as a use.
+                Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            } else {
+                metrics.counter("native.cache.miss").increment();
+                Path staging = StagedDirectory.prepare(entry, "building");
+                try {
+                    Files.createDirectories(staging);
+                    run(request, staging);
+                    if (isEmpty(staging)) {
+                        throw new IOException(request.tool().executable() + " finished without producing any output");
+                    }
+                    StagedDirectory.commit(staging, entry);
+                } catch (IOException | InterruptedException e) {
+                    FileUtils.deleteRecursively(staging);
+                    throw e;
+                }
+                evict(entry);
+            }
+            List<Path> files = copyOut(entry, destination);
+            return new Result(destination, files, cached, key, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Tool arguments; {@code out} is where the tool must write its output.
+     */
+    static List<String> command(Request request, Path out) {
+        List<String> command = new ArrayList<>();
+        command.add(request.toolPath().toString());
+        switch (request.tool()) {
+            case NATIVE_IMAGE -> {
+                command.add("-jar");
+                command.add(request.jar().toAbsolutePath().toString());
+                command.add("-o");
+                command.add(out.resolve(request.name()).toString());
+            }
+            case JPACKAGE -> {
+                command.addAll(List.of("--type", request.type(),
+                        "--input", request.jar().toAbsolutePath().getParent().toString(),
+                        "--main-jar", request.jar().getFileName().toString(),
+                        "--name", request.name(),
+                        "--dest", out.toString()));
+            }
+            case JLINK -> {
+                command.addAll(List.of("--add-modules", request.modules(),
+                        "--output", out.resolve(request.name()).toString()));
+            }
+        }
+        command.addAll(request.extraArgs());
+        return command;
+    }
+
+    private static void run(Request request, Path out) throws IOException, InterruptedException {
+        List<String> command = command(request, out);
+        Output.flush();
+        Timer.Sample sample = MetricsRegistry.global().timer("phase.native." + request.tool().executable()).start();
+        try {
+            Process process = ProcessMetrics.start(new ProcessBuilder(command).inheritIO());
+            int exitCode;
+            try {
+                exitCode = process.waitFor();
+            } catch (InterruptedException e) {
+                process.destroy();
+                throw e;
+            }
+            if (exitCode != 0) {
+                throw new IOException(request.tool().executable() + " failed with exit code " + exitCode);
+            }
+        } finally {
+            sample.stop();
+        }
+    }
+
+    /**
+     * Cache key. Paths are left out (only contents count), so the same jar built
+     * from another checkout still hits.
+     */
+    static String key(Request request) throws IOException, InterruptedException {
+        MessageDigest digest = FileUtils.newSha256();
+        update(digest, "format", String.valueOf(KEY_FORMAT));
+        update(digest, "tool", request.tool().name());
+        update(digest, "tool-version", toolVersion(request.toolPath()));
+        update(digest, "platform", Platform.os() + "-" + Platform.arch());
+        update(digest, "jar", request.jar() == null ? "" : request.jar().getFileName().toString());
+        Path base = request.jar() == null ? null : request.jar().toAbsolutePath().getParent();
+        List<String> inputs = new ArrayList<>();
+        for (Path input : request.inputs()) {
+            Path absolute = input.toAbsolutePath();
+            String label = base != null && absolute.startsWith(base)
+                    ? base.relativize(absolute).toString().replace('\\', '/')
+                    : absolute.getFileName().toString();
+            inputs.add(label + "=" + FileUtils.sha256(input));
+        }
+        inputs.sort(null);
+        for (String input : inputs) {
+            update(digest, "input", input);
+        }
+        if (request.jar() != null) {
+            for (String entry : manifestClassPath(request.jar())) {
+                // Class-Path entries are relative URLs against the jar's directory.
+                update(digest, "class-path", entry + "=" + contentHash(base.resolve(entry)));
+            }
+        }
+        update(digest, "name", request.name());
+        update(digest, "type", String.valueOf(request.type()));
+        update(digest, "modules", String.valueOf(request.modules()));
+        for (String arg : request.extraArgs()) {
+            update(digest, "arg", arg);
+        }
+        for (String reference : pathReferences(request.extraArgs())) {
+            update(digest, "arg-input", reference + "=" + contentHash(Path.of(reference)));
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+
+    /**
+     * Existing files and directories named by tool arguments: whole arguments, values after
+     * {@code =}, elements of path and comma lists, and {@code @argfiles} with their contents.
+     */
+    static Set<String> pathReferences(List<String> args) throws IOException {
+        Set<String> references = new LinkedHashSet<>();
+        Deque<String> pending = new ArrayDeque<>(args);
+        Set<String> argFiles = new HashSet<>();
+        while (!pending.isEmpty()) {
+            String arg = pending.poll();
+            List<String> candidates = new ArrayList<>();
+            candidates.add(arg);
+            if (arg.startsWith("@") && argFiles.add(arg)) {
+                Path argFile = existing(arg.substring(1));
+                if (argFile != null && Files.isRegularFile(argFile)) {
+                    candidates.add(arg.substring(1));
+                    for (String token : Files.readString(argFile, StandardCharsets.UTF_8).split("\\s+")) {
+                        if (!token.isEmpty()) {
+                            pending.add(token.replace("\"", "").replace("'", ""));
+                        }
+                    }
+                }
+            }
+            int equals = arg.indexOf('=');
+            String value = equals >= 0 ? arg.substring(equals + 1) : arg;
+            candidates.addAll(Arrays.asList(value.split(",|" + Pattern.quote(File.pathSeparator))));
+            for (String candidate : candidates) {
+                if (!candidate.isEmpty() && existing(candidate) != null) {
+                    references.add(candidate);
+                }
+            }
+        }
+        return references;
+    }
+
+    private static Path existing(String candidate) {
+        try {
+            Path path = Path.of(candidate);
+            return Files.exists(path) ? path : null;
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    /**
+     * {@code Class-Path} entries of the jar manifest; none if it has no manifest or is not a jar.
+     */
+    static List<String> manifestClassPath(Path jar) {
+        try (JarFile file = new JarFile(jar.toFile())) {
+            Manifest manifest = file.getManifest();
+            String classPath = manifest == null ? null : manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH);
+            if (classPath == null || classPath.isBlank()) {
+                return List.of();
+            }
+            List<String> entries = new ArrayList<>();
+            for (String entry : classPath.strip().split("\\s+")) {
+                entries.add(URLDecoder.decode(entry, StandardCharsets.UTF_8));
+            }
+            return entries;
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    /**
+     * SHA-256 of a file, of a directory's relative paths and file hashes, or "missing".
+     */
+    private static String contentHash(Path path) throws IOException {
+        if (Files.isRegularFile(path)) {
+            return FileUtils.sha256(path);
+        }
+        if (!Files.isDirectory(path)) {
+            return "missing";
+        }
+        MessageDigest digest = FileUtils.newSha256();
+        for (FileManifest.Entry entry : FileManifest.scan(path).getEntries()) {
+            update(digest, entry.path(), entry.sha256());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String field, String value) {
+        digest.update((field + "\0" + value + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * {@code <tool> --version} output; distinguishes e.g. GraalVM 21.0.1 from 21.0.2 behind the same path.
+     */
+    static String toolVersion(Path toolPath) throws IOException, InterruptedException {
+        Process process = ProcessMetrics.start(new ProcessBuilder(toolPath.toString(), "--version").redirectErrorStream(true));
+        byte[] output = process.getInputStream().readAllBytes();
+        if (process.waitFor() != 0) {
+            throw new IOException("'" + toolPath + " --version' failed");
+        }
+        return new String(output, StandardCharsets.UTF_8).strip();
+    }
+
+    /**
+     * Remove least recently used entries (never {@code keep}, nor entries another build holds)
+     * until the cache fits in {@link #maxCacheBytes}.
+     */
+    private void evict(Path keep) throws IOException {
+        List<Path> entries;
+        try (Stream<Path> children = Files.list(cacheDirectory())) {
+            entries = children.filter(child -> !child.getFileName().toString().startsWith("."))
+                    .filter(Files::isDirectory)
+                    .toList();
+        }
+        Map<Path, Long> sizes = new HashMap<>();
+        Map<Path, Long> used = new HashMap<>();
+        long total = 0;
+        for (Path entry : entries) {
+            sizes.put(entry, FileUtils.size(entry));
+            used.put(entry, Files.getLastModifiedTime(entry).toMillis());
+            total += sizes.get(entry);
+        }
+        List<Path> oldestFirst = new ArrayList<>(entries);
+        oldestFirst.sort(Comparator.comparing(used::get));
+        for (Path entry : oldestFirst) {
+            if (total <= maxCacheBytes) {
+                break;
+            }
+            if (entry.equals(keep)) {
+                continue;
+            }
+            Optional<StateLock> lock = StateLock.tryAcquire("native-build-" + entry.getFileName());
+            if (lock.isEmpty()) {
+                continue;
+            }
+            try (StateLock ignored = lock.get()) {
+                Path doomed = StagedDirectory.prepare(entry, "deleting");
+                Files.move(entry, doomed, StandardCopyOption.ATOMIC_MOVE);
+                FileUtils.deleteRecursively(doomed);
+            }
+            total -= sizes.get(entry);
+            MetricsRegistry.global().counter("native.cache.evicted").increment();
+        }
+    }
+
+    private static List<Path> copyOut(Path entry, Path destination) throws IOException {
+        Files.createDirectories(destination);
+        List<Path> copied = new ArrayList<>();
+        try (Stream<Path> children = Files.list(entry)) {
+            for (Path child : children.sorted().toList()) {
+                Path target = destination.resolve(child.getFileName().toString());
+                FileUtils.deleteRecursively(target);
+                FileUtils.copyRecursively(child, target, dir -> false);
+                copied.add(target);
+            }
+        }
+        return copied;
+    }
+
+    private static boolean isEmpty(Path directory) throws IOException {
+        try (Stream<Path> children = Files.list(directory)) {
+            return children.findAny().isEmpty();
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.Platform;
+import com.amankrmj.xwizard.common.WizardHome;
+import com.amankrmj.xwizard.common.concurrent.TaskScope;
+import com.amankrmj.xwizard.common.metrics.MetricsRegistry;
+import com.amankrmj.xwizard.common.state.StateLock;
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+import com.amankrmj.xwizard.java.model.JdkLock;
+import com.amankrmj.xwizard.java.model.OracleJavaVersionInfo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Brings a host to the state described by a {@link JdkLock}.
+ * <p>
+ * The plan is the difference between the lock and what is actually there: the
+ * managed versions directory and, on Windows, the persisted user {@code JAVA_HOME}/{@code PATH}.
+ * Installs and removals touch different directories and run in parallel; the
+ * environment is updated once they are done. After a successful sync a fingerprint
+ * of the lock, the versions directory listing and (on Windows) the persisted user
+ * {@code JAVA_HOME}/{@code PATH} is stored in {@code ~/.javawizard/state/sync.stamp},
+ * so repeating the sync on an unchanged host is answered from it without planning
+ * or reading the catalog. The fingerprint covers exactly what {@link #plan} compares,
+ * so a later 'use' or PATH edit makes the stamp stale.
+ */
+public class SyncService {
+
+    private static final Duration TIMEOUT = Duration.ofHours(1);
+
+    public enum Kind {
+        INSTALL, REMOVE, DEFAULT, PATH
+    }
+
+    /**
+     * @param target a version for installs, removals and the default; a directory for PATH
+     */
+    public record Action(Kind kind, String target, String sha256) {
+
+        public String describe() {
+            return switch (kind) {
+                case INSTALL -> "+ install " + target;
+                case REMOVE -> "- remove  " + target;
+                case DEFAULT -> "~ use     " + target + " (JAVA_HOME, PATH)";
+                case PATH -> "~ PATH   += " + target;
+            };
+        }
+    }
+
+    /**
+     * @param kept unlisted versions that stay because they are pinned
+     */
+    public record Plan(List<Action> actions, List<String> kept) {
+    }
+
+    public record Outcome(Action action, String error) {
+
+        public boolean ok() {
+            return error == null;
+        }
+    }
+
+    private static Path stampFile() {
+        return WizardHome.directory().resolve("state").resolve("sync.stamp");
+    }
+
+    /**
+     * Whether the last sync ended with exactly this lock, version listing and environment.
+     */
+    public boolean isUpToDate(byte[] lock) throws IOException, InterruptedException {
+        try {
+            return Files.readString(stampFile(), StandardCharsets.UTF_8).strip().equals(fingerprint(lock));
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    public void markUpToDate(byte[] lock) throws IOException, InterruptedException {
+        Path stamp = stampFile();
+        Files.createDirectories(stamp.getParent());
+        Path tmp = Files.createTempFile(stamp.getParent(), ".sync.stamp", ".tmp");
+        try {
+            Files.writeString(tmp, fingerprint(lock) + "\n", StandardCharsets.UTF_8);
+            Files.move(tmp, stamp, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static String fingerprint(byte[] lock) throws IOException, InterruptedException {
+        MessageDigest digest = FileUtils.newSha256();
+        digest.update(digest(lock));
+        for (String name : JavaVersionManagerUtils.listInstalledVersions()) {
+            digest.update(("version\0" + name + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        // The values plan() compares against, not this process's possibly older copy.
+        if (Platform.isWindows()) {
+            for (String variable : List.of("JAVA_HOME", "Path")) {
+                String value = JavaVersionManagerUtils.getUserEnvironmentVariable(variable);
+                digest.update((variable + "\0" + value + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static byte[] digest(byte[] content) {
+        return FileUtils.newSha256().digest(content);
+    }
+
+    /**
+     * @param keepUnlisted leave managed versions that the lock does not mention alone
+     */
+    public Plan plan(JdkLock lock, boolean keepUnlisted) throws IOException, InterruptedException {
+        List<String> installed = JavaVersionManagerUtils.listInstalledVersions();
+        List<Action> actions = new ArrayList<>();
+        for (JdkLock.Jdk jdk : lock.jdks()) {
+            if (installed.stream().noneMatch(name -> JdkLock.matches(name, jdk.version()))) {
+                actions.add(new Action(Kind.INSTALL, jdk.version(), jdk.sha256()));
+            }
+        }
+
+        List<String> kept = new ArrayList<>();
+        if (!keepUnlisted) {
+            Set<String> pinned = JavaUsageLog.pinned();
+            for (String name : installed) {
+                if (lock.jdks().stream().anyMatch(jdk -> JdkLock.matches(name, jdk.version()))) {
+                    continue;
+                }
+                if (pinned.contains(name)) {
+                    kept.add(name);
+                } else {
+                    actions.add(new Action(Kind.REMOVE, name, null));
+                }
+            }
+        }
+
+        // The user environment is only persisted on Windows (see 'use').
+        if (Platform.isWindows()) {
+            String path = JavaVersionManagerUtils.getUserEnvironmentVariable("Path");
+            if (lock.defaultVersion() != null) {
+                Optional<Path> home = installed.stream()
+                        .filter(name -> JdkLock.matches(name, lock.defaultVersion()))
+                        .max(JavaVersionManagerUtils::compareVersions)
+                        .map(JavaVersionManagerUtils.getJavaVersionsDirectory()::resolve);
+                if (home.isEmpty()
+                        || !home.get().toString().equals(JavaVersionManagerUtils.getUserEnvironmentVariable("JAVA_HOME"))
+                        || !containsEntry(path, home.get().resolve("bin").toString())) {
+                    actions.add(new Action(Kind.DEFAULT, lock.defaultVersion(), null));
+                }
+            }
+            for (String entry : lock.pathEntries()) {
+                if (!containsEntry(path, entry)) {
+                    actions.add(new Action(Kind.PATH, entry, null));
+                }
+            }
+        }
+        return new Plan(actions, kept);
+    }
+
+    private static boolean containsEntry(String path, String entry) {
+        if (path == null) {
+            return false;
+        }
+        return Arrays.stream(path.split(";"))
+                .anyMatch(part -> part.trim().equalsIgnoreCase(entry.trim()));
+    }
+
+    /**
+     * Run the plan: installs and removals concurrently, then the environment edits.
+     * Environment edits are skipped if an install they depend on failed.
+     */
+    public List<Outcome> apply(Plan plan) throws InterruptedException {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        List<Outcome> outcomes = new ArrayList<>();
+        List<TaskScope.Subtask<Void>> tasks = new ArrayList<>();
+        List<Action> parallel = plan.actions().stream()
+                .filter(action -> action.kind() == Kind.INSTALL || action.kind() == Kind.REMOVE)
+                .toList();
+        try (TaskScope scope = TaskScope.open(TIMEOUT)) {
+            for (Action action : parallel) {
+                tasks.add(scope.fork(action.kind() + " " + action.target(), () -> {
+                    run(action);
+                    return null;
+                }));
+            }
+            scope.join();
+        }
+        boolean installsOk = true;
+        for (int i = 0; i < parallel.size(); i++) {
+            TaskScope.Subtask<Void> task = tasks.get(i);
+            boolean ok = task.state() == TaskScope.State.SUCCESS;
+            installsOk &= ok || parallel.get(i).kind() != Kind.INSTALL;
+            outcomes.add(new Outcome(parallel.get(i), ok ? null : task.failureMessage()));
+        }
+
+        List<Action> environment = plan.actions().stream()
+                .filter(action -> action.kind() == Kind.DEFAULT || action.kind() == Kind.PATH)
+                .toList();
+        if (!environment.isEmpty()) {
+            try (StateLock lock = StateLock.acquire(StateLock.ENVIRONMENT)) {
+                for (Action action : environment) {
+                    if (action.kind() == Kind.DEFAULT && !installsOk) {
+                        outcomes.add(new Outcome(action, "skipped: an install failed"));
+                        continue;
+                    }
+                    try {
+                        run(action);
+                        outcomes.add(new Outcome(action, null));
+                    } catch (Exception e) {
+                        outcomes.add(new Outcome(action, e.getMessage()));
+                    }
+                }
+            } catch (IOException e) {
+                environment.forEach(action -> outcomes.add(new Outcome(action, e.getMessage())));
+            }
+        }
+        metrics.counter("sync.actions").add(outcomes.size());
+        return outcomes;
+    }
+
+    private static void run(Action action) throws IOException, InterruptedException {
+        Path versionsDir = JavaVersionManagerUtils.getJavaVersionsDirectory();
+        switch (action.kind()) {
+            case INSTALL -> {
+                List<OracleJavaVersionInfo> versions = new JavaVersionAvailableFetchService()
+                        .fetchVersionsFor(JavaVersionAvailableFetchService.catalogUrl(), action.target());
+                OracleJavaVersionInfo info = JavaVersionManagerUtils.findVersion(versions, action.target())
+                        .orElseThrow(() -> new IOException("not in the catalog"));
+                new JavaInstallService().install(info, versionsDir.resolve(info.getVersion()), false, action.sha256());
+            }
+            case REMOVE -> {
+                JavaPruneService.InstalledVersion version = new JavaPruneService.InstalledVersion(action.target(), 0, 0, false);
+                JavaPruneService.PruneResult result = new JavaPruneService()
+                        .execute(new JavaPruneService.PrunePlan(List.of(version), List.of()));
+                if (!result.skipped().isEmpty()) {
+                    throw new IOException("in use by another javawizard operation");
+                }
+            }
+            case DEFAULT -> {
+                String name = JavaVersionManagerUtils.resolveInstalledVersion(action.target())
+                        .orElseThrow(() -> new IOException("not installed"));
+                Path home = versionsDir.resolve(name);
+                try (StateLock lock = StateLock.sharedForDirectory(home)) {
+                    JavaVersionManagerUtils.setJavaHome(home.toString());
+                    JavaVersionManagerUtils.updatePathForJava(home.resolve("bin").toString());
+                }
+                JavaUsageLog.recordUse(name);
+            }
+            case PATH -> {
+                JavaVersionManagerUtils.addToUserPath(action.target());
+            }
+        }
+    }
+}
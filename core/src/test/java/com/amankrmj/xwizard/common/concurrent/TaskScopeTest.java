@@ -0,0 +1,30 @@
+package com.amankrmj.xwizard.common.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskScopeTest {
+
+    private static final Duration LIMIT = Duration.ofSeconds(20);
+
+    @Test
+    void remainingIsTheLimitOutsideATask() {
+        assertEquals(LIMIT, TaskScope.remaining(LIMIT));
+    }
+
+    @Test
+    void remainingIsCappedByTheScopeDeadline() throws InterruptedException {
+        TaskScope.Subtask<Duration> inside;
+        try (TaskScope scope = TaskScope.open(Duration.ofSeconds(2))) {
+            inside = scope.fork("remaining", () -> TaskScope.remaining(LIMIT));
+            scope.join();
+        }
+        Duration remaining = inside.get();
+        assertTrue(remaining.compareTo(Duration.ofSeconds(2)) <= 0, remaining.toString());
+        assertTrue(remaining.isPositive(), remaining.toString());
+    }
+}
@@ -0,0 +1,307 @@
+package com.amankrmj.xwizard.common.http;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CachingRelayTest {
+
+    private static final String OBJECT = "/jdk/jdk-21.0.5.tar.gz";
+
+    @TempDir
+    Path cache;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final AtomicInteger upstreamHits = new AtomicInteger();
+    private final List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+    private volatile byte[] content = bytes(100_000, 1);
+    private volatile String etag = "\"v1\"";
+    private volatile long upstreamDelayMillis;
+
+    private HttpServer upstream;
+    private HttpServer relay;
+
+    @BeforeEach
+    void startUpstream() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        upstream.setExecutor(Executors.newCachedThreadPool());
+        upstream.createContext(OBJECT, exchange -> {
+            upstreamHits.incrementAndGet();
+            String condition = exchange.getRequestHeaders().getFirst("If-None-Match");
+            if (condition != null) {
+                ifNoneMatch.add(condition);
+            }
+            try {
+                Thread.sleep(upstreamDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(condition)) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            exchange.sendResponseHeaders(200, content.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(content);
+            }
+        });
+        upstream.start();
+    }
+
+    @AfterEach
+    void stopServers() {
+        if (relay != null) {
+            relay.stop(0);
+        }
+        upstream.stop(0);
+    }
+
+    private static byte[] bytes(int size, long seed) {
+        byte[] data = new byte[size];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+
+    private void startRelay(Duration ttl) throws IOException {
+        startRelay(ttl, 0);
+    }
+
+    private void startRelay(Duration ttl, long maxCacheBytes) throws IOException {
+        relay = new CachingRelay(client, cache, "http", null, null, ttl, maxCacheBytes)
+                .allow(upstreamUri("/"))
+                .start(new InetSocketAddress("127.0.0.1", 0));
+    }
+
+    private URI upstreamUri(String path) {
+        return URI.create("http://127.0.0.1:" + upstream.getAddress().getPort() + path);
+    }
+
+    private HttpResponse<byte[]> get(String... headers) throws Exception {
+        return getPath("/127.0.0.1:" + upstream.getAddress().getPort() + OBJECT, headers);
+    }
+
+    private HttpResponse<byte[]> getPath(String path, String... headers) throws Exception {
+        URI uri = URI.create("http://127.0.0.1:" + relay.getAddress().getPort() + path);
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).GET();
+        if (headers.length > 0) {
+            request.headers(headers);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Serve {@code body} for {@code path} on the upstream server.
+     */
+    private void publish(String path, String body) {
+        upstream.createContext(path, exchange -> {
+            upstreamHits.incrementAndGet();
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+    }
+
+    @Test
+    void servesByteRanges() throws Exception {
+        startRelay(Duration.ofHours(1));
+
+        HttpResponse<byte[]> middle = get("Range", "bytes=10-19");
+        assertEquals(206, middle.statusCode());
+        assertEquals("bytes 10-19/" + content.length, middle.headers().firstValue("Content-Range").orElseThrow());
+        assertArrayEquals(Arrays.copyOfRange(content, 10, 20), middle.body());
+
+        HttpResponse<byte[]> resume = get("Range", "bytes=99990-");
+        assertEquals(206, resume.statusCode());
+        assertArrayEquals(Arrays.copyOfRange(content, 99_990, content.length), resume.body());
+
+        HttpResponse<byte[]> suffix = get("Range", "bytes=-5");
+        assertEquals(206, suffix.statusCode());
+        assertArrayEquals(Arrays.copyOfRange(content, content.length - 5, content.length), suffix.body());
+
+        HttpResponse<byte[]> beyond = get("Range", "bytes=100000-");
+        assertEquals(416, beyond.statusCode());
+        assertEquals("bytes */" + content.length, beyond.headers().firstValue("Content-Range").orElseThrow());
+
+        // A resumed download of a different version gets the whole new object.
+        HttpResponse<byte[]> stale = get("Range", "bytes=10-19", "If-Range", "\"v0\"");
+        assertEquals(200, stale.statusCode());
+        assertArrayEquals(content, stale.body());
+
+        assertEquals(1, upstreamHits.get());
+    }
+
+    @Test
+    void concurrentMissesShareOneUpstreamFetch() throws Exception {
+        startRelay(Duration.ofHours(1));
+        upstreamDelayMillis = 300;
+
+        int clients = 8;
+        List<Future<HttpResponse<byte[]>>> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(clients)) {
+            for (int i = 0; i < clients; i++) {
+                responses.add(executor.submit(() -> get()));
+            }
+            for (Future<HttpResponse<byte[]>> response : responses) {
+                assertEquals(200, response.get().statusCode());
+                assertArrayEquals(content, response.get().body());
+            }
+        }
+        assertEquals(1, upstreamHits.get());
+
+        // Later requests within the TTL are served from the cache alone.
+        assertArrayEquals(content, get().body());
+        assertEquals(1, upstreamHits.get());
+    }
+
+    @Test
+    void revalidatesExpiredObjectsWithEtag() throws Exception {
+        startRelay(Duration.ZERO);
+
+        HttpResponse<byte[]> first = get();
+        assertArrayEquals(content, first.body());
+        assertEquals("\"v1\"", first.headers().firstValue("ETag").orElseThrow());
+        assertEquals(List.of(), ifNoneMatch);
+
+        // Unchanged upstream: a conditional request, answered 304, and the cached body is served.
+        HttpResponse<byte[]> revalidated = get();
+        assertEquals(200, revalidated.statusCode());
+        assertArrayEquals(content, revalidated.body());
+        assertEquals(List.of("\"v1\""), ifNoneMatch);
+
+        // Changed upstream: the new object replaces the cached one.
+        byte[] updated = bytes(50_000, 2);
+        content = updated;
+        etag = "\"v2\"";
+        HttpResponse<byte[]> replaced = get();
+        assertArrayEquals(updated, replaced.body());
+        assertEquals("\"v2\"", replaced.headers().firstValue("ETag").orElseThrow());
+        assertEquals(3, upstreamHits.get());
+    }
+
+    @Test
+    void servesStaleCopyWhenUpstreamIsDown() throws Exception {
+        startRelay(Duration.ZERO);
+        byte[] cached = content;
+        assertArrayEquals(cached, get().body());
+
+        upstream.stop(0);
+        HttpResponse<byte[]> stale = get();
+        assertEquals(200, stale.statusCode());
+        assertArrayEquals(cached, stale.body());
+    }
+
+    @Test
+    void rejectsPathsOutsideTheCache() throws Exception {
+        startRelay(Duration.ofHours(1));
+        HttpResponse<byte[]> response = getPath("/127.0.0.1:" + upstream.getAddress().getPort() + "/jdk/../../etc/passwd");
+        assertEquals(400, response.statusCode());
+        assertEquals(0, upstreamHits.get());
+    }
+
+    @Test
+    void refusesHostsThatAreNotAllowed() throws Exception {
+        startRelay(Duration.ofHours(1));
+
+        assertEquals(403, getPath("/169.254.169.254/latest/meta-data/iam").statusCode());
+        assertEquals(403, getPath("/127.0.0.1:1" + OBJECT).statusCode());
+        assertEquals(403, getPath("/localhost:" + upstream.getAddress().getPort() + OBJECT).statusCode());
+        assertEquals(0, upstreamHits.get());
+    }
+
+    @Test
+    void allowsArchiveHostsNamedInTheCatalog() throws Exception {
+        HttpServer archives = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        archives.createContext("/jdk.tar.gz", exchange -> {
+            exchange.sendResponseHeaders(200, 3);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(new byte[]{1, 2, 3});
+            }
+        });
+        archives.start();
+        try {
+            String archive = "/127.0.0.1:" + archives.getAddress().getPort() + "/jdk.tar.gz";
+            publish("/catalog.json", "[{\"version\": \"21\", \"description\": \"JDK 21\", \"distribution\": \"oracle\", "
+                    + "\"url\": \"http:/" + archive + "\"}]");
+            relay = new CachingRelay(client, cache, "http", upstreamUri("/catalog.json"),
+                    document -> List.of(URI.create("http:/" + archive)), Duration.ofHours(1), 0)
+                    .start(new InetSocketAddress("127.0.0.1", 0));
+
+            assertEquals(403, getPath(archive).statusCode());
+            assertEquals(200, getPath("/catalog.json").statusCode());
+            assertArrayEquals(new byte[]{1, 2, 3}, getPath(archive).body());
+        } finally {
+            archives.stop(0);
+        }
+    }
+
+    @Test
+    void keepsMetadataAndNestedPathsApart() throws Exception {
+        publish("/jdk/x", "x");
+        publish("/jdk/x/y", "x/y");
+        publish("/jdk/x.meta", "not metadata");
+        startRelay(Duration.ofHours(1));
+        String base = "/127.0.0.1:" + upstream.getAddress().getPort();
+
+        assertEquals("x", new String(getPath(base + "/jdk/x").body(), StandardCharsets.UTF_8));
+        assertEquals("x/y", new String(getPath(base + "/jdk/x/y").body(), StandardCharsets.UTF_8));
+        assertEquals("not metadata", new String(getPath(base + "/jdk/x.meta").body(), StandardCharsets.UTF_8));
+        // The object fetched first still has its own metadata and is served from the cache.
+        HttpResponse<byte[]> again = getPath(base + "/jdk/x");
+        assertEquals("x", new String(again.body(), StandardCharsets.UTF_8));
+        assertEquals("application/octet-stream", again.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals(3, upstreamHits.get());
+    }
+
+    @Test
+    void evictsLeastRecentlyServedObjectsBeyondTheLimit() throws Exception {
+        publish("/jdk/a", "a".repeat(400));
+        publish("/jdk/b", "b".repeat(400));
+        publish("/jdk/c", "c".repeat(400));
+        startRelay(Duration.ofHours(1), 1_000);
+        String base = "/127.0.0.1:" + upstream.getAddress().getPort();
+
+        getPath(base + "/jdk/a");
+        getPath(base + "/jdk/b");
+        Thread.sleep(20);
+        getPath(base + "/jdk/a");
+        Thread.sleep(20);
+        getPath(base + "/jdk/c");
+        assertEquals(3, upstreamHits.get());
+
+        // b was served least recently, so it went to make room for c.
+        getPath(base + "/jdk/a");
+        getPath(base + "/jdk/c");
+        assertEquals(3, upstreamHits.get());
+        assertEquals(400, getPath(base + "/jdk/b").body().length);
+        assertEquals(4, upstreamHits.get());
+    }
+}
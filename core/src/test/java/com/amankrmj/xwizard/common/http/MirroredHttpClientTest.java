@@ -0,0 +1,194 @@
+package com.amankrmj.xwizard.common.http;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class MirroredHttpClientTest {
+
+    @TempDir
+    Path temp;
+
+    private final List<HttpServer> servers = new ArrayList<>();
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @AfterEach
+    void stopServers() {
+        servers.forEach(server -> server.stop(0));
+    }
+
+    /**
+     * A local server answering every path with {@code status} and {@code body} after {@code delayMillis}.
+     */
+    private HttpServer server(int status, String body, long delayMillis, AtomicInteger hits) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            hits.incrementAndGet();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            } catch (IOException e) {
+                // The client gave up waiting.
+            }
+        });
+        server.start();
+        servers.add(server);
+        return server;
+    }
+
+    private static Mirror mirror(HttpServer server) {
+        return Mirror.of("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    private static URI upstream(HttpServer origin) {
+        return URI.create("http://127.0.0.1:" + origin.getAddress().getPort() + "/jdk/objects/abc");
+    }
+
+    private MirroredHttpClient client(List<Mirror> mirrors) {
+        return new MirroredHttpClient(HttpClient.newHttpClient(),
+                new MirrorSelector(mirrors, temp.resolve("mirror-stats.tsv"), now::get));
+    }
+
+    private static String get(MirroredHttpClient client, URI uri, Duration timeout) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(timeout).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString(), "http.test").body();
+    }
+
+    @Test
+    void failsOverFromServerErrorToNextMirror() throws Exception {
+        AtomicInteger brokenHits = new AtomicInteger();
+        AtomicInteger healthyHits = new AtomicInteger();
+        HttpServer broken = server(503, "down", 0, brokenHits);
+        HttpServer healthy = server(200, "mirror", 0, healthyHits);
+        HttpServer origin = server(200, "origin", 0, new AtomicInteger());
+        MirroredHttpClient client = client(List.of(mirror(broken), mirror(healthy)));
+
+        assertEquals("mirror", get(client, upstream(origin), Duration.ofSeconds(5)));
+        assertEquals(1, brokenHits.get());
+        assertEquals(1, healthyHits.get());
+
+        // The failed mirror is now ranked behind the healthy one and not tried first again.
+        assertEquals("mirror", get(client, upstream(origin), Duration.ofSeconds(5)));
+        assertEquals(1, brokenHits.get());
+        assertEquals(mirror(healthy), client.getSelector().fastest());
+    }
+
+    @Test
+    void failsOverFromMirrorThatTimesOut() throws Exception {
+        AtomicInteger slowHits = new AtomicInteger();
+        HttpServer slow = server(200, "slow", 2_000, slowHits);
+        HttpServer origin = server(200, "origin", 0, new AtomicInteger());
+        MirroredHttpClient client = client(List.of(mirror(slow), Mirror.ORIGIN));
+
+        assertEquals("origin", get(client, upstream(origin), Duration.ofMillis(200)));
+        assertEquals(1, slowHits.get());
+        assertEquals(Mirror.ORIGIN, client.getSelector().fastest());
+    }
+
+    @Test
+    void prefersMirrorWithLowerLatency() throws Exception {
+        AtomicInteger slowHits = new AtomicInteger();
+        AtomicInteger fastHits = new AtomicInteger();
+        HttpServer slow = server(200, "slow", 300, slowHits);
+        HttpServer fast = server(200, "fast", 0, fastHits);
+        HttpServer origin = server(200, "origin", 0, new AtomicInteger());
+        MirroredHttpClient client = client(List.of(mirror(slow), mirror(fast)));
+
+        // Unmeasured mirrors are tried first, so both get one sample...
+        assertEquals("slow", get(client, upstream(origin), Duration.ofSeconds(5)));
+        assertEquals("fast", get(client, upstream(origin), Duration.ofSeconds(5)));
+        // ...after which the faster one wins.
+        assertEquals("fast", get(client, upstream(origin), Duration.ofSeconds(5)));
+        assertEquals("fast", get(client, upstream(origin), Duration.ofSeconds(5)));
+        assertEquals(1, slowHits.get());
+        assertEquals(3, fastHits.get());
+    }
+
+    @Test
+    void mirrorMissingObjectFallsBackWithoutLosingHealth() throws Exception {
+        AtomicInteger mirrorHits = new AtomicInteger();
+        HttpServer lagging = server(404, "not replicated", 0, mirrorHits);
+        HttpServer origin = server(200, "origin", 0, new AtomicInteger());
+        MirroredHttpClient client = client(List.of(mirror(lagging), Mirror.ORIGIN));
+
+        assertEquals("origin", get(client, upstream(origin), Duration.ofSeconds(5)));
+        assertEquals(1, mirrorHits.get());
+        // A 404 is not a failure, so the mirror is still unmeasured and tried first.
+        assertEquals(mirror(lagging), client.getSelector().ranked().get(0));
+    }
+
+    @Test
+    void unhealthyMirrorIsRetriedAfterCooldown() {
+        Mirror flaky = Mirror.of("http://127.0.0.1:1");
+        Mirror sluggish = Mirror.of("http://127.0.0.1:2");
+        MirrorSelector selector = new MirrorSelector(List.of(flaky, sluggish), null, now::get);
+        selector.recordSuccess(sluggish, Duration.ofSeconds(10).toNanos(), 0, 0);
+        for (int i = 0; i < MirrorStats.MAX_CONSECUTIVE_FAILURES; i++) {
+            selector.recordFailure(flaky);
+        }
+        // Unhealthy mirrors go last however slow the healthy ones are...
+        assertEquals(List.of(sluggish, flaky), selector.ranked());
+
+        // ...until the cooldown has passed and they compete on score again.
+        now.addAndGet(MirrorStats.FAILURE_COOLDOWN_MILLIS + 1);
+        assertEquals(List.of(flaky, sluggish), selector.ranked());
+    }
+
+    @Test
+    void statsSurviveRestart() throws Exception {
+        HttpServer broken = server(503, "down", 0, new AtomicInteger());
+        HttpServer origin = server(200, "origin", 0, new AtomicInteger());
+        List<Mirror> mirrors = List.of(mirror(broken), Mirror.ORIGIN);
+        assertEquals("origin", get(client(mirrors), upstream(origin), Duration.ofSeconds(5)));
+
+        MirrorSelector restarted = new MirrorSelector(mirrors, temp.resolve("mirror-stats.tsv"), now::get);
+        assertEquals(Mirror.ORIGIN, restarted.fastest());
+    }
+
+    @Test
+    void statsAreSavedAtMostOncePerInterval() throws Exception {
+        Path file = temp.resolve("throttled.tsv");
+        Mirror mirror = Mirror.of("http://127.0.0.1:1/");
+        MirrorSelector selector = new MirrorSelector(List.of(mirror, Mirror.ORIGIN), file, now::get);
+
+        selector.recordFailure(mirror);
+        selector.saveIfDue();
+        String first = Files.readString(file);
+
+        selector.recordFailure(mirror);
+        selector.saveIfDue();
+        assertEquals(first, Files.readString(file));
+
+        now.addAndGet(MirrorSelector.SAVE_INTERVAL_MILLIS);
+        selector.saveIfDue();
+        assertNotEquals(first, Files.readString(file));
+    }
+}
@@ -0,0 +1,93 @@
+package com.amankrmj.xwizard.common.state;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StateLockTest {
+
+    @TempDir
+    Path home;
+
+    private String userHome;
+
+    @BeforeEach
+    void setUp() {
+        userHome = System.getProperty("user.home");
+        System.setProperty("user.home", home.toString());
+    }
+
+    @AfterEach
+    void restore() {
+        StateLock.onWait(null);
+        System.setProperty("user.home", userHome);
+    }
+
+    @Test
+    void sharedHolderCannotUpgradeToExclusive() throws Exception {
+        Path jdk = home.resolve("jdk");
+        try (StateLock shared = StateLock.sharedForDirectory(jdk)) {
+            assertThrows(IllegalStateException.class, () -> StateLock.forDirectory(jdk));
+            assertThrows(IllegalStateException.class, () -> StateLock.tryForDirectory(jdk));
+        }
+        // Exclusive first, then shared, is fine; so is exclusive again once the shared lock is gone.
+        try (StateLock exclusive = StateLock.forDirectory(jdk);
+             StateLock shared = StateLock.sharedForDirectory(jdk);
+             StateLock again = StateLock.forDirectory(jdk)) {
+            assertTrue(StateLock.tryForDirectory(jdk).isPresent());
+        }
+    }
+
+    @Test
+    void directoryNamesAreReadableAndDistinct() {
+        String name = StateLock.nameFor(Path.of("/opt/java/21.0.5"));
+        assertTrue(name.matches("dir-21\\.0\\.5-[0-9a-f]{32}"), name);
+        assertEquals(name, StateLock.nameFor(Path.of("/opt/java/../java/21.0.5")));
+        assertNotEquals(name, StateLock.nameFor(Path.of("/srv/java/21.0.5")));
+    }
+
+    @Test
+    void waitsAreReportedThroughTheListener() throws Exception {
+        List<String> waits = new CopyOnWriteArrayList<>();
+        StateLock.onWait(waits::add);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofPlatform().start(() -> {
+            try (StateLock lock = StateLock.acquire("busy")) {
+                held.countDown();
+                release.await();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+
+        Thread waiter = Thread.ofPlatform().start(() -> {
+            try (StateLock lock = StateLock.acquire("busy")) {
+                // Acquired once the holder lets go.
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (waits.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+        holder.join();
+        waiter.join();
+        assertEquals(List.of("busy"), waits);
+    }
+}
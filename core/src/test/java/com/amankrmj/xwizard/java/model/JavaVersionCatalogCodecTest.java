@@ -0,0 +1,107 @@
+package com.amankrmj.xwizard.java.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaVersionCatalogCodecTest {
+
+    private static byte[] json(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void readsEntriesAndSkipsUnknownFields() throws IOException {
+        List<OracleJavaVersionInfo> versions = JavaVersionCatalogCodec.read(json("""
+                [
+                  {"version": "21.0.4", "description": "linux x64", "distribution": "temurin",
+                   "url": "https://example.com/a.tar.gz", "checksum": {"sha256": "ab"}, "tags": [1, 2]},
+                  {"url": "https://example.com/b.zip", "distribution": "temurin", "description": "windows x64", "version": "21.0.4"}
+                ]
+                """));
+
+        assertEquals(2, versions.size());
+        assertEquals("21.0.4", versions.get(0).getVersion());
+        assertEquals("linux x64", versions.get(0).getDescription());
+        assertEquals("https://example.com/b.zip", versions.get(1).getUrl());
+        // Repeated strings share one instance.
+        assertSame(versions.get(0).getVersion(), versions.get(1).getVersion());
+        assertSame(versions.get(0).getDistribution(), versions.get(1).getDistribution());
+    }
+
+    @Test
+    void writeThenReadRoundTrips() throws IOException {
+        List<OracleJavaVersionInfo> versions = List.of(
+                new OracleJavaVersionInfo("17.0.9", "linux \"x64\"", "oracle", "https://example.com/17.tar.gz"),
+                new OracleJavaVersionInfo("8u461", "windows", "temurin", "https://example.com/8.zip"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        JavaVersionCatalogCodec.write(versions, out);
+        List<OracleJavaVersionInfo> read = JavaVersionCatalogCodec.read(out.toByteArray());
+
+        assertEquals(2, read.size());
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(versions.get(i).getVersion(), read.get(i).getVersion());
+            assertEquals(versions.get(i).getDescription(), read.get(i).getDescription());
+            assertEquals(versions.get(i).getDistribution(), read.get(i).getDistribution());
+            assertEquals(versions.get(i).getUrl(), read.get(i).getUrl());
+        }
+    }
+
+    @Test
+    void malformedCatalogsNameTheProblem() {
+        IOException notArray = assertThrows(IOException.class, () -> JavaVersionCatalogCodec.read(json("{}")));
+        assertTrue(notArray.getMessage().contains("JSON array"), notArray.getMessage());
+
+        IOException missing = assertThrows(IOException.class, () -> JavaVersionCatalogCodec.read(json("""
+                [{"version": "21", "description": "", "distribution": "x", "url": "u"},
+                 {"version": "21", "description": "", "distribution": "x", "url": null}]
+                """)));
+        assertTrue(missing.getMessage().contains("entry 1"), missing.getMessage());
+
+        IOException notObject = assertThrows(IOException.class, () -> JavaVersionCatalogCodec.read(json("[1]")));
+        assertTrue(notObject.getMessage().contains("entry 0"), notObject.getMessage());
+    }
+
+    @Test
+    void indexIsToldApartFromFlatCatalog() {
+        assertTrue(JavaVersionCatalogCodec.isIndex(json("\uFEFF \n {\"shards\": []}")));
+        assertFalse(JavaVersionCatalogCodec.isIndex(json("  [ ]")));
+        assertFalse(JavaVersionCatalogCodec.isIndex(json("")));
+    }
+
+    @Test
+    void readsIndexShards() throws IOException {
+        List<CatalogShard> shards = JavaVersionCatalogCodec.readIndex(json("""
+                {"format": 1, "generated": "2024-07-01", "shards": [
+                  {"major": "21", "distribution": "temurin", "url": "shards/21-temurin.json", "sha256": "abc"},
+                  {"url": "shards/misc.json"}
+                ]}
+                """));
+
+        assertEquals(List.of(
+                new CatalogShard("21", "temurin", "shards/21-temurin.json", "abc"),
+                new CatalogShard(null, null, "shards/misc.json", null)), shards);
+        assertTrue(shards.get(0).covers("21"));
+        assertFalse(shards.get(0).covers("17"));
+        assertTrue(shards.get(1).covers("17"));
+    }
+
+    @Test
+    void rejectsIndexFromNewerFormatOrWithoutShards() {
+        IOException newer = assertThrows(IOException.class,
+                () -> JavaVersionCatalogCodec.readIndex(json("{\"format\": 2, \"shards\": []}")));
+        assertTrue(newer.getMessage().contains("format 2"), newer.getMessage());
+        assertThrows(IOException.class, () -> JavaVersionCatalogCodec.readIndex(json("{\"format\": 1}")));
+        assertThrows(IOException.class, () -> JavaVersionCatalogCodec.readIndex(json("{\"shards\": [{\"major\": \"21\"}]}")));
+    }
+}
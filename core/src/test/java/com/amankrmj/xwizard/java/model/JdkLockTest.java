@@ -0,0 +1,61 @@
+package com.amankrmj.xwizard.java.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdkLockTest {
+
+    private static JdkLock parse(String text) throws IOException {
+        return JdkLock.parse(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void parsesAllKeysAndIgnoresCommentsAndBlankLines() throws IOException {
+        JdkLock lock = parse("""
+                # team baseline
+
+                default 21.0.5
+                jdk 21.0.5 sha256:3c6a
+                JDK   17
+                path C:\\Program Files\\tools\\bin
+                """);
+
+        assertEquals("21.0.5", lock.defaultVersion());
+        assertEquals(List.of(new JdkLock.Jdk("21.0.5", "3c6a"), new JdkLock.Jdk("17", null)), lock.jdks());
+        assertEquals(List.of("C:\\Program Files\\tools\\bin"), lock.pathEntries());
+    }
+
+    @Test
+    void defaultVersionIsInstalledEvenIfNotListed() throws IOException {
+        assertEquals(List.of(new JdkLock.Jdk("17", null), new JdkLock.Jdk("21", null)),
+                parse("jdk 17\ndefault 21\n").jdks());
+        assertEquals(List.of(new JdkLock.Jdk("21.0.5", null)), parse("jdk 21.0.5\ndefault 21\n").jdks());
+        assertNull(parse("jdk 17\n").defaultVersion());
+    }
+
+    @Test
+    void rejectsMalformedLinesWithTheirLineNumber() {
+        assertTrue(assertThrows(IOException.class, () -> parse("jdk 17\nfoo 1\n")).getMessage().startsWith("line 2:"));
+        assertTrue(assertThrows(IOException.class, () -> parse("default\n")).getMessage().contains("needs a value"));
+        assertThrows(IOException.class, () -> parse("jdk 17 md5:abc\n"));
+        assertThrows(IOException.class, () -> parse("jdk 17 sha256:a sha256:b\n"));
+    }
+
+    @Test
+    void matchesOnVersionComponentBoundaries() {
+        assertTrue(JdkLock.matches("17.0.9", "17"));
+        assertTrue(JdkLock.matches("8u392", "8"));
+        assertTrue(JdkLock.matches("21.0.5", "21.0.5"));
+        assertFalse(JdkLock.matches("170.0.1", "17"));
+        assertFalse(JdkLock.matches("21.0.4", "21.0.5"));
+    }
+}
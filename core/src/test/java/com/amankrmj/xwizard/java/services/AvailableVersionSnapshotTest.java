@@ -0,0 +1,58 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.java.model.OracleJavaVersionInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AvailableVersionSnapshotTest {
+
+    @TempDir
+    Path temp;
+
+    private String userHome;
+
+    @BeforeEach
+    void setUp() {
+        userHome = System.getProperty("user.home");
+        System.setProperty("user.home", temp.toString());
+    }
+
+    @AfterEach
+    void restoreHome() {
+        System.setProperty("user.home", userHome);
+    }
+
+    private static List<OracleJavaVersionInfo> catalog(String... versions) {
+        return Arrays.stream(versions)
+                .map(version -> new OracleJavaVersionInfo(version, "", "temurin", "https://example.com/" + version))
+                .toList();
+    }
+
+    @Test
+    void fullFetchIsStoredNewestFirstWithoutDuplicates() throws IOException {
+        AvailableVersionSnapshot.update(catalog("17.0.9", "21.0.9", "21.0.10", "8u461", "21.0.9"));
+
+        assertEquals(List.of("21.0.10", "21.0.9", "17.0.9", "8u461"), AvailableVersionSnapshot.read());
+
+        AvailableVersionSnapshot.update(catalog("21.0.10"));
+        assertEquals(List.of("21.0.10"), AvailableVersionSnapshot.read());
+    }
+
+    @Test
+    void partialFetchAddsToTheRecordedVersions() throws IOException {
+        AvailableVersionSnapshot.update(catalog("17.0.9", "21.0.4"));
+
+        AvailableVersionSnapshot.merge(catalog("21.0.5", "21.0.4"));
+
+        assertEquals(List.of("21.0.5", "21.0.4", "17.0.9"), AvailableVersionSnapshot.read());
+    }
+}
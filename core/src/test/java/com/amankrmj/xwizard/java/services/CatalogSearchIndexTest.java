@@ -0,0 +1,95 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.java.model.CompactCatalog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogSearchIndexTest {
+
+    @TempDir
+    Path temp;
+
+    private static CatalogSearchIndex index() {
+        CompactCatalog catalog = CompactCatalog.builder()
+                .add("17.0.9", "Temurin 17 Linux x64", "temurin", "https://example.com/OpenJDK17U-jdk_x64_linux.tar.gz")
+                .add("21.0.2", "GraalVM 21 Linux aarch64", "graalvm", "https://example.com/graalvm-jdk-21.0.2_linux-aarch64.tar.gz")
+                .add("23.0.21", "Temurin 23 Linux x64", "temurin", "https://example.com/OpenJDK23U-jdk_x64_linux.tar.gz")
+                .add("21.0.4", "Temurin 21 Linux x64", "temurin", "https://example.com/OpenJDK21U-jdk_x64_linux.tar.gz")
+                .build();
+        return CatalogSearchIndex.build("sha", catalog);
+    }
+
+    private static List<String> versions(List<CatalogSearchIndex.Hit> hits) {
+        return hits.stream().map(hit -> hit.entry().getVersion()).toList();
+    }
+
+    @Test
+    void tokenizerLowerCasesAndExpandsVersionPrefixes() {
+        Set<String> terms = new LinkedHashSet<>();
+        CatalogSearchIndex.tokenize("JDK 21.0.2+13, linux-AArch64.", terms, true);
+        assertEquals(List.of("jdk", "21", "21.0", "21.0.2", "21.0.2+13", "linux", "aarch64"), List.copyOf(terms));
+
+        Set<String> query = new LinkedHashSet<>();
+        CatalogSearchIndex.tokenize("21.0 Temurin", query, false);
+        assertEquals(List.of("21.0", "temurin"), List.copyOf(query));
+    }
+
+    @Test
+    void majorVersionMatchesOnlyThatMajorNewestFirst() {
+        assertEquals(List.of("21.0.4", "21.0.2"), versions(index().search("21", 10)));
+        assertEquals(List.of("21.0.4"), versions(index().search("temurin 21", 10)));
+        assertEquals(List.of(), versions(index().search("", 10)));
+    }
+
+    @Test
+    void versionAndDistributionMatchesRankAboveDescriptionMatches() {
+        List<CatalogSearchIndex.Hit> hits = index().search("graalvm", 10);
+        assertEquals(List.of("21.0.2"), versions(hits));
+
+        // "x64" appears only in descriptions and file names.
+        List<CatalogSearchIndex.Hit> x64 = index().search("x64", 10);
+        assertEquals(List.of("23.0.21", "21.0.4", "17.0.9"), versions(x64));
+        assertTrue(hits.get(0).score() > x64.get(0).score());
+    }
+
+    @Test
+    void typosFallBackToNearbyTerms() {
+        assertTrue(CatalogSearchIndex.withinDistance("gralvm", "graalvm", 1));
+        assertFalse(CatalogSearchIndex.withinDistance("temurin", "graalvm", 2));
+
+        assertEquals(List.of("21.0.2"), versions(index().search("gralvm", 10)));
+        assertEquals(List.of("23.0.21", "21.0.4", "17.0.9"), versions(index().search("temuirn", 10)));
+    }
+
+    @Test
+    void savedIndexLoadsBackAndDamagedFilesAreIgnored() throws IOException {
+        Path file = temp.resolve("catalog-index.bin");
+        CatalogSearchIndex index = index();
+        index.save(file);
+
+        CatalogSearchIndex loaded = CatalogSearchIndex.load(file).orElseThrow();
+        assertEquals(index.size(), loaded.size());
+        assertEquals(versions(index.search("temurin linux", 10)), versions(loaded.search("temurin linux", 10)));
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+        assertTrue(CatalogSearchIndex.load(file).isEmpty());
+
+        bytes[0] ^= 1;
+        Files.write(file, bytes);
+        assertTrue(CatalogSearchIndex.load(file).isEmpty());
+        assertTrue(CatalogSearchIndex.load(temp.resolve("missing.bin")).isEmpty());
+    }
+}
@@ -0,0 +1,124 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.archive.FileManifest;
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisabledOnOs(OS.WINDOWS)
+class JavaBundleServiceTest {
+
+    private static final String VERSION = "21.0.4";
+
+    @TempDir
+    Path temp;
+
+    private String userHome;
+    private Path jdk;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        userHome = System.getProperty("user.home");
+        useHome("source");
+
+        jdk = JavaVersionManagerUtils.getJavaVersionsDirectory().resolve(VERSION);
+        Files.createDirectories(jdk.resolve("bin"));
+        Files.writeString(jdk.resolve("release"), "JAVA_VERSION=\"21.0.4\"\n");
+        Files.writeString(jdk.resolve("bin/java"), "#!/bin/sh\n");
+        Files.createDirectories(jdk.resolve("lib/server"));
+        Files.writeString(jdk.resolve("lib/server/libjvm.so"), "jvm");
+        Files.createSymbolicLink(jdk.resolve("lib/libjvm.so"), Path.of("server/libjvm.so"));
+        Files.createDirectories(jdk.resolve("conf/empty"));
+    }
+
+    @AfterEach
+    void restoreHome() {
+        System.setProperty("user.home", userHome);
+    }
+
+    private void useHome(String name) {
+        System.setProperty("user.home", temp.resolve(name).toString());
+    }
+
+    private Path export() throws IOException {
+        Path bundle = temp.resolve("jdks.xwb");
+        new JavaBundleService().export(List.of(VERSION), bundle);
+        return bundle;
+    }
+
+    @Test
+    void roundTripKeepsLinksEmptyDirectoriesAndLargeFiles() throws IOException {
+        byte[] modules = new byte[9 << 20];
+        new Random(7).nextBytes(modules);
+        Files.write(jdk.resolve("lib/modules"), modules);
+
+        Path bundle = export();
+        useHome("target");
+        assertEquals(List.of(VERSION), new JavaBundleService().importBundle(bundle, false));
+
+        Path imported = JavaVersionManagerUtils.getJavaVersionsDirectory().resolve(VERSION);
+        assertEquals("jvm", Files.readString(imported.resolve("lib/server/libjvm.so")));
+        assertTrue(Files.isSymbolicLink(imported.resolve("lib/libjvm.so")));
+        assertEquals(Path.of("server/libjvm.so"), Files.readSymbolicLink(imported.resolve("lib/libjvm.so")));
+        assertTrue(Files.isDirectory(imported.resolve("conf/empty"), LinkOption.NOFOLLOW_LINKS));
+        assertArrayEquals(modules, Files.readAllBytes(imported.resolve("lib/modules")));
+        assertEquals(Files.isExecutable(jdk.resolve("bin/java")), Files.isExecutable(imported.resolve("bin/java")));
+    }
+
+    @Test
+    void exportBundlesWhatIsOnDiskNotTheRecordedManifest() throws IOException {
+        JavaUpgradeService.installedManifest(VERSION);
+        Files.writeString(jdk.resolve("release"), "JAVA_VERSION=\"21.0.4\"\nPATCHED=true\n");
+
+        Path bundle = export();
+        useHome("target");
+        new JavaBundleService().importBundle(bundle, false);
+
+        Path release = JavaVersionManagerUtils.getJavaVersionsDirectory().resolve(VERSION).resolve("release");
+        assertTrue(Files.readString(release).contains("PATCHED=true"));
+        FileManifest.Entry entry = FileManifest.read(JavaUpgradeService.manifestFile(VERSION)).byPath().get("release");
+        assertEquals(FileUtils.sha256(release), entry.sha256());
+    }
+
+    @Test
+    void tamperedBlobIsRejectedAndNothingIsInstalled() throws IOException {
+        Files.writeString(jdk.resolve("release"), "x".repeat(4096));
+        Path bundle = export();
+        try (RandomAccessFile file = new RandomAccessFile(bundle.toFile(), "rw")) {
+            // First blob starts right after the 12-byte header; corrupt its tail.
+            long position = 12 + 8;
+            file.seek(position);
+            int b = file.read();
+            file.seek(position);
+            file.write(b ^ 0x55);
+        }
+
+        useHome("target");
+        assertThrows(IOException.class, () -> new JavaBundleService().importBundle(bundle, false));
+
+        Path versionsDir = JavaVersionManagerUtils.getJavaVersionsDirectory();
+        assertFalse(Files.exists(versionsDir.resolve(VERSION)));
+        try (var entries = Files.list(versionsDir)) {
+            assertEquals(List.of(), entries.toList());
+        }
+    }
+}
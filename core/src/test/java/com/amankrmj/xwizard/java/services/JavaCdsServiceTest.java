@@ -0,0 +1,69 @@
+package com.amankrmj.xwizard.java.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class JavaCdsServiceTest {
+
+    @TempDir
+    Path home;
+
+    private String userHome;
+
+    @BeforeEach
+    void setHome() {
+        userHome = System.getProperty("user.home");
+        System.setProperty("user.home", home.resolve("user name").toString());
+    }
+
+    @AfterEach
+    void restoreHome() {
+        System.setProperty("user.home", userHome);
+    }
+
+    private static String options(String version) {
+        return JavaCdsService.jvmOptions(JavaCdsService.archiveDirectory(version).resolve("app-0a1b2c.jsa"));
+    }
+
+    @Test
+    void stripsOnlyOurArchiveOption() {
+        assertEquals("-Dhttps.proxyHost=proxy -Dfile.encoding=UTF-8",
+                JavaCdsService.stripManagedOptions("-Dhttps.proxyHost=proxy " + options("21") + " -Dfile.encoding=UTF-8"));
+        assertEquals("-Xmx2g", JavaCdsService.stripManagedOptions(options("17") + " -Xmx2g"));
+    }
+
+    @Test
+    void nothingLeftMeansUnset() {
+        assertNull(JavaCdsService.stripManagedOptions(options("21")));
+        assertNull(JavaCdsService.stripManagedOptions(null));
+        assertNull(JavaCdsService.stripManagedOptions("  "));
+    }
+
+    @Test
+    void keepsArchivesTheUserConfigured() {
+        String own = "-XX:SharedArchiveFile=/opt/app/app.jsa -Xshare:auto -Xlog:cds*=off";
+        assertEquals(own, JavaCdsService.stripManagedOptions(own));
+        assertEquals(own, JavaCdsService.stripManagedOptions(own + " " + options("21")));
+    }
+
+    @Test
+    void execReplacesAStaleArchiveOfOursAndKeepsTheUsersOptions() {
+        Path archive = JavaCdsService.archiveDirectory("21").resolve("app-0a1b2c.jsa");
+        String ours = JavaCdsService.jvmOptions(archive);
+
+        assertEquals(ours, JavaExecService.withArchive(null, archive));
+        assertEquals(ours, JavaExecService.withArchive(options("17"), archive));
+        assertEquals("-Xmx2g " + ours, JavaExecService.withArchive("-Xmx2g " + options("17"), archive));
+
+        String own = "-XX:SharedArchiveFile=/opt/app/app.jsa";
+        assertEquals(own, JavaExecService.withArchive(own, archive));
+        assertEquals(own, JavaExecService.withArchive(own + " " + options("17"), archive));
+    }
+}
@@ -0,0 +1,71 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JavaPruneServiceTest {
+
+    @TempDir
+    Path home;
+
+    private String userHome;
+
+    @BeforeEach
+    void setUp() {
+        userHome = System.getProperty("user.home");
+        System.setProperty("user.home", home.toString());
+    }
+
+    @AfterEach
+    void restoreHome() {
+        System.setProperty("user.home", userHome);
+    }
+
+    /** A version of {@code size} bytes whose install time orders it by {@code age}. */
+    private static void installed(String name, int size, long age) throws IOException {
+        Path dir = Files.createDirectories(JavaVersionManagerUtils.getJavaVersionsDirectory().resolve(name));
+        Files.write(dir.resolve("lib"), new byte[size]);
+        Files.setLastModifiedTime(dir, FileTime.fromMillis(1_000_000L - age));
+    }
+
+    private static List<String> names(List<JavaPruneService.InstalledVersion> versions) {
+        return versions.stream().map(JavaPruneService.InstalledVersion::name).sorted().toList();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedUntilWithinBudget() throws IOException {
+        installed("11.0.21", 100, 3);
+        installed("17.0.9", 100, 2);
+        installed("21.0.5", 100, 1);
+
+        JavaPruneService.PrunePlan plan = new JavaPruneService().plan(150L, null);
+
+        assertEquals(List.of("11.0.21", "17.0.9"), names(plan.evict()));
+        assertEquals(List.of("21.0.5"), names(plan.keep()));
+    }
+
+    @Test
+    void pinnedVersionsNeitherGoNorCountAgainstTheBudget() throws IOException {
+        installed("8u392", 1000, 4);
+        installed("11.0.21", 100, 3);
+        installed("17.0.9", 100, 2);
+        installed("21.0.5", 100, 1);
+        JavaUsageLog.setPinned("8u392", true);
+
+        JavaPruneService.PrunePlan plan = new JavaPruneService().plan(200L, null);
+
+        assertEquals(List.of("11.0.21"), names(plan.evict()));
+        assertEquals(List.of("17.0.9", "21.0.5", "8u392"), names(plan.keep()));
+    }
+}
@@ -0,0 +1,93 @@
+package com.amankrmj.xwizard.java.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaToolchainsServiceTest {
+
+    private static final Path MANAGED = Path.of("/home/u/.javawizard/java").toAbsolutePath();
+
+    private static JavaToolchainsService.Toolchain jdk(String name) {
+        return new JavaToolchainsService.Toolchain(name, name, "Eclipse Adoptium", MANAGED.resolve(name));
+    }
+
+    private static String key(Path... homes) {
+        StringBuilder line = new StringBuilder(JavaToolchainsService.GRADLE_KEY).append('=');
+        for (int i = 0; i < homes.length; i++) {
+            line.append(i == 0 ? "" : ",").append(homes[i].toString().replace("\\", "\\\\"));
+        }
+        return line.toString();
+    }
+
+    @Test
+    void gradleKeyIsAddedToNewOrExistingFile() {
+        assertEquals(key(MANAGED.resolve("21.0.4")) + "\n",
+                JavaToolchainsService.mergeGradle(null, List.of(jdk("21.0.4")), MANAGED));
+        assertEquals("org.gradle.daemon=true\n" + key(MANAGED.resolve("21.0.4")) + "\n",
+                JavaToolchainsService.mergeGradle("org.gradle.daemon=true\n", List.of(jdk("21.0.4")), MANAGED));
+    }
+
+    @Test
+    void gradleKeepsPathsTheUserListedAndReplacesManagedOnes() {
+        Path own = Path.of("/opt/jdks/graal").toAbsolutePath();
+        String existing = "a=1\n" + key(own, MANAGED.resolve("17.0.9")) + "\nb=2\n";
+
+        String merged = JavaToolchainsService.mergeGradle(existing, List.of(jdk("21.0.4")), MANAGED);
+
+        assertEquals("a=1\n" + key(own, MANAGED.resolve("21.0.4")) + "\nb=2\n", merged);
+    }
+
+    @Test
+    void gradleLineIsKeptForUserPathsWhenNoManagedJdksRemain() {
+        Path own = Path.of("/opt/jdks/graal").toAbsolutePath();
+
+        assertEquals(key(own) + "\n",
+                JavaToolchainsService.mergeGradle(key(own, MANAGED.resolve("17.0.9")) + "\n", List.of(), MANAGED));
+        assertEquals("a=1\n",
+                JavaToolchainsService.mergeGradle("a=1\n" + key(MANAGED.resolve("17.0.9")) + "\n", List.of(), MANAGED));
+    }
+
+    @Test
+    void gradleReadsContinuedValues() {
+        Path own = Path.of("/opt/jdks/graal").toAbsolutePath();
+        String existing = JavaToolchainsService.GRADLE_KEY + " = " + own + ",\\\n    "
+                + MANAGED.resolve("17.0.9") + "\n";
+
+        assertEquals(key(own, MANAGED.resolve("21.0.4")) + "\n",
+                JavaToolchainsService.mergeGradle(existing, List.of(jdk("21.0.4")), MANAGED));
+    }
+
+    @Test
+    void mavenBlockIsInsertedThenReplacedInPlace() throws IOException {
+        String user = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <toolchains>
+                  <toolchain><type>jdk</type><provides><id>mine</id></provides></toolchain>
+                </toolchains>
+                """;
+
+        String first = JavaToolchainsService.mergeMaven(user, List.of(jdk("17.0.9")));
+        assertTrue(first.contains("<id>mine</id>"));
+        assertTrue(first.contains("<id>javawizard-17.0.9</id>"));
+        assertTrue(first.indexOf(JavaToolchainsService.END_MARKER) < first.indexOf("</toolchains>"));
+
+        String second = JavaToolchainsService.mergeMaven(first, List.of(jdk("21.0.4")));
+        assertTrue(second.contains("<id>mine</id>"));
+        assertTrue(second.contains("<id>javawizard-21.0.4</id>"));
+        assertFalse(second.contains("javawizard-17.0.9"));
+        assertEquals(second, JavaToolchainsService.mergeMaven(second, List.of(jdk("21.0.4"))));
+    }
+
+    @Test
+    void mavenRefusesFileWithoutToolchainsElement() {
+        assertThrows(IOException.class, () -> JavaToolchainsService.mergeMaven("<settings/>\n", List.of(jdk("21.0.4"))));
+    }
+}
@@ -0,0 +1,197 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.common.FileUtils;
+import com.amankrmj.xwizard.common.archive.FileManifest;
+import com.amankrmj.xwizard.common.http.MirrorSelector;
+import com.amankrmj.xwizard.common.http.MirroredHttpClient;
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+import com.amankrmj.xwizard.java.model.OracleJavaVersionInfo;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaUpgradeServiceTest {
+
+    private static final String OLD = "21.0.4";
+    private static final String NEW = "21.0.5";
+
+    @TempDir
+    Path home;
+
+    private String userHome;
+    private HttpServer server;
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> objectHits = new ConcurrentHashMap<>();
+    private String manifest;
+
+    @BeforeEach
+    void startCatalog() throws IOException {
+        userHome = System.getProperty("user.home");
+        System.setProperty("user.home", home.toString());
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/jdk/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = null;
+            if (path.equals("/jdk/jdk-" + NEW + ".tar.gz.manifest")) {
+                body = manifest.getBytes(StandardCharsets.UTF_8);
+            } else if (path.startsWith("/jdk/objects/")) {
+                String sha = path.substring("/jdk/objects/".length());
+                objectHits.computeIfAbsent(sha, key -> new AtomicInteger()).incrementAndGet();
+                body = objects.get(sha);
+            }
+            try (OutputStream out = exchange.getResponseBody()) {
+                if (body == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                } else {
+                    exchange.sendResponseHeaders(200, body.length);
+                    out.write(body);
+                }
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopCatalog() {
+        server.stop(0);
+        System.setProperty("user.home", userHome);
+    }
+
+    private static Map<String, String> oldTree() {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("release", "JAVA_VERSION=\"" + OLD + "\"\n");
+        files.put("bin/java", "launcher");
+        files.put("conf/security/java.security", "securerandom.source=file:/dev/random\n");
+        files.put("lib/modules", "modules " + OLD);
+        return files;
+    }
+
+    private static Map<String, String> newTree() {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("release", "JAVA_VERSION=\"" + NEW + "\"\n");
+        files.put("bin/java", "launcher");
+        files.put("conf/security/java.security", "securerandom.source=file:/dev/random\n");
+        files.put("lib/modules", "modules " + NEW);
+        files.put("lib/jrt-fs.jar", "jrt " + NEW);
+        files.put("legal/jrt-fs.jar", "jrt " + NEW);
+        return files;
+    }
+
+    private static String sha256(String content) {
+        return HexFormat.of().formatHex(FileUtils.newSha256()
+                .digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Path installOld() throws IOException {
+        Path oldHome = JavaVersionManagerUtils.getJavaVersionsDirectory().resolve(OLD);
+        for (Map.Entry<String, String> file : oldTree().entrySet()) {
+            Path path = oldHome.resolve(file.getKey());
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, file.getValue());
+        }
+        return oldHome;
+    }
+
+    private void publish(Map<String, String> tree) {
+        List<FileManifest.Entry> entries = new ArrayList<>();
+        for (Map.Entry<String, String> file : tree.entrySet()) {
+            String sha = sha256(file.getValue());
+            entries.add(new FileManifest.Entry(file.getKey(), sha, file.getValue().length(), 0644));
+            objects.put(sha, file.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+        manifest = new FileManifest(entries).format();
+    }
+
+    private JavaUpgradeService.UpgradeResult upgrade() throws IOException {
+        OracleJavaVersionInfo target = new OracleJavaVersionInfo(NEW, "JDK " + NEW, "temurin",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/jdk/jdk-" + NEW + ".tar.gz");
+        JavaUpgradeService service = new JavaUpgradeService(
+                new MirroredHttpClient(HttpClient.newHttpClient(), MirrorSelector.originOnly()), new JavaInstallService());
+        return service.upgrade(OLD, target, false);
+    }
+
+    private static void assertTree(Path root, Map<String, String> expected) throws IOException {
+        for (Map.Entry<String, String> file : expected.entrySet()) {
+            assertEquals(file.getValue(), Files.readString(root.resolve(file.getKey())), file.getKey());
+        }
+    }
+
+    @Test
+    void fetchesOnlyChangedFilesAndCopiesTheRest() throws IOException {
+        Path oldHome = installOld();
+        publish(newTree());
+
+        JavaUpgradeService.UpgradeResult result = upgrade();
+
+        assertTrue(result.delta());
+        assertEquals(2, result.filesReused());
+        // release, lib/modules and one copy of the jrt-fs.jar content.
+        assertEquals(3, result.filesFetched());
+        assertEquals(Map.of(
+                        sha256(newTree().get("release")), 1,
+                        sha256(newTree().get("lib/modules")), 1,
+                        sha256(newTree().get("lib/jrt-fs.jar")), 1),
+                objectHits.entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().get())));
+
+        Path newHome = result.home();
+        assertEquals(JavaVersionManagerUtils.getJavaVersionsDirectory().resolve(NEW), newHome);
+        assertTree(newHome, newTree());
+        assertTree(oldHome, oldTree());
+        assertEquals(newTree().keySet().size(),
+                FileManifest.read(JavaUpgradeService.manifestFile(NEW)).getEntries().size());
+    }
+
+    @Test
+    void reusedFilesAreIndependentCopies() throws IOException {
+        Path oldHome = installOld();
+        publish(newTree());
+
+        Path newHome = upgrade().home();
+
+        Path security = newHome.resolve("conf/security/java.security");
+        assertFalse(Files.isSameFile(security, oldHome.resolve("conf/security/java.security")));
+        Files.writeString(security, "edited in the new home\n");
+        assertEquals(oldTree().get("conf/security/java.security"),
+                Files.readString(oldHome.resolve("conf/security/java.security")));
+    }
+
+    @Test
+    void fetchesFileEditedSinceItsManifestWasRecorded() throws IOException {
+        Path oldHome = installOld();
+        // Record the install-time manifest, then edit the old home behind its back.
+        JavaUpgradeService.installedManifest(OLD);
+        Files.writeString(oldHome.resolve("conf/security/java.security"), "locally edited\n");
+        publish(newTree());
+
+        JavaUpgradeService.UpgradeResult result = upgrade();
+
+        assertEquals(1, result.filesReused());
+        assertEquals(4, result.filesFetched());
+        assertEquals(1, objectHits.get(sha256(newTree().get("conf/security/java.security"))).get());
+        assertTree(result.home(), newTree());
+    }
+}
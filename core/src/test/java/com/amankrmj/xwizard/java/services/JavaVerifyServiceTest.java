@@ -0,0 +1,136 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaVerifyServiceTest {
+
+    private static final String VERSION = "21.0.4";
+    private static final Map<String, String> FILES = Map.of(
+            "release", "JAVA_VERSION=\"21.0.4\"\n",
+            "bin/java", "launcher",
+            "lib/modules", "modules v1");
+
+    @TempDir
+    Path temp;
+
+    private String userHome;
+    private Path home;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        userHome = System.getProperty("user.home");
+        System.setProperty("user.home", temp.resolve("home").toString());
+
+        home = JavaVersionManagerUtils.getJavaVersionsDirectory().resolve(VERSION);
+        for (Map.Entry<String, String> file : FILES.entrySet()) {
+            Files.createDirectories(home.resolve(file.getKey()).getParent());
+            Files.writeString(home.resolve(file.getKey()), file.getValue());
+        }
+        // Record the manifest as an install would, and make every file older than it.
+        JavaUpgradeService.installedManifest(VERSION);
+        for (String path : FILES.keySet()) {
+            Files.setLastModifiedTime(home.resolve(path), FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+        }
+    }
+
+    @AfterEach
+    void restoreHome() {
+        System.setProperty("user.home", userHome);
+    }
+
+    private static JavaVerifyService.Report verify(boolean deep, boolean repair) throws IOException {
+        return new JavaVerifyService().verify(VERSION, deep, repair);
+    }
+
+    /** Rewrite {@code path} with same-size content and its old modification time. */
+    private void tamperUnnoticed(String path) throws IOException {
+        Path file = home.resolve(path);
+        FileTime modified = Files.getLastModifiedTime(file);
+        Files.writeString(file, "modules v2");
+        Files.setLastModifiedTime(file, modified);
+    }
+
+    @Test
+    void untouchedFilesAreNotHashedUnlessDeep() throws IOException {
+        JavaVerifyService.Report fast = verify(false, false);
+        assertTrue(fast.intact());
+        assertEquals(3, fast.files());
+        assertEquals(0, fast.hashed());
+
+        tamperUnnoticed("lib/modules");
+        assertTrue(verify(false, false).intact());
+
+        JavaVerifyService.Report deep = verify(true, false);
+        assertEquals(3, deep.hashed());
+        assertEquals(List.of("lib/modules"), deep.corrupted());
+        assertFalse(deep.intact());
+    }
+
+    @Test
+    void changedSizeMissingAndExtraFilesAreReported() throws IOException {
+        Files.writeString(home.resolve("release"), "JAVA_VERSION=\"21\"\n");
+        Files.delete(home.resolve("bin/java"));
+        Files.writeString(home.resolve("lib/extra.txt"), "mine");
+        Files.writeString(home.resolve("lib/classes.jsa"), "cds");
+
+        JavaVerifyService.Report report = verify(false, false);
+
+        assertEquals(List.of("release"), report.corrupted());
+        assertEquals(List.of("bin/java"), report.missing());
+        assertEquals(List.of("lib/extra.txt"), report.extra());
+        assertFalse(report.intact());
+    }
+
+    @Test
+    void repairRestoresFilesFromTheOriginalArchive() throws IOException {
+        Path archive = temp.resolve("jdk.zip");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(archive))) {
+            for (Map.Entry<String, String> file : FILES.entrySet()) {
+                zip.putNextEntry(new ZipEntry("jdk-21.0.4/" + file.getKey()));
+                zip.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        InstalledVersionIndex.record(VERSION, archive.toString());
+        tamperUnnoticed("lib/modules");
+        Files.delete(home.resolve("bin/java"));
+
+        JavaVerifyService.Report report = verify(true, true);
+
+        assertTrue(report.intact(), String.valueOf(report.repairError()));
+        assertEquals(List.of("lib/modules", "bin/java"), report.repaired());
+        assertEquals("modules v1", Files.readString(home.resolve("lib/modules")));
+        assertEquals("launcher", Files.readString(home.resolve("bin/java")));
+        assertTrue(verify(true, false).intact());
+    }
+
+    @Test
+    void repairWithoutARecordedArchiveLeavesTheInstallAlone() throws IOException {
+        tamperUnnoticed("lib/modules");
+
+        JavaVerifyService.Report report = verify(true, true);
+
+        assertNotNull(report.repairError());
+        assertEquals(List.of(), report.repaired());
+        assertEquals("modules v2", Files.readString(home.resolve("lib/modules")));
+    }
+}
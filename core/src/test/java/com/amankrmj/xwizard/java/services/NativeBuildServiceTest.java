@@ -0,0 +1,241 @@
+package com.amankrmj.xwizard.java.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the build cache against a stand-in {@code native-image} shell script that
+ * records each compilation and writes a fake binary derived from the jar.
+ */
+@DisabledOnOs(OS.WINDOWS)
+class NativeBuildServiceTest {
+
+    private static final String STUB = """
+            #!/bin/sh
+            dir=$(dirname "$0")
+            if [ "$1" = "--version" ]; then
+              cat "$dir/version"
+              exit 0
+            fi
+            # -jar <jar> -o <output> [extra args]
+            jar=$2
+            out=$4
+            shift 4
+            echo "$jar $*" >> "$dir/invocations"
+            if grep -q fail "$jar"; then
+              exit 3
+            fi
+            { cat "$dir/version"; cat "$jar"; echo "$*"; } > "$out"
+            """;
+
+    @TempDir
+    Path temp;
+
+    private String userHome;
+    private Path tool;
+    private Path jar;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        userHome = System.getProperty("user.home");
+        System.setProperty("user.home", temp.resolve("home").toString());
+
+        Path bin = Files.createDirectories(temp.resolve("graalvm/bin"));
+        tool = bin.resolve("native-image");
+        Files.writeString(tool, STUB);
+        Files.setPosixFilePermissions(tool, PosixFilePermissions.fromString("rwxr-xr-x"));
+        Files.writeString(bin.resolve("version"), "native-image 21.0.2 2024-01-16\n");
+
+        jar = Files.createDirectories(temp.resolve("app/build/libs")).resolve("app.jar");
+        Files.writeString(jar, "app classes v1\n");
+    }
+
+    @AfterEach
+    void restoreHome() {
+        System.setProperty("user.home", userHome);
+    }
+
+    private NativeBuildService.Request request(List<String> extraArgs) {
+        return new NativeBuildService.Request(NativeBuildService.Tool.NATIVE_IMAGE, tool, jar, List.of(jar),
+                "app", null, null, extraArgs);
+    }
+
+    private NativeBuildService.Result build(String destination, List<String> extraArgs, boolean useCache)
+            throws Exception {
+        return new NativeBuildService().build(request(extraArgs), temp.resolve(destination), useCache);
+    }
+
+    private List<Path> cacheEntries() throws IOException {
+        try (Stream<Path> entries = Files.list(NativeBuildService.cacheDirectory())) {
+            return entries.filter(entry -> !entry.getFileName().toString().startsWith(".")).toList();
+        }
+    }
+
+    private int invocations() throws IOException {
+        Path log = tool.resolveSibling("invocations");
+        return Files.exists(log) ? Files.readAllLines(log).size() : 0;
+    }
+
+    @Test
+    void unchangedBuildIsServedFromCache() throws Exception {
+        NativeBuildService.Result first = build("out1", List.of(), true);
+        assertFalse(first.cached());
+        assertEquals(1, invocations());
+        assertEquals(List.of(temp.resolve("out1/app")), first.files());
+        String binary = Files.readString(temp.resolve("out1/app"));
+        assertTrue(binary.contains("app classes v1"));
+
+        NativeBuildService.Result second = build("out2", List.of(), true);
+        assertTrue(second.cached());
+        assertEquals(first.key(), second.key());
+        assertEquals(1, invocations());
+        assertEquals(binary, Files.readString(temp.resolve("out2/app")));
+    }
+
+    @Test
+    void jarFromAnotherCheckoutHitsTheSameEntry() throws Exception {
+        String key = build("out1", List.of(), true).key();
+
+        jar = Files.createDirectories(temp.resolve("elsewhere")).resolve("app.jar");
+        Files.writeString(jar, "app classes v1\n");
+        NativeBuildService.Result moved = build("out2", List.of(), true);
+
+        assertTrue(moved.cached());
+        assertEquals(key, moved.key());
+        assertEquals(1, invocations());
+    }
+
+    @Test
+    void changedJarIsRebuilt() throws Exception {
+        String key = build("out", List.of(), true).key();
+
+        Files.writeString(jar, "app classes v2\n");
+        NativeBuildService.Result rebuilt = build("out", List.of(), true);
+
+        assertFalse(rebuilt.cached());
+        assertNotEquals(key, rebuilt.key());
+        assertEquals(2, invocations());
+        assertTrue(Files.readString(temp.resolve("out/app")).contains("app classes v2"));
+    }
+
+    @Test
+    void toolVersionAndArgumentsArePartOfTheKey() throws Exception {
+        String key = build("out", List.of(), true).key();
+
+        NativeBuildService.Result withArgs = build("out", List.of("-O3"), true);
+        assertFalse(withArgs.cached());
+        assertNotEquals(key, withArgs.key());
+
+        Files.writeString(tool.resolveSibling("version"), "native-image 21.0.3 2024-04-16\n");
+        NativeBuildService.Result newTool = build("out", List.of(), true);
+        assertFalse(newTool.cached());
+        assertNotEquals(key, newTool.key());
+        assertEquals(3, invocations());
+    }
+
+    @Test
+    void noCacheRunsTheToolAndRefreshesTheEntry() throws Exception {
+        build("out", List.of(), true);
+
+        NativeBuildService.Result forced = build("out", List.of(), false);
+        assertFalse(forced.cached());
+        assertEquals(2, invocations());
+        assertTrue(build("out", List.of(), true).cached());
+        assertEquals(2, invocations());
+    }
+
+    @Test
+    void failedBuildLeavesNoCacheEntry() throws Exception {
+        Files.writeString(jar, "fail\n");
+
+        IOException error = assertThrows(IOException.class, () -> build("out", List.of(), true));
+        assertTrue(error.getMessage().contains("exit code 3"), error.getMessage());
+
+        try (Stream<Path> entries = Files.list(NativeBuildService.cacheDirectory())) {
+            assertEquals(List.of(), entries.toList());
+        }
+        // The next attempt runs the tool again instead of hitting a broken entry.
+        assertThrows(IOException.class, () -> build("out", List.of(), true));
+        assertEquals(2, invocations());
+    }
+
+    @Test
+    void filesNamedByArgumentsArePartOfTheKey() throws Exception {
+        Path lib = Files.writeString(temp.resolve("lib.jar"), "lib v1\n");
+        Path config = Files.createDirectories(temp.resolve("META-INF/native-image"));
+        Files.writeString(config.resolve("reflect-config.json"), "[]\n");
+        Path argFile = Files.writeString(temp.resolve("args.txt"), "-H:ResourceConfigurationFiles=" + temp.resolve("res.json") + "\n");
+        Files.writeString(temp.resolve("res.json"), "{}\n");
+        List<String> args = List.of("-cp", lib.toString(), "-H:ConfigurationFileDirectories=" + config, "@" + argFile);
+        String key = build("out", args, true).key();
+        assertTrue(build("out", args, true).cached());
+
+        Files.writeString(lib, "lib v2\n");
+        String libChanged = build("out", args, true).key();
+        assertNotEquals(key, libChanged);
+
+        Files.writeString(config.resolve("reflect-config.json"), "[{}]\n");
+        String configChanged = build("out", args, true).key();
+        assertNotEquals(libChanged, configChanged);
+
+        Files.writeString(temp.resolve("res.json"), "{\"resources\":[]}\n");
+        assertNotEquals(configChanged, build("out", args, true).key());
+        assertEquals(4, invocations());
+    }
+
+    @Test
+    void manifestClassPathIsPartOfTheKey() throws Exception {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, "lib/dep.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar), manifest)) {
+            out.putNextEntry(new JarEntry("App.class"));
+            out.write(1);
+        }
+        Path dep = Files.createDirectories(jar.resolveSibling("lib")).resolve("dep.jar");
+        Files.writeString(dep, "dep v1\n");
+        assertEquals(List.of("lib/dep.jar"), NativeBuildService.manifestClassPath(jar));
+        String key = build("out", List.of(), true).key();
+
+        Files.writeString(dep, "dep v2\n");
+        NativeBuildService.Result rebuilt = build("out", List.of(), true);
+        assertFalse(rebuilt.cached());
+        assertNotEquals(key, rebuilt.key());
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedBeyondTheLimit() throws Exception {
+        NativeBuildService service = new NativeBuildService(1);
+        String first = service.build(request(List.of()), temp.resolve("out"), true).key();
+        String second = service.build(request(List.of("-O1")), temp.resolve("out"), true).key();
+
+        assertEquals(List.of(NativeBuildService.cacheDirectory().resolve(second)), cacheEntries());
+        assertFalse(service.build(request(List.of()), temp.resolve("out"), true).cached());
+        assertEquals(List.of(NativeBuildService.cacheDirectory().resolve(first)), cacheEntries());
+
+        // Within the limit nothing is evicted.
+        new NativeBuildService().build(request(List.of("-O1")), temp.resolve("out"), true);
+        assertEquals(2, cacheEntries().size());
+    }
+}
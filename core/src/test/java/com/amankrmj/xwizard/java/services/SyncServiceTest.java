@@ -0,0 +1,96 @@
+package com.amankrmj.xwizard.java.services;
+
+import com.amankrmj.xwizard.java.JavaVersionManagerUtils;
+import com.amankrmj.xwizard.java.model.JdkLock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisabledOnOs(OS.WINDOWS)
+class SyncServiceTest {
+
+    @TempDir
+    Path home;
+
+    private String userHome;
+
+    @BeforeEach
+    void setUp() {
+        userHome = System.getProperty("user.home");
+        System.setProperty("user.home", home.toString());
+    }
+
+    @AfterEach
+    void restoreHome() {
+        System.setProperty("user.home", userHome);
+    }
+
+    private static void installed(String... names) throws IOException {
+        for (String name : names) {
+            Files.createDirectories(JavaVersionManagerUtils.getJavaVersionsDirectory().resolve(name));
+        }
+    }
+
+    private static JdkLock lock(String text) throws IOException {
+        return JdkLock.parse(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void plansInstallsForMissingAndRemovalsForUnlistedVersions() throws Exception {
+        installed("17.0.9", "11.0.21");
+
+        SyncService.Plan plan = new SyncService().plan(lock("jdk 17\njdk 21.0.5 sha256:ab\n"), false);
+
+        assertEquals(List.of(
+                new SyncService.Action(SyncService.Kind.INSTALL, "21.0.5", "ab"),
+                new SyncService.Action(SyncService.Kind.REMOVE, "11.0.21", null)), plan.actions());
+        assertEquals(List.of(), plan.kept());
+    }
+
+    @Test
+    void keepsPinnedAndOptionallyAllUnlistedVersions() throws Exception {
+        installed("17.0.9", "11.0.21", "8u392");
+        JavaUsageLog.setPinned("11.0.21", true);
+
+        SyncService.Plan plan = new SyncService().plan(lock("jdk 17\n"), false);
+        assertEquals(List.of(new SyncService.Action(SyncService.Kind.REMOVE, "8u392", null)), plan.actions());
+        assertEquals(List.of("11.0.21"), plan.kept());
+
+        assertEquals(List.of(), new SyncService().plan(lock("jdk 17\n"), true).actions());
+    }
+
+    @Test
+    void environmentIsNotPlannedOutsideWindows() throws Exception {
+        installed("21.0.5");
+
+        assertEquals(List.of(), new SyncService().plan(lock("default 21\npath /opt/tools/bin\n"), false).actions());
+    }
+
+    @Test
+    void stampFollowsTheLockAndTheInstalledVersions() throws Exception {
+        installed("17.0.9");
+        byte[] content = "jdk 17\n".getBytes(StandardCharsets.UTF_8);
+        SyncService service = new SyncService();
+        assertFalse(service.isUpToDate(content));
+
+        service.markUpToDate(content);
+        assertTrue(service.isUpToDate(content));
+        assertFalse(service.isUpToDate("jdk 17\njdk 21\n".getBytes(StandardCharsets.UTF_8)));
+
+        installed("21.0.5");
+        assertFalse(service.isUpToDate(content));
+    }
+}
@@ -1 +1,3 @@
-rootProject.name = "xwizard"
\ No newline at end of file
+rootProject.name = "xwizard"
+
+include("core", "cli")